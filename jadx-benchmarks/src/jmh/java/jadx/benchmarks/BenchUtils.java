@@ -0,0 +1,82 @@
+package jadx.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.impl.NoOpCodeCache;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.LoadStage;
+import jadx.core.dex.nodes.ProcessState;
+import jadx.core.dex.visitors.DepthTraversal;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Common setup code for benchmarks.
+ * Input files paths are passed by 'jmh' gradle task using system properties.
+ */
+public final class BenchUtils {
+
+	private BenchUtils() {
+	}
+
+	/**
+	 * Jar with compiled classes from 'jadx-samples' module
+	 */
+	public static Path getSamplesJar() {
+		return getInputPath("jadx.bench.samples");
+	}
+
+	/**
+	 * Small apk with resources table and binary xml files
+	 */
+	public static Path getResourcesApk() {
+		return getInputPath("jadx.bench.apk");
+	}
+
+	private static Path getInputPath(String property) {
+		String value = System.getProperty(property);
+		if (value == null) {
+			throw new JadxRuntimeException("Benchmark input not set, use '-D" + property + "=<path>' JVM option");
+		}
+		Path path = Paths.get(value);
+		if (!Files.isRegularFile(path)) {
+			throw new JadxRuntimeException("Benchmark input not found: " + path);
+		}
+		return path;
+	}
+
+	public static JadxArgs makeArgs(Path input) {
+		JadxArgs args = new JadxArgs();
+		args.setInputFile(input.toFile());
+		args.setCodeCache(new NoOpCodeCache());
+		return args;
+	}
+
+	public static JadxDecompiler loadDecompiler(JadxArgs args) {
+		JadxDecompiler jadx = new JadxDecompiler(args);
+		jadx.load();
+		return jadx;
+	}
+
+	/**
+	 * Drop all processing results and load class again (same as reload in {@link jadx.core.ProcessClass})
+	 */
+	public static void reloadClass(ClassNode cls) {
+		cls.deepUnload();
+		cls.root().runPreDecompileStageForClass(cls);
+		cls.setLoadStage(LoadStage.CODEGEN_STAGE);
+		cls.load();
+	}
+
+	public static void runPasses(ClassNode cls, List<IDexTreeVisitor> passes) {
+		cls.setState(ProcessState.PROCESS_STARTED);
+		for (IDexTreeVisitor pass : passes) {
+			DepthTraversal.visit(pass, cls);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package jadx.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jadx.api.JadxDecompiler;
+import jadx.core.codegen.CodeGen;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.ProcessState;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Code generation for all sample classes, processing passes executed in setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class CodeGenBenchmark {
+
+	private JadxDecompiler jadx;
+	private List<ClassNode> classes;
+
+	@Setup(Level.Trial)
+	public void load() {
+		jadx = BenchUtils.loadDecompiler(BenchUtils.makeArgs(BenchUtils.getSamplesJar()));
+		classes = jadx.getRoot().getClassesWithoutInner();
+	}
+
+	@Setup(Level.Invocation)
+	public void prepare() {
+		RootNode root = jadx.getRoot();
+		for (ClassNode cls : classes) {
+			BenchUtils.reloadClass(cls);
+			BenchUtils.runPasses(cls, root.getPasses());
+			cls.setState(ProcessState.PROCESS_COMPLETE);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void close() {
+		jadx.close();
+	}
+
+	@Benchmark
+	public void generate(Blackhole bh) {
+		for (ClassNode cls : classes) {
+			bh.consume(CodeGen.generate(cls));
+		}
+	}
+}
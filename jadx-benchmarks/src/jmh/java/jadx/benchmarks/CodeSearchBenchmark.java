@@ -0,0 +1,93 @@
+package jadx.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jadx.api.ICodeWriter;
+import jadx.api.JadxDecompiler;
+import jadx.api.JavaClass;
+import jadx.api.JavaNode;
+import jadx.gui.utils.CodeLinesInfo;
+import jadx.gui.utils.JNodeCache;
+import jadx.gui.utils.search.CodeIndex;
+import jadx.gui.utils.search.SearchSettings;
+import jadx.gui.utils.search.StringRef;
+
+/**
+ * Code search in jadx-gui, index filled same way as in {@link jadx.gui.utils.search.TextSearchIndex}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CodeSearchBenchmark {
+
+	@Param({ "String", "return null;", "nothing_found" })
+	public String searchStr;
+
+	@Param({ "false", "true" })
+	public boolean ignoreCase;
+
+	private JadxDecompiler jadx;
+	private CodeIndex codeIndex;
+	private SearchSettings searchSettings;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		jadx = BenchUtils.loadDecompiler(BenchUtils.makeArgs(BenchUtils.getSamplesJar()));
+		JNodeCache nodeCache = new JNodeCache();
+		codeIndex = new CodeIndex(nodeCache);
+		for (JavaClass cls : jadx.getClasses()) {
+			indexCode(cls);
+		}
+		searchSettings = new SearchSettings(searchStr, ignoreCase, false);
+		searchSettings.preCompile();
+	}
+
+	private void indexCode(JavaClass cls) {
+		CodeLinesInfo linesInfo = new CodeLinesInfo(cls);
+		List<StringRef> lines = StringRef.split(cls.getCode(), ICodeWriter.NL);
+		int count = lines.size();
+		List<JavaNode> lineNodes = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			StringRef line = lines.get(i).trim();
+			lines.set(i, line);
+			int lineLength = line.length();
+			if (lineLength == 0 || (lineLength == 1 && line.charAt(0) == '}')) {
+				lineNodes.add(null);
+				continue;
+			}
+			JavaNode node = linesInfo.getJavaNodeByLine(i + 1);
+			lineNodes.add(node == null ? cls : node);
+		}
+		codeIndex.put(cls, lines, lineNodes);
+	}
+
+	@TearDown(Level.Trial)
+	public void close() {
+		codeIndex.close();
+		jadx.close();
+	}
+
+	@Benchmark
+	public long search() {
+		return codeIndex.search(searchSettings).count().blockingGet();
+	}
+}
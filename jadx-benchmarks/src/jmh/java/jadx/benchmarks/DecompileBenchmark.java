@@ -0,0 +1,45 @@
+package jadx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jadx.api.JadxDecompiler;
+import jadx.api.JavaClass;
+
+/**
+ * Full decompilation pipeline: input loading, pre-decompile stage, processing passes and code generation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DecompileBenchmark {
+
+	@Benchmark
+	public void load(Blackhole bh) {
+		try (JadxDecompiler jadx = BenchUtils.loadDecompiler(BenchUtils.makeArgs(BenchUtils.getSamplesJar()))) {
+			bh.consume(jadx.getClasses());
+		}
+	}
+
+	@Benchmark
+	public void decompileAll(Blackhole bh) {
+		try (JadxDecompiler jadx = BenchUtils.loadDecompiler(BenchUtils.makeArgs(BenchUtils.getSamplesJar()))) {
+			for (JavaClass cls : jadx.getClasses()) {
+				bh.consume(cls.getCode());
+			}
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package jadx.benchmarks;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jadx.api.plugins.input.data.ICodeReader;
+import jadx.api.plugins.input.data.IMethodRef;
+import jadx.plugins.input.dex.DexFileLoader;
+import jadx.plugins.input.dex.DexReader;
+import jadx.plugins.input.javaconvert.ConvertResult;
+import jadx.plugins.input.javaconvert.JavaConvertLoader;
+
+/**
+ * Dex files parsing: class headers, fields, methods and instructions decoding
+ * ({@link DexReader} and {@link jadx.plugins.input.dex.sections.SectionReader}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DexLoadBenchmark {
+
+	private ConvertResult convertResult;
+	private List<Path> dexFiles;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		// convert samples jar to dex once, only dex parsing is measured
+		convertResult = JavaConvertLoader.process(Collections.singletonList(BenchUtils.getSamplesJar()));
+		dexFiles = convertResult.getConverted();
+		if (dexFiles.isEmpty()) {
+			throw new IllegalStateException("Samples jar conversion failed");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void close() {
+		convertResult.close();
+	}
+
+	@Benchmark
+	public void loadClasses(Blackhole bh) {
+		for (DexReader dexReader : new DexFileLoader().collectDexFiles(dexFiles)) {
+			dexReader.visitClasses(cls -> {
+				bh.consume(cls.getType());
+				bh.consume(cls.getSuperType());
+				cls.visitFieldsAndMethods(
+						fld -> bh.consume(fld.getName()),
+						mth -> {
+							IMethodRef mthRef = mth.getMethodRef();
+							mthRef.load();
+							bh.consume(mthRef.getName());
+						});
+			});
+		}
+	}
+
+	@Benchmark
+	public void decodeInstructions(Blackhole bh) {
+		for (DexReader dexReader : new DexFileLoader().collectDexFiles(dexFiles)) {
+			dexReader.visitClasses(cls -> cls.visitFieldsAndMethods(
+					fld -> bh.consume(fld.getType()),
+					mth -> {
+						ICodeReader codeReader = mth.getCodeReader();
+						if (codeReader != null) {
+							codeReader.visitInstructions(insn -> {
+								insn.decode();
+								bh.consume(insn.getOpcode());
+							});
+						}
+					}));
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package jadx.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jadx.core.dex.nodes.BlockNode;
+import jadx.core.dex.visitors.blocksmaker.DominatorTree;
+
+/**
+ * Dominators tree and dominance frontier calculation for big generated control flow graphs.
+ * <br>
+ * Graph is a chain of blocks with random forward jumps (branches) and backward jumps (loops),
+ * so every block is reachable from first one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DominatorsBenchmark {
+
+	@Param({ "1000", "10000", "50000" })
+	public int blocksCount;
+
+	private List<BlockNode> blocks;
+	private List<BlockNode> exitBlocks;
+
+	@Setup
+	public void generate() {
+		Random rnd = new Random(42);
+		blocks = new ArrayList<>(blocksCount);
+		for (int i = 0; i < blocksCount; i++) {
+			blocks.add(new BlockNode(i, i));
+		}
+		for (int i = 0; i < blocksCount - 1; i++) {
+			BlockNode block = blocks.get(i);
+			connect(block, blocks.get(i + 1));
+			int r = rnd.nextInt(10);
+			if (r < 3) {
+				int target = Math.min(blocksCount - 1, i + 2 + rnd.nextInt(20));
+				connect(block, blocks.get(target));
+			} else if (r == 3 && i > 0) {
+				int target = Math.max(1, i - 1 - rnd.nextInt(50));
+				connect(block, blocks.get(target));
+			}
+		}
+		exitBlocks = Collections.singletonList(blocks.get(blocksCount - 1));
+	}
+
+	private static void connect(BlockNode from, BlockNode to) {
+		if (!from.getSuccessors().contains(to)) {
+			from.getSuccessors().add(to);
+			to.getPredecessors().add(from);
+		}
+	}
+
+	@Benchmark
+	public List<BlockNode> dominators() {
+		for (BlockNode block : blocks) {
+			block.setIDom(null);
+			block.setDomTreeEnter(-1);
+			block.setDomTreeExit(-1);
+			block.setDomFrontier(null);
+			block.getDominatesOn().clear();
+		}
+		DominatorTree.compute(blocks, blocks.get(0));
+		DominatorTree.computeDominanceFrontier(blocks, exitBlocks);
+		return blocks;
+	}
+}
@@ -0,0 +1,128 @@
+package jadx.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jadx.api.JadxDecompiler;
+import jadx.core.Jadx;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.visitors.DepthTraversal;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+
+/**
+ * Execution time of single pass from {@link Jadx#getPassesList(jadx.api.JadxArgs)} for all sample classes.
+ * All previous passes executed in setup for every invocation.
+ * <br>
+ * For passes used several times in list (like 'CodeShrinkVisitor') only first occurrence is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class PassesBenchmark {
+
+	@Param({
+			"DebugInfoAttachVisitor",
+			"AttachTryCatchVisitor",
+			"AttachCommentsVisitor",
+			"ProcessInstructionsVisitor",
+			"BlockSplitter",
+			"BlockProcessor",
+			"BlockExceptionHandler",
+			"BlockFinish",
+			"AttachMethodDetails",
+			"SSATransform",
+			"MoveInlineVisitor",
+			"ConstructorVisitor",
+			"InitCodeVariables",
+			"MarkFinallyVisitor",
+			"ConstInlineVisitor",
+			"TypeInferenceVisitor",
+			"DebugInfoApplyVisitor",
+			"InlineMethods",
+			"GenericTypesVisitor",
+			"ShadowFieldVisitor",
+			"DeboxingVisitor",
+			"ModVisitor",
+			"CodeShrinkVisitor",
+			"ReSugarCode",
+			"RegionMakerVisitor",
+			"IfRegionVisitor",
+			"ReturnVisitor",
+			"CleanRegions",
+			"MethodInvokeVisitor",
+			"SimplifyVisitor",
+			"CheckRegions",
+			"EnumVisitor",
+			"ExtractFieldInit",
+			"FixAccessModifiers",
+			"ClassModifier",
+			"LoopRegionVisitor",
+			"MarkMethodsForInline",
+			"ProcessVariables",
+			"PrepareForCodeGen"
+	})
+	public String passName;
+
+	private JadxDecompiler jadx;
+	private List<ClassNode> classes;
+	private List<IDexTreeVisitor> prevPasses;
+	private IDexTreeVisitor pass;
+
+	@Setup(Level.Trial)
+	public void load() {
+		jadx = BenchUtils.loadDecompiler(BenchUtils.makeArgs(BenchUtils.getSamplesJar()));
+		RootNode root = jadx.getRoot();
+		classes = root.getClassesWithoutInner();
+		List<IDexTreeVisitor> passes = root.getPasses();
+		for (int i = 0; i < passes.size(); i++) {
+			IDexTreeVisitor visitor = passes.get(i);
+			if (visitor.getClass().getSimpleName().equals(passName)) {
+				pass = visitor;
+				prevPasses = passes.subList(0, i);
+				return;
+			}
+		}
+		throw new IllegalArgumentException("Unknown pass: " + passName + ", available: "
+				+ passes.stream().map(p -> p.getClass().getSimpleName()).collect(Collectors.joining(", ")));
+	}
+
+	@Setup(Level.Invocation)
+	public void prepare() {
+		for (ClassNode cls : classes) {
+			BenchUtils.reloadClass(cls);
+			BenchUtils.runPasses(cls, prevPasses);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void close() {
+		jadx.close();
+	}
+
+	@Benchmark
+	public List<ClassNode> runPass() {
+		for (ClassNode cls : classes) {
+			DepthTraversal.visit(pass, cls);
+		}
+		return classes;
+	}
+}
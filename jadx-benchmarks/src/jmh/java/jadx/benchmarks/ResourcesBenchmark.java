@@ -0,0 +1,125 @@
+package jadx.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jadx.api.ICodeInfo;
+import jadx.api.JadxDecompiler;
+import jadx.api.ResourceFile;
+import jadx.api.plugins.utils.ZipFilesPool;
+import jadx.core.utils.files.FileUtils;
+import jadx.core.xmlgen.BinaryXMLParser;
+import jadx.core.xmlgen.ResContainer;
+import jadx.core.xmlgen.ResTableParser;
+
+/**
+ * Decoding of resources table and binary xml files
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ResourcesBenchmark {
+
+	private JadxDecompiler jadx;
+	private byte[] resTable;
+	private byte[] manifest;
+	private byte[] layout;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		jadx = BenchUtils.loadDecompiler(BenchUtils.makeArgs(BenchUtils.getResourcesApk()));
+		try (ZipFile zip = new ZipFile(BenchUtils.getResourcesApk().toFile())) {
+			resTable = readEntry(zip, "resources.arsc");
+			manifest = readEntry(zip, "AndroidManifest.xml");
+			layout = readEntry(zip, "res/layout/activity_main.xml");
+		}
+	}
+
+	private static byte[] readEntry(ZipFile zip, String name) throws IOException {
+		ZipEntry entry = zip.getEntry(name);
+		if (entry == null) {
+			throw new IOException("Entry not found: " + name);
+		}
+		try (InputStream in = zip.getInputStream(entry)) {
+			return FileUtils.streamToByteArray(in);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void close() {
+		jadx.close();
+	}
+
+	/**
+	 * Read all resource files data using zip file from decompiler pool
+	 */
+	@Benchmark
+	public long readResourcesPooledZip() throws IOException {
+		ZipFilesPool zipPool = jadx.getZipFilesPool();
+		long size = 0;
+		for (ResourceFile resFile : jadx.getResources()) {
+			ResourceFile.ZipRef zipRef = resFile.getZipRef();
+			size += readEntry(zipPool.get(zipRef.getZipFile()), zipRef.getEntryName()).length;
+		}
+		return size;
+	}
+
+	/**
+	 * Read all resource files data opening zip file for every entry
+	 */
+	@Benchmark
+	public long readResourcesReopenZip() throws IOException {
+		// opened file allows JDK to reuse already parsed central directory
+		jadx.getZipFilesPool().close();
+		long size = 0;
+		for (ResourceFile resFile : jadx.getResources()) {
+			ResourceFile.ZipRef zipRef = resFile.getZipRef();
+			try (ZipFile zip = new ZipFile(zipRef.getZipFile())) {
+				size += readEntry(zip, zipRef.getEntryName()).length;
+			}
+		}
+		return size;
+	}
+
+	@Benchmark
+	public ResTableParser parseResTable() throws IOException {
+		ResTableParser parser = new ResTableParser(jadx.getRoot());
+		parser.decode(new ByteArrayInputStream(resTable));
+		return parser;
+	}
+
+	@Benchmark
+	public ResContainer decodeResTableFiles() throws IOException {
+		return new ResTableParser(jadx.getRoot()).decodeFiles(new ByteArrayInputStream(resTable));
+	}
+
+	@Benchmark
+	public ICodeInfo parseManifest() throws IOException {
+		return new BinaryXMLParser(jadx.getRoot()).parse(new ByteArrayInputStream(manifest));
+	}
+
+	@Benchmark
+	public ICodeInfo parseLayout() throws IOException {
+		return new BinaryXMLParser(jadx.getRoot()).parse(new ByteArrayInputStream(layout));
+	}
+}
@@ -1,14 +1,18 @@
 package jadx.cli;
 
+import java.nio.file.Paths;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jadx.api.JadxArgs;
 import jadx.api.JadxDecompiler;
+import jadx.api.impl.DiskCodeCache;
 import jadx.api.impl.NoOpCodeCache;
 import jadx.api.impl.SimpleCodeWriter;
 import jadx.core.utils.exceptions.JadxArgsValidateException;
 import jadx.core.utils.files.FileUtils;
+import jadx.core.utils.profiling.PassesProfiler;
 
 public class JadxCLI {
 	private static final Logger LOG = LoggerFactory.getLogger(JadxCLI.class);
@@ -32,17 +36,37 @@ public class JadxCLI {
 	public static int execute(String[] args) {
 		JadxCLIArgs jadxArgs = new JadxCLIArgs();
 		if (jadxArgs.processArgs(args)) {
-			return processAndSave(jadxArgs.toJadxArgs());
+			return processAndSave(jadxArgs);
 		}
 		return 0;
 	}
 
-	private static int processAndSave(JadxArgs jadxArgs) {
-		jadxArgs.setCodeCache(new NoOpCodeCache());
+	private static int processAndSave(JadxCLIArgs cliArgs) {
+		JadxArgs jadxArgs = cliArgs.toJadxArgs();
+		String codeCacheDir = cliArgs.getCodeCacheDir();
+		if (codeCacheDir != null) {
+			long maxSize = cliArgs.getCodeCacheSizeMb() * 1024L * 1024L;
+			jadxArgs.setCodeCache(new DiskCodeCache(Paths.get(codeCacheDir), new NoOpCodeCache(), maxSize));
+		} else {
+			jadxArgs.setCodeCache(new NoOpCodeCache());
+		}
 		jadxArgs.setCodeWriterProvider(SimpleCodeWriter::new);
 		try (JadxDecompiler jadx = new JadxDecompiler(jadxArgs)) {
 			jadx.load();
 			jadx.save();
+			if (jadxArgs.getCodeCache() instanceof DiskCodeCache) {
+				DiskCodeCache diskCodeCache = (DiskCodeCache) jadxArgs.getCodeCache();
+				LOG.info("code cache hits: {}, misses: {}", diskCodeCache.getHitsCount(), diskCodeCache.getMissesCount());
+			}
+			PassesProfiler profiler = jadx.getPassesProfiler();
+			if (profiler != null) {
+				LOG.info("{}", profiler.buildReport());
+				String profileJson = cliArgs.getProfileJson();
+				if (profileJson != null) {
+					profiler.saveJson(Paths.get(profileJson));
+					LOG.info("profiling data saved to: {}", profileJson);
+				}
+			}
 			int errorsCount = jadx.getErrorsCount();
 			if (errorsCount != 0) {
 				jadx.printErrorsReport();
@@ -2,18 +2,22 @@ package jadx.cli;
 
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.beust.jcommander.DynamicParameter;
 import com.beust.jcommander.IStringConverter;
 import com.beust.jcommander.Parameter;
 
 import jadx.api.JadxArgs;
 import jadx.api.JadxArgs.RenameEnum;
 import jadx.api.JadxDecompiler;
+import jadx.api.impl.DiskCodeCache;
 import jadx.core.utils.exceptions.JadxException;
 import jadx.core.utils.files.FileUtils;
 
@@ -31,6 +35,9 @@ public class JadxCLIArgs {
 	@Parameter(names = { "-dr", "--output-dir-res" }, description = "output directory for resources")
 	protected String outDirRes;
 
+	@Parameter(names = { "--output-zip" }, description = "save sources and resources into zip file instead of output directory")
+	protected String outputZip;
+
 	@Parameter(names = { "-r", "--no-res" }, description = "do not decode resources")
 	protected boolean skipResources = false;
 
@@ -40,7 +47,14 @@ public class JadxCLIArgs {
 	@Parameter(names = { "--single-class" }, description = "decompile a single class")
 	protected String singleClass = null;
 
-	@Parameter(names = { "--output-format" }, description = "can be 'java' or 'json'")
+	@Parameter(
+			names = { "--lazy-loading" },
+			description = "parse class members on first use, with --single-class only selected class is fully prepared."
+					+ " Faster, but output can differ: constants from not prepared classes are not replaced"
+	)
+	protected boolean lazyClassLoading = false;
+
+	@Parameter(names = { "--output-format" }, description = "can be 'java', 'json' or 'json-lines' (all classes in one file)")
 	protected String outputFormat = "java";
 
 	@Parameter(names = { "-e", "--export-gradle" }, description = "save as android gradle project")
@@ -120,6 +134,37 @@ public class JadxCLIArgs {
 	@Parameter(names = { "-f", "--fallback" }, description = "make simple dump (using goto instead of 'if', 'for', etc)")
 	protected boolean fallbackMode = false;
 
+	@Parameter(
+			names = { "--code-cache-dir" },
+			description = "directory for persistent decompiled code cache, reused by next runs to skip unchanged classes"
+					+ " (can be safely deleted)"
+	)
+	protected String codeCacheDir;
+
+	@Parameter(
+			names = { "--code-cache-size" },
+			description = "code cache size limit (in MB), least recently used entries removed at start if exceeded, 0 to disable"
+	)
+	protected int codeCacheSizeMb = DiskCodeCache.DEFAULT_MAX_SIZE_MB;
+
+	@Parameter(
+			names = { "--processed-classes-cache" },
+			description = "memory limit (in MB, estimated) for processed classes kept to regenerate code without processing, 0 to disable"
+	)
+	protected int processedClassesCacheSizeMb = 0;
+
+	@DynamicParameter(names = "-P", description = "plugin option, for example: -Pdex-input.mmap=yes")
+	protected Map<String, String> pluginOptions = new HashMap<>();
+
+	@Parameter(names = { "--profile" }, description = "print processing passes time and allocations report")
+	protected boolean profile = false;
+
+	@Parameter(names = { "--profile-json" }, description = "save processing passes profiling data to json file (enables --profile)")
+	protected String profileJson;
+
+	@Parameter(names = { "--profile-slow-method" }, description = "report methods with pass execution time above this threshold (in ms)")
+	protected long profileSlowMethodMs = 1000;
+
 	@Parameter(names = { "-v", "--verbose" }, description = "verbose output (set --log-level to DEBUG)")
 	protected boolean verbose = false;
 
@@ -174,6 +219,9 @@ public class JadxCLIArgs {
 			if (threadsCount <= 0) {
 				throw new JadxException("Threads count must be positive, got: " + threadsCount);
 			}
+			if (processedClassesCacheSizeMb < 0) {
+				throw new JadxException("Processed classes cache size can't be negative, got: " + processedClassesCacheSizeMb);
+			}
 			LogHelper.setLogLevelFromArgs(this);
 		} catch (JadxException e) {
 			System.err.println("ERROR: " + e.getMessage());
@@ -189,12 +237,14 @@ public class JadxCLIArgs {
 		args.setOutDir(FileUtils.toFile(outDir));
 		args.setOutDirSrc(FileUtils.toFile(outDirSrc));
 		args.setOutDirRes(FileUtils.toFile(outDirRes));
-		args.setOutputFormat(JadxArgs.OutputFormatEnum.valueOf(outputFormat.toUpperCase()));
+		args.setOutputZip(FileUtils.toFile(outputZip));
+		args.setOutputFormat(JadxArgs.OutputFormatEnum.valueOf(outputFormat.toUpperCase().replace('-', '_')));
 		args.setThreadsCount(threadsCount);
 		args.setSkipSources(skipSources);
 		if (singleClass != null) {
 			args.setClassFilter(className -> singleClass.equals(className));
 		}
+		args.setLazyClassLoading(lazyClassLoading);
 		args.setSkipResources(skipResources);
 		args.setFallbackMode(fallbackMode);
 		args.setShowInconsistentCode(showInconsistentCode);
@@ -219,6 +269,10 @@ public class JadxCLIArgs {
 		args.setRenameValid(isRenameValid());
 		args.setRenamePrintable(isRenamePrintable());
 		args.setFsCaseSensitive(fsCaseSensitive);
+		args.setProfilePasses(profile || profileJson != null);
+		args.setProfileSlowMethodMs(profileSlowMethodMs);
+		args.setProcessedClassesCacheSizeMb(processedClassesCacheSizeMb);
+		args.setPluginOptions(pluginOptions);
 		return args;
 	}
 
@@ -238,6 +292,10 @@ public class JadxCLIArgs {
 		return outDirRes;
 	}
 
+	public String getOutputZip() {
+		return outputZip;
+	}
+
 	public boolean isSkipResources() {
 		return skipResources;
 	}
@@ -246,6 +304,10 @@ public class JadxCLIArgs {
 		return skipSources;
 	}
 
+	public boolean isLazyClassLoading() {
+		return lazyClassLoading;
+	}
+
 	public int getThreadsCount() {
 		return threadsCount;
 	}
@@ -342,6 +404,34 @@ public class JadxCLIArgs {
 		return fsCaseSensitive;
 	}
 
+	public String getCodeCacheDir() {
+		return codeCacheDir;
+	}
+
+	public int getCodeCacheSizeMb() {
+		return codeCacheSizeMb;
+	}
+
+	public int getProcessedClassesCacheSizeMb() {
+		return processedClassesCacheSizeMb;
+	}
+
+	public Map<String, String> getPluginOptions() {
+		return pluginOptions;
+	}
+
+	public boolean isProfile() {
+		return profile;
+	}
+
+	public String getProfileJson() {
+		return profileJson;
+	}
+
+	public long getProfileSlowMethodMs() {
+		return profileSlowMethodMs;
+	}
+
 	static class RenameConverter implements IStringConverter<Set<RenameEnum>> {
 		private final String paramName;
 
@@ -2,8 +2,16 @@ package jadx.api;
 
 import org.jetbrains.annotations.Nullable;
 
+import jadx.core.dex.nodes.RootNode;
+
 public interface ICodeCache {
 
+	/**
+	 * Called after input files loading and before any class decompilation
+	 */
+	default void init(RootNode root) {
+	}
+
 	void add(String clsFullName, ICodeInfo codeInfo);
 
 	void remove(String clsFullName);
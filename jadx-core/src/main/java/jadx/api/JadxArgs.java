@@ -4,8 +4,11 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -20,6 +23,7 @@ public class JadxArgs {
 	public static final String DEFAULT_OUT_DIR = "jadx-output";
 	public static final String DEFAULT_SRC_DIR = "sources";
 	public static final String DEFAULT_RES_DIR = "resources";
+	public static final String DEFAULT_JSON_LINES_FILE = "classes.jsonl";
 
 	private List<File> inputFiles = new ArrayList<>(1);
 
@@ -27,6 +31,12 @@ public class JadxArgs {
 	private File outDirSrc;
 	private File outDirRes;
 
+	/**
+	 * Write sources and resources into this zip file instead of output directories.
+	 * Applied only in {@link JadxDecompiler#save()} methods.
+	 */
+	private File outputZip = null;
+
 	private ICodeCache codeCache = new InMemoryCodeCache();
 	private Function<JadxArgs, ICodeWriter> codeWriterProvider = AnnotatedCodeWriter::new;
 
@@ -51,6 +61,33 @@ public class JadxArgs {
 	 */
 	private Predicate<String> classFilter = null;
 
+	/**
+	 * Parse class fields and methods on first access instead of at load time.
+	 * Combined with {@link #classFilter} only selected classes are fully prepared before decompilation.
+	 * <br>
+	 * Generated code can differ from full loading: constant fields of not prepared classes are unknown,
+	 * so literals are not replaced by these fields.
+	 */
+	private boolean lazyClassLoading = false;
+
+	/**
+	 * Collect time and allocations statistics for every processing pass,
+	 * available after processing by {@link JadxDecompiler#getPassesProfiler()}.
+	 */
+	private boolean profilePasses = false;
+
+	/**
+	 * Minimal pass execution time (in milliseconds) for method to be reported as slow
+	 */
+	private long profileSlowMethodMs = 1000;
+
+	/**
+	 * Memory limit (in MB, estimated) for processed classes kept in memory after code generation.
+	 * Code for such classes can be generated again (for example, with changed code generation options)
+	 * without running processing passes. Zero to unload all classes right after code generation.
+	 */
+	private int processedClassesCacheSizeMb = 0;
+
 	private boolean deobfuscationOn = false;
 	private boolean deobfuscationForceSave = false;
 	private boolean useSourceNameAsClassAlias = false;
@@ -74,13 +111,23 @@ public class JadxArgs {
 	private Set<RenameEnum> renameFlags = EnumSet.allOf(RenameEnum.class);
 
 	public enum OutputFormatEnum {
-		JAVA, JSON
+		JAVA,
+		JSON,
+		/**
+		 * All classes saved into one file, compact json for every top level class in separate line
+		 */
+		JSON_LINES
 	}
 
 	private OutputFormatEnum outputFormat = OutputFormatEnum.JAVA;
 
 	private ICodeData codeData;
 
+	/**
+	 * Options for plugins (see {@link jadx.api.plugins.options.JadxPluginOptions})
+	 */
+	private Map<String, String> pluginOptions = new HashMap<>();
+
 	public JadxArgs() {
 		// use default options
 	}
@@ -127,6 +174,14 @@ public class JadxArgs {
 		this.outDirRes = outDirRes;
 	}
 
+	public File getOutputZip() {
+		return outputZip;
+	}
+
+	public void setOutputZip(File outputZip) {
+		this.outputZip = outputZip;
+	}
+
 	public int getThreadsCount() {
 		return threadsCount;
 	}
@@ -223,6 +278,38 @@ public class JadxArgs {
 		this.classFilter = classFilter;
 	}
 
+	public boolean isLazyClassLoading() {
+		return lazyClassLoading;
+	}
+
+	public void setLazyClassLoading(boolean lazyClassLoading) {
+		this.lazyClassLoading = lazyClassLoading;
+	}
+
+	public boolean isProfilePasses() {
+		return profilePasses;
+	}
+
+	public void setProfilePasses(boolean profilePasses) {
+		this.profilePasses = profilePasses;
+	}
+
+	public long getProfileSlowMethodMs() {
+		return profileSlowMethodMs;
+	}
+
+	public void setProfileSlowMethodMs(long profileSlowMethodMs) {
+		this.profileSlowMethodMs = profileSlowMethodMs;
+	}
+
+	public int getProcessedClassesCacheSizeMb() {
+		return processedClassesCacheSizeMb;
+	}
+
+	public void setProcessedClassesCacheSizeMb(int processedClassesCacheSizeMb) {
+		this.processedClassesCacheSizeMb = processedClassesCacheSizeMb;
+	}
+
 	public boolean isDeobfuscationOn() {
 		return deobfuscationOn;
 	}
@@ -364,7 +451,7 @@ public class JadxArgs {
 	}
 
 	public boolean isJsonOutput() {
-		return outputFormat == OutputFormatEnum.JSON;
+		return outputFormat == OutputFormatEnum.JSON || outputFormat == OutputFormatEnum.JSON_LINES;
 	}
 
 	public void setOutputFormat(OutputFormatEnum outputFormat) {
@@ -395,12 +482,48 @@ public class JadxArgs {
 		this.codeData = codeData;
 	}
 
+	public Map<String, String> getPluginOptions() {
+		return pluginOptions;
+	}
+
+	public void setPluginOptions(Map<String, String> pluginOptions) {
+		this.pluginOptions = pluginOptions;
+	}
+
+	/**
+	 * Options affecting generated code (including names after deobfuscation).
+	 * Used as part of key for saved code and index caches, so caches built with other options are ignored.
+	 */
+	public String getCodeOptionsFingerprint() {
+		return "codeWriter=" + codeWriterProvider.apply(this).getClass().getName()
+				+ ", outputFormat=" + outputFormat
+				+ ", fallback=" + fallbackMode
+				+ ", showInconsistentCode=" + showInconsistentCode
+				+ ", useImports=" + useImports
+				+ ", debugInfo=" + debugInfo
+				+ ", insertDebugLines=" + insertDebugLines
+				+ ", inlineAnonymous=" + inlineAnonymousClasses
+				+ ", escapeUnicode=" + escapeUnicode
+				+ ", replaceConsts=" + replaceConsts
+				+ ", respectAccModifiers=" + respectBytecodeAccModifiers
+				+ ", renameFlags=" + new TreeSet<>(renameFlags)
+				+ ", fsCaseSensitive=" + fsCaseSensitive
+				+ ", lazyClassLoading=" + lazyClassLoading
+				+ ", deobfuscation=" + deobfuscationOn
+				+ ", deobfuscationMinLength=" + deobfuscationMinLength
+				+ ", deobfuscationMaxLength=" + deobfuscationMaxLength
+				+ ", deobfuscationMapFile=" + deobfuscationMapFile
+				+ ", useSourceNameAsAlias=" + useSourceNameAsClassAlias
+				+ ", parseKotlinMetadata=" + parseKotlinMetadata;
+	}
+
 	@Override
 	public String toString() {
 		return "JadxArgs{" + "inputFiles=" + inputFiles
 				+ ", outDir=" + outDir
 				+ ", outDirSrc=" + outDirSrc
 				+ ", outDirRes=" + outDirRes
+				+ ", outputZip=" + outputZip
 				+ ", threadsCount=" + threadsCount
 				+ ", cfgOutput=" + cfgOutput
 				+ ", rawCFGOutput=" + rawCFGOutput
@@ -409,6 +532,9 @@ public class JadxArgs {
 				+ ", useImports=" + useImports
 				+ ", skipResources=" + skipResources
 				+ ", skipSources=" + skipSources
+				+ ", lazyClassLoading=" + lazyClassLoading
+				+ ", profilePasses=" + profilePasses
+				+ ", processedClassesCacheSizeMb=" + processedClassesCacheSizeMb
 				+ ", deobfuscationOn=" + deobfuscationOn
 				+ ", deobfuscationMapFile=" + deobfuscationMapFile
 				+ ", deobfuscationForceSave=" + deobfuscationForceSave
@@ -424,6 +550,7 @@ public class JadxArgs {
 				+ ", renameFlags=" + renameFlags
 				+ ", outputFormat=" + outputFormat
 				+ ", codeCache=" + codeCache
+				+ ", pluginOptions=" + pluginOptions
 				+ ", codeWriter=" + codeWriterProvider.apply(this).getClass().getSimpleName()
 				+ '}';
 	}
@@ -16,6 +16,7 @@ public class JadxArgsValidator {
 	public static void validate(JadxArgs args) {
 		checkInputFiles(args);
 		validateOutDirs(args);
+		validateOutputZip(args);
 
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Effective jadx args: {}", args);
@@ -64,6 +65,22 @@ public class JadxArgsValidator {
 		checkDir(args.getOutDirRes(), "Resources output");
 	}
 
+	private static void validateOutputZip(JadxArgs args) {
+		File outputZip = args.getOutputZip();
+		if (outputZip == null) {
+			return;
+		}
+		if (args.isExportAsGradleProject()) {
+			throw new JadxArgsValidateException("Export as gradle project not supported with zip output");
+		}
+		if (args.getOutputFormat() == JadxArgs.OutputFormatEnum.JSON_LINES) {
+			throw new JadxArgsValidateException("JSON lines output format not supported with zip output");
+		}
+		if (outputZip.isDirectory()) {
+			throw new JadxArgsValidateException("Output zip file exists as directory " + outputZip);
+		}
+	}
+
 	@NotNull
 	private static File makeDirFromInput(JadxArgs args) {
 		File outDir;
@@ -2,20 +2,28 @@ package jadx.api;
 
 import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -27,22 +35,33 @@ import jadx.api.plugins.JadxPlugin;
 import jadx.api.plugins.JadxPluginManager;
 import jadx.api.plugins.input.JadxInputPlugin;
 import jadx.api.plugins.input.data.ILoadResult;
+import jadx.api.plugins.options.JadxPluginOptions;
+import jadx.api.plugins.utils.ZipFilesPool;
+import jadx.core.DecompileScheduler;
 import jadx.core.Jadx;
+import jadx.core.ProcessClass;
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.attributes.nodes.LineAttrNode;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.ICodeNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.nodes.VariableNode;
 import jadx.core.dex.visitors.SaveCode;
+import jadx.core.dex.visitors.usage.UsageIndex;
 import jadx.core.export.ExportGradleProject;
+import jadx.core.utils.DeferredShutdownExecutor;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+import jadx.core.utils.files.ZipOutputSaver;
+import jadx.core.utils.profiling.PassesProfiler;
 import jadx.core.xmlgen.BinaryXMLParser;
 import jadx.core.xmlgen.ProtoXMLParser;
 import jadx.core.xmlgen.ResContainer;
 import jadx.core.xmlgen.ResourcesSaver;
+import jadx.core.xmlgen.TagAttrDeobfNames;
 
 /**
  * Jadx API usage example:
@@ -75,13 +94,13 @@ public final class JadxDecompiler implements Closeable {
 	private final JadxArgs args;
 	private final JadxPluginManager pluginManager = new JadxPluginManager();
 	private final List<ILoadResult> loadedInputs = new ArrayList<>();
+	private final ZipFilesPool zipFilesPool = new ZipFilesPool();
 
 	private RootNode root;
 	private List<JavaClass> classes;
 	private List<ResourceFile> resources;
 
-	private BinaryXMLParser binaryXmlParser;
-	private ProtoXMLParser protoXmlParser;
+	private TagAttrDeobfNames xmlTagAttrDeobfNames;
 
 	private final Map<ClassNode, JavaClass> classesMap = new ConcurrentHashMap<>();
 	private final Map<MethodNode, JavaMethod> methodsMap = new ConcurrentHashMap<>();
@@ -107,31 +126,42 @@ public final class JadxDecompiler implements Closeable {
 		root.loadResources(getResources());
 		root.runPreDecompileStage();
 		root.initPasses();
+		root.getCodeCache().init(root);
 	}
 
 	private void loadInputFiles() {
 		loadedInputs.clear();
+		applyPluginOptions();
 		List<Path> inputPaths = Utils.collectionMap(args.getInputFiles(), File::toPath);
 		for (JadxInputPlugin inputPlugin : pluginManager.getInputPlugins()) {
-			ILoadResult loadResult = inputPlugin.loadFiles(inputPaths);
+			ILoadResult loadResult = inputPlugin.loadFiles(inputPaths, zipFilesPool);
 			if (loadResult != null && !loadResult.isEmpty()) {
 				loadedInputs.add(loadResult);
 			}
 		}
 	}
 
+	private void applyPluginOptions() {
+		Map<String, String> pluginOptions = args.getPluginOptions();
+		for (JadxPlugin plugin : pluginManager.getAllPlugins()) {
+			if (plugin instanceof JadxPluginOptions) {
+				((JadxPluginOptions) plugin).setOptions(pluginOptions);
+			}
+		}
+	}
+
 	private void reset() {
 		root = null;
 		classes = null;
 		resources = null;
-		binaryXmlParser = null;
-		protoXmlParser = null;
+		xmlTagAttrDeobfNames = null;
 
 		classesMap.clear();
 		methodsMap.clear();
 		fieldsMap.clear();
 
 		closeInputs();
+		zipFilesPool.close();
 	}
 
 	private void closeInputs() {
@@ -171,7 +201,68 @@ public final class JadxDecompiler implements Closeable {
 	}
 
 	private void save(boolean saveSources, boolean saveResources) {
+		File outputZip = args.getOutputZip();
+		if (outputZip != null) {
+			saveToZip(outputZip, saveSources, saveResources);
+			return;
+		}
+		if (saveSources && args.getOutputFormat() == JadxArgs.OutputFormatEnum.JSON_LINES) {
+			saveJsonLines(new File(args.getOutDirSrc(), JadxArgs.DEFAULT_JSON_LINES_FILE), saveResources);
+			return;
+		}
 		ExecutorService ex = getSaveExecutor(saveSources, saveResources);
+		awaitSave(ex);
+	}
+
+	private void saveToZip(File outputZip, boolean saveSources, boolean saveResources) {
+		if (root == null) {
+			throw new JadxRuntimeException("No loaded files");
+		}
+		DeferredShutdownExecutor executor = makeSaveExecutor();
+		try (ZipOutputSaver zip = new ZipOutputSaver(outputZip, args.getThreadsCount() * 16)) {
+			try {
+				if (saveResources) {
+					appendResourcesSave(executor, resFile -> new ResourcesSaver(zip, JadxArgs.DEFAULT_RES_DIR, resFile));
+				}
+				if (saveSources) {
+					appendSourcesSave(executor, cls -> SaveCode.save(zip, JadxArgs.DEFAULT_SRC_DIR, cls));
+				}
+				awaitSave(executor);
+			} finally {
+				// tasks must be stopped before zip close
+				stopSave(executor);
+			}
+		}
+		LOG.info("saved to zip: {}", outputZip);
+	}
+
+	/**
+	 * Save all classes into one file, line for every class
+	 */
+	private void saveJsonLines(File outFile, boolean saveResources) {
+		if (root == null) {
+			throw new JadxRuntimeException("No loaded files");
+		}
+		DeferredShutdownExecutor executor = makeSaveExecutor();
+		FileUtils.makeDirsForFile(outFile);
+		try (Writer out = Files.newBufferedWriter(outFile.toPath(), StandardCharsets.UTF_8)) {
+			try {
+				if (saveResources) {
+					File resOutDir = args.getOutDirRes();
+					appendResourcesSave(executor, resFile -> new ResourcesSaver(resOutDir, resFile));
+				}
+				appendSourcesSave(executor, cls -> SaveCode.saveLine(out, cls));
+				awaitSave(executor);
+			} finally {
+				stopSave(executor);
+			}
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to save classes to file: " + outFile, e);
+		}
+		LOG.info("classes saved to: {}", outFile);
+	}
+
+	private static void awaitSave(ExecutorService ex) {
 		ex.shutdown();
 		try {
 			ex.awaitTermination(1, TimeUnit.DAYS);
@@ -181,19 +272,46 @@ public final class JadxDecompiler implements Closeable {
 		}
 	}
 
+	/**
+	 * Cancel not finished tasks and wait for running ones (interrupt flag restored after wait)
+	 */
+	private static void stopSave(ExecutorService ex) {
+		ex.shutdownNow();
+		boolean interrupted = Thread.interrupted();
+		try {
+			while (true) {
+				try {
+					if (ex.awaitTermination(1, TimeUnit.DAYS)) {
+						return;
+					}
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
 	public ExecutorService getSaveExecutor() {
 		return getSaveExecutor(!args.isSkipSources(), !args.isSkipResources());
 	}
 
-	private ExecutorService getSaveExecutor(boolean saveSources, boolean saveResources) {
-		if (root == null) {
-			throw new JadxRuntimeException("No loaded files");
-		}
+	private DeferredShutdownExecutor makeSaveExecutor() {
 		int threadsCount = args.getThreadsCount();
 		LOG.debug("processing threads count: {}", threadsCount);
 
 		LOG.info("processing ...");
-		ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
+		return new DeferredShutdownExecutor(threadsCount);
+	}
+
+	private ExecutorService getSaveExecutor(boolean saveSources, boolean saveResources) {
+		if (root == null) {
+			throw new JadxRuntimeException("No loaded files");
+		}
+		DeferredShutdownExecutor executor = makeSaveExecutor();
 
 		File sourcesOutDir;
 		File resOutDir;
@@ -223,15 +341,15 @@ public final class JadxDecompiler implements Closeable {
 			resOutDir = args.getOutDirRes();
 		}
 		if (saveResources) {
-			appendResourcesSave(executor, resOutDir);
+			appendResourcesSave(executor, resFile -> new ResourcesSaver(resOutDir, resFile));
 		}
 		if (saveSources) {
-			appendSourcesSave(executor, sourcesOutDir);
+			appendSourcesSave(executor, cls -> SaveCode.save(sourcesOutDir, cls));
 		}
 		return executor;
 	}
 
-	private void appendResourcesSave(ExecutorService executor, File outDir) {
+	private void appendResourcesSave(ExecutorService executor, Function<ResourceFile, Runnable> saverFactory) {
 		Set<String> inputFileNames = args.getInputFiles().stream().map(File::getAbsolutePath).collect(Collectors.toSet());
 		for (ResourceFile resourceFile : getResources()) {
 			if (resourceFile.getType() != ResourceType.ARSC
@@ -239,12 +357,13 @@ public final class JadxDecompiler implements Closeable {
 				// ignore resource made from input file
 				continue;
 			}
-			executor.execute(new ResourcesSaver(outDir, resourceFile));
+			executor.execute(saverFactory.apply(resourceFile));
 		}
 	}
 
-	private void appendSourcesSave(ExecutorService executor, File outDir) {
+	private void appendSourcesSave(DeferredShutdownExecutor executor, Consumer<ClassNode> clsSaver) {
 		Predicate<String> classFilter = args.getClassFilter();
+		List<ClassNode> clsList = new ArrayList<>();
 		for (JavaClass cls : getClasses()) {
 			if (cls.getClassNode().contains(AFlag.DONT_GENERATE)) {
 				continue;
@@ -252,10 +371,62 @@ public final class JadxDecompiler implements Closeable {
 			if (classFilter != null && !classFilter.test(cls.getFullName())) {
 				continue;
 			}
+			clsList.add(cls.getClassNode());
+		}
+		List<DecompileScheduler.Batch> batches = DecompileScheduler.buildBatches(clsList, DecompileScheduler.DEFAULT_BATCH_SIZE);
+		executor.hold();
+		submitBatches(executor, batches.iterator(), clsSaver);
+	}
+
+	/**
+	 * Submit batches in order: class tasks of batch submitted by last finished task of batch shared dependencies,
+	 * so workers don't wait for dependencies processing. Next batch dependencies submitted right after class tasks.
+	 * Executor released after last batch submitted.
+	 */
+	private void submitBatches(DeferredShutdownExecutor executor, Iterator<DecompileScheduler.Batch> batches,
+			Consumer<ClassNode> clsSaver) {
+		while (batches.hasNext()) {
+			DecompileScheduler.Batch batch = batches.next();
+			List<ClassNode> sharedDeps = batch.getSharedDeps();
+			if (!sharedDeps.isEmpty()) {
+				AtomicInteger remainingDeps = new AtomicInteger(sharedDeps.size());
+				for (ClassNode dep : sharedDeps) {
+					executor.execute(() -> {
+						try {
+							ProcessClass.processDependency(dep);
+						} catch (Exception e) {
+							LOG.error("Error processing class: {}", dep.getFullName(), e);
+						} finally {
+							if (remainingDeps.decrementAndGet() == 0) {
+								continueBatches(executor, batch, batches, clsSaver);
+							}
+						}
+					});
+				}
+				return;
+			}
+			submitClasses(executor, batch, clsSaver);
+		}
+		executor.release();
+	}
+
+	private void continueBatches(DeferredShutdownExecutor executor, DecompileScheduler.Batch batch,
+			Iterator<DecompileScheduler.Batch> batches, Consumer<ClassNode> clsSaver) {
+		try {
+			submitClasses(executor, batch, clsSaver);
+			submitBatches(executor, batches, clsSaver);
+		} catch (RejectedExecutionException e) {
+			// save cancelled
+			LOG.debug("Classes save tasks rejected", e);
+		}
+	}
+
+	private void submitClasses(ExecutorService executor, DecompileScheduler.Batch batch,
+			Consumer<ClassNode> clsSaver) {
+		for (ClassNode cls : batch.getClasses()) {
 			executor.execute(() -> {
 				try {
-					ICodeInfo code = cls.getCodeInfo();
-					SaveCode.save(outDir, cls.getClassNode(), code);
+					clsSaver.accept(cls);
 				} catch (Exception e) {
 					LOG.error("Error saving class: {}", cls.getFullName(), e);
 				}
@@ -337,6 +508,27 @@ public final class JadxDecompiler implements Closeable {
 		root.getErrorsCounter().printReport();
 	}
 
+	/**
+	 * Passes statistics collected during processing.
+	 *
+	 * @return {@code null} if profiling not enabled by {@link JadxArgs#setProfilePasses(boolean)}
+	 */
+	@Nullable
+	public PassesProfiler getPassesProfiler() {
+		if (root == null) {
+			return null;
+		}
+		return root.getPassesProfiler();
+	}
+
+	/**
+	 * Opened input zip files, shared by all resources and input plugins.
+	 * Closed in {@link #close()}.
+	 */
+	public ZipFilesPool getZipFilesPool() {
+		return zipFilesPool;
+	}
+
 	/**
 	 * Internal API. Not Stable!
 	 */
@@ -344,18 +536,22 @@ public final class JadxDecompiler implements Closeable {
 		return root;
 	}
 
-	synchronized BinaryXMLParser getBinaryXmlParser() {
-		if (binaryXmlParser == null) {
-			binaryXmlParser = new BinaryXMLParser(root);
-		}
-		return binaryXmlParser;
+	/**
+	 * Parsers are not thread safe, so new instance created for every file.
+	 */
+	BinaryXMLParser makeBinaryXmlParser() {
+		return new BinaryXMLParser(root, getXmlTagAttrDeobfNames());
 	}
 
-	synchronized ProtoXMLParser getProtoXmlParser() {
-		if (protoXmlParser == null) {
-			protoXmlParser = new ProtoXMLParser(root);
+	ProtoXMLParser makeProtoXmlParser() {
+		return new ProtoXMLParser(root, getXmlTagAttrDeobfNames());
+	}
+
+	private synchronized TagAttrDeobfNames getXmlTagAttrDeobfNames() {
+		if (xmlTagAttrDeobfNames == null) {
+			xmlTagAttrDeobfNames = new TagAttrDeobfNames();
 		}
-		return protoXmlParser;
+		return xmlTagAttrDeobfNames;
 	}
 
 	private void loadJavaClass(JavaClass javaClass) {
@@ -374,6 +570,14 @@ public final class JadxDecompiler implements Closeable {
 		if (javaClass != null) {
 			return javaClass;
 		}
+		if (classes == null) {
+			// classes map not filled yet
+			getClasses();
+			javaClass = classesMap.get(cls);
+			if (javaClass != null) {
+				return javaClass;
+			}
+		}
 		// load parent class if inner
 		ClassNode parentClass = cls.getTopParentClass();
 		if (parentClass.contains(AFlag.DONT_GENERATE)) {
@@ -442,13 +646,47 @@ public final class JadxDecompiler implements Closeable {
 		throw new JadxRuntimeException("JavaField not found by FieldNode: " + fld);
 	}
 
+	/**
+	 * Search class by original full name (inner classes names separated by dot)
+	 */
 	@Nullable
 	public JavaClass searchJavaClassByOrigFullName(String fullName) {
-		return getRoot().getClasses().stream()
-				.filter(cls -> cls.getClassInfo().getFullName().equals(fullName))
-				.findFirst()
-				.map(this::getJavaClassByNode)
-				.orElse(null);
+		ClassNode cls = getRoot().getClassSearchIndex().searchByFullName(fullName);
+		return cls == null ? null : getJavaClassByNode(cls);
+	}
+
+	/**
+	 * Search class by full name after renames
+	 */
+	@Nullable
+	public JavaClass searchJavaClassByAliasFullName(String aliasFullName) {
+		ClassNode cls = getRoot().getClassSearchIndex().searchByAliasFullName(aliasFullName);
+		return cls == null ? null : getJavaClassByNode(cls);
+	}
+
+	/**
+	 * Search classes by original short name, inner classes included
+	 */
+	public List<JavaClass> searchJavaClassesByShortName(String shortName) {
+		return convertClassNodes(getRoot().getClassSearchIndex().searchByShortName(shortName));
+	}
+
+	/**
+	 * Top level classes from package and sub packages (by original names)
+	 */
+	public List<JavaClass> searchJavaClassesByPackage(String pkgPrefix) {
+		return convertClassNodes(getRoot().getClassSearchIndex().searchByPackagePrefix(pkgPrefix));
+	}
+
+	private List<JavaClass> convertClassNodes(List<ClassNode> classNodes) {
+		List<JavaClass> list = new ArrayList<>(classNodes.size());
+		for (ClassNode cls : classNodes) {
+			JavaClass javaClass = getJavaClassByNode(cls);
+			if (javaClass != null) {
+				list.add(javaClass);
+			}
+		}
+		return list;
 	}
 
 	@Nullable
@@ -483,6 +721,16 @@ public final class JadxDecompiler implements Closeable {
 				.collect(Collectors.toList());
 	}
 
+	List<JavaUseSite> convertUseSites(ICodeNode node) {
+		UsageIndex usageIndex = root.getUsageIndex();
+		if (usageIndex == null) {
+			return Collections.emptyList();
+		}
+		List<JavaUseSite> list = new ArrayList<>(usageIndex.getUsesCount(node));
+		usageIndex.visitUseSites(node, (useNode, offset) -> list.add(new JavaUseSite(this, useNode, offset)));
+		return list;
+	}
+
 	@Nullable
 	public JavaNode getJavaNodeAtPosition(ICodeInfo codeInfo, int line, int offset) {
 		Map<CodePosition, Object> map = codeInfo.getAnnotations();
@@ -62,6 +62,27 @@ public final class JavaClass implements JavaNode {
 		cls.reloadCode();
 	}
 
+	/**
+	 * Generate code again, for example after change of code generation options in {@link JadxArgs}.
+	 * Processing passes not executed if class kept in memory
+	 * (see {@link JadxArgs#setProcessedClassesCacheSizeMb(int)}).
+	 */
+	public synchronized void regenerateCode() {
+		listsLoaded = false;
+		cls.regenerateCode();
+	}
+
+	/**
+	 * Faster version of {@link #reload()} for methods and fields renames:
+	 * update names in already generated code, fallback to full reload if not possible
+	 */
+	public synchronized void reloadAfterRename() {
+		listsLoaded = false;
+		if (!cls.updateCodeAfterRename()) {
+			cls.reloadCode();
+		}
+	}
+
 	public synchronized String getSmali() {
 		return cls.getSmali();
 	}
@@ -165,6 +186,11 @@ public final class JavaClass implements JavaNode {
 		return getRootDecompiler().convertNodes(cls.getUseIn());
 	}
 
+	@Override
+	public List<JavaUseSite> getUseSites() {
+		return getRootDecompiler().convertUseSites(cls);
+	}
+
 	@Nullable
 	@Deprecated
 	public JavaNode getJavaNodeAtPosition(int line, int offset) {
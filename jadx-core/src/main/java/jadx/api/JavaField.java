@@ -59,6 +59,11 @@ public final class JavaField implements JavaNode {
 		return getDeclaringClass().getRootDecompiler().convertNodes(field.getUseIn());
 	}
 
+	@Override
+	public List<JavaUseSite> getUseSites() {
+		return getDeclaringClass().getRootDecompiler().convertUseSites(field);
+	}
+
 	/**
 	 * Internal API. Not Stable!
 	 */
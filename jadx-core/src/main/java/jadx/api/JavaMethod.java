@@ -63,6 +63,11 @@ public final class JavaMethod implements JavaNode {
 		return getDeclaringClass().getRootDecompiler().convertNodes(mth.getUseIn());
 	}
 
+	@Override
+	public List<JavaUseSite> getUseSites() {
+		return getDeclaringClass().getRootDecompiler().convertUseSites(mth);
+	}
+
 	public List<JavaNode> getOverrideRelatedMethods() {
 		MethodOverrideAttr ovrdAttr = mth.get(AType.METHOD_OVERRIDE);
 		if (ovrdAttr == null) {
@@ -1,5 +1,6 @@
 package jadx.api;
 
+import java.util.Collections;
 import java.util.List;
 
 public interface JavaNode {
@@ -17,4 +18,14 @@ public interface JavaNode {
 	int getDefPos();
 
 	List<JavaNode> getUseIn();
+
+	/**
+	 * Usage places collected before decompilation, available without decompilation of all classes.
+	 * <br>
+	 * With {@link JadxArgs#setLazyClassLoading(boolean)} contains only usage places
+	 * from already prepared (selected by class filter or decompiled) classes.
+	 */
+	default List<JavaUseSite> getUseSites() {
+		return Collections.emptyList();
+	}
 }
@@ -0,0 +1,76 @@
+package jadx.api;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.data.IJavaNodeRef.RefType;
+import jadx.api.data.impl.JadxNodeRef;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.ICodeNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.visitors.usage.UsageIndex;
+
+/**
+ * Node usage place collected before decompilation: using class or method and instruction offset.
+ * <br>
+ * Only {@link #getUseNode()} require decompilation of class with usage.
+ */
+public final class JavaUseSite {
+	private final JadxDecompiler decompiler;
+	private final ICodeNode useNode;
+	private final int offset;
+
+	JavaUseSite(JadxDecompiler decompiler, ICodeNode useNode, int offset) {
+		this.decompiler = decompiler;
+		this.useNode = useNode;
+		this.offset = offset;
+	}
+
+	/**
+	 * @return instruction offset in method code or -1 for usage in class or method declaration
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	public boolean isDeclaration() {
+		return offset == UsageIndex.DECLARATION_OFFSET;
+	}
+
+	public JadxNodeRef getUseNodeRef() {
+		if (useNode instanceof MethodNode) {
+			MethodNode mth = (MethodNode) useNode;
+			return new JadxNodeRef(RefType.METHOD,
+					mth.getParentClass().getClassInfo().getFullName(),
+					mth.getMethodInfo().getShortId());
+		}
+		return JadxNodeRef.forCls(((ClassNode) useNode).getClassInfo().getFullName());
+	}
+
+	/**
+	 * Top class with usage, can be used without decompilation
+	 */
+	@Nullable
+	public JavaClass getTopClass() {
+		return (JavaClass) decompiler.convertNode(getUseClassNode().getTopParentClass());
+	}
+
+	/**
+	 * Java method or class with usage, decompile top class if needed
+	 */
+	@Nullable
+	public JavaNode getUseNode() {
+		return decompiler.convertNode(useNode);
+	}
+
+	private ClassNode getUseClassNode() {
+		if (useNode instanceof MethodNode) {
+			return ((MethodNode) useNode).getParentClass();
+		}
+		return (ClassNode) useNode;
+	}
+
+	@Override
+	public String toString() {
+		return useNode + (isDeclaration() ? "" : " at 0x" + Integer.toHexString(offset));
+	}
+}
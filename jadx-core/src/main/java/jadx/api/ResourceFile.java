@@ -2,6 +2,9 @@ package jadx.api;
 
 import java.io.File;
 
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.plugins.utils.ZipFilesPool;
 import jadx.api.plugins.utils.ZipSecurity;
 import jadx.core.xmlgen.ResContainer;
 import jadx.core.xmlgen.entry.ResourceEntry;
@@ -83,6 +86,11 @@ public class ResourceFile {
 		return zipRef;
 	}
 
+	@Nullable
+	ZipFilesPool getZipFilesPool() {
+		return decompiler != null ? decompiler.getZipFilesPool() : null;
+	}
+
 	@Override
 	public String toString() {
 		return "ResourceFile{name='" + name + '\'' + ", type=" + type + '}';
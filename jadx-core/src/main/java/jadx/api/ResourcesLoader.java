@@ -16,6 +16,7 @@ import org.slf4j.LoggerFactory;
 
 import jadx.api.ResourceFile.ZipRef;
 import jadx.api.impl.SimpleCodeInfo;
+import jadx.api.plugins.utils.ZipFilesPool;
 import jadx.api.plugins.utils.ZipSecurity;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.utils.Utils;
@@ -60,25 +61,32 @@ public final class ResourcesLoader {
 				try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
 					return decoder.decode(file.length(), inputStream);
 				}
-			} else {
-				try (ZipFile zipFile = new ZipFile(zipRef.getZipFile())) {
-					ZipEntry entry = zipFile.getEntry(zipRef.getEntryName());
-					if (entry == null) {
-						throw new IOException("Zip entry not found: " + zipRef);
-					}
-					if (!ZipSecurity.isValidZipEntry(entry)) {
-						return null;
-					}
-					try (InputStream inputStream = ZipSecurity.getInputStreamForEntry(zipFile, entry)) {
-						return decoder.decode(entry.getSize(), inputStream);
-					}
-				}
+			}
+			ZipFilesPool zipPool = rf.getZipFilesPool();
+			if (zipPool != null) {
+				return decodeZipEntry(zipPool.get(zipRef.getZipFile()), zipRef, decoder);
+			}
+			try (ZipFile zipFile = new ZipFile(zipRef.getZipFile())) {
+				return decodeZipEntry(zipFile, zipRef, decoder);
 			}
 		} catch (Exception e) {
 			throw new JadxException("Error decode: " + rf.getDeobfName(), e);
 		}
 	}
 
+	private static <T> T decodeZipEntry(ZipFile zipFile, ZipRef zipRef, ResourceDecoder<T> decoder) throws IOException {
+		ZipEntry entry = zipFile.getEntry(zipRef.getEntryName());
+		if (entry == null) {
+			throw new IOException("Zip entry not found: " + zipRef);
+		}
+		if (!ZipSecurity.isValidZipEntry(entry)) {
+			return null;
+		}
+		try (InputStream inputStream = ZipSecurity.getInputStreamForEntry(zipFile, entry)) {
+			return decoder.decode(entry.getSize(), inputStream);
+		}
+	}
+
 	static ResContainer loadContent(JadxDecompiler jadxRef, ResourceFile rf) {
 		try {
 			return decodeStream(rf, (size, is) -> loadContent(jadxRef, rf, is));
@@ -99,9 +107,9 @@ public final class ResourcesLoader {
 			case XML: {
 				ICodeInfo content;
 				if (root.isProto()) {
-					content = jadxRef.getProtoXmlParser().parse(inputStream);
+					content = jadxRef.makeProtoXmlParser().parse(inputStream);
 				} else {
-					content = jadxRef.getBinaryXmlParser().parse(inputStream);
+					content = jadxRef.makeBinaryXmlParser().parse(inputStream);
 				}
 				return ResContainer.textResource(rf.getDeobfName(), content);
 			}
@@ -140,7 +148,7 @@ public final class ResourcesLoader {
 			return;
 		}
 		if (FileUtils.isZipFile(file)) {
-			ZipSecurity.visitZipEntries(file, (zipFile, entry) -> {
+			ZipSecurity.visitZipEntries(jadxRef.getZipFilesPool(), file, (zipFile, entry) -> {
 				addEntry(list, file, entry);
 				return null;
 			});
@@ -0,0 +1,161 @@
+package jadx.api.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.ICodeCache;
+import jadx.api.ICodeInfo;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Memory cache with size limit.
+ * Least recently used entries are evicted when estimated size of stored code exceed the limit.
+ */
+public class BoundedCodeCache implements ICodeCache {
+
+	/**
+	 * Rough estimations of used memory (for 64-bit JVM with compressed oops)
+	 */
+	private static final int STRING_OVERHEAD = 56;
+	private static final int LINE_MAPPING_ENTRY_SIZE = 64;
+	private static final int ANNOTATION_ENTRY_SIZE = 80;
+	private static final int CACHE_ENTRY_OVERHEAD = 96;
+
+	private final long maxSize;
+	private final Map<String, Entry> storage = new LinkedHashMap<>(64, 0.75f, true);
+
+	private long usedSize;
+	private long hitsCount;
+	private long missesCount;
+	private long evictionsCount;
+
+	/**
+	 * @param maxSize cache size limit in bytes
+	 */
+	public BoundedCodeCache(long maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Code cache size limit should be positive: " + maxSize);
+		}
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public synchronized void init(RootNode root) {
+		storage.clear();
+		usedSize = 0;
+	}
+
+	@Override
+	public synchronized void add(String clsFullName, ICodeInfo codeInfo) {
+		Entry prev = storage.remove(clsFullName);
+		if (prev != null) {
+			usedSize -= prev.getSize();
+		}
+		long size = estimateSize(clsFullName, codeInfo);
+		if (size > maxSize) {
+			// too big, will be decompiled again on next request
+			evictionsCount++;
+			return;
+		}
+		storage.put(clsFullName, new Entry(codeInfo, size));
+		usedSize += size;
+		evict();
+	}
+
+	@Override
+	public synchronized void remove(String clsFullName) {
+		Entry entry = storage.remove(clsFullName);
+		if (entry != null) {
+			usedSize -= entry.getSize();
+		}
+	}
+
+	@Override
+	public synchronized @Nullable ICodeInfo get(String clsFullName) {
+		Entry entry = storage.get(clsFullName);
+		if (entry == null) {
+			missesCount++;
+			return null;
+		}
+		hitsCount++;
+		return entry.getCodeInfo();
+	}
+
+	private void evict() {
+		Iterator<Entry> it = storage.values().iterator();
+		while (usedSize > maxSize && it.hasNext()) {
+			Entry entry = it.next();
+			it.remove();
+			usedSize -= entry.getSize();
+			evictionsCount++;
+		}
+	}
+
+	public static long estimateSize(String clsFullName, ICodeInfo codeInfo) {
+		long size = CACHE_ENTRY_OVERHEAD;
+		size += stringSize(clsFullName);
+		size += stringSize(codeInfo.getCodeStr());
+		size += (long) codeInfo.getLineMapping().size() * LINE_MAPPING_ENTRY_SIZE;
+		size += (long) codeInfo.getAnnotations().size() * ANNOTATION_ENTRY_SIZE;
+		return size;
+	}
+
+	private static long stringSize(String str) {
+		return STRING_OVERHEAD + 2L * str.length();
+	}
+
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	public synchronized long getUsedSize() {
+		return usedSize;
+	}
+
+	public synchronized int getEntriesCount() {
+		return storage.size();
+	}
+
+	public synchronized long getHitsCount() {
+		return hitsCount;
+	}
+
+	public synchronized long getMissesCount() {
+		return missesCount;
+	}
+
+	public synchronized long getEvictionsCount() {
+		return evictionsCount;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "BoundedCodeCache{size=" + usedSize + '/' + maxSize
+				+ ", entries=" + storage.size()
+				+ ", hits=" + hitsCount
+				+ ", misses=" + missesCount
+				+ ", evictions=" + evictionsCount
+				+ '}';
+	}
+
+	private static final class Entry {
+		private final ICodeInfo codeInfo;
+		private final long size;
+
+		private Entry(ICodeInfo codeInfo, long size) {
+			this.codeInfo = codeInfo;
+			this.size = size;
+		}
+
+		public ICodeInfo getCodeInfo() {
+			return codeInfo;
+		}
+
+		public long getSize() {
+			return size;
+		}
+	}
+}
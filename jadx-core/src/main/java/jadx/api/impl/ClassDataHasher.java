@@ -0,0 +1,293 @@
+package jadx.api.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.plugins.input.data.ICatch;
+import jadx.api.plugins.input.data.IClassData;
+import jadx.api.plugins.input.data.ICodeReader;
+import jadx.api.plugins.input.data.IDebugInfo;
+import jadx.api.plugins.input.data.IFieldData;
+import jadx.api.plugins.input.data.ILocalVar;
+import jadx.api.plugins.input.data.IMethodData;
+import jadx.api.plugins.input.data.IMethodHandle;
+import jadx.api.plugins.input.data.IMethodProto;
+import jadx.api.plugins.input.data.IMethodRef;
+import jadx.api.plugins.input.data.ITry;
+import jadx.api.plugins.input.data.annotations.EncodedValue;
+import jadx.api.plugins.input.data.annotations.IAnnotation;
+import jadx.api.plugins.input.insns.InsnData;
+import jadx.api.plugins.input.insns.custom.IArrayPayload;
+import jadx.api.plugins.input.insns.custom.ICustomPayload;
+import jadx.api.plugins.input.insns.custom.ISwitchPayload;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Compute class input data fingerprint.
+ * Indexes into dex pools are replaced with resolved values,
+ * so result not changed if unrelated classes added or removed from input file.
+ */
+final class ClassDataHasher {
+
+	private final MessageDigest md = newDigest();
+
+	static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new JadxRuntimeException("SHA-256 digest not available", e);
+		}
+	}
+
+	byte[] hash(IClassData cls) {
+		md.reset();
+		add(cls.getType());
+		add(cls.getAccessFlags());
+		add(cls.getSuperType());
+		addStrings(cls.getInterfacesTypes());
+		add(cls.getSourceFile());
+		cls.visitFieldsAndMethods(this::addField, this::addMethod);
+		addAnnotations(cls.getAnnotations());
+		List<EncodedValue> staticValues = cls.getStaticFieldInitValues();
+		add(staticValues.size());
+		for (EncodedValue value : staticValues) {
+			addValue(value);
+		}
+		return md.digest();
+	}
+
+	private void addField(IFieldData fld) {
+		addFieldRef(fld);
+		add(fld.getAccessFlags());
+		addAnnotations(fld.getAnnotations());
+	}
+
+	private void addMethod(IMethodData mth) {
+		addMethodRef(mth.getMethodRef());
+		add(mth.getAccessFlags());
+		addAnnotations(mth.getAnnotations());
+		List<List<IAnnotation>> paramsAnnotations = mth.getParamsAnnotations();
+		add(paramsAnnotations.size());
+		for (List<IAnnotation> paramAnnotations : paramsAnnotations) {
+			addAnnotations(paramAnnotations);
+		}
+		ICodeReader codeReader = mth.getCodeReader();
+		if (codeReader == null) {
+			add(-1);
+		} else {
+			addCode(codeReader);
+		}
+	}
+
+	private void addCode(ICodeReader code) {
+		add(code.getRegistersCount());
+		add(code.getInsnsCount());
+		code.visitInstructions(this::addInsn);
+		List<ITry> tries = code.getTries();
+		add(tries.size());
+		for (ITry tryData : tries) {
+			add(tryData.getStartAddress());
+			add(tryData.getInstructionCount());
+			ICatch catchData = tryData.getCatch();
+			for (String type : catchData.getTypes()) {
+				add(type);
+			}
+			for (int addr : catchData.getAddresses()) {
+				add(addr);
+			}
+			add(catchData.getCatchAllAddress());
+		}
+		IDebugInfo debugInfo = code.getDebugInfo();
+		if (debugInfo == null) {
+			add(-1);
+		} else {
+			Map<Integer, Integer> lines = new TreeMap<>(debugInfo.getSourceLineMapping());
+			add(lines.size());
+			for (Map.Entry<Integer, Integer> entry : lines.entrySet()) {
+				add(entry.getKey());
+				add(entry.getValue());
+			}
+			List<ILocalVar> localVars = debugInfo.getLocalVars();
+			add(localVars.size());
+			for (ILocalVar var : localVars) {
+				add(var.getName());
+				add(var.getRegNum());
+				add(var.getType());
+				add(var.getSignature());
+				add(var.getStartOffset());
+				add(var.getEndOffset());
+			}
+		}
+	}
+
+	private void addInsn(InsnData insn) {
+		insn.decode();
+		add(insn.getOffset());
+		add(insn.getOpcode().ordinal());
+		add(insn.getRawOpcodeUnit());
+		int regsCount = insn.getRegsCount();
+		add(regsCount);
+		for (int i = 0; i < regsCount; i++) {
+			add(insn.getReg(i));
+		}
+		add(insn.getLiteral());
+		add(insn.getTarget());
+		switch (insn.getIndexType()) {
+			case TYPE_REF:
+				add(insn.getIndexAsType());
+				break;
+			case STRING_REF:
+				add(insn.getIndexAsString());
+				break;
+			case FIELD_REF:
+				addFieldRef(insn.getIndexAsField());
+				break;
+			case METHOD_REF:
+				addMethodRef(insn.getIndexAsMethod());
+				break;
+			default:
+				// raw index value: can change with unrelated input changes, but only cause a cache miss
+				add(insn.getIndex());
+				break;
+		}
+		addPayload(insn.getPayload());
+	}
+
+	private void addPayload(@Nullable ICustomPayload payload) {
+		if (payload instanceof ISwitchPayload) {
+			ISwitchPayload switchPayload = (ISwitchPayload) payload;
+			for (int key : switchPayload.getKeys()) {
+				add(key);
+			}
+			for (int target : switchPayload.getTargets()) {
+				add(target);
+			}
+		} else if (payload instanceof IArrayPayload) {
+			IArrayPayload arrayPayload = (IArrayPayload) payload;
+			add(arrayPayload.getSize());
+			add(arrayPayload.getElementSize());
+			addObject(arrayPayload.getData());
+		}
+	}
+
+	private void addFieldRef(IFieldData fld) {
+		add(fld.getParentClassType());
+		add(fld.getName());
+		add(fld.getType());
+	}
+
+	private void addMethodRef(IMethodRef mthRef) {
+		mthRef.load();
+		add(mthRef.getParentClassType());
+		add(mthRef.getName());
+		add(mthRef.getReturnType());
+		addStrings(mthRef.getArgTypes());
+	}
+
+	private void addAnnotations(List<IAnnotation> annotations) {
+		add(annotations.size());
+		for (IAnnotation annotation : annotations) {
+			addAnnotation(annotation);
+		}
+	}
+
+	private void addAnnotation(IAnnotation annotation) {
+		add(annotation.getAnnotationClass());
+		add(annotation.getVisibility().ordinal());
+		Map<String, EncodedValue> values = new TreeMap<>(annotation.getValues());
+		add(values.size());
+		for (Map.Entry<String, EncodedValue> entry : values.entrySet()) {
+			add(entry.getKey());
+			addValue(entry.getValue());
+		}
+	}
+
+	private void addValue(EncodedValue value) {
+		add(value.getType().ordinal());
+		addObject(value.getValue());
+	}
+
+	private void addObject(@Nullable Object obj) {
+		if (obj == null) {
+			add(-1);
+		} else if (obj instanceof EncodedValue) {
+			addValue((EncodedValue) obj);
+		} else if (obj instanceof List) {
+			List<?> list = (List<?>) obj;
+			add(list.size());
+			for (Object element : list) {
+				addObject(element);
+			}
+		} else if (obj instanceof IAnnotation) {
+			addAnnotation((IAnnotation) obj);
+		} else if (obj instanceof IFieldData) {
+			addFieldRef((IFieldData) obj);
+		} else if (obj instanceof IMethodRef) {
+			addMethodRef((IMethodRef) obj);
+		} else if (obj instanceof IMethodProto) {
+			IMethodProto proto = (IMethodProto) obj;
+			add(proto.getReturnType());
+			addStrings(proto.getArgTypes());
+		} else if (obj instanceof IMethodHandle) {
+			IMethodHandle handle = (IMethodHandle) obj;
+			handle.load();
+			add(handle.getType().ordinal());
+			if (handle.getType().isField()) {
+				addFieldRef(handle.getFieldRef());
+			} else {
+				addMethodRef(handle.getMethodRef());
+			}
+		} else if (obj instanceof byte[]) {
+			md.update((byte[]) obj);
+		} else if (obj instanceof short[]) {
+			for (short s : (short[]) obj) {
+				add(s);
+			}
+		} else if (obj instanceof int[]) {
+			for (int i : (int[]) obj) {
+				add(i);
+			}
+		} else if (obj instanceof long[]) {
+			for (long l : (long[]) obj) {
+				add(l);
+			}
+		} else {
+			add(obj.toString());
+		}
+	}
+
+	private void addStrings(List<String> list) {
+		add(list.size());
+		for (String str : list) {
+			add(str);
+		}
+	}
+
+	private void add(@Nullable String str) {
+		if (str == null) {
+			add(-1);
+			return;
+		}
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		add(bytes.length);
+		md.update(bytes);
+	}
+
+	private void add(int value) {
+		md.update((byte) (value >>> 24));
+		md.update((byte) (value >>> 16));
+		md.update((byte) (value >>> 8));
+		md.update((byte) value);
+	}
+
+	private void add(long value) {
+		add((int) (value >>> 32));
+		add((int) value);
+	}
+}
@@ -0,0 +1,632 @@
+package jadx.api.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.CodePosition;
+import jadx.api.ICodeCache;
+import jadx.api.ICodeInfo;
+import jadx.api.JadxArgs;
+import jadx.api.data.ICodeComment;
+import jadx.api.data.ICodeData;
+import jadx.api.data.annotations.CustomOffsetRef;
+import jadx.api.data.annotations.InsnCodeOffset;
+import jadx.api.plugins.input.data.IClassData;
+import jadx.core.Jadx;
+import jadx.core.codegen.TypeGen;
+import jadx.core.dex.attributes.nodes.LineAttrNode;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.nodes.VariableNode;
+import jadx.core.utils.ErrorsCounter;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Persistent code cache, allow to skip decompilation of unchanged classes between runs.
+ * <p>
+ * Entries are stored by key computed from class input data (including inner classes and dependencies),
+ * names after renaming, user comments, jadx version and options affecting code generation.
+ * Generated code is stored together with line mapping, annotations, definition positions
+ * and errors/warnings counts of class nodes (restored into {@link ErrorsCounter} on load).
+ * <p>
+ * Loaded entries are kept in provided memory cache to avoid repeated disk reads.
+ * <p>
+ * Entries are never updated, so changed classes produce new entries and old ones become unused.
+ * To limit cache size least recently used entries are removed on init if total size exceeds limit
+ * (see {@link #DiskCodeCache(Path, ICodeCache, long)}). Cache directory can also be safely deleted
+ * at any time when jadx not running.
+ */
+public class DiskCodeCache implements ICodeCache {
+	private static final Logger LOG = LoggerFactory.getLogger(DiskCodeCache.class);
+
+	private static final int DATA_FORMAT_VERSION = 2;
+	private static final String FILE_EXT = ".jcc";
+
+	public static final int DEFAULT_MAX_SIZE_MB = 1024;
+
+	private static final byte REF_CLASS = 1;
+	private static final byte REF_METHOD = 2;
+	private static final byte REF_FIELD = 3;
+	private static final byte REF_VAR = 4;
+	private static final byte REF_INSN_OFFSET = 5;
+	private static final byte REF_CUSTOM_OFFSET = 6;
+
+	private final Path cacheDir;
+	private final ICodeCache memCache;
+	private final long maxSize;
+
+	private final Map<ClassNode, byte[]> dataHashes = new ConcurrentHashMap<>();
+	private final AtomicInteger hitsCount = new AtomicInteger();
+	private final AtomicInteger missesCount = new AtomicInteger();
+
+	private RootNode root;
+	private byte[] baseKey;
+
+	public DiskCodeCache(Path cacheDir) {
+		this(cacheDir, new InMemoryCodeCache());
+	}
+
+	public DiskCodeCache(Path cacheDir, ICodeCache memCache) {
+		this(cacheDir, memCache, DEFAULT_MAX_SIZE_MB * 1024L * 1024L);
+	}
+
+	/**
+	 * @param maxSize cache size limit in bytes, checked on init, 0 to disable
+	 */
+	public DiskCodeCache(Path cacheDir, ICodeCache memCache, long maxSize) {
+		this.cacheDir = cacheDir;
+		this.memCache = memCache;
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public void init(RootNode root) {
+		this.root = root;
+		this.baseKey = buildBaseKey(root.getArgs());
+		this.dataHashes.clear();
+		memCache.init(root);
+		prune();
+	}
+
+	@Override
+	public void add(String clsFullName, ICodeInfo codeInfo) {
+		memCache.add(clsFullName, codeInfo);
+		if (root == null || codeInfo == ICodeInfo.EMPTY) {
+			return;
+		}
+		ClassNode cls = root.resolveClass(clsFullName);
+		if (cls == null || cls.getClsData() == null) {
+			return;
+		}
+		Path file = getEntryPath(buildKey(cls));
+		try {
+			byte[] data = serialize(cls, codeInfo);
+			if (data != null) {
+				writeFile(file, data);
+			}
+		} catch (Exception e) {
+			LOG.warn("Failed to save code cache entry for class: {}", clsFullName, e);
+		}
+	}
+
+	@Override
+	public void remove(String clsFullName) {
+		// disk entries not removed, changed class will get new key
+		memCache.remove(clsFullName);
+	}
+
+	@Override
+	public @Nullable ICodeInfo get(String clsFullName) {
+		ICodeInfo memCode = memCache.get(clsFullName);
+		if (memCode != null || root == null) {
+			return memCode;
+		}
+		ClassNode cls = root.resolveClass(clsFullName);
+		if (cls == null || cls.getClsData() == null) {
+			return null;
+		}
+		Path file = getEntryPath(buildKey(cls));
+		if (!Files.exists(file)) {
+			missesCount.incrementAndGet();
+			return null;
+		}
+		try {
+			ICodeInfo codeInfo = deserialize(file);
+			if (codeInfo != null) {
+				hitsCount.incrementAndGet();
+				touchFile(file);
+				memCache.add(clsFullName, codeInfo);
+				return codeInfo;
+			}
+		} catch (Exception e) {
+			LOG.debug("Failed to load code cache entry for class: {}, file: {}", clsFullName, file, e);
+		}
+		missesCount.incrementAndGet();
+		deleteFile(file);
+		return null;
+	}
+
+	public Path getCacheDir() {
+		return cacheDir;
+	}
+
+	public int getHitsCount() {
+		return hitsCount.get();
+	}
+
+	public int getMissesCount() {
+		return missesCount.get();
+	}
+
+	private Path getEntryPath(String key) {
+		return cacheDir.resolve(key.substring(0, 2)).resolve(key + FILE_EXT);
+	}
+
+	private static byte[] buildBaseKey(JadxArgs args) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("format=").append(DATA_FORMAT_VERSION);
+		sb.append(", jadx=").append(Jadx.getVersion());
+		sb.append(", ").append(args.getCodeOptionsFingerprint());
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private String buildKey(ClassNode cls) {
+		MessageDigest md = ClassDataHasher.newDigest();
+		md.update(baseKey);
+		addClassToKey(md, cls);
+		List<ClassNode> deps = new ArrayList<>(cls.getDependencies());
+		deps.sort(Comparator.comparing(ClassNode::getRawName));
+		for (ClassNode dep : deps) {
+			addClassToKey(md, dep);
+		}
+		addCommentsToKey(md, cls.getRawName());
+		return FileUtils.bytesToHex(md.digest());
+	}
+
+	private void addClassToKey(MessageDigest md, ClassNode cls) {
+		md.update(getDataHash(cls));
+		addStr(md, cls.getFullName());
+		for (MethodNode mth : cls.getMethods()) {
+			addStr(md, mth.getAlias());
+		}
+		for (FieldNode fld : cls.getFields()) {
+			addStr(md, fld.getAlias());
+		}
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			addClassToKey(md, innerCls);
+		}
+	}
+
+	private byte[] getDataHash(ClassNode cls) {
+		byte[] hash = dataHashes.get(cls);
+		if (hash != null) {
+			return hash;
+		}
+		IClassData clsData = cls.getClsData();
+		if (clsData == null) {
+			hash = cls.getRawName().getBytes(StandardCharsets.UTF_8);
+		} else {
+			hash = new ClassDataHasher().hash(clsData.copy());
+		}
+		dataHashes.put(cls, hash);
+		return hash;
+	}
+
+	private void addCommentsToKey(MessageDigest md, String clsRawName) {
+		ICodeData codeData = root.getArgs().getCodeData();
+		if (codeData == null) {
+			return;
+		}
+		String innerPrefix = clsRawName + '$';
+		for (ICodeComment comment : codeData.getComments()) {
+			String declCls = comment.getNodeRef().getDeclaringClass();
+			if (declCls.equals(clsRawName) || declCls.startsWith(innerPrefix)) {
+				addStr(md, comment.getNodeRef().getType() + ":" + declCls + ":" + comment.getNodeRef().getShortId());
+				addStr(md, comment.getOffset() + ":" + comment.getAttachType());
+				addStr(md, comment.getComment());
+			}
+		}
+	}
+
+	private static void addStr(MessageDigest md, String str) {
+		md.update(str.getBytes(StandardCharsets.UTF_8));
+		md.update((byte) 0);
+	}
+
+	/**
+	 * @return null if code metadata can't be stored
+	 */
+	@Nullable
+	private byte[] serialize(ClassNode cls, ICodeInfo codeInfo) throws IOException {
+		Map<VariableNode, Integer> varsMap = new IdentityHashMap<>();
+		List<VariableNode> varsList = new ArrayList<>();
+		for (Object ann : codeInfo.getAnnotations().values()) {
+			if (ann instanceof VariableNode && !varsMap.containsKey(ann)) {
+				VariableNode varNode = (VariableNode) ann;
+				varsMap.put(varNode, varsList.size());
+				varsList.add(varNode);
+			}
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(bytes)))) {
+			out.writeInt(DATA_FORMAT_VERSION);
+			byte[] code = codeInfo.getCodeStr().getBytes(StandardCharsets.UTF_8);
+			out.writeInt(code.length);
+			out.write(code);
+
+			Map<Integer, Integer> lineMapping = codeInfo.getLineMapping();
+			out.writeInt(lineMapping.size());
+			for (Map.Entry<Integer, Integer> entry : lineMapping.entrySet()) {
+				out.writeInt(entry.getKey());
+				out.writeInt(entry.getValue());
+			}
+
+			out.writeInt(varsList.size());
+			for (VariableNode varNode : varsList) {
+				writeMthRef(out, varNode.getMethodNode());
+				out.writeUTF(varNode.getName());
+				ArgType type = varNode.getType();
+				out.writeUTF(type != null && type.isTypeKnown() ? TypeGen.signature(type) : "");
+				out.writeByte(varNode.getVarKind().ordinal());
+				out.writeInt(varNode.getIndex());
+				out.writeInt(varNode.getDecompiledLine());
+				out.writeInt(varNode.getDefPosition());
+			}
+
+			List<LineAttrNode> defNodes = collectDefinitions(cls);
+			out.writeInt(defNodes.size());
+			for (LineAttrNode node : defNodes) {
+				writeNodeRef(out, node);
+				out.writeInt(node.getDecompiledLine());
+				out.writeInt(node.getDefPosition());
+			}
+
+			Map<CodePosition, Object> annotations = codeInfo.getAnnotations();
+			out.writeInt(annotations.size());
+			for (Map.Entry<CodePosition, Object> entry : annotations.entrySet()) {
+				CodePosition pos = entry.getKey();
+				out.writeInt(pos.getLine());
+				out.writeInt(pos.getOffset());
+				out.writeInt(pos.getPos());
+				Object ann = entry.getValue();
+				if (ann instanceof VariableNode) {
+					out.writeByte(REF_VAR);
+					out.writeInt(varsMap.get(ann));
+				} else if (ann instanceof InsnCodeOffset) {
+					out.writeByte(REF_INSN_OFFSET);
+					out.writeInt(((InsnCodeOffset) ann).getOffset());
+				} else if (ann instanceof CustomOffsetRef) {
+					CustomOffsetRef offsetRef = (CustomOffsetRef) ann;
+					out.writeByte(REF_CUSTOM_OFFSET);
+					out.writeInt(offsetRef.getOffset());
+					out.writeInt(offsetRef.getAttachType() == null ? -1 : offsetRef.getAttachType().ordinal());
+				} else if (ann instanceof ClassNode || ann instanceof MethodNode || ann instanceof FieldNode) {
+					writeNodeRef(out, (LineAttrNode) ann);
+				} else {
+					LOG.debug("Unsupported annotation type: {}, skip cache save for class: {}", ann.getClass(), cls);
+					return null;
+				}
+			}
+
+			ErrorsCounter errorsCounter = root.getErrorsCounter();
+			List<LineAttrNode> problemNodes = collectNodes(cls).stream()
+					.filter(n -> errorsCounter.getErrorCount(n) != 0 || errorsCounter.getWarnsCount(n) != 0)
+					.collect(Collectors.toList());
+			out.writeInt(problemNodes.size());
+			for (LineAttrNode node : problemNodes) {
+				writeNodeRef(out, node);
+				out.writeInt(errorsCounter.getErrorCount(node));
+				out.writeInt(errorsCounter.getWarnsCount(node));
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Class, methods and fields nodes of class and its inner (including inlined) classes
+	 */
+	private static List<LineAttrNode> collectNodes(ClassNode cls) {
+		Set<ClassNode> allClasses = new LinkedHashSet<>();
+		allClasses.add(cls);
+		cls.getInnerAndInlinedClassesRecursive(allClasses);
+		List<LineAttrNode> list = new ArrayList<>();
+		for (ClassNode c : allClasses) {
+			list.add(c);
+			list.addAll(c.getMethods());
+			list.addAll(c.getFields());
+		}
+		return list;
+	}
+
+	private static List<LineAttrNode> collectDefinitions(ClassNode cls) {
+		List<LineAttrNode> list = new ArrayList<>();
+		for (LineAttrNode node : collectNodes(cls)) {
+			addIfDefined(list, node);
+		}
+		return list;
+	}
+
+	private static void addIfDefined(List<LineAttrNode> list, LineAttrNode node) {
+		if (node.getDecompiledLine() != 0) {
+			list.add(node);
+		}
+	}
+
+	private static void writeNodeRef(DataOutputStream out, LineAttrNode node) throws IOException {
+		if (node instanceof ClassNode) {
+			out.writeByte(REF_CLASS);
+			out.writeUTF(((ClassNode) node).getRawName());
+		} else if (node instanceof MethodNode) {
+			out.writeByte(REF_METHOD);
+			writeMthRef(out, (MethodNode) node);
+		} else if (node instanceof FieldNode) {
+			FieldNode fld = (FieldNode) node;
+			out.writeByte(REF_FIELD);
+			out.writeUTF(fld.getParentClass().getRawName());
+			out.writeUTF(fld.getFieldInfo().getShortId());
+		} else {
+			throw new JadxRuntimeException("Unexpected node type: " + node.getClass());
+		}
+	}
+
+	private static void writeMthRef(DataOutputStream out, MethodNode mth) throws IOException {
+		out.writeUTF(mth.getParentClass().getRawName());
+		out.writeUTF(mth.getMethodInfo().getShortId());
+	}
+
+	/**
+	 * @return null if referenced nodes not found
+	 */
+	@Nullable
+	private ICodeInfo deserialize(Path file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+			if (in.readInt() != DATA_FORMAT_VERSION) {
+				return null;
+			}
+			byte[] codeBytes = new byte[in.readInt()];
+			in.readFully(codeBytes);
+			String code = new String(codeBytes, StandardCharsets.UTF_8);
+
+			int linesCount = in.readInt();
+			Map<Integer, Integer> lineMapping = linesCount == 0 ? Collections.emptyMap() : new TreeMap<>();
+			for (int i = 0; i < linesCount; i++) {
+				lineMapping.put(in.readInt(), in.readInt());
+			}
+
+			int varsCount = in.readInt();
+			VariableNode[] vars = new VariableNode[varsCount];
+			for (int i = 0; i < varsCount; i++) {
+				MethodNode mth = readMthRef(in);
+				String name = in.readUTF();
+				String typeStr = in.readUTF();
+				VariableNode.VarKind varKind = VariableNode.VarKind.values()[in.readByte()];
+				int index = in.readInt();
+				if (mth == null) {
+					return null;
+				}
+				ArgType type = typeStr.isEmpty() ? ArgType.UNKNOWN : ArgType.parse(typeStr);
+				VariableNode varNode = new VariableNode(mth, name, type, varKind, index);
+				varNode.setDecompiledLine(in.readInt());
+				varNode.setDefPosition(in.readInt());
+				vars[i] = varNode;
+			}
+
+			int defsCount = in.readInt();
+			List<LineAttrNode> defNodes = new ArrayList<>(defsCount);
+			int[] defPositions = new int[defsCount * 2];
+			for (int i = 0; i < defsCount; i++) {
+				LineAttrNode node = readNodeRef(in, in.readByte());
+				if (node == null) {
+					return null;
+				}
+				defNodes.add(node);
+				defPositions[i * 2] = in.readInt();
+				defPositions[i * 2 + 1] = in.readInt();
+			}
+
+			int annCount = in.readInt();
+			Map<CodePosition, Object> annotations = annCount == 0 ? Collections.emptyMap() : new HashMap<>(annCount);
+			for (int i = 0; i < annCount; i++) {
+				CodePosition pos = new CodePosition(in.readInt(), in.readInt(), in.readInt());
+				Object ann;
+				byte refType = in.readByte();
+				switch (refType) {
+					case REF_VAR:
+						ann = vars[in.readInt()];
+						break;
+					case REF_INSN_OFFSET:
+						ann = new InsnCodeOffset(in.readInt());
+						break;
+					case REF_CUSTOM_OFFSET:
+						int offset = in.readInt();
+						int attachType = in.readInt();
+						ann = new CustomOffsetRef(offset, attachType == -1 ? null : ICodeComment.AttachType.values()[attachType]);
+						break;
+					default:
+						ann = readNodeRef(in, refType);
+						if (ann == null) {
+							return null;
+						}
+						break;
+				}
+				annotations.put(pos, ann);
+			}
+
+			int problemsCount = in.readInt();
+			List<LineAttrNode> problemNodes = new ArrayList<>(problemsCount);
+			int[] problemCounts = new int[problemsCount * 2];
+			for (int i = 0; i < problemsCount; i++) {
+				LineAttrNode node = readNodeRef(in, in.readByte());
+				if (node == null) {
+					return null;
+				}
+				problemNodes.add(node);
+				problemCounts[i * 2] = in.readInt();
+				problemCounts[i * 2 + 1] = in.readInt();
+			}
+
+			// all references resolved, now safe to update nodes
+			for (int i = 0; i < defsCount; i++) {
+				LineAttrNode node = defNodes.get(i);
+				node.setDecompiledLine(defPositions[i * 2]);
+				node.setDefPosition(defPositions[i * 2 + 1]);
+			}
+			ErrorsCounter errorsCounter = root.getErrorsCounter();
+			for (int i = 0; i < problemsCount; i++) {
+				errorsCounter.addFromCache(problemNodes.get(i), problemCounts[i * 2], problemCounts[i * 2 + 1]);
+			}
+			if (lineMapping.isEmpty() && annotations.isEmpty()) {
+				return new SimpleCodeInfo(code);
+			}
+			return new AnnotatedCodeInfo(code, lineMapping, annotations);
+		}
+	}
+
+	@Nullable
+	private LineAttrNode readNodeRef(DataInputStream in, byte refType) throws IOException {
+		switch (refType) {
+			case REF_CLASS:
+				return root.resolveClass(in.readUTF());
+
+			case REF_METHOD:
+				return readMthRef(in);
+
+			case REF_FIELD:
+				ClassNode cls = root.resolveClass(in.readUTF());
+				String fldShortId = in.readUTF();
+				return cls == null ? null : cls.searchFieldByShortId(fldShortId);
+
+			default:
+				throw new JadxRuntimeException("Unexpected node reference type: " + refType);
+		}
+	}
+
+	@Nullable
+	private MethodNode readMthRef(DataInputStream in) throws IOException {
+		ClassNode cls = root.resolveClass(in.readUTF());
+		String mthShortId = in.readUTF();
+		return cls == null ? null : cls.searchMethodByShortId(mthShortId);
+	}
+
+	private static void writeFile(Path file, byte[] data) throws IOException {
+		Path dir = file.getParent();
+		Files.createDirectories(dir);
+		Path tmpFile = Files.createTempFile(dir, "entry", ".tmp");
+		try {
+			Files.write(tmpFile, data);
+			try {
+				Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tmpFile);
+		}
+	}
+
+	/**
+	 * Update modification time on entry use, so least recently used entries are removed first on prune
+	 */
+	private static void touchFile(Path file) {
+		try {
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException e) {
+			LOG.debug("Failed to update code cache entry time: {}", file, e);
+		}
+	}
+
+	/**
+	 * Remove least recently used entries if cache size exceeds limit.
+	 * Cache reduced to 3/4 of limit, so prune not needed on every run.
+	 */
+	private void prune() {
+		if (maxSize <= 0 || !Files.isDirectory(cacheDir)) {
+			return;
+		}
+		List<CacheEntry> entries;
+		try (Stream<Path> files = Files.walk(cacheDir, 2)) {
+			entries = files.filter(f -> f.getFileName().toString().endsWith(FILE_EXT))
+					.map(CacheEntry::new)
+					.collect(Collectors.toList());
+		} catch (Exception e) {
+			LOG.warn("Failed to check code cache size, dir: {}", cacheDir, e);
+			return;
+		}
+		long totalSize = entries.stream().mapToLong(e -> e.size).sum();
+		if (totalSize <= maxSize) {
+			return;
+		}
+		entries.sort(Comparator.comparingLong(e -> e.lastModified));
+		long targetSize = maxSize / 4 * 3;
+		int removed = 0;
+		for (CacheEntry entry : entries) {
+			if (totalSize <= targetSize) {
+				break;
+			}
+			deleteFile(entry.file);
+			totalSize -= entry.size;
+			removed++;
+		}
+		LOG.info("Code cache size limit exceeded, removed {} old entries, dir: {}", removed, cacheDir);
+	}
+
+	private static final class CacheEntry {
+		private final Path file;
+		private final long size;
+		private final long lastModified;
+
+		private CacheEntry(Path file) {
+			this.file = file;
+			this.size = file.toFile().length();
+			this.lastModified = file.toFile().lastModified();
+		}
+	}
+
+	private static void deleteFile(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			LOG.debug("Failed to delete code cache entry: {}", file, e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "DiskCodeCache{dir=" + cacheDir + '}';
+	}
+}
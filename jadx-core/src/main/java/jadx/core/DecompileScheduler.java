@@ -0,0 +1,163 @@
+package jadx.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.dex.nodes.ClassNode;
+
+/**
+ * Split classes into batches for decompilation to avoid waiting on dependencies processing in other threads.
+ * <br>
+ * Class code generation process all class dependencies under dependency class lock,
+ * so dependencies used by several classes of batch ({@link Batch#getSharedDeps()}) processed first in separate phase
+ * (once and in parallel) and batch classes code generation started only after that.
+ * <br>
+ * Classes ordered by dependency graph: dependent classes before dependencies,
+ * so dependency code generated (and class unloaded) after processing for all dependent classes.
+ * Dependencies are taken from {@link ClassNode#getDependencies()} collected by usage info visitor.
+ */
+public final class DecompileScheduler {
+	private static final Logger LOG = LoggerFactory.getLogger(DecompileScheduler.class);
+
+	/**
+	 * Shared dependencies kept in memory until batch code generation finished,
+	 * so batch size limited to not hold too many processed classes at once
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
+	private DecompileScheduler() {
+	}
+
+	public static final class Batch {
+		private final List<ClassNode> sharedDeps;
+		private final List<ClassNode> classes;
+
+		private Batch(List<ClassNode> sharedDeps, List<ClassNode> classes) {
+			this.sharedDeps = sharedDeps;
+			this.classes = classes;
+		}
+
+		/**
+		 * Classes to process (without code generation) before code generation for batch classes
+		 */
+		public List<ClassNode> getSharedDeps() {
+			return sharedDeps;
+		}
+
+		/**
+		 * Classes for code generation
+		 */
+		public List<ClassNode> getClasses() {
+			return classes;
+		}
+
+		@Override
+		public String toString() {
+			return "Batch{sharedDeps=" + sharedDeps + ", classes=" + classes + '}';
+		}
+	}
+
+	/**
+	 * @param classes top level classes
+	 * @return same classes split into batches in decompilation order
+	 */
+	public static List<Batch> buildBatches(List<ClassNode> classes, int batchSize) {
+		if (classes.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<ClassNode> order = buildOrder(classes);
+		int count = order.size();
+		List<Batch> batches = new ArrayList<>(count / batchSize + 1);
+		for (int start = 0; start < count; start += batchSize) {
+			List<ClassNode> batchClasses = order.subList(start, Math.min(start + batchSize, count));
+			batches.add(new Batch(collectSharedDeps(batchClasses), new ArrayList<>(batchClasses)));
+		}
+		if (LOG.isDebugEnabled()) {
+			int sharedCount = batches.stream().mapToInt(b -> b.getSharedDeps().size()).sum();
+			LOG.debug("Decompile batches: {} for {} classes, {} shared dependencies", batches.size(), count, sharedCount);
+		}
+		return batches;
+	}
+
+	/**
+	 * @param classes top level classes
+	 * @return same classes in decompilation order: dependent classes before dependencies
+	 */
+	public static List<ClassNode> buildOrder(List<ClassNode> classes) {
+		int count = classes.size();
+		if (count <= 1) {
+			return classes;
+		}
+		Set<ClassNode> classesSet = new HashSet<>(classes);
+		List<ClassNode> order = new ArrayList<>(count);
+		Set<ClassNode> added = new HashSet<>(count);
+		for (ClassNode cls : classes) {
+			addWithDependencies(cls, classesSet, added, order);
+		}
+		Collections.reverse(order);
+		return order;
+	}
+
+	/**
+	 * Dependencies used by more than one class in batch (most used first)
+	 */
+	private static List<ClassNode> collectSharedDeps(List<ClassNode> batchClasses) {
+		Map<ClassNode, Integer> usageCount = new HashMap<>();
+		for (ClassNode cls : batchClasses) {
+			for (ClassNode dep : cls.getDependencies()) {
+				if (dep != cls) {
+					usageCount.merge(dep, 1, Integer::sum);
+				}
+			}
+		}
+		List<ClassNode> sharedDeps = new ArrayList<>();
+		for (Map.Entry<ClassNode, Integer> entry : usageCount.entrySet()) {
+			if (entry.getValue() > 1) {
+				sharedDeps.add(entry.getKey());
+			}
+		}
+		sharedDeps.sort(Comparator.<ClassNode>comparingInt(usageCount::get).reversed()
+				.thenComparing(Comparator.naturalOrder()));
+		return sharedDeps;
+	}
+
+	/**
+	 * Iterative depth-first traversal, class added after all its dependencies (post order).
+	 * Dependency cycles are broken at first visited class.
+	 */
+	private static void addWithDependencies(ClassNode startCls, Set<ClassNode> classesSet,
+			Set<ClassNode> added, List<ClassNode> order) {
+		if (!added.add(startCls)) {
+			return;
+		}
+		Deque<ClassNode> clsStack = new ArrayDeque<>();
+		Deque<Iterator<ClassNode>> depsStack = new ArrayDeque<>();
+		clsStack.push(startCls);
+		depsStack.push(startCls.getDependencies().iterator());
+		while (!clsStack.isEmpty()) {
+			Iterator<ClassNode> it = depsStack.peek();
+			if (it.hasNext()) {
+				ClassNode dep = it.next();
+				if (classesSet.contains(dep) && added.add(dep)) {
+					clsStack.push(dep);
+					depsStack.push(dep.getDependencies().iterator());
+				}
+			} else {
+				depsStack.pop();
+				order.add(clsStack.pop());
+			}
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package jadx.core;
 
+import java.util.function.Function;
+
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -24,17 +26,26 @@ public final class ProcessClass {
 	}
 
 	@Nullable
-	private static ICodeInfo process(ClassNode cls, boolean codegen) {
+	private static ICodeInfo process(ClassNode cls, @Nullable Function<ClassNode, ICodeInfo> codeGen) {
+		boolean codegen = codeGen != null;
 		if (!codegen && cls.getState() == PROCESS_COMPLETE) {
 			// nothing to do
 			return null;
 		}
 		synchronized (cls.getClassInfo()) {
 			try {
+				if (cls.contains(AFlag.REGENERATE_CODE)) {
+					cls.remove(AFlag.REGENERATE_CODE);
+					if (!cls.root().getProcessedClasses().contains(cls)) {
+						cls.add(AFlag.CLASS_DEEP_RELOAD);
+					}
+				}
 				if (cls.contains(AFlag.CLASS_DEEP_RELOAD)) {
 					cls.remove(AFlag.CLASS_DEEP_RELOAD);
 					cls.deepUnload();
 					cls.root().runPreDecompileStageForClass(cls);
+				} else if (cls.contains(AFlag.PRE_DECOMPILE_DEFERRED)) {
+					cls.root().runDeferredPreDecompileStage(cls);
 				}
 				if (codegen) {
 					if (cls.getState() == GENERATED_AND_UNLOADED) {
@@ -60,8 +71,9 @@ public final class ProcessClass {
 					cls.setState(PROCESS_COMPLETE);
 				}
 				if (codegen) {
-					ICodeInfo code = CodeGen.generate(cls);
-					if (!cls.contains(AFlag.DONT_UNLOAD_CLASS)) {
+					boolean keepProcessed = cls.root().getProcessedClasses().beforeCodegen(cls);
+					ICodeInfo code = codeGen.apply(cls);
+					if (!keepProcessed && !cls.contains(AFlag.DONT_UNLOAD_CLASS)) {
 						cls.unload();
 						cls.setState(GENERATED_AND_UNLOADED);
 					}
@@ -74,17 +86,52 @@ public final class ProcessClass {
 		}
 	}
 
+	/**
+	 * Run processing passes without code generation,
+	 * used to process dependencies shared by several classes before code generation (see {@link DecompileScheduler})
+	 */
+	public static void processDependency(ClassNode cls) {
+		ClassNode topParentClass = cls.getTopParentClass();
+		runDeferredStage(topParentClass);
+		process(topParentClass, null);
+	}
+
+	private static void runDeferredStage(ClassNode cls) {
+		synchronized (cls.getClassInfo()) {
+			if (cls.contains(AFlag.PRE_DECOMPILE_DEFERRED)) {
+				cls.root().runDeferredPreDecompileStage(cls);
+			}
+		}
+	}
+
 	@NotNull
 	public static ICodeInfo generateCode(ClassNode cls) {
+		return generate(cls, CodeGen::generate);
+	}
+
+	/**
+	 * Generate class json directly into provided output, code string not created
+	 */
+	public static void generateJson(ClassNode cls, CodeGen.IJsonOutput out) {
+		generate(cls, topCls -> {
+			CodeGen.generateJson(topCls, out);
+			return ICodeInfo.EMPTY;
+		});
+	}
+
+	private static ICodeInfo generate(ClassNode cls, Function<ClassNode, ICodeInfo> codeGen) {
 		ClassNode topParentClass = cls.getTopParentClass();
 		if (topParentClass != cls) {
-			return generateCode(topParentClass);
+			return generate(topParentClass, codeGen);
 		}
 		try {
+			// dependencies of deferred class collected at deferred pre-decompile stage
+			runDeferredStage(cls);
 			for (ClassNode depCls : cls.getDependencies()) {
-				process(depCls, false);
+				process(depCls, null);
 			}
-			ICodeInfo code = process(cls, true);
+			ICodeInfo code = process(cls, codeGen);
+			cls.root().getProcessedClasses().unloadEvicted();
 			if (code == null) {
 				throw new JadxRuntimeException("Codegen failed");
 			}
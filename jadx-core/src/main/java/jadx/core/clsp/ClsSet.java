@@ -1,17 +1,23 @@
 package jadx.core.clsp;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
-import java.io.DataInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -41,6 +47,13 @@ import jadx.core.utils.files.FileUtils;
 
 /**
  * Classes list for import into classpath graph
+ * <br>
+ * File format: header, classes names, index with classes parents and offsets of classes details
+ * (type parameters and methods) and details section.
+ * Only names and parents decoded at load, details decoded on first access to class methods or type parameters.
+ * Bundled classpath file content and classes names shared by all root nodes,
+ * content memory mapped only if loaded from file (not from jar).
+ * Classes (with parents and details) decoded for every root node, because they use root types.
  */
 public class ClsSet {
 	private static final Logger LOG = LoggerFactory.getLogger(ClsSet.class);
@@ -50,13 +63,17 @@ public class ClsSet {
 	private static final String CLST_PATH = "/clst/" + CLST_FILENAME;
 
 	private static final String JADX_CLS_SET_HEADER = "jadx-cst";
-	private static final int VERSION = 3;
+	private static final int VERSION = 4;
 
-	private static final String STRING_CHARSET = "US-ASCII";
+	private static final Charset STRING_CHARSET = StandardCharsets.US_ASCII;
 
 	private static final ArgType[] EMPTY_ARGTYPE_ARRAY = new ArgType[0];
 
+	@Nullable
+	private static volatile ClstData bundledClst;
+
 	private final RootNode root;
+	private ByteBuffer buf;
 
 	public ClsSet(RootNode root) {
 		this.root = root;
@@ -76,16 +93,42 @@ public class ClsSet {
 
 	public void loadFromClstFile() throws IOException, DecodeException {
 		long startTime = System.currentTimeMillis();
-		try (InputStream input = ClsSet.class.getResourceAsStream(CLST_PATH)) {
-			if (input == null) {
-				throw new JadxRuntimeException("Can't load classpath file: " + CLST_PATH);
-			}
-			load(input);
-		}
+		load(getBundledClst());
 		if (LOG.isDebugEnabled()) {
 			long time = System.currentTimeMillis() - startTime;
-			int methodsCount = Stream.of(classes).mapToInt(clspClass -> clspClass.getMethodsMap().size()).sum();
-			LOG.debug("Clst file loaded in {}ms, classes: {}, methods: {}", time, classes.length, methodsCount);
+			LOG.debug("Clst file loaded in {}ms, classes: {}", time, classes.length);
+		}
+	}
+
+	private static ClstData getBundledClst() throws IOException, DecodeException {
+		ClstData data = bundledClst;
+		if (data != null) {
+			return data;
+		}
+		synchronized (ClsSet.class) {
+			data = bundledClst;
+			if (data == null) {
+				data = new ClstData(readBundledClst());
+				bundledClst = data;
+			}
+			return data;
+		}
+	}
+
+	private static ByteBuffer readBundledClst() throws IOException {
+		URL url = ClsSet.class.getResource(CLST_PATH);
+		if (url == null) {
+			throw new JadxRuntimeException("Can't load classpath file: " + CLST_PATH);
+		}
+		if (url.getProtocol().equals("file")) {
+			try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+				return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			} catch (Exception e) {
+				LOG.debug("Failed to map classpath file, fallback to full read", e);
+			}
+		}
+		try (InputStream input = url.openStream()) {
+			return ByteBuffer.wrap(FileUtils.streamToByteArray(input));
 		}
 	}
 
@@ -221,15 +264,24 @@ public class ClsSet {
 			writeString(out, clsName);
 			names.put(clsName, cls);
 		}
+		ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+		ByteArrayOutputStream detailsBytes = new ByteArrayOutputStream();
+		DataOutputStream index = new DataOutputStream(indexBytes);
+		DataOutputStream details = new DataOutputStream(detailsBytes);
 		for (ClspClass cls : classes) {
-			writeArgTypesArray(out, cls.getParents(), names);
-			writeArgTypesList(out, cls.getTypeParameters(), names);
+			writeArgTypesArray(index, cls.getParents(), names);
+			index.writeInt(details.size());
+			writeArgTypesList(details, cls.getTypeParameters(), names);
 			List<ClspMethod> methods = cls.getSortedMethodsList();
-			out.writeShort(methods.size());
+			details.writeShort(methods.size());
 			for (ClspMethod method : methods) {
-				writeMethod(out, method, names);
+				writeMethod(details, method, names);
 			}
 		}
+		out.writeInt(index.size());
+		indexBytes.writeTo(out);
+		detailsBytes.writeTo(out);
+		out.flush();
 		int methodsCount = Stream.of(classes).mapToInt(c -> c.getMethodsMap().size()).sum();
 		LOG.info("Classes: {}, methods: {}, file size: {} bytes", classes.length, methodsCount, out.size());
 	}
@@ -312,14 +364,12 @@ public class ClsSet {
 	private void load(File input) throws IOException, DecodeException {
 		String name = input.getName();
 		if (name.endsWith(CLST_EXTENSION)) {
-			try (InputStream inputStream = new FileInputStream(input)) {
-				load(inputStream);
-			}
+			load(new ClstData(ByteBuffer.wrap(Files.readAllBytes(input.toPath()))));
 		} else if (name.endsWith(".jar")) {
 			ZipSecurity.readZipEntries(input, (entry, in) -> {
 				if (entry.getName().endsWith(CLST_EXTENSION)) {
 					try {
-						load(in);
+						load(new ClstData(ByteBuffer.wrap(FileUtils.streamToByteArray(in))));
 					} catch (Exception e) {
 						throw new JadxRuntimeException("Failed to load jadx class set");
 					}
@@ -330,34 +380,44 @@ public class ClsSet {
 		}
 	}
 
-	private void load(InputStream input) throws IOException, DecodeException {
-		try (DataInputStream in = new DataInputStream(new BufferedInputStream(input))) {
-			byte[] header = new byte[JADX_CLS_SET_HEADER.length()];
-			int readHeaderLength = in.read(header);
-			int version = in.readByte();
-			if (readHeaderLength != JADX_CLS_SET_HEADER.length()
-					|| !JADX_CLS_SET_HEADER.equals(new String(header, STRING_CHARSET))
-					|| version != VERSION) {
-				throw new DecodeException("Wrong jadx class set header");
-			}
-			int clsCount = in.readInt();
-			classes = new ClspClass[clsCount];
-			for (int i = 0; i < clsCount; i++) {
-				String name = readString(in);
-				classes[i] = new ClspClass(ArgType.object(name), i);
-			}
+	/**
+	 * Create classes and read parents, details will be loaded on first use by {@link #loadDetails(ClspClass, int)}
+	 */
+	private void load(ClstData data) throws DecodeException {
+		buf = data.buf;
+		String[] names = data.names;
+		int clsCount = names.length;
+		classes = new ClspClass[clsCount];
+		for (int i = 0; i < clsCount; i++) {
+			classes[i] = new ClspClass(ArgType.object(root, names[i]), i);
+		}
+		ByteBuffer in = buf.duplicate();
+		in.position(data.indexOffset);
+		try {
 			for (int i = 0; i < clsCount; i++) {
 				ClspClass nClass = classes[i];
-				ClassInfo clsInfo = ClassInfo.fromType(root, nClass.getClsType());
 				nClass.setParents(readArgTypesArray(in));
-				nClass.setTypeParameters(readArgTypesList(in));
-				nClass.setMethods(readClsMethods(in, clsInfo));
+				nClass.setDetailsLoader(this, data.detailsOffset + in.getInt());
 			}
+		} catch (BufferUnderflowException e) {
+			throw new DecodeException("Unexpected end of jadx class set");
+		}
+	}
+
+	void loadDetails(ClspClass cls, int offset) {
+		ByteBuffer in = buf.duplicate();
+		in.position(offset);
+		try {
+			ClassInfo clsInfo = ClassInfo.fromType(root, cls.getClsType());
+			cls.setTypeParameters(readArgTypesList(in));
+			cls.setMethods(readClsMethods(in, clsInfo));
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Failed to load classpath details for class: " + cls, e);
 		}
 	}
 
-	private List<ClspMethod> readClsMethods(DataInputStream in, ClassInfo clsInfo) throws IOException {
-		int mCount = in.readShort();
+	private List<ClspMethod> readClsMethods(ByteBuffer in, ClassInfo clsInfo) {
+		int mCount = in.getShort();
 		List<ClspMethod> methods = new ArrayList<>(mCount);
 		for (int j = 0; j < mCount; j++) {
 			methods.add(readMethod(in, clsInfo));
@@ -365,7 +425,7 @@ public class ClsSet {
 		return methods;
 	}
 
-	private ClspMethod readMethod(DataInputStream in, ClassInfo clsInfo) throws IOException {
+	private ClspMethod readMethod(ByteBuffer in, ClassInfo clsInfo) {
 		String name = readString(in);
 		List<ArgType> argTypes = readArgTypesList(in);
 		ArgType retType = readArgType(in);
@@ -378,7 +438,7 @@ public class ClsSet {
 			genericRetType = retType;
 		}
 		List<ArgType> typeParameters = readArgTypesList(in);
-		int accFlags = in.readInt();
+		int accFlags = in.getInt();
 		List<ArgType> throwList = readArgTypesList(in);
 		MethodInfo methodInfo = MethodInfo.fromDetails(root, clsInfo, name, argTypes, retType);
 		return new ClspMethod(methodInfo,
@@ -386,8 +446,8 @@ public class ClsSet {
 				typeParameters, throwList, accFlags);
 	}
 
-	private List<ArgType> readArgTypesList(DataInputStream in) throws IOException {
-		int count = in.readByte();
+	private List<ArgType> readArgTypesList(ByteBuffer in) {
+		int count = in.get();
 		if (count == 0) {
 			return Collections.emptyList();
 		}
@@ -399,8 +459,8 @@ public class ClsSet {
 	}
 
 	@Nullable
-	private ArgType[] readArgTypesArray(DataInputStream in) throws IOException {
-		int count = in.readByte();
+	private ArgType[] readArgTypesArray(ByteBuffer in) {
+		int count = in.get();
 		if (count == -1) {
 			return null;
 		}
@@ -414,8 +474,8 @@ public class ClsSet {
 		return arr;
 	}
 
-	private ArgType readArgType(DataInputStream in) throws IOException {
-		int ordinal = in.readByte();
+	private ArgType readArgType(ByteBuffer in) {
+		int ordinal = in.get();
 		if (ordinal == -1) {
 			return null;
 		}
@@ -424,7 +484,7 @@ public class ClsSet {
 		}
 		switch (TypeEnum.values()[ordinal]) {
 			case WILDCARD:
-				ArgType.WildcardBound bound = ArgType.WildcardBound.getByNum(in.readByte());
+				ArgType.WildcardBound bound = ArgType.WildcardBound.getByNum(in.get());
 				if (bound == ArgType.WildcardBound.UNBOUND) {
 					return ArgType.WILDCARD;
 				}
@@ -437,7 +497,7 @@ public class ClsSet {
 				return ArgType.outerGeneric(outerType, innerType);
 
 			case GENERIC:
-				ArgType clsType = classes[in.readInt()].getClsType();
+				ArgType clsType = classes[in.getInt()].getClsType();
 				return ArgType.generic(clsType, readArgTypesList(in));
 
 			case GENERIC_TYPE_VARIABLE:
@@ -446,13 +506,13 @@ public class ClsSet {
 				return ArgType.genericType(typeVar, extendTypes);
 
 			case OBJECT:
-				return classes[in.readInt()].getClsType();
+				return classes[in.getInt()].getClsType();
 
 			case ARRAY:
 				return ArgType.array(readArgType(in));
 
 			case PRIMITIVE:
-				char shortName = (char) in.readByte();
+				char shortName = (char) in.get();
 				return ArgType.parse(shortName);
 
 			default:
@@ -470,22 +530,10 @@ public class ClsSet {
 		out.write(bytes);
 	}
 
-	private static String readString(DataInputStream in) throws IOException {
-		int len = readUnsignedByte(in);
-		return readString(in, len);
-	}
-
-	private static String readString(DataInputStream in, int len) throws IOException {
+	private static String readString(ByteBuffer in) {
+		int len = in.get() & 0xFF;
 		byte[] bytes = new byte[len];
-		int count = in.read(bytes);
-		while (count != len) {
-			int res = in.read(bytes, count, len - count);
-			if (res == -1) {
-				throw new IOException("String read error");
-			} else {
-				count += res;
-			}
-		}
+		in.get(bytes);
 		return new String(bytes, STRING_CHARSET);
 	}
 
@@ -496,10 +544,6 @@ public class ClsSet {
 		out.writeByte(value);
 	}
 
-	private static int readUnsignedByte(DataInputStream in) throws IOException {
-		return ((int) in.readByte()) & 0xFF;
-	}
-
 	public int getClassesCount() {
 		return classes.length;
 	}
@@ -509,4 +553,38 @@ public class ClsSet {
 			nameMap.put(cls.getName(), cls);
 		}
 	}
+
+	/**
+	 * Classpath file content with decoded header and classes names
+	 */
+	private static final class ClstData {
+		private final ByteBuffer buf;
+		private final String[] names;
+		private final int indexOffset;
+		private final int detailsOffset;
+
+		ClstData(ByteBuffer content) throws DecodeException {
+			try {
+				ByteBuffer in = content.duplicate();
+				byte[] header = new byte[JADX_CLS_SET_HEADER.length()];
+				in.get(header);
+				int version = in.get();
+				if (!JADX_CLS_SET_HEADER.equals(new String(header, STRING_CHARSET))
+						|| version != VERSION) {
+					throw new DecodeException("Wrong jadx class set header");
+				}
+				int clsCount = in.getInt();
+				names = new String[clsCount];
+				for (int i = 0; i < clsCount; i++) {
+					names[i] = readString(in);
+				}
+				int indexSize = in.getInt();
+				this.buf = content;
+				this.indexOffset = in.position();
+				this.detailsOffset = indexOffset + indexSize;
+			} catch (BufferUnderflowException e) {
+				throw new DecodeException("Unexpected end of jadx class set");
+			}
+		}
+	}
 }
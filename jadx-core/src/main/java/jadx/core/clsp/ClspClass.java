@@ -7,6 +7,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import org.jetbrains.annotations.Nullable;
+
 import jadx.core.dex.instructions.args.ArgType;
 
 /**
@@ -20,6 +22,13 @@ public class ClspClass {
 	private Map<String, ClspMethod> methodsMap = Collections.emptyMap();
 	private List<ArgType> typeParameters = Collections.emptyList();
 
+	/**
+	 * Set if methods and type parameters not yet loaded
+	 */
+	@Nullable
+	private volatile ClsSet detailsLoader;
+	private int detailsOffset;
+
 	public ClspClass(ArgType clsType, int id) {
 		this.clsType = clsType;
 		this.id = id;
@@ -45,11 +54,31 @@ public class ClspClass {
 		this.parents = parents;
 	}
 
+	void setDetailsLoader(ClsSet loader, int offset) {
+		this.detailsOffset = offset;
+		this.detailsLoader = loader;
+	}
+
+	private void loadDetails() {
+		if (detailsLoader == null) {
+			return;
+		}
+		synchronized (this) {
+			ClsSet loader = detailsLoader;
+			if (loader != null) {
+				loader.loadDetails(this, detailsOffset);
+				detailsLoader = null;
+			}
+		}
+	}
+
 	public Map<String, ClspMethod> getMethodsMap() {
+		loadDetails();
 		return methodsMap;
 	}
 
 	public List<ClspMethod> getSortedMethodsList() {
+		loadDetails();
 		List<ClspMethod> list = new ArrayList<>(methodsMap.size());
 		list.addAll(methodsMap.values());
 		Collections.sort(list);
@@ -69,6 +98,7 @@ public class ClspClass {
 	}
 
 	public List<ArgType> getTypeParameters() {
+		loadDetails();
 		return typeParameters;
 	}
 
@@ -4,13 +4,11 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,10 +28,16 @@ public class ClspGraph {
 	private static final Logger LOG = LoggerFactory.getLogger(ClspGraph.class);
 
 	private final RootNode root;
-	private final Map<String, Set<String>> superTypesCache = Collections.synchronizedMap(new WeakHashMap<>());
 	private Map<String, ClspClass> nameMap;
+	@Nullable
+	private volatile ClspHierarchy hierarchy;
 
-	private final Set<String> missingClasses = new HashSet<>();
+	private final Set<String> missingClasses = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Incremented on every change in classes hierarchy, used to invalidate dependent caches
+	 */
+	private volatile int changesCount;
 
 	public ClspGraph(RootNode rootNode) {
 		this.root = rootNode;
@@ -49,6 +53,8 @@ public class ClspGraph {
 		if (nameMap == null) {
 			nameMap = new HashMap<>(set.getClassesCount());
 			set.addToMap(nameMap);
+			hierarchy = null;
+			changesCount++;
 		} else {
 			throw new JadxRuntimeException("Classpath already loaded");
 		}
@@ -61,6 +67,27 @@ public class ClspGraph {
 		for (ClassNode cls : classes) {
 			addClass(cls);
 		}
+		hierarchy = new ClspHierarchy(nameMap);
+		changesCount++;
+	}
+
+	private ClspHierarchy getHierarchy() {
+		ClspHierarchy h = hierarchy;
+		if (h != null) {
+			return h;
+		}
+		synchronized (this) {
+			h = hierarchy;
+			if (h == null) {
+				h = new ClspHierarchy(nameMap);
+				hierarchy = h;
+			}
+			return h;
+		}
+	}
+
+	public int getChangesCount() {
+		return changesCount;
 	}
 
 	public boolean isClsKnown(String fullName) {
@@ -111,92 +138,59 @@ public class ClspGraph {
 	 * @return {@code clsName} instanceof {@code implClsName}
 	 */
 	public boolean isImplements(String clsName, String implClsName) {
-		Set<String> anc = getSuperTypes(clsName);
-		return anc.contains(implClsName);
+		ClspHierarchy h = getHierarchy();
+		int clsId = h.getId(clsName);
+		if (clsId == -1) {
+			missingClasses.add(clsName);
+			return false;
+		}
+		return h.isImplements(clsId, implClsName);
 	}
 
+	/**
+	 * @return all known subtypes of {@code clsName}
+	 */
 	public List<String> getImplementations(String clsName) {
-		List<String> list = new ArrayList<>();
-		for (String cls : nameMap.keySet()) {
-			if (isImplements(cls, clsName)) {
-				list.add(cls);
-			}
+		ClspHierarchy h = getHierarchy();
+		int clsId = h.getId(clsName);
+		if (clsId == -1) {
+			return Collections.emptyList();
 		}
-		return list;
+		return h.getSubTypes(clsId);
 	}
 
 	public String getCommonAncestor(String clsName, String implClsName) {
 		if (clsName.equals(implClsName)) {
 			return clsName;
 		}
-		ClspClass cls = nameMap.get(implClsName);
-		if (cls == null) {
+		ClspHierarchy h = getHierarchy();
+		int implId = h.getId(implClsName);
+		if (implId == -1) {
 			missingClasses.add(clsName);
 			return null;
 		}
-		if (isImplements(clsName, implClsName)) {
-			return implClsName;
+		int clsId = h.getId(clsName);
+		if (clsId == -1) {
+			missingClasses.add(clsName);
+			return null;
 		}
-		Set<String> anc = getSuperTypes(clsName);
-		return searchCommonParent(anc, cls);
-	}
-
-	private String searchCommonParent(Set<String> anc, ClspClass cls) {
-		for (ArgType p : cls.getParents()) {
-			String name = p.getObject();
-			if (anc.contains(name)) {
-				return name;
-			}
-			ClspClass nCls = getClspClass(p);
-			if (nCls != null) {
-				String r = searchCommonParent(anc, nCls);
-				if (r != null) {
-					return r;
-				}
-			}
+		if (h.isImplements(clsId, implClsName)) {
+			return implClsName;
 		}
-		return null;
+		return h.getCommonSuperType(clsId, implId);
 	}
 
+	/**
+	 * @return all super types of {@code clsName} (nearest first)
+	 */
 	public Set<String> getSuperTypes(String clsName) {
-		Set<String> fromCache = superTypesCache.get(clsName);
-		if (fromCache != null) {
-			return fromCache;
-		}
-		ClspClass cls = nameMap.get(clsName);
-		if (cls == null) {
+		ClspHierarchy h = getHierarchy();
+		int clsId = h.getId(clsName);
+		if (clsId == -1) {
 			missingClasses.add(clsName);
 			return Collections.emptySet();
 		}
-		Set<String> result = new HashSet<>();
-		addSuperTypes(cls, result);
-		return putInSuperTypesCache(clsName, result);
-	}
-
-	@NotNull
-	private Set<String> putInSuperTypesCache(String clsName, Set<String> result) {
-		if (result.isEmpty()) {
-			Set<String> empty = Collections.emptySet();
-			superTypesCache.put(clsName, result);
-			return empty;
-		}
-		superTypesCache.put(clsName, result);
-		return result;
-	}
-
-	private void addSuperTypes(ClspClass cls, Set<String> result) {
-		for (ArgType parentType : cls.getParents()) {
-			if (parentType == null) {
-				continue;
-			}
-			ClspClass parentCls = getClspClass(parentType);
-			if (parentCls != null) {
-				boolean isNew = result.add(parentCls.getName());
-				if (isNew) {
-					addSuperTypes(parentCls, result);
-				}
-			}
-		}
+		return h.getSuperTypes(clsId);
 	}
 
 	@Nullable
@@ -0,0 +1,243 @@
+package jadx.core.clsp;
+
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.Consts;
+import jadx.core.dex.instructions.args.ArgType;
+
+/**
+ * Immutable closure of classes hierarchy, so queries answered without locks and hierarchy walk.
+ * <br>
+ * Classes numbered with dense ids (in order of names map iteration).
+ * For every class stored ids of all super types (in breadth-first order with {@code java.lang.Object} last
+ * and sorted for binary search),
+ * all subtypes stored as reverse index in compressed rows sorted by id.
+ */
+final class ClspHierarchy {
+	private static final int[] EMPTY = new int[0];
+
+	private final String[] names;
+	private final Map<String, Integer> ids;
+	private final int[][] superTypes;
+	private final int[][] sortedSuperTypes;
+	private final int[] subTypesStart;
+	private final int[] subTypes;
+
+	ClspHierarchy(Map<String, ClspClass> nameMap) {
+		int count = nameMap.size();
+		names = new String[count];
+		ids = new HashMap<>(count * 4 / 3 + 1);
+		ClspClass[] classes = new ClspClass[count];
+		int k = 0;
+		for (Map.Entry<String, ClspClass> entry : nameMap.entrySet()) {
+			names[k] = entry.getKey();
+			classes[k] = entry.getValue();
+			ids.put(entry.getKey(), k);
+			k++;
+		}
+		int[][] parents = new int[count][];
+		for (int i = 0; i < count; i++) {
+			parents[i] = getParentsIds(classes[i]);
+		}
+		superTypes = new int[count][];
+		sortedSuperTypes = new int[count][];
+		int objectId = getId(Consts.CLASS_OBJECT);
+		int[] mark = new int[count];
+		int[] queue = new int[count];
+		int[] subTypesCount = new int[count];
+		for (int i = 0; i < count; i++) {
+			int stamp = i + 1;
+			int tail = addParents(parents[i], objectId, stamp, mark, queue, 0);
+			for (int head = 0; head < tail; head++) {
+				tail = addParents(parents[queue[head]], objectId, stamp, mark, queue, tail);
+			}
+			if (objectId != -1 && mark[objectId] == stamp) {
+				queue[tail++] = objectId;
+			}
+			if (tail == 0) {
+				superTypes[i] = EMPTY;
+				sortedSuperTypes[i] = EMPTY;
+			} else {
+				int[] arr = Arrays.copyOf(queue, tail);
+				superTypes[i] = arr;
+				int[] sorted = arr.clone();
+				Arrays.sort(sorted);
+				sortedSuperTypes[i] = sorted;
+				for (int superType : arr) {
+					subTypesCount[superType]++;
+				}
+			}
+		}
+		subTypesStart = new int[count + 1];
+		for (int i = 0; i < count; i++) {
+			subTypesStart[i + 1] = subTypesStart[i] + subTypesCount[i];
+		}
+		subTypes = new int[subTypesStart[count]];
+		int[] fillPos = Arrays.copyOf(subTypesStart, count);
+		for (int i = 0; i < count; i++) {
+			for (int superType : superTypes[i]) {
+				subTypes[fillPos[superType]++] = i;
+			}
+		}
+	}
+
+	/**
+	 * Add not visited parents to queue, {@code java.lang.Object} only marked to be added at end
+	 *
+	 * @return new queue tail
+	 */
+	private static int addParents(int[] parents, int objectId, int stamp, int[] mark, int[] queue, int tail) {
+		int end = tail;
+		for (int parent : parents) {
+			if (mark[parent] != stamp) {
+				mark[parent] = stamp;
+				if (parent != objectId) {
+					queue[end++] = parent;
+				}
+			}
+		}
+		return end;
+	}
+
+	private int[] getParentsIds(ClspClass cls) {
+		ArgType[] parents = cls.getParents();
+		if (parents == null || parents.length == 0) {
+			return EMPTY;
+		}
+		int[] arr = new int[parents.length];
+		int len = 0;
+		for (ArgType parent : parents) {
+			if (parent != null) {
+				Integer id = ids.get(parent.getObject());
+				if (id != null) {
+					arr[len++] = id;
+				}
+			}
+		}
+		return len == arr.length ? arr : Arrays.copyOf(arr, len);
+	}
+
+	/**
+	 * @return class id or -1 if class unknown
+	 */
+	int getId(String clsName) {
+		Integer id = ids.get(clsName);
+		return id == null ? -1 : id;
+	}
+
+	boolean isImplements(int clsId, String implClsName) {
+		int implId = getId(implClsName);
+		return implId != -1 && Arrays.binarySearch(sortedSuperTypes[clsId], implId) >= 0;
+	}
+
+	Set<String> getSuperTypes(int clsId) {
+		int[] arr = superTypes[clsId];
+		if (arr.length == 0) {
+			return Collections.emptySet();
+		}
+		return new NamesSet(arr, sortedSuperTypes[clsId]);
+	}
+
+	List<String> getSubTypes(int clsId) {
+		int start = subTypesStart[clsId];
+		int end = subTypesStart[clsId + 1];
+		if (start == end) {
+			return Collections.emptyList();
+		}
+		return new NamesList(start, end);
+	}
+
+	/**
+	 * @return nearest (in breadth-first order) super type of {@code implId} which is also a super type of {@code clsId}
+	 */
+	@Nullable
+	String getCommonSuperType(int clsId, int implId) {
+		int[] clsSuperTypes = sortedSuperTypes[clsId];
+		for (int superType : superTypes[implId]) {
+			if (Arrays.binarySearch(clsSuperTypes, superType) >= 0) {
+				return names[superType];
+			}
+		}
+		return null;
+	}
+
+	private final class NamesSet extends AbstractSet<String> {
+		private final int[] order;
+		private final int[] sorted;
+
+		NamesSet(int[] order, int[] sorted) {
+			this.order = order;
+			this.sorted = sorted;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof String)) {
+				return false;
+			}
+			int id = getId((String) o);
+			return id != -1 && Arrays.binarySearch(sorted, id) >= 0;
+		}
+
+		@NotNull
+		@Override
+		public Iterator<String> iterator() {
+			return new Iterator<String>() {
+				private int pos;
+
+				@Override
+				public boolean hasNext() {
+					return pos < order.length;
+				}
+
+				@Override
+				public String next() {
+					if (pos >= order.length) {
+						throw new NoSuchElementException();
+					}
+					return names[order[pos++]];
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return order.length;
+		}
+	}
+
+	private final class NamesList extends AbstractList<String> {
+		private final int start;
+		private final int end;
+
+		NamesList(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public String get(int index) {
+			if (index < 0 || index >= end - start) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+			}
+			return names[subTypes[start + index]];
+		}
+
+		@Override
+		public int size() {
+			return end - start;
+		}
+	}
+}
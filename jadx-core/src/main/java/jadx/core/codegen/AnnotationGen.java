@@ -90,10 +90,14 @@ public class AnnotationGen {
 			code.add('(');
 			for (Iterator<Entry<String, EncodedValue>> it = vl.entrySet().iterator(); it.hasNext();) {
 				Entry<String, EncodedValue> e = it.next();
-				String paramName = getParamName(annCls, e.getKey());
+				MethodNode paramMth = getParamMethod(annCls, e.getKey());
+				String paramName = paramMth != null ? paramMth.getAlias() : e.getKey();
 				if (paramName.equals("value") && vl.size() == 1) {
 					// don't add "value = " if no other parameters
 				} else {
+					if (paramMth != null) {
+						code.attachAnnotation(paramMth);
+					}
 					code.add(paramName);
 					code.add(" = ");
 				}
@@ -106,15 +110,13 @@ public class AnnotationGen {
 		}
 	}
 
-	private String getParamName(@Nullable ClassNode annCls, String paramName) {
-		if (annCls != null) {
-			// TODO: save value type and search using signature
-			MethodNode mth = annCls.searchMethodByShortName(paramName);
-			if (mth != null) {
-				return mth.getAlias();
-			}
+	@Nullable
+	private MethodNode getParamMethod(@Nullable ClassNode annCls, String paramName) {
+		if (annCls == null) {
+			return null;
 		}
-		return paramName;
+		// TODO: save value type and search using signature
+		return annCls.searchMethodByShortName(paramName);
 	}
 
 	public void addThrows(MethodNode mth, ICodeWriter code) {
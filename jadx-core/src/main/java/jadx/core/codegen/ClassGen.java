@@ -430,8 +430,11 @@ public class ClassGen {
 		for (Iterator<EnumField> it = enumFields.getFields().iterator(); it.hasNext();) {
 			EnumField f = it.next();
 
-			CodeGenUtils.addComments(code, f.getField());
-			code.startLine(f.getField().getAlias());
+			FieldNode fieldNode = f.getField();
+			CodeGenUtils.addComments(code, fieldNode);
+			code.startLine();
+			code.attachDefinition(fieldNode);
+			code.add(fieldNode.getAlias());
 			ConstructorInsn constrInsn = f.getConstrInsn();
 			MethodNode callMth = cls.root().resolveMethod(constrInsn.getCallMth());
 			int skipCount = getEnumCtrSkipArgsCount(callMth);
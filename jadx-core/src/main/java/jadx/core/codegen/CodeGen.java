@@ -1,5 +1,7 @@
 package jadx.core.codegen;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.concurrent.Callable;
 
 import jadx.api.ICodeInfo;
@@ -12,6 +14,18 @@ import jadx.core.utils.exceptions.JadxRuntimeException;
 
 public class CodeGen {
 
+	/**
+	 * Output for json generation without code string creation
+	 */
+	public interface IJsonOutput {
+		/**
+		 * Called before every code generation attempt,
+		 * so data written in previous attempt (if code generation restarted) should be dropped.
+		 * Returned writer not closed.
+		 */
+		Writer begin() throws IOException;
+	}
+
 	public static ICodeInfo generate(ClassNode cls) {
 		if (cls.contains(AFlag.DONT_GENERATE)) {
 			return ICodeInfo.EMPTY;
@@ -22,6 +36,7 @@ public class CodeGen {
 				return generateJavaCode(cls, args);
 
 			case JSON:
+			case JSON_LINES:
 				return generateJson(cls);
 
 			default:
@@ -40,6 +55,21 @@ public class CodeGen {
 		return new SimpleCodeInfo(clsJson);
 	}
 
+	/**
+	 * Write class json into output, used for save in json formats,
+	 * so full class json not kept in memory and code cache.
+	 */
+	public static void generateJson(ClassNode cls, IJsonOutput output) {
+		if (cls.contains(AFlag.DONT_GENERATE)) {
+			return;
+		}
+		JsonCodeGen codeGen = new JsonCodeGen(cls);
+		wrapCodeGen(cls, () -> {
+			codeGen.process(output.begin());
+			return null;
+		});
+	}
+
 	private static <R> R wrapCodeGen(ClassNode cls, Callable<R> codeGenFunc) {
 		try {
 			return codeGenFunc.call();
@@ -0,0 +1,259 @@
+package jadx.core.codegen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.CodePosition;
+import jadx.api.ICodeInfo;
+import jadx.api.impl.AnnotatedCodeInfo;
+import jadx.core.dex.attributes.nodes.LineAttrNode;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.VariableNode;
+
+/**
+ * Apply renames of methods and fields to already generated class code.
+ * <br>
+ * Names positions taken from code annotations, so only renamed tokens replaced
+ * and annotations positions shifted, class passes and code generation not executed.
+ * Code can't be patched if class or package renamed or if rename change code structure
+ * (add/remove 'renamed from' comment, new collision with overloaded method or variable),
+ * full class reload required in such cases.
+ */
+public class CodeRenamePatcher {
+
+	private static final class Replace {
+		private final int line;
+		private final int pos;
+		private final int len;
+		private final String str;
+
+		private Replace(int line, int pos, int len, String str) {
+			this.line = line;
+			this.pos = pos;
+			this.len = len;
+			this.str = str;
+		}
+
+		private int delta() {
+			return str.length() - len;
+		}
+	}
+
+	/**
+	 * @return patched code (or same object if nothing changed),
+	 *         null if code can't be patched and full reload required
+	 */
+	@Nullable
+	public static ICodeInfo patch(ClassNode topCls, ICodeInfo codeInfo) {
+		String code = codeInfo.getCodeStr();
+		Map<CodePosition, Object> annotations = codeInfo.getAnnotations();
+		if (annotations.isEmpty() || !checkPackage(code, topCls.getPackage())) {
+			return null;
+		}
+		Set<String> varNames = new HashSet<>();
+		for (Object ann : annotations.values()) {
+			if (ann instanceof VariableNode) {
+				varNames.add(((VariableNode) ann).getName());
+			}
+		}
+		List<Replace> replaces = new ArrayList<>();
+		for (Map.Entry<CodePosition, Object> entry : annotations.entrySet()) {
+			CodePosition codePos = entry.getKey();
+			Object ann = entry.getValue();
+			int pos = codePos.getPos();
+			if (pos < 0) {
+				return null;
+			}
+			if (ann instanceof ClassNode) {
+				if (!checkClassName(code, pos, (ClassNode) ann)) {
+					return null;
+				}
+			} else if (ann instanceof MethodNode || ann instanceof FieldNode) {
+				String alias = getAlias(ann);
+				if (alias == null) {
+					continue;
+				}
+				String token = readIdentifier(code, pos);
+				if (token.isEmpty()) {
+					return null;
+				}
+				if (!token.equals(alias)) {
+					if (!checkRename((LineAttrNode) ann, pos, token, alias, varNames)) {
+						return null;
+					}
+					replaces.add(new Replace(codePos.getLine(), pos, token.length(), alias));
+				}
+			}
+		}
+		if (replaces.isEmpty()) {
+			return codeInfo;
+		}
+		replaces.sort(Comparator.comparingInt(r -> r.pos));
+		int[] shifts = new int[replaces.size()];
+		StringBuilder sb = new StringBuilder(code.length() + 16 * replaces.size());
+		int last = 0;
+		int shift = 0;
+		for (int i = 0; i < replaces.size(); i++) {
+			Replace replace = replaces.get(i);
+			sb.append(code, last, replace.pos).append(replace.str);
+			last = replace.pos + replace.len;
+			shift += replace.delta();
+			shifts[i] = shift;
+		}
+		sb.append(code, last, code.length());
+
+		Map<CodePosition, Object> newAnnotations = new HashMap<>(annotations.size() * 4 / 3 + 1);
+		Set<LineAttrNode> defNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Map.Entry<CodePosition, Object> entry : annotations.entrySet()) {
+			CodePosition codePos = entry.getKey();
+			int idx = lastReplaceBefore(replaces, codePos.getPos());
+			int newOffset = codePos.getOffset();
+			for (int i = idx; i >= 0 && replaces.get(i).line == codePos.getLine(); i--) {
+				newOffset += replaces.get(i).delta();
+			}
+			int newPos = codePos.getPos() + (idx == -1 ? 0 : shifts[idx]);
+			Object ann = entry.getValue();
+			newAnnotations.put(new CodePosition(codePos.getLine(), newOffset, newPos), ann);
+			if (ann instanceof VariableNode) {
+				defNodes.add((VariableNode) ann);
+			}
+		}
+		collectDefNodes(topCls, defNodes);
+		for (LineAttrNode node : defNodes) {
+			int idx = lastReplaceBefore(replaces, node.getDefPosition());
+			if (idx != -1) {
+				node.setDefPosition(node.getDefPosition() + shifts[idx]);
+			}
+		}
+		return new AnnotatedCodeInfo(sb.toString(), codeInfo.getLineMapping(), newAnnotations);
+	}
+
+	@Nullable
+	private static String getAlias(Object node) {
+		if (node instanceof MethodNode) {
+			MethodInfo mthInfo = ((MethodNode) node).getMethodInfo();
+			if (mthInfo.isConstructor() || mthInfo.isClassInit()) {
+				// named by class
+				return null;
+			}
+			return mthInfo.getAlias();
+		}
+		return ((FieldNode) node).getAlias();
+	}
+
+	private static boolean checkRename(LineAttrNode node, int pos, String oldAlias, String newAlias, Set<String> varNames) {
+		String name;
+		if (node instanceof MethodNode) {
+			MethodNode mth = (MethodNode) node;
+			name = mth.getName();
+			// overloaded methods with same name can require casts in arguments
+			int argsCount = mth.getMethodInfo().getArgsCount();
+			for (MethodNode m : mth.getParentClass().getMethods()) {
+				if (m != mth && m.getAlias().equals(newAlias) && m.getMethodInfo().getArgsCount() == argsCount) {
+					return false;
+				}
+			}
+		} else {
+			name = ((FieldNode) node).getName();
+			// variables names selected to not collide with fields
+			if (varNames.contains(newAlias)) {
+				return false;
+			}
+		}
+		if (pos == node.getDefPosition()) {
+			// 'renamed from' comment added only for renamed nodes
+			boolean wasRenamed = !oldAlias.equals(name);
+			boolean renamed = !newAlias.equals(name);
+			return wasRenamed == renamed;
+		}
+		return true;
+	}
+
+	private static boolean checkPackage(String code, String pkg) {
+		if (pkg.isEmpty()) {
+			return !code.startsWith("package ");
+		}
+		return code.startsWith("package " + pkg + ';');
+	}
+
+	/**
+	 * Class used by full name, short name, name with outer classes or as 'this' in constructor call
+	 */
+	private static boolean checkClassName(String code, int pos, ClassNode cls) {
+		if (startsWithName(code, pos, "this")) {
+			return true;
+		}
+		String fullName = cls.getClassInfo().getAliasFullName();
+		if (startsWithName(code, pos, fullName)) {
+			return true;
+		}
+		int dot = fullName.indexOf('.');
+		while (dot != -1) {
+			if (startsWithName(code, pos, fullName.substring(dot + 1))) {
+				return true;
+			}
+			dot = fullName.indexOf('.', dot + 1);
+		}
+		return false;
+	}
+
+	private static boolean startsWithName(String code, int pos, String name) {
+		if (!code.startsWith(name, pos)) {
+			return false;
+		}
+		int end = pos + name.length();
+		return end == code.length() || !Character.isJavaIdentifierPart(code.charAt(end));
+	}
+
+	private static String readIdentifier(String code, int pos) {
+		int end = pos;
+		int len = code.length();
+		while (end < len && Character.isJavaIdentifierPart(code.charAt(end))) {
+			end++;
+		}
+		return code.substring(pos, end);
+	}
+
+	/**
+	 * @return index of last replace placed before {@code pos} or -1 if not found
+	 */
+	private static int lastReplaceBefore(List<Replace> replaces, int pos) {
+		int low = 0;
+		int high = replaces.size() - 1;
+		int result = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (replaces.get(mid).pos < pos) {
+				result = mid;
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return result;
+	}
+
+	private static void collectDefNodes(ClassNode cls, Set<LineAttrNode> nodes) {
+		nodes.add(cls);
+		nodes.addAll(cls.getMethods());
+		nodes.addAll(cls.getFields());
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			collectDefNodes(innerCls, nodes);
+		}
+	}
+
+	private CodeRenamePatcher() {
+	}
+}
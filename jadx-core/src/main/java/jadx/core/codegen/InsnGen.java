@@ -809,7 +809,12 @@ public class InsnGen {
 			} else {
 				code.add("this");
 			}
-			code.add("::").add(callMth.getAlias());
+			code.add("::");
+			MethodNode callMthNode = mth.root().resolveMethod(callMth);
+			if (callMthNode != null) {
+				code.attachAnnotation(callMthNode);
+			}
+			code.add(callMth.getAlias());
 		}
 	}
 
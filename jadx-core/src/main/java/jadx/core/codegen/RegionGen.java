@@ -287,6 +287,7 @@ public class RegionGen extends InsnGen {
 		if (k instanceof FieldNode) {
 			FieldNode fn = (FieldNode) k;
 			if (fn.getParentClass().isEnum()) {
+				code.attachAnnotation(fn);
 				code.add(fn.getAlias());
 			} else {
 				staticField(code, fn.getFieldInfo());
@@ -1,6 +1,8 @@
 package jadx.core.codegen.json;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -8,9 +10,7 @@ import java.util.Objects;
 
 import org.jetbrains.annotations.Nullable;
 
-import com.google.gson.FieldNamingPolicy;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
 
 import jadx.api.CodePosition;
 import jadx.api.ICodeInfo;
@@ -21,10 +21,6 @@ import jadx.api.impl.AnnotatedCodeWriter;
 import jadx.api.impl.SimpleCodeWriter;
 import jadx.core.codegen.ClassGen;
 import jadx.core.codegen.MethodGen;
-import jadx.core.codegen.json.cls.JsonClass;
-import jadx.core.codegen.json.cls.JsonCodeLine;
-import jadx.core.codegen.json.cls.JsonField;
-import jadx.core.codegen.json.cls.JsonMethod;
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.info.ClassInfo;
 import jadx.core.dex.instructions.args.ArgType;
@@ -36,13 +32,14 @@ import jadx.core.utils.CodeGenUtils;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
+/**
+ * Generate class json.
+ * <br>
+ * Json written by {@link JsonWriter} while code for class parts is generated,
+ * so full json object tree is not created.
+ */
 public class JsonCodeGen {
-
-	private static final Gson GSON = new GsonBuilder()
-			.setPrettyPrinting()
-			.setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_DASHES)
-			.disableHtmlEscaping()
-			.create();
+	private static final String INDENT = "  ";
 
 	private final ClassNode cls;
 	private final JadxArgs args;
@@ -55,11 +52,31 @@ public class JsonCodeGen {
 	}
 
 	public String process() {
-		JsonClass jsonCls = processCls(cls, null);
-		return GSON.toJson(jsonCls);
+		StringWriter out = new StringWriter();
+		process(out);
+		return out.toString();
+	}
+
+	/**
+	 * Write class json into provided writer.
+	 * Pretty printed for {@link JadxArgs.OutputFormatEnum#JSON} format, in one line for other formats.
+	 * Null values are skipped. Writer is not closed.
+	 */
+	public void process(Writer out) {
+		JsonWriter writer = new JsonWriter(out);
+		writer.setSerializeNulls(false);
+		if (args.getOutputFormat() == JadxArgs.OutputFormatEnum.JSON) {
+			writer.setIndent(INDENT);
+		}
+		try {
+			processCls(writer, cls, null);
+			writer.flush();
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to write json for class: " + cls.getFullName(), e);
+		}
 	}
 
-	private JsonClass processCls(ClassNode cls, @Nullable ClassGen parentCodeGen) {
+	private void processCls(JsonWriter writer, ClassNode cls, @Nullable ClassGen parentCodeGen) throws IOException {
 		ClassGen classGen;
 		if (parentCodeGen == null) {
 			classGen = new ClassGen(cls, args);
@@ -68,106 +85,103 @@ public class JsonCodeGen {
 		}
 		ClassInfo classInfo = cls.getClassInfo();
 
-		JsonClass jsonCls = new JsonClass();
-		jsonCls.setPkg(classInfo.getAliasPkg());
-		jsonCls.setDex(cls.getInputFileName());
-		jsonCls.setName(classInfo.getFullName());
-		if (classInfo.hasAlias()) {
-			jsonCls.setAlias(classInfo.getAliasFullName());
-		}
-		jsonCls.setType(getClassTypeStr(cls));
-		jsonCls.setAccessFlags(cls.getAccessFlags().rawValue());
+		writer.beginObject();
+		writer.name("package").value(classInfo.getAliasPkg());
+		writer.name("type").value(getClassTypeStr(cls));
 		if (!Objects.equals(cls.getSuperClass(), ArgType.OBJECT)) {
-			jsonCls.setSuperClass(getTypeAlias(cls.getSuperClass()));
+			writer.name("extends").value(getTypeAlias(cls.getSuperClass()));
 		}
 		if (!cls.getInterfaces().isEmpty()) {
-			jsonCls.setInterfaces(Utils.collectionMap(cls.getInterfaces(), this::getTypeAlias));
+			writer.name("implements");
+			writeStrings(writer, Utils.collectionMap(cls.getInterfaces(), this::getTypeAlias));
 		}
+		writer.name("dex").value(cls.getInputFileName());
 
 		ICodeWriter cw = new SimpleCodeWriter();
 		CodeGenUtils.addComments(cw, cls);
 		classGen.insertDecompilationProblems(cw, cls);
 		classGen.addClassDeclaration(cw);
-		jsonCls.setDeclaration(cw.getCodeStr());
+		String declaration = cw.getCodeStr();
 
-		addFields(cls, jsonCls, classGen);
-		addMethods(cls, jsonCls, classGen);
-		addInnerClasses(cls, jsonCls, classGen);
+		addFields(writer, cls, classGen);
+		addMethods(writer, cls, classGen);
+		addInnerClasses(writer, cls, classGen);
 
 		if (!cls.getClassInfo().isInner()) {
 			List<String> imports = Utils.collectionMap(classGen.getImports(), ClassInfo::getAliasFullName);
 			Collections.sort(imports);
-			jsonCls.setImports(imports);
+			writer.name("imports");
+			writeStrings(writer, imports);
 		}
-		return jsonCls;
+		writeNode(writer, classInfo.getFullName(), classInfo.hasAlias() ? classInfo.getAliasFullName() : null,
+				declaration, cls.getAccessFlags().rawValue());
+		writer.endObject();
 	}
 
-	private void addInnerClasses(ClassNode cls, JsonClass jsonCls, ClassGen classGen) {
+	private void addInnerClasses(JsonWriter writer, ClassNode cls, ClassGen classGen) throws IOException {
 		List<ClassNode> innerClasses = cls.getInnerClasses();
 		if (innerClasses.isEmpty()) {
 			return;
 		}
-		jsonCls.setInnerClasses(new ArrayList<>(innerClasses.size()));
+		writer.name("inner-classes").beginArray();
 		for (ClassNode innerCls : innerClasses) {
 			if (innerCls.contains(AFlag.DONT_GENERATE)) {
 				continue;
 			}
-			JsonClass innerJsonCls = processCls(innerCls, classGen);
-			jsonCls.getInnerClasses().add(innerJsonCls);
+			processCls(writer, innerCls, classGen);
 		}
+		writer.endArray();
 	}
 
-	private void addFields(ClassNode cls, JsonClass jsonCls, ClassGen classGen) {
-		jsonCls.setFields(new ArrayList<>());
+	private void addFields(JsonWriter writer, ClassNode cls, ClassGen classGen) throws IOException {
+		writer.name("fields").beginArray();
 		for (FieldNode field : cls.getFields()) {
 			if (field.contains(AFlag.DONT_GENERATE)) {
 				continue;
 			}
-			JsonField jsonField = new JsonField();
-			jsonField.setName(field.getName());
-			if (field.getFieldInfo().hasAlias()) {
-				jsonField.setAlias(field.getAlias());
-			}
-
 			ICodeWriter cw = new SimpleCodeWriter();
 			classGen.addField(cw, field);
-			jsonField.setDeclaration(cw.getCodeStr());
-			jsonField.setAccessFlags(field.getAccessFlags().rawValue());
-			jsonCls.getFields().add(jsonField);
+
+			writer.beginObject();
+			writeNode(writer, field.getName(), field.getFieldInfo().hasAlias() ? field.getAlias() : null,
+					cw.getCodeStr(), field.getAccessFlags().rawValue());
+			writer.endObject();
 		}
+		writer.endArray();
 	}
 
-	private void addMethods(ClassNode cls, JsonClass jsonCls, ClassGen classGen) {
-		jsonCls.setMethods(new ArrayList<>());
+	private void addMethods(JsonWriter writer, ClassNode cls, ClassGen classGen) throws IOException {
+		writer.name("methods").beginArray();
 		for (MethodNode mth : cls.getMethods()) {
 			if (mth.contains(AFlag.DONT_GENERATE)) {
 				continue;
 			}
-			JsonMethod jsonMth = new JsonMethod();
-			jsonMth.setName(mth.getName());
-			if (mth.getMethodInfo().hasAlias()) {
-				jsonMth.setAlias(mth.getAlias());
-			}
-			jsonMth.setSignature(mth.getMethodInfo().getShortId());
-			jsonMth.setReturnType(getTypeAlias(mth.getReturnType()));
-			jsonMth.setArguments(Utils.collectionMap(mth.getMethodInfo().getArgumentsTypes(), this::getTypeAlias));
-
 			MethodGen mthGen = new MethodGen(classGen, mth);
 			ICodeWriter cw = new AnnotatedCodeWriter();
 			mthGen.addDefinition(cw);
-			jsonMth.setDeclaration(cw.getCodeStr());
-			jsonMth.setAccessFlags(mth.getAccessFlags().rawValue());
-			jsonMth.setLines(fillMthCode(mth, mthGen));
-			jsonMth.setOffset("0x" + Long.toHexString(mth.getMethodCodeOffset()));
-			jsonCls.getMethods().add(jsonMth);
+			String declaration = cw.getCodeStr();
+
+			writer.beginObject();
+			writer.name("signature").value(mth.getMethodInfo().getShortId());
+			writer.name("return-type").value(getTypeAlias(mth.getReturnType()));
+			writer.name("arguments");
+			writeStrings(writer, Utils.collectionMap(mth.getMethodInfo().getArgumentsTypes(), this::getTypeAlias));
+			writer.name("lines");
+			writeMthCode(writer, mth, mthGen);
+			writer.name("offset").value("0x" + Long.toHexString(mth.getMethodCodeOffset()));
+			writeNode(writer, mth.getName(), mth.getMethodInfo().hasAlias() ? mth.getAlias() : null,
+					declaration, mth.getAccessFlags().rawValue());
+			writer.endObject();
 		}
+		writer.endArray();
 	}
 
-	private List<JsonCodeLine> fillMthCode(MethodNode mth, MethodGen mthGen) {
+	private void writeMthCode(JsonWriter writer, MethodNode mth, MethodGen mthGen) throws IOException {
+		writer.beginArray();
 		if (mth.isNoCode()) {
-			return Collections.emptyList();
+			writer.endArray();
+			return;
 		}
-
 		ICodeWriter cw = mth.root().makeCodeWriter();
 		try {
 			mthGen.addInstructions(cw);
@@ -177,30 +191,48 @@ public class JsonCodeGen {
 		ICodeInfo code = cw.finish();
 		String codeStr = code.getCodeStr();
 		if (codeStr.isEmpty()) {
-			return Collections.emptyList();
+			writer.endArray();
+			return;
 		}
 
-		String[] lines = codeStr.split(ICodeWriter.NL);
 		Map<Integer, Integer> lineMapping = code.getLineMapping();
 		Map<CodePosition, Object> annotations = code.getAnnotations();
 		long mthCodeOffset = mth.getMethodCodeOffset() + 16;
 
+		String[] lines = codeStr.split(ICodeWriter.NL);
 		int linesCount = lines.length;
-		List<JsonCodeLine> codeLines = new ArrayList<>(linesCount);
 		for (int i = 0; i < linesCount; i++) {
-			String codeLine = lines[i];
 			int line = i + 2;
-			JsonCodeLine jsonCodeLine = new JsonCodeLine();
-			jsonCodeLine.setCode(codeLine);
-			jsonCodeLine.setSourceLine(lineMapping.get(line));
+			writer.beginObject();
+			writer.name("code").value(lines[i]);
 			Object obj = annotations.get(new CodePosition(line));
 			if (obj instanceof InsnCodeOffset) {
 				long offset = ((InsnCodeOffset) obj).getOffset();
-				jsonCodeLine.setOffset("0x" + Long.toHexString(mthCodeOffset + offset * 2));
+				writer.name("offset").value("0x" + Long.toHexString(mthCodeOffset + offset * 2));
 			}
-			codeLines.add(jsonCodeLine);
+			writer.name("source-line").value(lineMapping.get(line));
+			writer.endObject();
+		}
+		writer.endArray();
+	}
+
+	/**
+	 * Common fields for class, method and field
+	 */
+	private static void writeNode(JsonWriter writer, String name, @Nullable String alias,
+			String declaration, int accessFlags) throws IOException {
+		writer.name("name").value(name);
+		writer.name("alias").value(alias);
+		writer.name("declaration").value(declaration);
+		writer.name("access-flags").value(accessFlags);
+	}
+
+	private static void writeStrings(JsonWriter writer, List<String> list) throws IOException {
+		writer.beginArray();
+		for (String str : list) {
+			writer.value(str);
 		}
-		return codeLines;
+		writer.endArray();
 	}
 
 	private String getTypeAlias(ArgType clsType) {
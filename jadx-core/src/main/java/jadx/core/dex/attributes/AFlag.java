@@ -77,6 +77,8 @@ public enum AFlag {
 	RESTART_CODEGEN, // codegen must be executed again
 	RELOAD_AT_CODEGEN_STAGE, // class can't be analyzed at 'process' stage => unload before 'codegen' stage
 	CLASS_DEEP_RELOAD, // perform deep class unload (reload) before process
+	REGENERATE_CODE, // generate code again, perform deep reload if processed class not kept in memory
+	PRE_DECOMPILE_DEFERRED, // pre-decompile passes not yet executed for class (lazy loading mode)
 
 	DONT_UNLOAD_CLASS, // don't unload class after code generation (only for tests and debug!)
 }
@@ -27,7 +27,7 @@ public final class ClassInfo implements Comparable<ClassInfo> {
 	}
 
 	public static ClassInfo fromType(RootNode root, ArgType type) {
-		ArgType clsType = checkClassType(type);
+		ArgType clsType = checkClassType(root, type);
 		ClassInfo cls = root.getInfoStorage().getCls(clsType);
 		if (cls != null) {
 			return cls;
@@ -37,10 +37,10 @@ public final class ClassInfo implements Comparable<ClassInfo> {
 	}
 
 	public static ClassInfo fromName(RootNode root, String clsName) {
-		return fromType(root, ArgType.object(clsName));
+		return fromType(root, ArgType.object(root, clsName));
 	}
 
-	private static ArgType checkClassType(ArgType type) {
+	private static ArgType checkClassType(RootNode root, ArgType type) {
 		if (type == null) {
 			throw new JadxRuntimeException("Null class type");
 		}
@@ -52,7 +52,7 @@ public final class ClassInfo implements Comparable<ClassInfo> {
 			throw new JadxRuntimeException("Not class type: " + type);
 		}
 		if (type.isGeneric()) {
-			return ArgType.object(type.getObject());
+			return ArgType.object(root, type.getObject());
 		}
 		return type;
 	}
@@ -236,10 +236,12 @@ public final class ClassInfo implements Comparable<ClassInfo> {
 	public void notInner(RootNode root) {
 		this.parentClass = null;
 		splitAndApplyNames(root, type, false);
+		root.onClassNamesChange();
 	}
 
 	public void updateNames(RootNode root) {
 		splitAndApplyNames(root, type, isInner());
+		root.onClassNamesChange();
 	}
 
 	public ArgType getType() {
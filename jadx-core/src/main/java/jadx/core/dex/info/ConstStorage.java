@@ -1,7 +1,6 @@
 package jadx.core.dex.info;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -24,7 +23,7 @@ public class ConstStorage {
 
 	private static final class ValueStorage {
 		private final Map<Object, FieldNode> values = new ConcurrentHashMap<>();
-		private final Set<Object> duplicates = new HashSet<>();
+		private final Set<Object> duplicates = ConcurrentHashMap.newKeySet();
 
 		public Map<Object, FieldNode> getValues() {
 			return values;
@@ -37,7 +36,7 @@ public class ConstStorage {
 		/**
 		 * @return true if this value is duplicated
 		 */
-		public boolean put(Object value, FieldNode fld) {
+		public synchronized boolean put(Object value, FieldNode fld) {
 			if (duplicates.contains(value)) {
 				values.remove(value);
 				return true;
@@ -69,7 +68,7 @@ public class ConstStorage {
 
 	private final boolean replaceEnabled;
 	private final ValueStorage globalValues = new ValueStorage();
-	private final Map<ClassNode, ValueStorage> classes = new HashMap<>();
+	private final Map<ClassNode, ValueStorage> classes = new ConcurrentHashMap<>();
 
 	private Map<Integer, String> resourcesNames = new HashMap<>();
 
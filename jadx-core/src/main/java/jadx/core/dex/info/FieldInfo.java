@@ -28,7 +28,7 @@ public final class FieldInfo {
 
 	public static FieldInfo fromData(RootNode root, IFieldData fieldData) {
 		ClassInfo declClass = ClassInfo.fromName(root, fieldData.getParentClassType());
-		FieldInfo field = new FieldInfo(declClass, fieldData.getName(), ArgType.parse(fieldData.getType()));
+		FieldInfo field = new FieldInfo(declClass, fieldData.getName(), ArgType.parse(root, fieldData.getType()));
 		return root.getInfoStorage().getField(field);
 	}
 
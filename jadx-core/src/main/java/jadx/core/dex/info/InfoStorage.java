@@ -1,61 +1,54 @@
 package jadx.core.dex.info;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jadx.core.dex.instructions.args.ArgType;
 
 public class InfoStorage {
 
-	private final Map<ArgType, ClassInfo> classes = new HashMap<>();
-	private final Map<FieldInfo, FieldInfo> fields = new HashMap<>();
+	private final Map<ArgType, ClassInfo> classes = new ConcurrentHashMap<>();
+	private final Map<FieldInfo, FieldInfo> fields = new ConcurrentHashMap<>();
 	// use only one MethodInfo instance
-	private final Map<MethodInfo, MethodInfo> uniqueMethods = new HashMap<>();
+	private final Map<MethodInfo, MethodInfo> uniqueMethods = new ConcurrentHashMap<>();
 	// can contain same method with different ids (from different dex files)
-	private final Map<Integer, MethodInfo> methods = new HashMap<>();
+	private final Map<Integer, MethodInfo> methods = new ConcurrentHashMap<>();
+	// shared object and array types by clean object name or array descriptor
+	private final Map<String, ArgType> types = new ConcurrentHashMap<>();
 
 	public ClassInfo getCls(ArgType type) {
 		return classes.get(type);
 	}
 
 	public ClassInfo putCls(ClassInfo cls) {
-		synchronized (classes) {
-			ClassInfo prev = classes.put(cls.getType(), cls);
-			return prev == null ? cls : prev;
-		}
+		ClassInfo prev = classes.putIfAbsent(cls.getType(), cls);
+		return prev == null ? cls : prev;
+	}
+
+	public ArgType getType(String typeStr) {
+		return types.get(typeStr);
+	}
+
+	public ArgType putType(String typeStr, ArgType type) {
+		ArgType prev = types.putIfAbsent(typeStr, type);
+		return prev == null ? type : prev;
 	}
 
 	public MethodInfo getByUniqId(int id) {
-		synchronized (methods) {
-			return methods.get(id);
-		}
+		return methods.get(id);
 	}
 
 	public void putByUniqId(int id, MethodInfo mth) {
-		synchronized (methods) {
-			methods.put(id, mth);
-		}
+		methods.put(id, mth);
 	}
 
 	public MethodInfo putMethod(MethodInfo newMth) {
-		synchronized (uniqueMethods) {
-			MethodInfo prev = uniqueMethods.get(newMth);
-			if (prev != null) {
-				return prev;
-			}
-			uniqueMethods.put(newMth, newMth);
-			return newMth;
-		}
+		MethodInfo prev = uniqueMethods.putIfAbsent(newMth, newMth);
+		return prev == null ? newMth : prev;
 	}
 
 	public FieldInfo getField(FieldInfo field) {
-		synchronized (fields) {
-			FieldInfo f = fields.get(field);
-			if (f != null) {
-				return f;
-			}
-			fields.put(field, field);
-			return field;
-		}
+		FieldInfo prev = fields.putIfAbsent(field, field);
+		return prev == null ? field : prev;
 	}
 }
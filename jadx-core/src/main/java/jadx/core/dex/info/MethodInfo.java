@@ -44,10 +44,10 @@ public final class MethodInfo implements Comparable<MethodInfo> {
 			return prevMth;
 		}
 		methodRef.load();
-		ArgType parentClsType = ArgType.parse(methodRef.getParentClassType());
+		ArgType parentClsType = ArgType.parse(root, methodRef.getParentClassType());
 		ClassInfo parentClass = ClassInfo.fromType(root, parentClsType);
-		ArgType returnType = ArgType.parse(methodRef.getReturnType());
-		List<ArgType> args = Utils.collectionMap(methodRef.getArgTypes(), ArgType::parse);
+		ArgType returnType = ArgType.parse(root, methodRef.getReturnType());
+		List<ArgType> args = Utils.collectionMap(methodRef.getArgTypes(), type -> ArgType.parse(root, type));
 		MethodInfo newMth = new MethodInfo(parentClass, methodRef.getName(), args, returnType);
 		MethodInfo uniqMth = infoStorage.putMethod(newMth);
 		infoStorage.putByUniqId(uniqId, uniqMth);
@@ -60,8 +60,8 @@ public final class MethodInfo implements Comparable<MethodInfo> {
 	}
 
 	public static MethodInfo fromMethodProto(RootNode root, ClassInfo declClass, String name, IMethodProto proto) {
-		List<ArgType> args = Utils.collectionMap(proto.getArgTypes(), ArgType::parse);
-		ArgType returnType = ArgType.parse(proto.getReturnType());
+		List<ArgType> args = Utils.collectionMap(proto.getArgTypes(), type -> ArgType.parse(root, type));
+		ArgType returnType = ArgType.parse(root, proto.getReturnType());
 		return fromDetails(root, declClass, name, args, returnType);
 	}
 
@@ -77,7 +77,7 @@ public class InsnDecoder {
 				return constStrInsn;
 
 			case CONST_CLASS: {
-				ArgType clsType = ArgType.parse(insn.getIndexAsType());
+				ArgType clsType = ArgType.parse(root, insn.getIndexAsType());
 				InsnNode constClsInsn = new ConstClassNode(clsType);
 				constClsInsn.setResult(InsnArg.reg(insn, 0, ArgType.generic(Consts.CLASS_CLASS, clsType)));
 				return constClsInsn;
@@ -330,13 +330,13 @@ public class InsnDecoder {
 						InsnArg.reg(insn, 0, method.getReturnType()));
 
 			case INSTANCE_OF:
-				InsnNode instInsn = new IndexInsnNode(InsnType.INSTANCE_OF, ArgType.parse(insn.getIndexAsType()), 1);
+				InsnNode instInsn = new IndexInsnNode(InsnType.INSTANCE_OF, ArgType.parse(root, insn.getIndexAsType()), 1);
 				instInsn.setResult(InsnArg.reg(insn, 0, ArgType.BOOLEAN));
 				instInsn.addArg(InsnArg.reg(insn, 1, ArgType.UNKNOWN_OBJECT));
 				return instInsn;
 
 			case CHECK_CAST:
-				ArgType castType = ArgType.parse(insn.getIndexAsType());
+				ArgType castType = ArgType.parse(root, insn.getIndexAsType());
 				InsnNode checkCastInsn = new IndexInsnNode(InsnType.CHECK_CAST, castType, 1);
 				checkCastInsn.setResult(InsnArg.reg(insn, 0, castType));
 				checkCastInsn.addArg(InsnArg.reg(insn, 0, ArgType.UNKNOWN_OBJECT));
@@ -433,13 +433,13 @@ public class InsnDecoder {
 				return invoke(insn, InvokeType.CUSTOM, true);
 
 			case NEW_INSTANCE:
-				ArgType clsType = ArgType.parse(insn.getIndexAsType());
+				ArgType clsType = ArgType.parse(root, insn.getIndexAsType());
 				IndexInsnNode newInstInsn = new IndexInsnNode(InsnType.NEW_INSTANCE, clsType, 0);
 				newInstInsn.setResult(InsnArg.reg(insn, 0, clsType));
 				return newInstInsn;
 
 			case NEW_ARRAY:
-				ArgType arrType = ArgType.parse(insn.getIndexAsType());
+				ArgType arrType = ArgType.parse(root, insn.getIndexAsType());
 				return new NewArrayNode(arrType,
 						InsnArg.reg(insn, 0, arrType),
 						InsnArg.typeImmutableReg(insn, 1, ArgType.INT));
@@ -487,7 +487,7 @@ public class InsnDecoder {
 	}
 
 	private InsnNode filledNewArray(InsnData insn, boolean isRange) {
-		ArgType arrType = ArgType.parse(insn.getIndexAsType());
+		ArgType arrType = ArgType.parse(root, insn.getIndexAsType());
 		ArgType elType = arrType.getArrayElement();
 		boolean typeImmutable = elType.isPrimitive();
 		int regsCount = insn.getRegsCount();
@@ -11,6 +11,7 @@ import org.jetbrains.annotations.TestOnly;
 
 import jadx.core.Consts;
 import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.info.InfoStorage;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.visitors.typeinference.TypeCompareEnum;
@@ -78,7 +79,6 @@ public abstract class ArgType {
 	}
 
 	public static ArgType object(String obj) {
-		// TODO: add caching
 		String cleanObjectName = Utils.cleanObjectName(obj);
 		switch (cleanObjectName) {
 			case Consts.CLASS_OBJECT:
@@ -96,6 +96,19 @@ public abstract class ArgType {
 		}
 	}
 
+	/**
+	 * Same as {@link #object(String)}, but return type instance shared in root node
+	 */
+	public static ArgType object(RootNode root, String obj) {
+		String cleanObjectName = Utils.cleanObjectName(obj);
+		InfoStorage infoStorage = root.getInfoStorage();
+		ArgType type = infoStorage.getType(cleanObjectName);
+		if (type != null) {
+			return type;
+		}
+		return infoStorage.putType(cleanObjectName, object(cleanObjectName));
+	}
+
 	public static ArgType genericType(String type) {
 		return new GenericType(type);
 	}
@@ -733,6 +746,33 @@ public abstract class ArgType {
 		}
 	}
 
+	/**
+	 * Same as {@link #parse(String)}, but object and array types instances shared in root node.
+	 * Type variables not shared, because can be changed by {@link #setExtendTypes(List)}
+	 */
+	public static ArgType parse(RootNode root, String type) {
+		if (type == null || type.isEmpty()) {
+			throw new JadxRuntimeException("Failed to parse type string: " + type);
+		}
+		switch (type.charAt(0)) {
+			case 'L':
+				return object(root, type);
+			case '[':
+				InfoStorage infoStorage = root.getInfoStorage();
+				ArgType arrType = infoStorage.getType(type);
+				if (arrType != null) {
+					return arrType;
+				}
+				ArgType newArrType = array(parse(root, type.substring(1)));
+				if (newArrType.getArrayRootElement().isGenericType()) {
+					return newArrType;
+				}
+				return infoStorage.putType(type, newArrType);
+			default:
+				return parse(type);
+		}
+	}
+
 	public static ArgType parse(char f) {
 		switch (f) {
 			case 'Z':
@@ -28,8 +28,9 @@ public final class BlockNode extends AttrNode implements IBlock, Comparable<Bloc
 	private List<BlockNode> successors = new ArrayList<>(1);
 	private List<BlockNode> cleanSuccessors;
 
-	// all dominators
-	private BitSet doms = EmptyBitSet.EMPTY;
+	// enter/exit numbers in dominators tree traversal, used for dominance check
+	private int domTreeEnter = -1;
+	private int domTreeExit = -1;
 	// dominance frontier
 	private BitSet domFrontier;
 	// immediate dominator
@@ -118,21 +119,36 @@ public final class BlockNode extends AttrNode implements IBlock, Comparable<Bloc
 	}
 
 	/**
-	 * Check if 'block' dominated on this node
+	 * Check if 'block' dominated on this node (exclude itself)
 	 */
 	public boolean isDominator(BlockNode block) {
-		return doms.get(block.getId());
+		if (block == this || domTreeEnter == -1 || block.domTreeEnter == -1) {
+			return false;
+		}
+		return block.domTreeEnter < domTreeEnter && domTreeExit < block.domTreeExit;
 	}
 
 	/**
-	 * Dominators of this node (exclude itself)
+	 * Dominators of this node (exclude itself).
+	 * Not stored, collected from immediate dominators chain.
 	 */
 	public BitSet getDoms() {
+		if (idom == null) {
+			return EmptyBitSet.EMPTY;
+		}
+		BitSet doms = new BitSet();
+		for (BlockNode dom = idom; dom != null; dom = dom.getIDom()) {
+			doms.set(dom.getId());
+		}
 		return doms;
 	}
 
-	public void setDoms(BitSet doms) {
-		this.doms = doms;
+	public void setDomTreeEnter(int domTreeEnter) {
+		this.domTreeEnter = domTreeEnter;
+	}
+
+	public void setDomTreeExit(int domTreeExit) {
+		this.domTreeExit = domTreeExit;
 	}
 
 	public BitSet getDomFrontier() {
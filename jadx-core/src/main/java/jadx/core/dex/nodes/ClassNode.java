@@ -22,6 +22,7 @@ import jadx.api.plugins.input.data.annotations.EncodedValue;
 import jadx.api.plugins.input.data.annotations.IAnnotation;
 import jadx.core.Consts;
 import jadx.core.ProcessClass;
+import jadx.core.codegen.CodeRenamePatcher;
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.attributes.annotations.AnnotationsList;
 import jadx.core.dex.attributes.fldinit.FieldInitAttr;
@@ -56,6 +57,9 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 
 	private List<MethodNode> methods;
 	private List<FieldNode> fields;
+	/** Fields and methods parsed from class data, can be {@code false} only in lazy loading mode */
+	private volatile boolean membersLoaded;
+	private final Object membersLock = new Object();
 	private List<ClassNode> innerClasses = Collections.emptyList();
 
 	private List<ClassNode> inlinedClasses = Collections.emptyList();
@@ -80,12 +84,12 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 
 	public ClassNode(RootNode root, IClassData cls) {
 		this.root = root;
-		this.clsInfo = ClassInfo.fromType(root, ArgType.object(cls.getType()));
+		this.clsInfo = ClassInfo.fromType(root, ArgType.object(root, cls.getType()));
 		this.clsData = cls.copy();
-		initialLoad(clsData);
+		initialLoad(clsData, !root.getArgs().isLazyClassLoading());
 	}
 
-	private void initialLoad(IClassData cls) {
+	private void initialLoad(IClassData cls, boolean loadMembers) {
 		try {
 			String superType = cls.getSuperType();
 			if (superType == null) {
@@ -95,25 +99,59 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 				}
 				this.superClass = null;
 			} else {
-				this.superClass = ArgType.object(superType);
+				this.superClass = ArgType.object(root, superType);
 			}
-			this.interfaces = Utils.collectionMap(cls.getInterfacesTypes(), ArgType::object);
-
-			methods = new ArrayList<>();
-			fields = new ArrayList<>();
-			cls.visitFieldsAndMethods(
-					fld -> fields.add(FieldNode.build(this, fld)),
-					mth -> methods.add(MethodNode.build(this, mth)));
+			this.interfaces = Utils.collectionMap(cls.getInterfacesTypes(), type -> ArgType.object(root, type));
 
 			AnnotationsList.attach(this, cls.getAnnotations());
-			loadStaticValues(cls, fields);
 			initAccessFlags(cls);
 
 			addSourceFilenameAttr(cls.getSourceFile());
-			buildCache();
 		} catch (Exception e) {
 			throw new JadxRuntimeException("Error decode class: " + clsInfo, e);
 		}
+		if (loadMembers) {
+			loadMembers(cls);
+		} else {
+			this.methods = null;
+			this.fields = null;
+			this.mthInfoMap = Collections.emptyMap();
+			this.membersLoaded = false;
+		}
+	}
+
+	private void loadMembers(IClassData cls) {
+		try {
+			List<FieldNode> fieldsList = new ArrayList<>();
+			List<MethodNode> methodsList = new ArrayList<>();
+			cls.visitFieldsAndMethods(
+					fld -> fieldsList.add(FieldNode.build(this, fld)),
+					mth -> methodsList.add(MethodNode.build(this, mth)));
+			this.fields = fieldsList;
+			this.methods = methodsList;
+			loadStaticValues(cls, fieldsList);
+			buildCache();
+			this.membersLoaded = true;
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Error decode class members: " + clsInfo, e);
+		}
+	}
+
+	/**
+	 * Parse fields and methods if class loaded in lazy mode
+	 */
+	private void ensureMembersLoaded() {
+		if (!membersLoaded) {
+			synchronized (membersLock) {
+				if (!membersLoaded) {
+					loadMembers(clsData);
+				}
+			}
+		}
+	}
+
+	public boolean isMembersLoaded() {
+		return membersLoaded;
 	}
 
 	public void updateGenericClsData(ArgType superClass, List<ArgType> interfaces, List<ArgType> generics) {
@@ -137,10 +175,18 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 	}
 
 	public static ClassNode addSyntheticClass(RootNode root, String name, int accessFlags) {
+		ClassNode cls = makeSyntheticClass(root, name, accessFlags);
+		root.addClassNode(cls);
+		return cls;
+	}
+
+	/**
+	 * Create synthetic class without adding it to root node
+	 */
+	public static ClassNode makeSyntheticClass(RootNode root, String name, int accessFlags) {
 		ClassNode cls = new ClassNode(root, name, accessFlags);
 		cls.add(AFlag.SYNTHETIC);
 		cls.setState(ProcessState.PROCESS_COMPLETE);
-		root.addClassNode(cls);
 		return cls;
 	}
 
@@ -152,6 +198,7 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 		this.interfaces = new ArrayList<>();
 		this.methods = new ArrayList<>();
 		this.fields = new ArrayList<>();
+		this.membersLoaded = true;
 		this.accessFlags = new AccessInfo(accessFlags, AFType.CLASS);
 		this.parentClass = this;
 	}
@@ -222,11 +269,44 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 		return decompile(true);
 	}
 
+	/**
+	 * Run code generation again, processing passes skipped if class kept in memory
+	 * (see {@link jadx.api.JadxArgs#setProcessedClassesCacheSizeMb(int)}), full reload used otherwise
+	 */
+	public ICodeInfo regenerateCode() {
+		// check for kept class done at processing under class lock
+		getTopParentClass().add(AFlag.REGENERATE_CODE);
+		return decompile(false);
+	}
+
 	public ICodeInfo reloadCode() {
 		add(AFlag.CLASS_DEEP_RELOAD);
 		return decompile(false);
 	}
 
+	/**
+	 * Apply methods and fields renames to cached code without class reprocessing
+	 *
+	 * @return false if code not found in cache or can't be patched, use {@link #reloadCode()} in this case
+	 */
+	public synchronized boolean updateCodeAfterRename() {
+		ICodeCache codeCache = root().getCodeCache();
+		ClassNode topParentClass = getTopParentClass();
+		String clsRawName = topParentClass.getRawName();
+		ICodeInfo code = codeCache.get(clsRawName);
+		if (code == null || code == ICodeInfo.EMPTY) {
+			return false;
+		}
+		ICodeInfo patchedCode = CodeRenamePatcher.patch(topParentClass, code);
+		if (patchedCode == null) {
+			return false;
+		}
+		if (patchedCode != code) {
+			codeCache.add(clsRawName, patchedCode);
+		}
+		return true;
+	}
+
 	public void deepUnload() {
 		if (clsData == null) {
 			// manually added class
@@ -235,7 +315,7 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 		unload();
 		clearAttributes();
 		root().getConstValues().removeForClass(this);
-		initialLoad(clsData);
+		initialLoad(clsData, true);
 
 		innerClasses.forEach(ClassNode::deepUnload);
 	}
@@ -275,11 +355,12 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 		if (state == NOT_LOADED) {
 			return;
 		}
-		methods.forEach(MethodNode::unload);
+		getMethods().forEach(MethodNode::unload);
 		innerClasses.forEach(ClassNode::unload);
-		fields.forEach(FieldNode::unloadAttributes);
+		getFields().forEach(FieldNode::unloadAttributes);
 		unloadAttributes();
 		setState(NOT_LOADED);
+		root().getProcessedClasses().remove(this);
 		this.loadStage = LoadStage.NONE;
 		this.smali = null;
 	}
@@ -313,15 +394,17 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 	}
 
 	public List<MethodNode> getMethods() {
+		ensureMembersLoaded();
 		return methods;
 	}
 
 	public List<FieldNode> getFields() {
+		ensureMembersLoaded();
 		return fields;
 	}
 
 	public void addField(FieldNode fld) {
-		fields.add(fld);
+		getFields().add(fld);
 	}
 
 	public FieldNode getConstField(Object obj) {
@@ -339,7 +422,7 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 	}
 
 	public FieldNode searchField(FieldInfo field) {
-		for (FieldNode f : fields) {
+		for (FieldNode f : getFields()) {
 			if (f.getFieldInfo().equals(field)) {
 				return f;
 			}
@@ -348,7 +431,7 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 	}
 
 	public FieldNode searchFieldByNameAndType(FieldInfo field) {
-		for (FieldNode f : fields) {
+		for (FieldNode f : getFields()) {
 			if (f.getFieldInfo().equalsNameAndType(field)) {
 				return f;
 			}
@@ -357,7 +440,7 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 	}
 
 	public FieldNode searchFieldByName(String name) {
-		for (FieldNode f : fields) {
+		for (FieldNode f : getFields()) {
 			if (f.getName().equals(name)) {
 				return f;
 			}
@@ -366,7 +449,7 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 	}
 
 	public FieldNode searchFieldByShortId(String shortId) {
-		for (FieldNode f : fields) {
+		for (FieldNode f : getFields()) {
 			if (f.getFieldInfo().getShortId().equals(shortId)) {
 				return f;
 			}
@@ -375,11 +458,12 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 	}
 
 	public MethodNode searchMethod(MethodInfo mth) {
+		ensureMembersLoaded();
 		return mthInfoMap.get(mth);
 	}
 
 	public MethodNode searchMethodByShortId(String shortId) {
-		for (MethodNode m : methods) {
+		for (MethodNode m : getMethods()) {
 			if (m.getMethodInfo().getShortId().equals(shortId)) {
 				return m;
 			}
@@ -394,7 +478,7 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 	 */
 	@Nullable
 	public MethodNode searchMethodByShortName(String name) {
-		for (MethodNode m : methods) {
+		for (MethodNode m : getMethods()) {
 			if (m.getMethodInfo().getName().equals(name)) {
 				return m;
 			}
@@ -498,7 +582,7 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 
 	@Nullable
 	public MethodNode getDefaultConstructor() {
-		for (MethodNode mth : methods) {
+		for (MethodNode mth : getMethods()) {
 			if (mth.isDefaultConstructor()) {
 				return mth;
 			}
@@ -598,6 +682,14 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 		sb.append(this.clsData.getDisassembledCodeV2());
 	}
 
+	/**
+	 * Raw class data from input, {@code null} for classes created by jadx
+	 */
+	@Nullable
+	public IClassData getClsData() {
+		return clsData;
+	}
+
 	public ProcessState getState() {
 		return state;
 	}
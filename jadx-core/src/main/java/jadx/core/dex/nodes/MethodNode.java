@@ -103,6 +103,13 @@ public class MethodNode extends NotificationAttrNode implements IMethodDetails,
 		return new ArrayList<>(variables);
 	}
 
+	/**
+	 * Remove variables declared at code generation, required before running code generation again
+	 */
+	public void resetVariables() {
+		variables = new ArrayList<>();
+	}
+
 	public VariableNode getVariable(int index) {
 		if (index >= 0 && index < variables.size()) {
 			return variables.get(index);
@@ -478,7 +485,7 @@ public class MethodNode extends NotificationAttrNode implements IMethodDetails,
 			return Collections.emptyList();
 		}
 		List<EncodedValue> types = (List<EncodedValue>) an.getDefaultValue().getValue();
-		return Utils.collectionMap(types, ev -> ArgType.object((String) ev.getValue()));
+		return Utils.collectionMap(types, ev -> ArgType.object(root(), (String) ev.getValue()));
 	}
 
 	/**
@@ -3,8 +3,17 @@ package jadx.core.dex.nodes;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.NotNull;
@@ -19,9 +28,11 @@ import jadx.api.ResourceFile;
 import jadx.api.ResourceType;
 import jadx.api.ResourcesLoader;
 import jadx.api.plugins.input.data.IClassData;
+import jadx.api.plugins.input.data.IClassSource;
 import jadx.api.plugins.input.data.ILoadResult;
 import jadx.core.Jadx;
 import jadx.core.clsp.ClspGraph;
+import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.attributes.AType;
 import jadx.core.dex.info.ClassInfo;
 import jadx.core.dex.info.ConstStorage;
@@ -29,17 +40,24 @@ import jadx.core.dex.info.FieldInfo;
 import jadx.core.dex.info.InfoStorage;
 import jadx.core.dex.info.MethodInfo;
 import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.utils.ClassSearchIndex;
 import jadx.core.dex.nodes.utils.MethodUtils;
+import jadx.core.dex.nodes.utils.ProcessedClassesCache;
 import jadx.core.dex.nodes.utils.TypeUtils;
 import jadx.core.dex.visitors.DepthTraversal;
 import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.dex.visitors.typeinference.TypeCompare;
 import jadx.core.dex.visitors.typeinference.TypeUpdate;
+import jadx.core.dex.visitors.usage.UsageIndex;
+import jadx.core.dex.visitors.usage.UsageInfoVisitor;
 import jadx.core.utils.CacheStorage;
 import jadx.core.utils.ErrorsCounter;
+import jadx.core.utils.ParallelUtils;
 import jadx.core.utils.StringUtils;
 import jadx.core.utils.android.AndroidResourcesUtils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.profiling.PassesProfiler;
 import jadx.core.xmlgen.ResTableParser;
 import jadx.core.xmlgen.ResourceStorage;
 import jadx.core.xmlgen.entry.ResourceEntry;
@@ -60,13 +78,24 @@ public class RootNode {
 	private final TypeUpdate typeUpdate;
 	private final MethodUtils methodUtils;
 	private final TypeUtils typeUtils;
+	private final ClassSearchIndex classSearchIndex;
+	/**
+	 * Incremented after every change of class name or alias, used to detect outdated name indexes
+	 */
+	private final AtomicInteger classNamesChanges = new AtomicInteger();
 
 	private final ICodeCache codeCache;
+	private final ProcessedClassesCache processedClasses;
+	@Nullable
+	private final PassesProfiler passesProfiler;
 
-	private final Map<ClassInfo, ClassNode> clsMap = new HashMap<>();
+	private final Map<ClassInfo, ClassNode> clsMap = new ConcurrentHashMap<>();
 	private List<ClassNode> classes = new ArrayList<>();
+	@Nullable
+	private List<ClassNode> preDecompileClasses;
 
 	private ClspGraph clsp;
+	private UsageIndex usageIndex;
 	@Nullable
 	private String appPackage;
 	@Nullable
@@ -81,21 +110,30 @@ public class RootNode {
 		this.constValues = new ConstStorage(args);
 		this.typeUpdate = new TypeUpdate(this);
 		this.codeCache = args.getCodeCache();
+		this.processedClasses = new ProcessedClassesCache(args.getProcessedClassesCacheSizeMb() * 1024L * 1024L);
+		this.passesProfiler = args.isProfilePasses() ? new PassesProfiler(args.getProfileSlowMethodMs()) : null;
+		if (passesProfiler != null) {
+			passesProfiler.addCache(typeUpdate.getTypeCompare().getClassesCache());
+		}
 		this.methodUtils = new MethodUtils(this);
 		this.typeUtils = new TypeUtils(this);
+		this.classSearchIndex = new ClassSearchIndex(this);
 		this.isProto = args.getInputFiles().size() > 0 && args.getInputFiles().get(0).getName().toLowerCase().endsWith(".aab");
 	}
 
 	public void loadClasses(List<ILoadResult> loadedInputs) {
+		long startTime = System.currentTimeMillis();
+		List<IClassSource> classSources = new ArrayList<>();
 		for (ILoadResult loadedInput : loadedInputs) {
-			loadedInput.visitClasses(cls -> {
-				try {
-					addClassNode(new ClassNode(RootNode.this, cls));
-				} catch (Exception e) {
-					addDummyClass(cls, e);
-				}
-			});
+			classSources.addAll(loadedInput.getClassSources());
 		}
+		int threadsCount = Math.max(1, Math.min(classSources.size(), args.getThreadsCount()));
+		List<List<ClassNode>> loadedClasses = loadClassSources(classSources, threadsCount);
+		// add in input order to get same result for duplicated classes
+		for (List<ClassNode> clsList : loadedClasses) {
+			clsList.forEach(this::addClassNode);
+		}
+		long visitTime = System.currentTimeMillis() - startTime;
 		if (classes.size() != clsMap.size()) {
 			// class name duplication detected
 			classes.stream().collect(Collectors.groupingBy(ClassNode::getClassInfo))
@@ -110,15 +148,69 @@ public class RootNode {
 		classes = new ArrayList<>(clsMap.values());
 		// sort classes by name, expect top classes before inner
 		classes.sort(Comparator.comparing(ClassNode::getFullName));
+		long innerStartTime = System.currentTimeMillis();
 		initInnerClasses();
-
-		// print stats for loaded classes
-		int mthCount = classes.stream().mapToInt(c -> c.getMethods().size()).sum();
-		int insnsCount = classes.stream().flatMap(c -> c.getMethods().stream()).mapToInt(MethodNode::getInsnsCount).sum();
-		LOG.info("Loaded classes: {}, methods: {}, instructions: {}", classes.size(), mthCount, insnsCount);
+		long innerTime = System.currentTimeMillis() - innerStartTime;
+
+		if (args.isLazyClassLoading()) {
+			// don't count methods to avoid loading all classes
+			LOG.info("Loaded classes: {} (fields and methods will be loaded on demand)", classes.size());
+		} else {
+			// print stats for loaded classes
+			int mthCount = classes.stream().mapToInt(c -> c.getMethods().size()).sum();
+			int insnsCount = classes.stream().flatMap(c -> c.getMethods().stream()).mapToInt(MethodNode::getInsnsCount).sum();
+			LOG.info("Loaded classes: {}, methods: {}, instructions: {}", classes.size(), mthCount, insnsCount);
+		}
+		LOG.debug("Classes load time: {} sources in {} threads - {}ms, inner classes init - {}ms",
+				classSources.size(), threadsCount, visitTime, innerTime);
+	}
+
+	private List<List<ClassNode>> loadClassSources(List<IClassSource> classSources, int threadsCount) {
+		if (threadsCount == 1) {
+			List<List<ClassNode>> result = new ArrayList<>(classSources.size());
+			for (IClassSource classSource : classSources) {
+				result.add(loadClassSource(classSource));
+			}
+			return result;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
+		try {
+			List<Future<List<ClassNode>>> futures = new ArrayList<>(classSources.size());
+			for (IClassSource classSource : classSources) {
+				futures.add(executor.submit(() -> loadClassSource(classSource)));
+			}
+			List<List<ClassNode>> result = new ArrayList<>(futures.size());
+			for (Future<List<ClassNode>> future : futures) {
+				result.add(future.get());
+			}
+			return result;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JadxRuntimeException("Classes loading interrupted", e);
+		} catch (ExecutionException e) {
+			throw new JadxRuntimeException("Classes loading failed", e.getCause());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Classes (including dummy ones for failed to load classes) not added to root here,
+	 * so result can be added in input order after parallel load
+	 */
+	private List<ClassNode> loadClassSource(IClassSource classSource) {
+		List<ClassNode> clsList = new ArrayList<>();
+		classSource.visitClasses(cls -> {
+			try {
+				clsList.add(new ClassNode(RootNode.this, cls));
+			} catch (Exception e) {
+				clsList.add(makeDummyClass(cls, e));
+			}
+		});
+		return clsList;
 	}
 
-	private void addDummyClass(IClassData classData, Exception exc) {
+	private ClassNode makeDummyClass(IClassData classData, Exception exc) {
 		String typeStr = classData.getType();
 		String name = null;
 		try {
@@ -132,11 +224,12 @@ public class RootNode {
 		if (name == null || name.isEmpty()) {
 			name = "CLASS_" + typeStr;
 		}
-		ClassNode clsNode = ClassNode.addSyntheticClass(this, name, classData.getAccessFlags());
+		ClassNode clsNode = ClassNode.makeSyntheticClass(this, name, classData.getAccessFlags());
 		ErrorsCounter.error(clsNode, "Load error", exc);
+		return clsNode;
 	}
 
-	public void addClassNode(ClassNode clsNode) {
+	public synchronized void addClassNode(ClassNode clsNode) {
 		classes.add(clsNode);
 		clsMap.put(clsNode.getClassInfo(), clsNode);
 	}
@@ -177,10 +270,14 @@ public class RootNode {
 	public void initClassPath() {
 		try {
 			if (this.clsp == null) {
+				long start = System.currentTimeMillis();
 				ClspGraph newClsp = new ClspGraph(this);
 				newClsp.load();
 				newClsp.addApp(classes);
 				this.clsp = newClsp;
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Class path init time: {}ms", System.currentTimeMillis() - start);
+				}
 			}
 		} catch (Exception e) {
 			throw new JadxRuntimeException("Error loading jadx class set", e);
@@ -244,6 +341,9 @@ public class RootNode {
 	}
 
 	public void runPreDecompileStage() {
+		preDecompileClasses = collectPreDecompileClasses();
+		int threadsCount = args.getThreadsCount();
+		List<List<ClassNode>> batches = null;
 		for (IDexTreeVisitor pass : preDecompilePasses) {
 			long start = System.currentTimeMillis();
 			try {
@@ -251,8 +351,15 @@ public class RootNode {
 			} catch (Exception e) {
 				LOG.error("Visitor init failed: {}", pass.getClass().getSimpleName(), e);
 			}
-			for (ClassNode cls : classes) {
-				DepthTraversal.visit(pass, cls);
+			if (threadsCount > 1 && isParallelPass(pass)) {
+				if (batches == null) {
+					batches = splitByTopClasses(preDecompileClasses, threadsCount * 8);
+				}
+				visitInParallel(pass, batches, threadsCount);
+			} else {
+				for (ClassNode cls : preDecompileClasses) {
+					DepthTraversal.visit(pass, cls);
+				}
 			}
 			if (LOG.isDebugEnabled()) {
 				LOG.debug("{} time: {}ms", pass.getClass().getSimpleName(), System.currentTimeMillis() - start);
@@ -260,12 +367,94 @@ public class RootNode {
 		}
 	}
 
+	private static boolean isParallelPass(IDexTreeVisitor pass) {
+		JadxVisitor info = pass.getClass().getAnnotation(JadxVisitor.class);
+		return info != null && info.parallel();
+	}
+
+	private static void visitInParallel(IDexTreeVisitor pass, List<List<ClassNode>> batches, int threadsCount) {
+		List<Callable<Void>> tasks = new ArrayList<>(batches.size());
+		for (List<ClassNode> batch : batches) {
+			tasks.add(() -> {
+				for (ClassNode cls : batch) {
+					DepthTraversal.visit(pass, cls);
+				}
+				return null;
+			});
+		}
+		ParallelUtils.runTasks(pass.getClass().getSimpleName(), threadsCount, tasks);
+	}
+
+	/**
+	 * Split classes into batches, keep original order and put inner classes in same batch with top class
+	 */
+	private static List<List<ClassNode>> splitByTopClasses(List<ClassNode> classes, int batchesCount) {
+		Map<ClassNode, List<ClassNode>> groups = new LinkedHashMap<>();
+		for (ClassNode cls : classes) {
+			groups.computeIfAbsent(cls.getTopParentClass(), c -> new ArrayList<>()).add(cls);
+		}
+		List<List<ClassNode>> batches = new ArrayList<>(batchesCount);
+		for (List<List<ClassNode>> part : ParallelUtils.split(new ArrayList<>(groups.values()), batchesCount)) {
+			List<ClassNode> batch = new ArrayList<>();
+			part.forEach(batch::addAll);
+			batches.add(batch);
+		}
+		return batches;
+	}
+
+	/**
+	 * In lazy loading mode with class filter only selected classes processed at pre-decompile stage,
+	 * other classes marked by {@link AFlag#PRE_DECOMPILE_DEFERRED} flag and processed on demand.
+	 */
+	private List<ClassNode> collectPreDecompileClasses() {
+		Predicate<String> classFilter = args.getClassFilter();
+		if (!args.isLazyClassLoading() || classFilter == null || args.isDeobfuscationOn()) {
+			return classes;
+		}
+		List<ClassNode> selected = new ArrayList<>();
+		for (ClassNode cls : classes) {
+			if (classFilter.test(cls.getTopParentClass().getClassInfo().getFullName())) {
+				selected.add(cls);
+			} else {
+				cls.add(AFlag.PRE_DECOMPILE_DEFERRED);
+			}
+		}
+		LOG.debug("Pre-decompile stage deferred for {} classes", classes.size() - selected.size());
+		return selected;
+	}
+
+	/**
+	 * Classes processed at pre-decompile stage (all classes if lazy loading is not used)
+	 */
+	public List<ClassNode> getPreDecompileClasses() {
+		if (preDecompileClasses == null) {
+			return classes;
+		}
+		return preDecompileClasses;
+	}
+
 	public void runPreDecompileStageForClass(ClassNode cls) {
 		for (IDexTreeVisitor pass : preDecompilePasses) {
 			DepthTraversal.visit(pass, cls);
 		}
 	}
 
+	/**
+	 * Run pre-decompile passes and collect usage info (including dependencies) for deferred top class
+	 */
+	public void runDeferredPreDecompileStage(ClassNode cls) {
+		runPreDecompileStageForClass(cls);
+		UsageInfoVisitor.processDeferredClass(cls);
+		removeDeferredFlag(cls);
+	}
+
+	private static void removeDeferredFlag(ClassNode cls) {
+		cls.remove(AFlag.PRE_DECOMPILE_DEFERRED);
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			removeDeferredFlag(innerCls);
+		}
+	}
+
 	public List<ClassNode> getClasses() {
 		return classes;
 	}
@@ -301,7 +490,7 @@ public class RootNode {
 			return null;
 		}
 		if (clsType.isGeneric()) {
-			clsType = ArgType.object(clsType.getObject());
+			clsType = ArgType.object(this, clsType.getObject());
 		}
 		return resolveClass(ClassInfo.fromType(this, clsType));
 	}
@@ -314,24 +503,11 @@ public class RootNode {
 
 	@Nullable
 	public ClassNode searchClassByFullAlias(String fullName) {
-		for (ClassNode cls : classes) {
-			ClassInfo classInfo = cls.getClassInfo();
-			if (classInfo.getFullName().equals(fullName)
-					|| classInfo.getAliasFullName().equals(fullName)) {
-				return cls;
-			}
-		}
-		return null;
+		return classSearchIndex.searchByFullNameOrAlias(fullName);
 	}
 
 	public List<ClassNode> searchClassByShortName(String shortName) {
-		List<ClassNode> list = new ArrayList<>();
-		for (ClassNode cls : classes) {
-			if (cls.getClassInfo().getShortName().equals(shortName)) {
-				list.add(cls);
-			}
-		}
-		return list;
+		return classSearchIndex.searchByShortName(shortName);
 	}
 
 	@Nullable
@@ -501,6 +677,15 @@ public class RootNode {
 		return codeCache;
 	}
 
+	public ProcessedClassesCache getProcessedClasses() {
+		return processedClasses;
+	}
+
+	@Nullable
+	public PassesProfiler getPassesProfiler() {
+		return passesProfiler;
+	}
+
 	public MethodUtils getMethodUtils() {
 		return methodUtils;
 	}
@@ -509,6 +694,34 @@ public class RootNode {
 		return typeUtils;
 	}
 
+	public ClassSearchIndex getClassSearchIndex() {
+		return classSearchIndex;
+	}
+
+	/**
+	 * Should be called after class aliases change (see {@link ClassInfo#changeShortName(String)}),
+	 * so class search index will be rebuilt on next search.
+	 */
+	public void onClassNamesChange() {
+		classNamesChanges.incrementAndGet();
+	}
+
+	public int getClassNamesChangesCount() {
+		return classNamesChanges.get();
+	}
+
+	/**
+	 * Use sites collected at pre-decompile stage, null if not yet collected
+	 */
+	@Nullable
+	public UsageIndex getUsageIndex() {
+		return usageIndex;
+	}
+
+	public void setUsageIndex(UsageIndex usageIndex) {
+		this.usageIndex = usageIndex;
+	}
+
 	public boolean isProto() {
 		return isProto;
 	}
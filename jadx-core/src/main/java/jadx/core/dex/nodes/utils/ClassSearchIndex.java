@@ -0,0 +1,147 @@
+package jadx.core.dex.nodes.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Hash indexes for class search by original and alias names, package index for prefix search.
+ * <br>
+ * Indexes built on first search and rebuilt if classes list changed or any class was renamed
+ * (checked by {@link RootNode#getClassNamesChangesCount()}), so results are the same as for full scan.
+ * For classes with same name, first class from classes list returned.
+ */
+public class ClassSearchIndex {
+	private final RootNode root;
+
+	private volatile Indexes indexes;
+
+	public ClassSearchIndex(RootNode root) {
+		this.root = root;
+	}
+
+	private static final class Indexes {
+		private final List<ClassNode> classes;
+		private final int classesCount;
+		private final int namesChanges;
+
+		private final Map<String, ClassNode> fullNames;
+		private final Map<String, ClassNode> aliasFullNames;
+		private final Map<String, List<ClassNode>> shortNames;
+		private final NavigableMap<String, List<ClassNode>> packages;
+
+		private Indexes(List<ClassNode> classes, int namesChanges) {
+			this.classes = classes;
+			this.classesCount = classes.size();
+			this.namesChanges = namesChanges;
+			this.fullNames = new HashMap<>(classesCount);
+			this.aliasFullNames = new HashMap<>(classesCount);
+			this.shortNames = new HashMap<>(classesCount);
+			this.packages = new TreeMap<>();
+			for (ClassNode cls : classes) {
+				ClassInfo classInfo = cls.getClassInfo();
+				fullNames.putIfAbsent(classInfo.getFullName(), cls);
+				aliasFullNames.putIfAbsent(classInfo.getAliasFullName(), cls);
+				shortNames.computeIfAbsent(classInfo.getShortName(), k -> new ArrayList<>(1)).add(cls);
+				if (!classInfo.isInner()) {
+					packages.computeIfAbsent(classInfo.getPackage(), k -> new ArrayList<>()).add(cls);
+				}
+			}
+		}
+
+		private boolean isActual(List<ClassNode> currentClasses, int currentNamesChanges) {
+			return classes == currentClasses
+					&& classesCount == currentClasses.size()
+					&& namesChanges == currentNamesChanges;
+		}
+	}
+
+	private Indexes getIndexes() {
+		List<ClassNode> classes = root.getClasses();
+		Indexes current = indexes;
+		if (current != null && current.isActual(classes, root.getClassNamesChangesCount())) {
+			return current;
+		}
+		// classes added to root under lock on root instance
+		synchronized (root) {
+			classes = root.getClasses();
+			current = indexes;
+			if (current == null || !current.isActual(classes, root.getClassNamesChangesCount())) {
+				// read changes count before names to not miss concurrent rename
+				int namesChanges = root.getClassNamesChangesCount();
+				current = new Indexes(classes, namesChanges);
+				indexes = current;
+			}
+			return current;
+		}
+	}
+
+	/**
+	 * Search by original full name (inner classes names separated by dot)
+	 */
+	@Nullable
+	public ClassNode searchByFullName(String fullName) {
+		return getIndexes().fullNames.get(fullName);
+	}
+
+	@Nullable
+	public ClassNode searchByAliasFullName(String aliasFullName) {
+		return getIndexes().aliasFullNames.get(aliasFullName);
+	}
+
+	/**
+	 * Search by original or alias full name, original name checked first
+	 */
+	@Nullable
+	public ClassNode searchByFullNameOrAlias(String name) {
+		Indexes idx = getIndexes();
+		ClassNode cls = idx.fullNames.get(name);
+		if (cls != null) {
+			return cls;
+		}
+		return idx.aliasFullNames.get(name);
+	}
+
+	/**
+	 * Search by original short name, inner classes included
+	 */
+	public List<ClassNode> searchByShortName(String shortName) {
+		List<ClassNode> list = getIndexes().shortNames.get(shortName);
+		if (list == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * Top level classes from package and all sub packages (by original names).
+	 * Prefix should be a full package name: 'a.b' will match 'a.b' and 'a.b.c' but not 'a.bc'.
+	 * Empty prefix will return all top level classes.
+	 */
+	public List<ClassNode> searchByPackagePrefix(String pkgPrefix) {
+		NavigableMap<String, List<ClassNode>> packages = getIndexes().packages;
+		List<ClassNode> result = new ArrayList<>();
+		if (pkgPrefix.isEmpty()) {
+			packages.values().forEach(result::addAll);
+			return result;
+		}
+		List<ClassNode> pkgClasses = packages.get(pkgPrefix);
+		if (pkgClasses != null) {
+			result.addAll(pkgClasses);
+		}
+		// '/' is next char after '.', so sub map contains only sub packages
+		packages.subMap(pkgPrefix + '.', true, pkgPrefix + '/', false)
+				.values().forEach(result::addAll);
+		return result;
+	}
+}
@@ -0,0 +1,329 @@
+package jadx.core.dex.nodes.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.attributes.AType;
+import jadx.core.dex.instructions.args.CodeVar;
+import jadx.core.dex.instructions.args.InsnArg;
+import jadx.core.dex.instructions.args.InsnWrapArg;
+import jadx.core.dex.instructions.args.NamedArg;
+import jadx.core.dex.instructions.args.SSAVar;
+import jadx.core.dex.instructions.mods.TernaryInsn;
+import jadx.core.dex.nodes.BlockNode;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.IBlock;
+import jadx.core.dex.nodes.IContainer;
+import jadx.core.dex.nodes.IRegion;
+import jadx.core.dex.nodes.InsnNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.ProcessState;
+import jadx.core.dex.regions.conditions.IfCondition;
+import jadx.core.dex.regions.conditions.IfRegion;
+import jadx.core.dex.regions.loops.ForEachLoop;
+import jadx.core.dex.regions.loops.ForLoop;
+import jadx.core.dex.regions.loops.LoopRegion;
+import jadx.core.dex.regions.loops.LoopType;
+import jadx.core.dex.trycatch.ExceptionHandler;
+
+/**
+ * Keep processed classes in memory after code generation (limited by estimated memory usage,
+ * least recently used unloaded), so code can be generated again
+ * (for example, with changed code generation options) without processing passes.
+ * <br>
+ * Classes kept as live processed nodes (instructions and regions trees), not serialized into compact form:
+ * processed tree shares objects with class, method and field nodes, so it can't be detached
+ * and later attached back without full copy of node model.
+ * <br>
+ * Code generation assign variables names and declare variables in methods,
+ * these changes saved before first generation and restored before next.
+ * <br>
+ * Kept class can be evicted at any time, so check and use should be done under class lock
+ * (same lock used for unload in {@link #unloadEvicted()}).
+ */
+public class ProcessedClassesCache {
+	/**
+	 * Rough memory usage estimation for processed instruction (with args, SSA variables and attributes),
+	 * method (blocks, regions, attributes) and class
+	 */
+	private static final long INSN_SIZE = 640;
+	private static final long METHOD_SIZE = 4096;
+	private static final long CLASS_SIZE = 2048;
+
+	private final long maxSize;
+	private final Map<ClassNode, CodegenState> classes;
+	private final List<ClassNode> evicted = new ArrayList<>();
+	private long size;
+
+	/**
+	 * @param maxSize memory limit in bytes, zero to disable
+	 */
+	public ProcessedClassesCache(long maxSize) {
+		this.maxSize = maxSize;
+		this.classes = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	public boolean isEnabled() {
+		return maxSize > 0;
+	}
+
+	/**
+	 * Save or restore codegen related state, must be called before code generation for processed class
+	 *
+	 * @return true if class should be kept after code generation
+	 */
+	public boolean beforeCodegen(ClassNode cls) {
+		if (!isEnabled()) {
+			return false;
+		}
+		CodegenState state;
+		synchronized (classes) {
+			state = classes.get(cls);
+		}
+		if (state != null) {
+			state.restore();
+			return true;
+		}
+		Set<ClassNode> allClasses = new LinkedHashSet<>();
+		allClasses.add(cls);
+		cls.getInnerAndInlinedClassesRecursive(allClasses);
+		if (hasFallbackMethods(allClasses)) {
+			return false;
+		}
+		state = new CodegenState(allClasses);
+		if (state.getSize() > maxSize) {
+			return false;
+		}
+		synchronized (classes) {
+			classes.put(cls, state);
+			size += state.getSize();
+			Iterator<Entry<ClassNode, CodegenState>> it = classes.entrySet().iterator();
+			while (size > maxSize) {
+				Entry<ClassNode, CodegenState> entry = it.next();
+				size -= entry.getValue().getSize();
+				evicted.add(entry.getKey());
+				it.remove();
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Unload classes removed from cache, each under own lock, so call only without holding other class lock
+	 */
+	public void unloadEvicted() {
+		List<ClassNode> list;
+		synchronized (classes) {
+			if (evicted.isEmpty()) {
+				return;
+			}
+			list = new ArrayList<>(evicted);
+			evicted.clear();
+		}
+		for (ClassNode cls : list) {
+			synchronized (cls.getClassInfo()) {
+				if (!contains(cls) && cls.getState() == ProcessState.PROCESS_COMPLETE) {
+					cls.unload();
+					cls.setState(ProcessState.GENERATED_AND_UNLOADED);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Instructions of methods with decompilation problems reloaded at code generation for dump,
+	 * so processed state of such methods lost and class can't be kept
+	 */
+	private static boolean hasFallbackMethods(Set<ClassNode> classes) {
+		for (ClassNode cls : classes) {
+			for (MethodNode mth : cls.getMethods()) {
+				if (!mth.isNoCode()
+						&& (mth.contains(AFlag.INCONSISTENT_CODE) || mth.contains(AType.JADX_ERROR) || mth.getRegion() == null)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Estimated memory usage of kept classes in bytes
+	 */
+	public long getSize() {
+		synchronized (classes) {
+			return size;
+		}
+	}
+
+	public boolean contains(ClassNode cls) {
+		synchronized (classes) {
+			return classes.containsKey(cls);
+		}
+	}
+
+	public void remove(ClassNode cls) {
+		if (isEnabled()) {
+			synchronized (classes) {
+				CodegenState state = classes.remove(cls);
+				if (state != null) {
+					size -= state.getSize();
+				}
+			}
+		}
+	}
+
+	private static final class CodegenState {
+		private final List<MethodNode> methods = new ArrayList<>();
+		private final List<CodeVar> codeVars = new ArrayList<>();
+		private final List<String> codeVarNames = new ArrayList<>();
+		private final List<NamedArg> namedArgs = new ArrayList<>();
+		private final List<String> namedArgNames = new ArrayList<>();
+		private final Set<InsnNode> visitedInsns = Collections.newSetFromMap(new IdentityHashMap<>());
+		private final int allClassesCount;
+		private long insnsCount;
+
+		CodegenState(Set<ClassNode> allClasses) {
+			this.allClassesCount = allClasses.size();
+			Set<CodeVar> addedVars = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (ClassNode cls : allClasses) {
+				for (MethodNode mth : cls.getMethods()) {
+					if (mth.isNoCode()) {
+						continue;
+					}
+					methods.add(mth);
+					for (SSAVar ssaVar : mth.getSVars()) {
+						CodeVar codeVar = ssaVar.getCodeVar();
+						if (codeVar != null && addedVars.add(codeVar)) {
+							codeVars.add(codeVar);
+							codeVarNames.add(codeVar.getName());
+						}
+					}
+					collectNamedArgs(mth);
+				}
+			}
+			visitedInsns.clear();
+		}
+
+		private void collectNamedArgs(MethodNode mth) {
+			IRegion region = mth.getRegion();
+			if (region != null) {
+				collectNamedArgs(region);
+			} else {
+				List<BlockNode> blocks = mth.getBasicBlocks();
+				if (blocks != null) {
+					for (BlockNode block : blocks) {
+						collectNamedArgs(block);
+					}
+				}
+			}
+			for (ExceptionHandler handler : mth.getExceptionHandlers()) {
+				addNamedArg(handler.getArg());
+			}
+		}
+
+		/**
+		 * Walk regions tree to also collect instructions and args used only in regions (conditions, loops)
+		 */
+		private void collectNamedArgs(IContainer container) {
+			if (container instanceof IBlock) {
+				for (InsnNode insn : ((IBlock) container).getInstructions()) {
+					collectNamedArgs(insn);
+				}
+				return;
+			}
+			if (container instanceof IfRegion) {
+				collectNamedArgs(((IfRegion) container).getCondition());
+			} else if (container instanceof LoopRegion) {
+				LoopRegion loopRegion = (LoopRegion) container;
+				collectNamedArgs(loopRegion.getCondition());
+				LoopType type = loopRegion.getType();
+				if (type instanceof ForLoop) {
+					collectNamedArgs(((ForLoop) type).getInitInsn());
+					collectNamedArgs(((ForLoop) type).getIncrInsn());
+				} else if (type instanceof ForEachLoop) {
+					collectNamedArgs(((ForEachLoop) type).getIterableArg());
+				}
+			}
+			if (container instanceof IRegion) {
+				for (IContainer subBlock : ((IRegion) container).getSubBlocks()) {
+					collectNamedArgs(subBlock);
+				}
+			}
+		}
+
+		private void collectNamedArgs(@Nullable IfCondition condition) {
+			if (condition == null) {
+				return;
+			}
+			if (condition.isCompare()) {
+				collectNamedArgs(condition.getCompare().getInsn());
+			} else {
+				for (IfCondition arg : condition.getArgs()) {
+					collectNamedArgs(arg);
+				}
+			}
+		}
+
+		private void collectNamedArgs(@Nullable InsnNode insn) {
+			if (insn == null || !visitedInsns.add(insn)) {
+				return;
+			}
+			insnsCount++;
+			if (insn instanceof TernaryInsn) {
+				collectNamedArgs(((TernaryInsn) insn).getCondition());
+			}
+			for (InsnArg arg : insn.getArguments()) {
+				collectNamedArgs(arg);
+			}
+		}
+
+		private void collectNamedArgs(InsnArg arg) {
+			if (arg.isInsnWrap()) {
+				collectNamedArgs(((InsnWrapArg) arg).getWrapInsn());
+			} else {
+				addNamedArg(arg);
+			}
+		}
+
+		private void addNamedArg(InsnArg arg) {
+			if (arg instanceof NamedArg) {
+				NamedArg namedArg = (NamedArg) arg;
+				namedArgs.add(namedArg);
+				namedArgNames.add(namedArg.getName());
+			}
+		}
+
+		long getSize() {
+			return allClassesCount * CLASS_SIZE + methods.size() * METHOD_SIZE + insnsCount * INSN_SIZE;
+		}
+
+		void restore() {
+			for (MethodNode mth : methods) {
+				mth.resetVariables();
+			}
+			int count = codeVars.size();
+			for (int i = 0; i < count; i++) {
+				CodeVar codeVar = codeVars.get(i);
+				codeVar.setName(codeVarNames.get(i));
+				codeVar.setIndex(-1);
+			}
+			int namedCount = namedArgs.size();
+			for (int i = 0; i < namedCount; i++) {
+				NamedArg namedArg = namedArgs.get(i);
+				namedArg.setName(namedArgNames.get(i));
+				namedArg.setIndex(-1);
+			}
+		}
+	}
+}
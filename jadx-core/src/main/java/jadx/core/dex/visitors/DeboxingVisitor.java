@@ -52,7 +52,7 @@ public class DeboxingVisitor extends AbstractVisitor {
 	}
 
 	private static MethodInfo valueOfMth(RootNode root, ArgType argType, String clsName) {
-		ArgType boxType = ArgType.object(clsName);
+		ArgType boxType = ArgType.object(root, clsName);
 		ClassInfo boxCls = ClassInfo.fromType(root, boxType);
 		return MethodInfo.fromDetails(root, boxCls, "valueOf", Collections.singletonList(argType), boxType);
 	}
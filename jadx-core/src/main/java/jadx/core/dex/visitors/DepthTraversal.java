@@ -4,12 +4,15 @@ import jadx.core.dex.attributes.AType;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.utils.DebugChecks;
+import jadx.core.utils.profiling.PassesProfiler;
 
 public class DepthTraversal {
 
 	public static void visit(IDexTreeVisitor visitor, ClassNode cls) {
 		try {
-			if (visitor.visit(cls)) {
+			PassesProfiler profiler = cls.root().getPassesProfiler();
+			boolean visitInner = profiler == null ? visitor.visit(cls) : profiler.visitClass(visitor, cls);
+			if (visitInner) {
 				cls.getInnerClasses().forEach(inCls -> visit(visitor, inCls));
 				cls.getMethods().forEach(mth -> visit(visitor, mth));
 			}
@@ -23,7 +26,12 @@ public class DepthTraversal {
 			if (mth.contains(AType.JADX_ERROR)) {
 				return;
 			}
-			visitor.visit(mth);
+			PassesProfiler profiler = mth.root().getPassesProfiler();
+			if (profiler == null) {
+				visitor.visit(mth);
+			} else {
+				profiler.visitMethod(visitor, mth);
+			}
 			if (DebugChecks.checksEnabled) {
 				DebugChecks.runChecksAfterVisitor(mth, visitor);
 			}
@@ -30,4 +30,10 @@ public @interface JadxVisitor {
 	 * This visitor must be run <b>before</b> listed visitors
 	 */
 	Class<? extends IDexTreeVisitor>[] runBefore() default {};
+
+	/**
+	 * Classes can be visited in parallel at pre-decompile stage.
+	 * Top class and its inner classes visited in one thread, so visitor should not change nodes from other top classes.
+	 */
+	boolean parallel() default false;
 }
@@ -239,7 +239,7 @@ public class OverrideMethodVisitor extends AbstractVisitor {
 		ClassNode classNode = root.resolveClass(superType);
 		if (classNode == null) {
 			for (String superCls : root.getClsp().getSuperTypes(superType.getObject())) {
-				ArgType type = ArgType.object(superCls);
+				ArgType type = ArgType.object(root, superCls);
 				superTypesMap.put(type.getObject(), type);
 			}
 		} else {
@@ -9,7 +9,8 @@ import jadx.core.utils.exceptions.JadxException;
 
 @JadxVisitor(
 		name = "ProcessAnonymous",
-		desc = "Mark anonymous and lambda classes (for future inline)"
+		desc = "Mark anonymous and lambda classes (for future inline)",
+		parallel = true
 )
 public class ProcessAnonymous extends AbstractVisitor {
 
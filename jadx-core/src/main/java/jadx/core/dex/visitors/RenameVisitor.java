@@ -25,6 +25,12 @@ import jadx.core.dex.nodes.RootNode;
 
 public class RenameVisitor extends AbstractVisitor {
 
+	/**
+	 * Used for classes with deferred pre-decompile stage (lazy loading mode)
+	 */
+	@Nullable
+	private Deobfuscator deferredDeobfuscator;
+
 	@Override
 	public void init(RootNode root) {
 		List<File> inputFiles = root.getArgs().getInputFiles();
@@ -34,6 +40,19 @@ public class RenameVisitor extends AbstractVisitor {
 		process(root);
 	}
 
+	@Override
+	public boolean visit(ClassNode cls) {
+		if (cls.contains(AFlag.PRE_DECOMPILE_DEFERRED) && deferredDeobfuscator != null) {
+			JadxArgs args = cls.root().getArgs();
+			synchronized (deferredDeobfuscator) {
+				checkFields(deferredDeobfuscator, cls, args);
+				checkMethods(deferredDeobfuscator, cls, args);
+				checkRootPkgCollisions(deferredDeobfuscator, cls, cls.root().getCacheStorage().getRootPkgs());
+			}
+		}
+		return true;
+	}
+
 	private void process(RootNode root) {
 		Deobfuscator deobfuscator = new Deobfuscator(root);
 		JadxArgs args = root.getArgs();
@@ -42,6 +61,8 @@ public class RenameVisitor extends AbstractVisitor {
 		}
 
 		checkClasses(deobfuscator, root, args);
+		// class aliases could be changed, invalidate class search index
+		root.onClassNamesChange();
 
 		if (args.isDeobfuscationOn()) {
 			deobfuscator.savePresets();
@@ -50,12 +71,17 @@ public class RenameVisitor extends AbstractVisitor {
 		if (args.isJsonOutput()) {
 			JsonMappingGen.dump(root);
 		}
+		if (root.getPreDecompileClasses() != root.getClasses()) {
+			deferredDeobfuscator = deobfuscator;
+		}
 	}
 
 	private static void checkClasses(Deobfuscator deobfuscator, RootNode root, JadxArgs args) {
 		List<ClassNode> classes = root.getClasses(true);
 		for (ClassNode cls : classes) {
 			checkClassName(deobfuscator, cls, args);
+		}
+		for (ClassNode cls : root.getPreDecompileClasses()) {
 			checkFields(deobfuscator, cls, args);
 			checkMethods(deobfuscator, cls, args);
 		}
@@ -203,14 +229,18 @@ public class RenameVisitor extends AbstractVisitor {
 		Set<String> rootPkgs = collectRootPkgs(classes);
 		root.getCacheStorage().setRootPkgs(rootPkgs);
 
-		if (root.getArgs().isRenameValid()) {
+		for (ClassNode cls : root.getPreDecompileClasses()) {
+			checkRootPkgCollisions(deobfuscator, cls, rootPkgs);
+		}
+	}
+
+	private static void checkRootPkgCollisions(Deobfuscator deobfuscator, ClassNode cls, Set<String> rootPkgs) {
+		if (cls.root().getArgs().isRenameValid()) {
 			// rename field if collide with any root package
-			for (ClassNode cls : classes) {
-				for (FieldNode field : cls.getFields()) {
-					if (rootPkgs.contains(field.getAlias())) {
-						deobfuscator.forceRenameField(field);
-						field.addAttr(new RenameReasonAttr("collision with root package name"));
-					}
+			for (FieldNode field : cls.getFields()) {
+				if (rootPkgs.contains(field.getAlias())) {
+					deobfuscator.forceRenameField(field);
+					field.addAttr(new RenameReasonAttr("collision with root package name"));
 				}
 			}
 		}
@@ -1,18 +1,30 @@
 package jadx.core.dex.visitors;
 
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jadx.api.ICodeInfo;
 import jadx.api.JadxArgs;
 import jadx.api.plugins.utils.ZipSecurity;
+import jadx.core.ProcessClass;
+import jadx.core.codegen.CodeGen;
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
+import jadx.core.utils.files.ZipOutputSaver;
 
 public class SaveCode {
 	private static final Logger LOG = LoggerFactory.getLogger(SaveCode.class);
@@ -21,21 +33,163 @@ public class SaveCode {
 	}
 
 	public static void save(File dir, ClassNode cls, ICodeInfo code) {
-		if (cls.contains(AFlag.DONT_GENERATE)) {
+		String codeStr = getCodeToSave(cls, code);
+		if (codeStr == null) {
+			return;
+		}
+		save(codeStr, dir, getFileName(cls));
+	}
+
+	/**
+	 * Save class code into file in output dir.
+	 * Json written directly into file (see {@link #isJsonStream(ClassNode)}).
+	 */
+	public static void save(File dir, ClassNode cls) {
+		if (!isJsonStream(cls)) {
+			save(dir, cls, cls.decompile());
+			return;
+		}
+		String fileName = getFileName(cls);
+		if (!ZipSecurity.isValidZipEntryName(fileName)) {
+			return;
+		}
+		File outFile = FileUtils.prepareFile(new File(dir, fileName));
+		try (JsonFileOutput out = new JsonFileOutput(outFile)) {
+			ProcessClass.generateJson(cls, out);
+			out.finish();
+		} catch (Exception e) {
+			// don't leave partially written file
+			if (outFile.exists() && !outFile.delete()) {
+				LOG.warn("Failed to delete file: {}", outFile);
+			}
+			throw new JadxRuntimeException("Failed to save class: " + cls.getFullName(), e);
+		}
+	}
+
+	/**
+	 * Save class code into zip archive
+	 *
+	 * @param dir entries path prefix (without trailing slash)
+	 */
+	public static void save(ZipOutputSaver zip, String dir, ClassNode cls) {
+		String entryName = dir + '/' + getFileName(cls);
+		if (!isJsonStream(cls)) {
+			String codeStr = getCodeToSave(cls, cls.decompile());
+			if (codeStr != null) {
+				zip.addText(entryName, codeStr);
+			}
 			return;
 		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ProcessClass.generateJson(cls, () -> {
+			bytes.reset();
+			return new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
+		});
+		try {
+			bytes.write(System.lineSeparator().getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to write code for class: " + cls.getFullName(), e);
+		}
+		zip.add(entryName, bytes.toByteArray());
+	}
+
+	/**
+	 * Append class code as one line, used for {@link JadxArgs.OutputFormatEnum#JSON_LINES} output format.
+	 * Writer shared between save threads, so class json generated into buffer
+	 * and appended to writer in synchronized block.
+	 */
+	public static void saveLine(Writer out, ClassNode cls) {
+		try {
+			if (isJsonStream(cls)) {
+				CharArrayWriter buf = new CharArrayWriter();
+				ProcessClass.generateJson(cls, () -> {
+					buf.reset();
+					return buf;
+				});
+				synchronized (out) {
+					buf.writeTo(out);
+					out.write('\n');
+				}
+			} else {
+				String codeStr = getCodeToSave(cls, cls.decompile());
+				if (codeStr == null) {
+					return;
+				}
+				synchronized (out) {
+					out.write(codeStr);
+					out.write('\n');
+				}
+			}
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to write code for class: " + cls.getFullName(), e);
+		}
+	}
+
+	/**
+	 * Json for save generated directly into output without creating code string and adding it to code cache,
+	 * used only if code not already in cache
+	 */
+	private static boolean isJsonStream(ClassNode cls) {
+		if (cls.contains(AFlag.DONT_GENERATE) || !cls.root().getArgs().isJsonOutput()) {
+			return false;
+		}
+		ICodeInfo code = cls.root().getCodeCache().get(cls.getTopParentClass().getRawName());
+		return code == null || code == ICodeInfo.EMPTY;
+	}
+
+	/**
+	 * Json written directly into file, file recreated on code generation restart
+	 */
+	private static final class JsonFileOutput implements CodeGen.IJsonOutput, Closeable {
+		private final File file;
+		private Writer writer;
+
+		private JsonFileOutput(File file) {
+			this.file = file;
+		}
+
+		@Override
+		public Writer begin() throws IOException {
+			close();
+			writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+			return writer;
+		}
+
+		private void finish() throws IOException {
+			if (writer != null) {
+				writer.write(System.lineSeparator());
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (writer != null) {
+				writer.close();
+				writer = null;
+			}
+		}
+	}
+
+	@Nullable
+	private static String getCodeToSave(ClassNode cls, ICodeInfo code) {
+		if (cls.contains(AFlag.DONT_GENERATE)) {
+			return null;
+		}
 		if (code == null) {
 			throw new JadxRuntimeException("Code not generated for class " + cls.getFullName());
 		}
 		if (code == ICodeInfo.EMPTY) {
-			return;
+			return null;
 		}
 		String codeStr = code.getCodeStr();
 		if (codeStr.isEmpty()) {
-			return;
+			return null;
 		}
-		String fileName = cls.getClassInfo().getAliasFullPath() + getFileExtension(cls);
-		save(codeStr, dir, fileName);
+		return codeStr;
+	}
+
+	private static String getFileName(ClassNode cls) {
+		return cls.getClassInfo().getAliasFullPath() + getFileExtension(cls);
 	}
 
 	public static void save(String code, File dir, String fileName) {
@@ -65,6 +219,7 @@ public class SaveCode {
 				return ".java";
 
 			case JSON:
+			case JSON_LINES:
 				return ".json";
 
 			default:
@@ -5,6 +5,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -31,20 +32,16 @@ import jadx.core.utils.exceptions.JadxException;
 		runBefore = CodeShrinkVisitor.class
 )
 public class ShadowFieldVisitor extends AbstractVisitor {
+	private static final FieldFixInfo NO_FIX = new FieldFixInfo(Collections.emptyMap());
+
+	/**
+	 * Fix info collected on first use to not load fields of all classes (important in lazy loading mode)
+	 */
 	private Map<String, FieldFixInfo> fixInfoMap;
 
 	@Override
 	public void init(RootNode root) {
-		Map<String, FieldFixInfo> map = new HashMap<>();
-		for (ClassNode cls : root.getClasses(true)) {
-			Map<FieldInfo, FieldFixType> fieldFixMap = searchShadowedFields(cls);
-			if (!fieldFixMap.isEmpty()) {
-				FieldFixInfo fixInfo = new FieldFixInfo();
-				fixInfo.fieldFixMap = fieldFixMap;
-				map.put(cls.getRawName(), fixInfo);
-			}
-		}
-		this.fixInfoMap = map;
+		this.fixInfoMap = new ConcurrentHashMap<>();
 	}
 
 	@Override
@@ -56,7 +53,11 @@ public class ShadowFieldVisitor extends AbstractVisitor {
 	}
 
 	private static class FieldFixInfo {
-		Map<FieldInfo, FieldFixType> fieldFixMap;
+		final Map<FieldInfo, FieldFixType> fieldFixMap;
+
+		FieldFixInfo(Map<FieldInfo, FieldFixType> fieldFixMap) {
+			this.fieldFixMap = fieldFixMap;
+		}
 	}
 
 	private enum FieldFixType {
@@ -64,6 +65,18 @@ public class ShadowFieldVisitor extends AbstractVisitor {
 		CAST
 	}
 
+	private static FieldFixInfo buildFixInfo(RootNode root, ArgType clsType) {
+		ClassNode cls = root.resolveClass(clsType);
+		if (cls == null) {
+			return NO_FIX;
+		}
+		Map<FieldInfo, FieldFixType> fieldFixMap = searchShadowedFields(cls);
+		if (fieldFixMap.isEmpty()) {
+			return NO_FIX;
+		}
+		return new FieldFixInfo(fieldFixMap);
+	}
+
 	private static Map<FieldInfo, FieldFixType> searchShadowedFields(ClassNode thisCls) {
 		List<FieldNode> allFields = collectAllInstanceFields(thisCls);
 		if (allFields.isEmpty()) {
@@ -141,8 +154,8 @@ public class ShadowFieldVisitor extends AbstractVisitor {
 		if (!type.isTypeKnown() || !type.isObject()) {
 			return;
 		}
-		FieldFixInfo fieldFixInfo = fixInfoMap.get(type.getObject());
-		if (fieldFixInfo == null) {
+		FieldFixInfo fieldFixInfo = fixInfoMap.computeIfAbsent(type.getObject(), clsName -> buildFixInfo(mth.root(), type));
+		if (fieldFixInfo == NO_FIX) {
 			return;
 		}
 		FieldFixType fieldFixType = fieldFixInfo.fieldFixMap.get(fieldInfo);
@@ -18,6 +18,12 @@ import jadx.core.utils.exceptions.JadxException;
 
 import static java.util.Collections.unmodifiableList;
 
+@JadxVisitor(
+		name = "SignatureProcessor",
+		desc = "Apply generic types from signatures to classes, fields and methods",
+		runBefore = OverrideMethodVisitor.class,
+		parallel = true
+)
 public class SignatureProcessor extends AbstractVisitor {
 
 	private RootNode root;
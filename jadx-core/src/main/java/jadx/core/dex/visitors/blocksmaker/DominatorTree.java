@@ -0,0 +1,201 @@
+package jadx.core.dex.visitors.blocksmaker;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import jadx.core.dex.nodes.BlockNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+import static jadx.core.utils.EmptyBitSet.EMPTY;
+
+/**
+ * Dominators tree and dominance frontier calculation.
+ * <br>
+ * Immediate dominators computed by iterative algorithm over reverse post order from
+ * "A Simple, Fast Dominance Algorithm" (Cooper, Harvey, Kennedy), without per block dominators sets.
+ * Block dominance checked in constant time using enter/exit numbers from dominators tree traversal
+ * (see {@link BlockNode#isDominator(BlockNode)}).
+ */
+public final class DominatorTree {
+
+	private DominatorTree() {
+	}
+
+	/**
+	 * Set block ids by position in list and build dominators tree:
+	 * immediate dominator, dominated blocks and position in tree for every block.
+	 */
+	public static void compute(List<BlockNode> blocks, BlockNode entryBlock) {
+		int blocksCount = blocks.size();
+		for (int i = 0; i < blocksCount; i++) {
+			blocks.get(i).setId(i);
+		}
+		int[] postOrder = new int[blocksCount];
+		BlockNode[] rpo = buildReversePostOrder(blocks, entryBlock, postOrder);
+		int[] idoms = calcImmediateDominators(rpo, postOrder, entryBlock);
+		for (BlockNode block : blocks) {
+			if (block == entryBlock) {
+				continue;
+			}
+			BlockNode idom = blocks.get(idoms[block.getId()]);
+			block.setIDom(idom);
+			idom.addDominatesOn(block);
+		}
+		numberTree(entryBlock, blocksCount);
+	}
+
+	private static BlockNode[] buildReversePostOrder(List<BlockNode> blocks, BlockNode entryBlock, int[] postOrder) {
+		int blocksCount = blocks.size();
+		Arrays.fill(postOrder, -1);
+		BlockNode[] order = new BlockNode[blocksCount];
+		boolean[] visited = new boolean[blocksCount];
+		BlockNode[] stack = new BlockNode[blocksCount];
+		int[] nextSuccessor = new int[blocksCount];
+		int sp = 0;
+		stack[sp++] = entryBlock;
+		visited[entryBlock.getId()] = true;
+		int count = 0;
+		while (sp > 0) {
+			BlockNode block = stack[sp - 1];
+			List<BlockNode> successors = block.getSuccessors();
+			int next = nextSuccessor[sp - 1];
+			if (next < successors.size()) {
+				nextSuccessor[sp - 1] = next + 1;
+				BlockNode successor = successors.get(next);
+				int id = successor.getId();
+				if (id < 0 || id >= blocksCount || blocks.get(id) != successor) {
+					throw new JadxRuntimeException("Successor block not found in method blocks list: " + successor
+							+ ", from: " + block);
+				}
+				if (!visited[id]) {
+					visited[id] = true;
+					nextSuccessor[sp] = 0;
+					stack[sp++] = successor;
+				}
+			} else {
+				sp--;
+				postOrder[block.getId()] = count;
+				order[blocksCount - 1 - count] = block;
+				count++;
+			}
+		}
+		if (count != blocksCount) {
+			for (BlockNode block : blocks) {
+				if (postOrder[block.getId()] == -1) {
+					throw new JadxRuntimeException("Unreachable block: " + block);
+				}
+			}
+		}
+		return order;
+	}
+
+	private static int[] calcImmediateDominators(BlockNode[] rpo, int[] postOrder, BlockNode entryBlock) {
+		int[] idoms = new int[rpo.length];
+		Arrays.fill(idoms, -1);
+		int entryId = entryBlock.getId();
+		idoms[entryId] = entryId;
+		boolean changed;
+		do {
+			changed = false;
+			for (BlockNode block : rpo) {
+				if (block == entryBlock) {
+					continue;
+				}
+				int newIdom = -1;
+				for (BlockNode pred : block.getPredecessors()) {
+					int predId = pred.getId();
+					if (idoms[predId] == -1) {
+						// not processed yet
+						continue;
+					}
+					newIdom = newIdom == -1 ? predId : intersect(predId, newIdom, idoms, postOrder);
+				}
+				int id = block.getId();
+				if (idoms[id] != newIdom) {
+					idoms[id] = newIdom;
+					changed = true;
+				}
+			}
+		} while (changed);
+		return idoms;
+	}
+
+	private static int intersect(int first, int second, int[] idoms, int[] postOrder) {
+		int a = first;
+		int b = second;
+		while (a != b) {
+			while (postOrder[a] < postOrder[b]) {
+				a = idoms[a];
+			}
+			while (postOrder[b] < postOrder[a]) {
+				b = idoms[b];
+			}
+		}
+		return a;
+	}
+
+	/**
+	 * Depth-first traversal of dominators tree to set enter/exit numbers
+	 */
+	private static void numberTree(BlockNode entryBlock, int blocksCount) {
+		BlockNode[] stack = new BlockNode[blocksCount];
+		int[] nextChild = new int[blocksCount];
+		int sp = 0;
+		int counter = 0;
+		stack[sp++] = entryBlock;
+		entryBlock.setDomTreeEnter(counter++);
+		while (sp > 0) {
+			BlockNode block = stack[sp - 1];
+			List<BlockNode> children = block.getDominatesOn();
+			int next = nextChild[sp - 1];
+			if (next < children.size()) {
+				nextChild[sp - 1] = next + 1;
+				BlockNode child = children.get(next);
+				child.setDomTreeEnter(counter++);
+				nextChild[sp] = 0;
+				stack[sp++] = child;
+			} else {
+				block.setDomTreeExit(counter++);
+				sp--;
+			}
+		}
+	}
+
+	/**
+	 * Compute dominance frontier for every block, dominators tree should be already built.
+	 * For every predecessor of block walk up in dominators tree until immediate dominator of block,
+	 * all visited blocks contain this block in frontier.
+	 */
+	public static void computeDominanceFrontier(List<BlockNode> blocks, List<BlockNode> exitBlocks) {
+		int blocksCount = blocks.size();
+		BitSet[] frontiers = new BitSet[blocksCount];
+		for (BlockNode block : blocks) {
+			BlockNode idom = block.getIDom();
+			int id = block.getId();
+			for (BlockNode pred : block.getPredecessors()) {
+				BlockNode runner = pred;
+				while (runner != null && runner != idom) {
+					int runnerId = runner.getId();
+					BitSet frontier = frontiers[runnerId];
+					if (frontier == null) {
+						frontier = new BitSet(blocksCount);
+						frontiers[runnerId] = frontier;
+					} else if (frontier.get(id)) {
+						// rest of path already processed
+						break;
+					}
+					frontier.set(id);
+					runner = runner.getIDom();
+				}
+			}
+		}
+		for (BlockNode block : blocks) {
+			BitSet frontier = frontiers[block.getId()];
+			block.setDomFrontier(frontier == null ? EMPTY : frontier);
+		}
+		for (BlockNode exit : exitBlocks) {
+			exit.setDomFrontier(EMPTY);
+		}
+	}
+}
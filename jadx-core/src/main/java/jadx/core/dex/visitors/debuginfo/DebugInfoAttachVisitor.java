@@ -115,7 +115,7 @@ public class DebugInfoAttachVisitor extends AbstractVisitor {
 	}
 
 	public static ArgType getVarType(MethodNode mth, ILocalVar var) {
-		ArgType type = ArgType.parse(var.getType());
+		ArgType type = ArgType.parse(mth.root(), var.getType());
 		String sign = var.getSignature();
 		if (sign == null) {
 			return type;
@@ -9,11 +9,13 @@ import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jadx.core.clsp.ClspGraph;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.ArgType.WildcardBound;
 import jadx.core.dex.instructions.args.PrimitiveType;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.MemoCache;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
 import static jadx.core.dex.visitors.typeinference.TypeCompareEnum.CONFLICT;
@@ -28,14 +30,21 @@ import static jadx.core.utils.Utils.isEmpty;
 public class TypeCompare {
 	private static final Logger LOG = LoggerFactory.getLogger(TypeCompare.class);
 
+	private static final int CLASSES_CACHE_SIZE = 100_000;
+
 	private final RootNode root;
 	private final Comparator<ArgType> comparator;
 	private final Comparator<ArgType> reversedComparator;
+	/**
+	 * Compare results for object types without generics, depends only on classes hierarchy
+	 */
+	private final MemoCache<ClassesPair, TypeCompareEnum> classesCache;
 
 	public TypeCompare(RootNode root) {
 		this.root = root;
 		this.comparator = new ArgTypeComparator();
 		this.reversedComparator = comparator.reversed();
+		this.classesCache = new MemoCache<>("TypeCompare classes", CLASSES_CACHE_SIZE);
 	}
 
 	public TypeCompareEnum compareTypes(ClassNode first, ClassNode second) {
@@ -152,6 +161,9 @@ public class TypeCompare {
 	}
 
 	private TypeCompareEnum compareObjects(ArgType first, ArgType second) {
+		if (isClassType(first) && isClassType(second)) {
+			return compareClassesCached(first, second);
+		}
 		boolean objectsEquals = first.getObject().equals(second.getObject());
 		boolean firstGenericType = first.isGenericType();
 		boolean secondGenericType = second.isGenericType();
@@ -209,6 +221,31 @@ public class TypeCompare {
 				}
 			}
 		}
+		return compareClasses(first, second);
+	}
+
+	private static boolean isClassType(ArgType type) {
+		return !type.isGeneric() && !type.isGenericType() && type.getWildcardBound() == null;
+	}
+
+	private TypeCompareEnum compareClassesCached(ArgType first, ArgType second) {
+		ClspGraph clsp = root.getClsp();
+		if (clsp == null) {
+			return compareClasses(first, second);
+		}
+		// read before compare, so result calculated with old hierarchy will be rejected by cache
+		int changesCount = clsp.getChangesCount();
+		ClassesPair key = new ClassesPair(first.getObject(), second.getObject());
+		TypeCompareEnum cached = classesCache.get(key, changesCount);
+		if (cached != null) {
+			return cached;
+		}
+		TypeCompareEnum result = compareClasses(first, second);
+		classesCache.put(key, result, changesCount);
+		return result;
+	}
+
+	TypeCompareEnum compareClasses(ArgType first, ArgType second) {
 		boolean firstIsObjCls = first.equals(ArgType.OBJECT);
 		if (firstIsObjCls || second.equals(ArgType.OBJECT)) {
 			return firstIsObjCls ? WIDER : NARROW;
@@ -296,6 +333,10 @@ public class TypeCompare {
 		return extendTypes;
 	}
 
+	public MemoCache<?, ?> getClassesCache() {
+		return classesCache;
+	}
+
 	public Comparator<ArgType> getComparator() {
 		return comparator;
 	}
@@ -304,6 +345,35 @@ public class TypeCompare {
 		return reversedComparator;
 	}
 
+	private static final class ClassesPair {
+		private final String first;
+		private final String second;
+		private final int hash;
+
+		ClassesPair(String first, String second) {
+			this.first = first;
+			this.second = second;
+			this.hash = 31 * first.hashCode() + second.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof ClassesPair)) {
+				return false;
+			}
+			ClassesPair other = (ClassesPair) o;
+			return first.equals(other.first) && second.equals(other.second);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
 	private final class ArgTypeComparator implements Comparator<ArgType> {
 		@Override
 		public int compare(ArgType a, ArgType b) {
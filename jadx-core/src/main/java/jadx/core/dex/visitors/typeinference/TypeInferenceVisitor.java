@@ -467,7 +467,7 @@ public final class TypeInferenceVisitor extends AbstractVisitor {
 
 	private boolean checkRawType(MethodNode mth, SSAVar var, ArgType objType) {
 		if (objType.isObject() && objType.containsGeneric()) {
-			ArgType rawType = objType.isGenericType() ? ArgType.OBJECT : ArgType.object(objType.getObject());
+			ArgType rawType = objType.isGenericType() ? ArgType.OBJECT : ArgType.object(mth.root(), objType.getObject());
 			TypeUpdateResult result = typeUpdate.applyWithWiderAllow(mth, var, rawType);
 			return result == TypeUpdateResult.CHANGED;
 		}
@@ -753,7 +753,7 @@ public final class TypeInferenceVisitor extends AbstractVisitor {
 		ClspGraph clsp = mth.root().getClsp();
 		for (ArgType objType : objTypes) {
 			for (String ancestor : clsp.getSuperTypes(objType.getObject())) {
-				ArgType ancestorType = ArgType.object(ancestor);
+				ArgType ancestorType = ArgType.object(mth.root(), ancestor);
 				TypeUpdateResult result = typeUpdate.applyWithWiderAllow(mth, var, ancestorType);
 				if (result == TypeUpdateResult.CHANGED) {
 					return true;
@@ -0,0 +1,337 @@
+package jadx.core.dex.visitors.usage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.ICodeNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Cross-reference index collected at pre-decompile stage (see {@link UsageInfoVisitor}).
+ * <br>
+ * Classes, methods and fields numbered in one id space and stored by info objects
+ * ({@link ClassInfo}, {@link MethodInfo}, {@link jadx.core.dex.info.FieldInfo}),
+ * so index stay valid after class reload and don't hold references to nodes.
+ * Use sites stored in primitive arrays grouped by used node id (compressed rows):
+ * id of using class or method and instruction offset in method code
+ * ({@link #DECLARATION_OFFSET} for usage in class or method declaration).
+ * <br>
+ * Use sites of classes with deferred pre-decompile stage (lazy loading mode) added after build
+ * (see {@link #addDeferred(Builder)}) and kept separately, so in this mode index contains
+ * only use sites from already prepared classes.
+ */
+public final class UsageIndex {
+
+	/**
+	 * Offset for usage in declaration: super class, interfaces, field type, method arguments and return type
+	 */
+	public static final int DECLARATION_OFFSET = -1;
+
+	public interface UseSiteVisitor {
+		/**
+		 * @param useNode class or method node
+		 */
+		void visit(ICodeNode useNode, int offset);
+	}
+
+	private final RootNode root;
+	/**
+	 * ClassInfo, MethodInfo or FieldInfo by id
+	 */
+	private final Object[] infos;
+	private final Map<Object, Integer> ids;
+	private final int[] rowStart;
+	private final int[] useIds;
+	private final int[] useOffsets;
+
+	/**
+	 * Use sites from deferred classes by used node info, in order of addition
+	 */
+	private final Map<Object, Set<DeferredUseSite>> deferredUses = new HashMap<>();
+	private int deferredUsesCount;
+
+	private UsageIndex(RootNode root, Object[] infos, Map<Object, Integer> ids,
+			int[] rowStart, int[] useIds, int[] useOffsets) {
+		this.root = root;
+		this.infos = infos;
+		this.ids = ids;
+		this.rowStart = rowStart;
+		this.useIds = useIds;
+		this.useOffsets = useOffsets;
+	}
+
+	public int getUsesCount(ICodeNode node) {
+		int count = getDeferredUses(node).size();
+		int id = getNodeId(node);
+		if (id == -1) {
+			return count;
+		}
+		return count + rowStart[id + 1] - rowStart[id];
+	}
+
+	/**
+	 * Visit use sites of class, method or field node, sorted by using node and offset,
+	 * use sites from deferred classes visited last.
+	 * Using nodes resolved to current nodes instances.
+	 */
+	public void visitUseSites(ICodeNode node, UseSiteVisitor visitor) {
+		int id = getNodeId(node);
+		if (id != -1) {
+			int end = rowStart[id + 1];
+			for (int i = rowStart[id]; i < end; i++) {
+				ICodeNode useNode = resolveNode(infos[useIds[i]]);
+				if (useNode != null) {
+					visitor.visit(useNode, useOffsets[i]);
+				}
+			}
+		}
+		for (DeferredUseSite useSite : getDeferredUses(node)) {
+			ICodeNode useNode = resolveNode(useSite.useInfo);
+			if (useNode != null) {
+				visitor.visit(useNode, useSite.offset);
+			}
+		}
+	}
+
+	public synchronized int getUseSitesCount() {
+		return useIds.length + deferredUsesCount;
+	}
+
+	/**
+	 * Add use sites collected for class with deferred pre-decompile stage
+	 */
+	public synchronized void addDeferred(Builder builder) {
+		int[] data = builder.data;
+		List<Object> builderInfos = builder.infosList;
+		for (int i = 0; i < builder.size; i += 3) {
+			DeferredUseSite useSite = new DeferredUseSite(builderInfos.get(data[i + 1]), data[i + 2]);
+			if (deferredUses.computeIfAbsent(builderInfos.get(data[i]), k -> new LinkedHashSet<>()).add(useSite)) {
+				deferredUsesCount++;
+			}
+		}
+	}
+
+	private synchronized List<DeferredUseSite> getDeferredUses(ICodeNode node) {
+		if (deferredUses.isEmpty()) {
+			return Collections.emptyList();
+		}
+		Set<DeferredUseSite> uses = deferredUses.get(getNodeInfo(node));
+		if (uses == null) {
+			return Collections.emptyList();
+		}
+		return new ArrayList<>(uses);
+	}
+
+	private int getNodeId(ICodeNode node) {
+		Object info = getNodeInfo(node);
+		if (info == null) {
+			return -1;
+		}
+		Integer id = ids.get(info);
+		return id == null ? -1 : id;
+	}
+
+	@Nullable
+	private ICodeNode resolveNode(Object info) {
+		if (info instanceof ClassInfo) {
+			return root.resolveClass((ClassInfo) info);
+		}
+		if (info instanceof MethodInfo) {
+			return root.resolveMethod((MethodInfo) info);
+		}
+		return null;
+	}
+
+	@Nullable
+	private static Object getNodeInfo(ICodeNode node) {
+		if (node instanceof ClassNode) {
+			return ((ClassNode) node).getClassInfo();
+		}
+		if (node instanceof MethodNode) {
+			return ((MethodNode) node).getMethodInfo();
+		}
+		if (node instanceof FieldNode) {
+			return ((FieldNode) node).getFieldInfo();
+		}
+		return null;
+	}
+
+	private static final class DeferredUseSite {
+		private final Object useInfo;
+		private final int offset;
+
+		private DeferredUseSite(Object useInfo, int offset) {
+			this.useInfo = useInfo;
+			this.offset = offset;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof DeferredUseSite)) {
+				return false;
+			}
+			DeferredUseSite other = (DeferredUseSite) o;
+			return offset == other.offset && useInfo.equals(other.useInfo);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(useInfo, offset);
+		}
+	}
+
+	public static final class Builder {
+		private final RootNode root;
+
+		/**
+		 * Temporary ids in order of first use, replaced in {@link #build()}
+		 */
+		private final Map<Object, Integer> infoIds = new HashMap<>();
+		private final List<Object> infosList = new ArrayList<>();
+
+		/**
+		 * Use sites as triples: used node id, using node id, offset
+		 */
+		private int[] data = new int[3 * 1024];
+		private int size;
+
+		public Builder(RootNode root) {
+			this.root = root;
+		}
+
+		/**
+		 * Add use of {@code node} in {@code useNode} (class or method) at instruction offset
+		 */
+		public void add(ICodeNode node, ICodeNode useNode, int offset) {
+			Object info = getNodeInfo(node);
+			Object useInfo = getNodeInfo(useNode);
+			if (info == null || useInfo == null) {
+				return;
+			}
+			addInfo(info, useInfo, offset);
+		}
+
+		public void merge(Builder other) {
+			int[] otherData = other.data;
+			List<Object> otherInfos = other.infosList;
+			int otherSize = other.size;
+			for (int i = 0; i < otherSize; i += 3) {
+				addInfo(otherInfos.get(otherData[i]), otherInfos.get(otherData[i + 1]), otherData[i + 2]);
+			}
+		}
+
+		private void addInfo(Object info, Object useInfo, int offset) {
+			if (size + 3 > data.length) {
+				data = Arrays.copyOf(data, data.length * 2);
+			}
+			data[size++] = getTempId(info);
+			data[size++] = getTempId(useInfo);
+			data[size++] = offset;
+		}
+
+		private int getTempId(Object info) {
+			Integer id = infoIds.get(info);
+			if (id != null) {
+				return id;
+			}
+			int newId = infosList.size();
+			infosList.add(info);
+			infoIds.put(info, newId);
+			return newId;
+		}
+
+		public UsageIndex build() {
+			// final ids: class followed by its members (for stable use sites order), members of not loaded classes
+			// (lazy loading) and other infos appended in order of first use
+			List<ClassNode> classes = root.getClasses();
+			List<Object> infosOrder = new ArrayList<>(infosList.size());
+			Map<Object, Integer> ids = new HashMap<>(infosList.size() * 4 / 3 + 1);
+			for (ClassNode cls : classes) {
+				addFinalId(infosOrder, ids, cls.getClassInfo());
+				if (cls.isMembersLoaded()) {
+					for (MethodNode mth : cls.getMethods()) {
+						addFinalId(infosOrder, ids, mth.getMethodInfo());
+					}
+					for (FieldNode fld : cls.getFields()) {
+						addFinalId(infosOrder, ids, fld.getFieldInfo());
+					}
+				}
+			}
+			for (Object info : infosList) {
+				addFinalId(infosOrder, ids, info);
+			}
+			Object[] infos = infosOrder.toArray();
+			int infosCount = infos.length;
+			int[] idsMap = new int[infosList.size()];
+			for (int i = 0; i < idsMap.length; i++) {
+				idsMap[i] = ids.get(infosList.get(i));
+			}
+			int[] rowStart = new int[infosCount + 1];
+			for (int i = 0; i < size; i += 3) {
+				rowStart[idsMap[data[i]] + 1]++;
+			}
+			for (int i = 0; i < infosCount; i++) {
+				rowStart[i + 1] += rowStart[i];
+			}
+			int usesCount = size / 3;
+			// use sites packed in long for sort: using node id in high bits, offset (shifted to be not negative) in low
+			long[] uses = new long[usesCount];
+			int[] fillPos = Arrays.copyOf(rowStart, infosCount);
+			for (int i = 0; i < size; i += 3) {
+				int id = idsMap[data[i]];
+				int useId = idsMap[data[i + 1]];
+				uses[fillPos[id]++] = (long) useId << 32 | (data[i + 2] - DECLARATION_OFFSET);
+			}
+			data = null;
+
+			int[] useIds = new int[usesCount];
+			int[] useOffsets = new int[usesCount];
+			int pos = 0;
+			for (int id = 0; id < infosCount; id++) {
+				int start = rowStart[id];
+				int end = rowStart[id + 1];
+				rowStart[id] = pos;
+				Arrays.sort(uses, start, end);
+				for (int i = start; i < end; i++) {
+					long use = uses[i];
+					if (i != start && use == uses[i - 1]) {
+						continue;
+					}
+					useIds[pos] = (int) (use >>> 32);
+					useOffsets[pos] = (int) use + DECLARATION_OFFSET;
+					pos++;
+				}
+			}
+			rowStart[infosCount] = pos;
+			if (pos != usesCount) {
+				useIds = Arrays.copyOf(useIds, pos);
+				useOffsets = Arrays.copyOf(useOffsets, pos);
+			}
+			return new UsageIndex(root, infos, ids, rowStart, useIds, useOffsets);
+		}
+
+		private static void addFinalId(List<Object> infosOrder, Map<Object, Integer> ids, Object info) {
+			if (!ids.containsKey(info)) {
+				ids.put(info, infosOrder.size());
+				infosOrder.add(info);
+			}
+		}
+	}
+}
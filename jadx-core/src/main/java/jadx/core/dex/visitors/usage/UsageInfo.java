@@ -2,6 +2,7 @@ package jadx.core.dex.visitors.usage;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -9,6 +10,7 @@ import java.util.function.Consumer;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.ICodeNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.nodes.RootNode;
 
@@ -22,9 +24,23 @@ public class UsageInfo {
 	private final UseSet<ClassNode, MethodNode> clsUseInMth = new UseSet<>();
 	private final UseSet<FieldNode, MethodNode> fieldUsage = new UseSet<>();
 	private final UseSet<MethodNode, MethodNode> mthUsage = new UseSet<>();
+	private final UsageIndex.Builder indexBuilder;
 
 	public UsageInfo(RootNode root) {
 		this.root = root;
+		this.indexBuilder = new UsageIndex.Builder(root);
+	}
+
+	/**
+	 * Add usage info collected in other instance (for parallel processing)
+	 */
+	public void merge(UsageInfo other) {
+		clsDeps.merge(other.clsDeps);
+		clsUsage.merge(other.clsUsage);
+		clsUseInMth.merge(other.clsUseInMth);
+		fieldUsage.merge(other.fieldUsage);
+		mthUsage.merge(other.mthUsage);
+		indexBuilder.merge(other.indexBuilder);
 	}
 
 	public void apply() {
@@ -33,6 +49,40 @@ public class UsageInfo {
 		clsUseInMth.visit((cls, methods) -> cls.setUseInMth(sortedList(methods)));
 		fieldUsage.visit((field, methods) -> field.setUseIn(sortedList(methods)));
 		mthUsage.visit((mth, methods) -> mth.setUseIn(sortedList(methods)));
+		root.setUsageIndex(indexBuilder.build());
+	}
+
+	/**
+	 * Apply usage collected for class with deferred pre-decompile stage:
+	 * set class dependencies, add usage to already collected lists of other nodes and use sites to index.
+	 */
+	public void applyDeferred() {
+		clsDeps.visit((cls, deps) -> cls.setDependencies(sortedList(deps)));
+		// usage lists of other classes can be updated by several deferred classes at once
+		synchronized (this.root) {
+			clsUsage.visit((cls, deps) -> cls.setUseIn(mergedList(cls.getUseIn(), deps)));
+			clsUseInMth.visit((cls, methods) -> cls.setUseInMth(mergedList(cls.getUseInMth(), methods)));
+			fieldUsage.visit((field, methods) -> field.setUseIn(mergedList(field.getUseIn(), methods)));
+			mthUsage.visit((mth, methods) -> mth.setUseIn(mergedList(mth.getUseIn(), methods)));
+		}
+		UsageIndex usageIndex = root.getUsageIndex();
+		if (usageIndex != null) {
+			usageIndex.addDeferred(indexBuilder);
+		}
+	}
+
+	/**
+	 * Add use site of {@code node} in {@code useNode} (class or method) at instruction offset
+	 */
+	public void addUseSite(ICodeNode node, ICodeNode useNode, int offset) {
+		indexBuilder.add(node, useNode, offset);
+	}
+
+	/**
+	 * Add use sites of classes from {@code type} (including generic types)
+	 */
+	public void addTypeUseSite(ArgType type, ICodeNode useNode, int offset) {
+		processType(type, cls -> indexBuilder.add(cls, useNode, offset));
 	}
 
 	public void clsUse(ClassNode cls, ArgType useType) {
@@ -100,6 +150,15 @@ public class UsageInfo {
 		}
 	}
 
+	private static <T extends Comparable<T>> List<T> mergedList(List<T> current, Set<T> added) {
+		if (current.isEmpty()) {
+			return sortedList(added);
+		}
+		Set<T> set = new HashSet<>(current);
+		set.addAll(added);
+		return sortedList(set);
+	}
+
 	private static <T extends Comparable<T>> List<T> sortedList(Set<T> deps) {
 		List<T> list = new ArrayList<>(deps);
 		Collections.sort(list);
@@ -1,5 +1,9 @@
 package jadx.core.dex.visitors.usage;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
 import jadx.api.plugins.input.data.ICodeReader;
 import jadx.api.plugins.input.insns.InsnData;
 import jadx.api.plugins.input.insns.Opcode;
@@ -14,6 +18,7 @@ import jadx.core.dex.visitors.AbstractVisitor;
 import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.dex.visitors.OverrideMethodVisitor;
 import jadx.core.dex.visitors.RenameVisitor;
+import jadx.core.utils.ParallelUtils;
 
 @JadxVisitor(
 		name = "UsageInfoVisitor",
@@ -27,20 +32,53 @@ public class UsageInfoVisitor extends AbstractVisitor {
 
 	@Override
 	public void init(RootNode root) {
-		UsageInfo usageInfo = new UsageInfo(root);
-		for (ClassNode cls : root.getClasses()) {
-			processClass(cls, usageInfo);
+		// collect usage for classes batches in parallel and merge results
+		int threadsCount = root.getArgs().getThreadsCount();
+		int batchesCount = threadsCount > 1 ? threadsCount * 4 : 1;
+		List<Callable<UsageInfo>> tasks = new ArrayList<>(batchesCount);
+		for (List<ClassNode> batch : ParallelUtils.split(root.getPreDecompileClasses(), batchesCount)) {
+			tasks.add(() -> {
+				UsageInfo batchUsageInfo = new UsageInfo(root);
+				for (ClassNode cls : batch) {
+					processClass(cls, batchUsageInfo);
+				}
+				return batchUsageInfo;
+			});
+		}
+		List<UsageInfo> results = ParallelUtils.runTasks("Usage info collection", threadsCount, tasks);
+		UsageInfo usageInfo = results.isEmpty() ? new UsageInfo(root) : results.get(0);
+		for (int i = 1; i < results.size(); i++) {
+			usageInfo.merge(results.get(i));
 		}
 		usageInfo.apply();
 	}
 
+	/**
+	 * Collect usage for top class (with inner classes) processed at deferred pre-decompile stage
+	 */
+	public static void processDeferredClass(ClassNode topCls) {
+		UsageInfo usageInfo = new UsageInfo(topCls.root());
+		processClassWithInner(topCls, usageInfo);
+		usageInfo.applyDeferred();
+	}
+
+	private static void processClassWithInner(ClassNode cls, UsageInfo usageInfo) {
+		processClass(cls, usageInfo);
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			processClassWithInner(innerCls, usageInfo);
+		}
+	}
+
 	private static void processClass(ClassNode cls, UsageInfo usageInfo) {
 		usageInfo.clsUse(cls, cls.getSuperClass());
+		usageInfo.addTypeUseSite(cls.getSuperClass(), cls, UsageIndex.DECLARATION_OFFSET);
 		for (ArgType interfaceType : cls.getInterfaces()) {
 			usageInfo.clsUse(cls, interfaceType);
+			usageInfo.addTypeUseSite(interfaceType, cls, UsageIndex.DECLARATION_OFFSET);
 		}
 		for (FieldNode fieldNode : cls.getFields()) {
 			usageInfo.clsUse(cls, fieldNode.getType());
+			usageInfo.addTypeUseSite(fieldNode.getType(), cls, UsageIndex.DECLARATION_OFFSET);
 		}
 		// TODO: process annotations and generics
 		for (MethodNode methodNode : cls.getMethods()) {
@@ -51,8 +89,10 @@ public class UsageInfoVisitor extends AbstractVisitor {
 	private static void processMethod(MethodNode mth, UsageInfo usageInfo) {
 		ClassNode cls = mth.getParentClass();
 		usageInfo.clsUse(cls, mth.getReturnType());
+		usageInfo.addTypeUseSite(mth.getReturnType(), mth, UsageIndex.DECLARATION_OFFSET);
 		for (ArgType argType : mth.getMethodInfo().getArgumentsTypes()) {
 			usageInfo.clsUse(cls, argType);
+			usageInfo.addTypeUseSite(argType, mth, UsageIndex.DECLARATION_OFFSET);
 		}
 		try {
 			processInstructions(mth, usageInfo);
@@ -86,8 +126,9 @@ public class UsageInfoVisitor extends AbstractVisitor {
 		switch (insnData.getIndexType()) {
 			case TYPE_REF:
 				insnData.decode();
-				ArgType usedType = ArgType.parse(insnData.getIndexAsType());
+				ArgType usedType = ArgType.parse(root, insnData.getIndexAsType());
 				usageInfo.clsUse(mth, usedType);
+				usageInfo.addTypeUseSite(usedType, mth, insnData.getOffset());
 				break;
 
 			case FIELD_REF:
@@ -95,6 +136,8 @@ public class UsageInfoVisitor extends AbstractVisitor {
 				FieldNode fieldNode = root.resolveField(FieldInfo.fromData(root, insnData.getIndexAsField()));
 				if (fieldNode != null) {
 					usageInfo.fieldUse(mth, fieldNode);
+					usageInfo.addUseSite(fieldNode, mth, insnData.getOffset());
+					usageInfo.addUseSite(fieldNode.getParentClass(), mth, insnData.getOffset());
 				}
 				break;
 
@@ -103,6 +146,8 @@ public class UsageInfoVisitor extends AbstractVisitor {
 				MethodNode methodNode = root.resolveMethod(MethodInfo.fromRef(root, insnData.getIndexAsMethod()));
 				if (methodNode != null) {
 					usageInfo.methodUse(mth, methodNode);
+					usageInfo.addUseSite(methodNode, mth, insnData.getOffset());
+					usageInfo.addUseSite(methodNode.getParentClass(), mth, insnData.getOffset());
 				}
 				break;
 		}
@@ -22,6 +22,12 @@ public class UseSet<K, V> {
 		return useMap.get(obj);
 	}
 
+	public void merge(UseSet<K, V> other) {
+		for (Map.Entry<K, Set<V>> entry : other.useMap.entrySet()) {
+			useMap.computeIfAbsent(entry.getKey(), k -> new HashSet<>()).addAll(entry.getValue());
+		}
+	}
+
 	public void visit(BiConsumer<K, Set<V>> consumer) {
 		for (Map.Entry<K, Set<V>> entry : useMap.entrySet()) {
 			consumer.accept(entry.getKey(), entry.getValue());
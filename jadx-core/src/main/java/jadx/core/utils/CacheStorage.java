@@ -1,12 +1,17 @@
 package jadx.core.utils;
 
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
+import org.jetbrains.annotations.Nullable;
+
 public class CacheStorage {
 
 	private Set<String> rootPkgs = Collections.emptySet();
 
+	private volatile Map<String, String> xmlDeobfMap;
+
 	public Set<String> getRootPkgs() {
 		return rootPkgs;
 	}
@@ -14,4 +19,13 @@ public class CacheStorage {
 	public void setRootPkgs(Set<String> rootPkgs) {
 		this.rootPkgs = rootPkgs;
 	}
+
+	@Nullable
+	public Map<String, String> getXmlDeobfMap() {
+		return xmlDeobfMap;
+	}
+
+	public void setXmlDeobfMap(Map<String, String> xmlDeobfMap) {
+		this.xmlDeobfMap = xmlDeobfMap;
+	}
 }
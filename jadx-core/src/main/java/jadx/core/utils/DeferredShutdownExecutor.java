@@ -0,0 +1,40 @@
+package jadx.core.utils;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed threads pool which allows running tasks to submit new tasks after shutdown request.
+ * <br>
+ * While pool is held (see {@link #hold()}) {@link #shutdown()} is postponed until last {@link #release()},
+ * so tasks chain can be continued from running tasks.
+ * {@link #shutdownNow()} applied immediately, tasks submitted after it are rejected.
+ */
+public class DeferredShutdownExecutor extends ThreadPoolExecutor {
+	private final AtomicInteger holds = new AtomicInteger();
+	private volatile boolean shutdownRequested;
+
+	public DeferredShutdownExecutor(int threadsCount) {
+		super(threadsCount, threadsCount, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+	}
+
+	public void hold() {
+		holds.incrementAndGet();
+	}
+
+	public void release() {
+		if (holds.decrementAndGet() == 0 && shutdownRequested) {
+			super.shutdown();
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		shutdownRequested = true;
+		if (holds.get() == 0) {
+			super.shutdown();
+		}
+	}
+}
@@ -2,8 +2,9 @@ package jadx.core.utils;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.jetbrains.annotations.Nullable;
@@ -22,9 +23,9 @@ public class ErrorsCounter {
 	private static final Logger LOG = LoggerFactory.getLogger(ErrorsCounter.class);
 	private static final boolean PRINT_MTH_SIZE = true;
 
-	private final Set<IAttributeNode> errorNodes = new HashSet<>();
+	private final Map<IAttributeNode, Integer> errorNodes = new HashMap<>();
 	private int errorsCount;
-	private final Set<IAttributeNode> warnNodes = new HashSet<>();
+	private final Map<IAttributeNode, Integer> warnNodes = new HashMap<>();
 	private int warnsCount;
 
 	public static <N extends IDexNode & IAttributeNode> String error(N node, String warnMsg, Throwable th) {
@@ -40,7 +41,7 @@ public class ErrorsCounter {
 	}
 
 	private synchronized <N extends IDexNode & IAttributeNode> String addError(N node, String error, @Nullable Throwable e) {
-		errorNodes.add(node);
+		errorNodes.merge(node, 1, Integer::sum);
 		errorsCount++;
 
 		String msg = formatMsg(node, error);
@@ -70,7 +71,7 @@ public class ErrorsCounter {
 	}
 
 	private synchronized <N extends IDexNode & IAttributeNode> String addWarning(N node, String warn) {
-		warnNodes.add(node);
+		warnNodes.merge(node, 1, Integer::sum);
 		warnsCount++;
 
 		node.addAttr(AType.JADX_WARN, warn);
@@ -87,7 +88,7 @@ public class ErrorsCounter {
 		if (getErrorCount() > 0) {
 			LOG.error("{} errors occurred in following nodes:", getErrorCount());
 			List<String> errors = new ArrayList<>(errorNodes.size());
-			for (IAttributeNode node : errorNodes) {
+			for (IAttributeNode node : errorNodes.keySet()) {
 				String nodeName = node.getClass().getSimpleName().replace("Node", "");
 				errors.add(nodeName + ": " + node);
 			}
@@ -101,6 +102,34 @@ public class ErrorsCounter {
 		}
 	}
 
+	public synchronized int getErrorCount(IAttributeNode node) {
+		return errorNodes.getOrDefault(node, 0);
+	}
+
+	public synchronized int getWarnsCount(IAttributeNode node) {
+		return warnNodes.getOrDefault(node, 0);
+	}
+
+	/**
+	 * Add errors and warnings counts saved with cached code (see {@link jadx.api.impl.DiskCodeCache}),
+	 * so report is the same as without cache. Messages not printed again.
+	 * Saved counts include problems already added in current run (for example, at load stage),
+	 * so only missing part is added.
+	 */
+	public synchronized void addFromCache(IAttributeNode node, int errors, int warns) {
+		errorsCount += restoreCount(errorNodes, node, errors);
+		warnsCount += restoreCount(warnNodes, node, warns);
+	}
+
+	private static int restoreCount(Map<IAttributeNode, Integer> nodes, IAttributeNode node, int savedCount) {
+		int count = nodes.getOrDefault(node, 0);
+		if (savedCount <= count) {
+			return 0;
+		}
+		nodes.put(node, savedCount);
+		return savedCount - count;
+	}
+
 	public int getErrorCount() {
 		return errorsCount;
 	}
@@ -110,10 +139,10 @@ public class ErrorsCounter {
 	}
 
 	public Set<IAttributeNode> getErrorNodes() {
-		return errorNodes;
+		return errorNodes.keySet();
 	}
 
 	public Set<IAttributeNode> getWarnNodes() {
-		return warnNodes;
+		return warnNodes.keySet();
 	}
 }
@@ -0,0 +1,132 @@
+package jadx.core.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Concurrent memo table for results of pure functions.
+ * <br>
+ * Size limited: all entries dropped on overflow (cheap and enough for hot keys to be cached again).
+ * Cached results can depend on changeable data, in such case data changes count should be read
+ * before result calculation and passed to {@link #get(Object, int)} and {@link #put(Object, Object, int)}.
+ * Entries stored in table bound to changes count, so result calculated with old data
+ * will not be visible after data change.
+ */
+public class MemoCache<K, V> {
+	private final String name;
+	private final int maxSize;
+	private final AtomicReference<Table<K, V>> table;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder resets = new LongAdder();
+
+	public MemoCache(String name, int maxSize) {
+		this.name = name;
+		this.maxSize = maxSize;
+		this.table = new AtomicReference<>(new Table<>(0));
+	}
+
+	/**
+	 * Get result stored for same data changes count,
+	 * all entries for other changes count dropped.
+	 */
+	@Nullable
+	public V get(K key, int dataChangesCount) {
+		V value = getTable(dataChangesCount).map.get(key);
+		if (value == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return value;
+	}
+
+	/**
+	 * Store result calculated for data with provided changes count,
+	 * result ignored if data already changed.
+	 */
+	public void put(K key, V value, int dataChangesCount) {
+		Table<K, V> t = getTable(dataChangesCount);
+		if (t.changesCount != dataChangesCount) {
+			return;
+		}
+		if (t.map.size() >= maxSize) {
+			Table<K, V> newTable = new Table<>(dataChangesCount);
+			if (table.compareAndSet(t, newTable)) {
+				resets.increment();
+			}
+			t = table.get();
+			if (t.changesCount != dataChangesCount) {
+				return;
+			}
+		}
+		t.map.put(key, value);
+	}
+
+	/**
+	 * Return table for provided changes count, table replaced if changes count differ.
+	 * Changes count only grows, so table with newer changes count not replaced by older one.
+	 */
+	private Table<K, V> getTable(int dataChangesCount) {
+		while (true) {
+			Table<K, V> t = table.get();
+			if (t.changesCount - dataChangesCount >= 0) {
+				return t;
+			}
+			if (table.compareAndSet(t, new Table<>(dataChangesCount)) && !t.map.isEmpty()) {
+				resets.increment();
+			}
+		}
+	}
+
+	public void reset() {
+		Table<K, V> t = table.get();
+		if (table.compareAndSet(t, new Table<>(t.changesCount))) {
+			resets.increment();
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getSize() {
+		return table.get().map.size();
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getResets() {
+		return resets.sum();
+	}
+
+	@Override
+	public String toString() {
+		long hitsCount = getHits();
+		long total = hitsCount + getMisses();
+		return name + ": size: " + getSize()
+				+ ", hits: " + hitsCount
+				+ ", misses: " + getMisses()
+				+ ", hit rate: " + (total == 0 ? 0 : hitsCount * 100 / total) + '%'
+				+ ", resets: " + getResets();
+	}
+
+	private static final class Table<K, V> {
+		private final int changesCount;
+		private final Map<K, V> map = new ConcurrentHashMap<>();
+
+		Table(int changesCount) {
+			this.changesCount = changesCount;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package jadx.core.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+public class ParallelUtils {
+
+	/**
+	 * Run tasks in fixed threads pool, tasks executed in current thread if only one thread requested
+	 *
+	 * @return results in tasks order
+	 */
+	public static <T> List<T> runTasks(String name, int threadsCount, List<Callable<T>> tasks) {
+		List<T> results = new ArrayList<>(tasks.size());
+		if (threadsCount <= 1 || tasks.size() <= 1) {
+			try {
+				for (Callable<T> task : tasks) {
+					results.add(task.call());
+				}
+			} catch (Exception e) {
+				throw new JadxRuntimeException(name + " failed", e);
+			}
+			return results;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadsCount, tasks.size()));
+		try {
+			List<Future<T>> futures = new ArrayList<>(tasks.size());
+			for (Callable<T> task : tasks) {
+				futures.add(executor.submit(task));
+			}
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JadxRuntimeException(name + " interrupted", e);
+		} catch (ExecutionException e) {
+			throw new JadxRuntimeException(name + " failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Split list into parts with similar elements count, elements order preserved
+	 */
+	public static <T> List<List<T>> split(List<T> list, int partsCount) {
+		int size = list.size();
+		if (size == 0) {
+			return Collections.emptyList();
+		}
+		int parts = Math.max(1, Math.min(partsCount, size));
+		List<List<T>> result = new ArrayList<>(parts);
+		for (int i = 0; i < parts; i++) {
+			int start = (int) ((long) size * i / parts);
+			int end = (int) ((long) size * (i + 1) / parts);
+			result.add(list.subList(start, end));
+		}
+		return result;
+	}
+
+	private ParallelUtils() {
+	}
+}
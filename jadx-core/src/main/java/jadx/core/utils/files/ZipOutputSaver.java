@@ -0,0 +1,174 @@
+package jadx.core.utils.files;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.plugins.utils.ZipSecurity;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Write files into single zip archive.
+ * <br>
+ * Entries can be added from several threads, they passed through bounded queue
+ * to one writer thread, so memory used by not yet written data is limited.
+ */
+public class ZipOutputSaver implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(ZipOutputSaver.class);
+
+	private static final Entry END_MARK = new Entry("", new byte[0]);
+
+	private static final class Entry {
+		private final String name;
+		private final byte[] data;
+
+		private Entry(String name, byte[] data) {
+			this.name = name;
+			this.data = data;
+		}
+	}
+
+	private final File zipFile;
+	private final BlockingQueue<Entry> queue;
+	private final Thread writerThread;
+	private volatile Throwable writeError;
+	private volatile boolean closed;
+	private int entriesCount;
+
+	public ZipOutputSaver(File zipFile, int queueSize) {
+		this.zipFile = zipFile;
+		this.queue = new ArrayBlockingQueue<>(queueSize);
+		FileUtils.makeDirsForFile(zipFile);
+		OutputStream out;
+		try {
+			out = Files.newOutputStream(zipFile.toPath());
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to create zip file: " + zipFile, e);
+		}
+		this.writerThread = new Thread(() -> writeEntries(out), "jadx-zip-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * Add text file, content saved in UTF-8 with line separator at end (same as in files saved to disk)
+	 */
+	public void addText(String entryName, String text) {
+		add(entryName, (text + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Add file data, blocks if writer thread can't keep up.
+	 * Fails if saver already closed or writer thread finished.
+	 */
+	public void add(String entryName, byte[] data) {
+		checkError();
+		if (!ZipSecurity.isValidZipEntryName(entryName)) {
+			return;
+		}
+		Entry entry = new Entry(entryName, data);
+		try {
+			while (true) {
+				checkWriter(entryName);
+				if (queue.offer(entry, 100, TimeUnit.MILLISECONDS)) {
+					break;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JadxRuntimeException("Interrupted while adding zip entry: " + entryName, e);
+		}
+	}
+
+	private void writeEntries(OutputStream out) {
+		Set<String> names = new HashSet<>();
+		try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out))) {
+			while (true) {
+				Entry entry = queue.take();
+				if (entry == END_MARK) {
+					break;
+				}
+				if (writeError != null) {
+					// skip remaining entries to not block producers
+					continue;
+				}
+				if (!names.add(entry.name)) {
+					LOG.warn("Duplicate zip entry skipped: {}", entry.name);
+					continue;
+				}
+				try {
+					zip.putNextEntry(new ZipEntry(entry.name));
+					zip.write(entry.data);
+					zip.closeEntry();
+				} catch (Exception e) {
+					writeError = e;
+				}
+			}
+		} catch (Throwable e) {
+			if (writeError == null) {
+				writeError = e;
+			}
+		}
+		entriesCount = names.size();
+	}
+
+	private void checkWriter(String entryName) {
+		if (closed || !writerThread.isAlive()) {
+			checkError();
+			throw new JadxRuntimeException("Zip file already closed, entry not added: " + entryName);
+		}
+	}
+
+	private void checkError() {
+		Throwable error = writeError;
+		if (error != null) {
+			throw new JadxRuntimeException("Failed to write zip file: " + zipFile, error);
+		}
+	}
+
+	public File getZipFile() {
+		return zipFile;
+	}
+
+	/**
+	 * Available after {@link #close()}
+	 */
+	public int getEntriesCount() {
+		return entriesCount;
+	}
+
+	/**
+	 * Wait for all added entries to be written and finish zip file
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			while (writerThread.isAlive() && !queue.offer(END_MARK, 100, TimeUnit.MILLISECONDS)) {
+				// wait for free space in queue while writer is running
+			}
+			writerThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JadxRuntimeException("Interrupted while finishing zip file: " + zipFile, e);
+		}
+		checkError();
+	}
+}
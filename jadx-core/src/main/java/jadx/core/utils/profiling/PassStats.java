@@ -0,0 +1,62 @@
+package jadx.core.utils.profiling;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulated resources usage for one pass (all invocations for classes and methods)
+ */
+public class PassStats {
+	private final String passName;
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder wallTime = new LongAdder();
+	private final LongAdder cpuTime = new LongAdder();
+	private final LongAdder allocatedBytes = new LongAdder();
+
+	PassStats(String passName) {
+		this.passName = passName;
+	}
+
+	void add(long wallTimeNs, long cpuTimeNs, long allocated) {
+		calls.increment();
+		wallTime.add(wallTimeNs);
+		cpuTime.add(cpuTimeNs);
+		allocatedBytes.add(allocated);
+	}
+
+	public String getPassName() {
+		return passName;
+	}
+
+	public long getCalls() {
+		return calls.sum();
+	}
+
+	/**
+	 * Total wall time in nanoseconds
+	 */
+	public long getWallTime() {
+		return wallTime.sum();
+	}
+
+	/**
+	 * Total thread CPU time in nanoseconds, zero if not supported by JVM
+	 */
+	public long getCpuTime() {
+		return cpuTime.sum();
+	}
+
+	/**
+	 * Total allocated bytes, zero if not supported by JVM
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes.sum();
+	}
+
+	@Override
+	public String toString() {
+		return passName + ": calls=" + getCalls()
+				+ ", wall=" + getWallTime() / 1_000_000 + "ms"
+				+ ", cpu=" + getCpuTime() / 1_000_000 + "ms"
+				+ ", alloc=" + getAllocatedBytes() / 1024 + "KB";
+	}
+}
@@ -0,0 +1,264 @@
+package jadx.core.utils.profiling;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.MemoCache;
+import jadx.core.utils.exceptions.JadxException;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Collect wall time, thread CPU time and allocated bytes for every pass invocation.
+ * Enabled by {@link jadx.api.JadxArgs#setProfilePasses(boolean)} and used in
+ * {@link jadx.core.dex.visitors.DepthTraversal}.
+ */
+public class PassesProfiler {
+	private static final Logger LOG = LoggerFactory.getLogger(PassesProfiler.class);
+
+	private static final int REPORT_SLOW_METHODS_LIMIT = 20;
+
+	private static final Gson GSON = new GsonBuilder()
+			.setPrettyPrinting()
+			.disableHtmlEscaping()
+			.create();
+
+	private final long slowMethodThreshold;
+	private final Map<Class<?>, PassStats> passes = new ConcurrentHashMap<>();
+	private final Queue<SlowMethodInfo> slowMethods = new ConcurrentLinkedQueue<>();
+	private final List<MemoCache<?, ?>> caches = new ArrayList<>();
+
+	private final ThreadMXBean threadMXBean;
+	private final boolean cpuTimeSupported;
+	@Nullable
+	private final com.sun.management.ThreadMXBean allocMXBean;
+
+	/**
+	 * @param slowMethodThresholdMs save info about method if pass execution took more time
+	 */
+	public PassesProfiler(long slowMethodThresholdMs) {
+		this.slowMethodThreshold = TimeUnit.MILLISECONDS.toNanos(slowMethodThresholdMs);
+		this.threadMXBean = ManagementFactory.getThreadMXBean();
+		this.cpuTimeSupported = initCpuTime(threadMXBean);
+		this.allocMXBean = initAllocBean(threadMXBean);
+	}
+
+	private static boolean initCpuTime(ThreadMXBean mxBean) {
+		try {
+			if (!mxBean.isCurrentThreadCpuTimeSupported()) {
+				return false;
+			}
+			if (!mxBean.isThreadCpuTimeEnabled()) {
+				mxBean.setThreadCpuTimeEnabled(true);
+			}
+			return true;
+		} catch (Exception e) {
+			LOG.warn("Thread CPU time measurement not available", e);
+			return false;
+		}
+	}
+
+	@Nullable
+	private static com.sun.management.ThreadMXBean initAllocBean(ThreadMXBean mxBean) {
+		try {
+			if (mxBean instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean allocBean = (com.sun.management.ThreadMXBean) mxBean;
+				if (allocBean.isThreadAllocatedMemorySupported()) {
+					if (!allocBean.isThreadAllocatedMemoryEnabled()) {
+						allocBean.setThreadAllocatedMemoryEnabled(true);
+					}
+					return allocBean;
+				}
+			}
+		} catch (Exception e) {
+			LOG.warn("Allocated memory measurement not available", e);
+		}
+		return null;
+	}
+
+	public boolean visitClass(IDexTreeVisitor visitor, ClassNode cls) throws JadxException {
+		long wallStart = System.nanoTime();
+		long cpuStart = getCpuTime();
+		long allocStart = getAllocatedBytes();
+		try {
+			return visitor.visit(cls);
+		} finally {
+			record(visitor, null, wallStart, cpuStart, allocStart);
+		}
+	}
+
+	public void visitMethod(IDexTreeVisitor visitor, MethodNode mth) throws JadxException {
+		long wallStart = System.nanoTime();
+		long cpuStart = getCpuTime();
+		long allocStart = getAllocatedBytes();
+		try {
+			visitor.visit(mth);
+		} finally {
+			record(visitor, mth, wallStart, cpuStart, allocStart);
+		}
+	}
+
+	private void record(IDexTreeVisitor visitor, @Nullable MethodNode mth, long wallStart, long cpuStart, long allocStart) {
+		long wallTime = System.nanoTime() - wallStart;
+		long cpuTime = getCpuTime() - cpuStart;
+		long allocated = getAllocatedBytes() - allocStart;
+		PassStats stats = getStats(visitor);
+		stats.add(wallTime, cpuTime, allocated);
+		if (mth != null && wallTime >= slowMethodThreshold) {
+			slowMethods.add(new SlowMethodInfo(stats.getPassName(), mth.toString(), wallTime, cpuTime, allocated));
+		}
+	}
+
+	private PassStats getStats(IDexTreeVisitor visitor) {
+		Class<?> visitorCls = visitor.getClass();
+		PassStats stats = passes.get(visitorCls);
+		if (stats != null) {
+			return stats;
+		}
+		return passes.computeIfAbsent(visitorCls, cls -> new PassStats(cls.getSimpleName()));
+	}
+
+	private long getCpuTime() {
+		return cpuTimeSupported ? threadMXBean.getCurrentThreadCpuTime() : 0;
+	}
+
+	private long getAllocatedBytes() {
+		if (allocMXBean == null) {
+			return 0;
+		}
+		return allocMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Passes stats sorted by wall time (slowest first)
+	 */
+	public List<PassStats> getPassesStats() {
+		List<PassStats> list = new ArrayList<>(passes.values());
+		list.sort(Comparator.comparingLong(PassStats::getWallTime).reversed());
+		return list;
+	}
+
+	/**
+	 * Pass executions for methods above threshold sorted by wall time (slowest first)
+	 */
+	public List<SlowMethodInfo> getSlowMethods() {
+		List<SlowMethodInfo> list = new ArrayList<>(slowMethods);
+		list.sort(Comparator.comparingLong(SlowMethodInfo::getWallTime).reversed());
+		return list;
+	}
+
+	/**
+	 * Add cache to include its usage stats into report
+	 */
+	public void addCache(MemoCache<?, ?> cache) {
+		caches.add(cache);
+	}
+
+	public List<MemoCache<?, ?>> getCaches() {
+		return caches;
+	}
+
+	public long getSlowMethodThresholdMs() {
+		return TimeUnit.NANOSECONDS.toMillis(slowMethodThreshold);
+	}
+
+	public String buildReport() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Passes profiling report:");
+		sb.append(String.format("%n  %-32s %12s %12s %12s %10s", "pass", "wall, ms", "cpu, ms", "alloc, KB", "calls"));
+		for (PassStats stats : getPassesStats()) {
+			sb.append(String.format("%n  %-32s %12d %12d %12d %10d",
+					stats.getPassName(),
+					TimeUnit.NANOSECONDS.toMillis(stats.getWallTime()),
+					TimeUnit.NANOSECONDS.toMillis(stats.getCpuTime()),
+					stats.getAllocatedBytes() / 1024,
+					stats.getCalls()));
+		}
+		if (!caches.isEmpty()) {
+			sb.append(String.format("%nCaches:"));
+			for (MemoCache<?, ?> cache : caches) {
+				sb.append(String.format("%n  %s", cache));
+			}
+		}
+		List<SlowMethodInfo> slowList = getSlowMethods();
+		if (!slowList.isEmpty()) {
+			sb.append(String.format("%nSlow methods (more than %d ms), count: %d", getSlowMethodThresholdMs(), slowList.size()));
+			int count = Math.min(slowList.size(), REPORT_SLOW_METHODS_LIMIT);
+			for (SlowMethodInfo info : slowList.subList(0, count)) {
+				sb.append(String.format("%n  %-32s %12d  %s",
+						info.getPassName(), TimeUnit.NANOSECONDS.toMillis(info.getWallTime()), info.getMethod()));
+			}
+		}
+		return sb.toString();
+	}
+
+	public void saveJson(Path file) {
+		JsonObject root = new JsonObject();
+		root.addProperty("slowMethodThresholdMs", getSlowMethodThresholdMs());
+		JsonArray passesArr = new JsonArray();
+		for (PassStats stats : getPassesStats()) {
+			JsonObject obj = new JsonObject();
+			obj.addProperty("name", stats.getPassName());
+			obj.addProperty("calls", stats.getCalls());
+			obj.addProperty("wallTimeNs", stats.getWallTime());
+			obj.addProperty("cpuTimeNs", stats.getCpuTime());
+			obj.addProperty("allocatedBytes", stats.getAllocatedBytes());
+			passesArr.add(obj);
+		}
+		root.add("passes", passesArr);
+		JsonArray methodsArr = new JsonArray();
+		for (SlowMethodInfo info : getSlowMethods()) {
+			JsonObject obj = new JsonObject();
+			obj.addProperty("pass", info.getPassName());
+			obj.addProperty("method", info.getMethod());
+			obj.addProperty("wallTimeNs", info.getWallTime());
+			obj.addProperty("cpuTimeNs", info.getCpuTime());
+			obj.addProperty("allocatedBytes", info.getAllocatedBytes());
+			methodsArr.add(obj);
+		}
+		root.add("slowMethods", methodsArr);
+		JsonArray cachesArr = new JsonArray();
+		for (MemoCache<?, ?> cache : caches) {
+			JsonObject obj = new JsonObject();
+			obj.addProperty("name", cache.getName());
+			obj.addProperty("size", cache.getSize());
+			obj.addProperty("hits", cache.getHits());
+			obj.addProperty("misses", cache.getMisses());
+			obj.addProperty("resets", cache.getResets());
+			cachesArr.add(obj);
+		}
+		root.add("caches", cachesArr);
+
+		FileUtils.makeDirsForFile(file.toFile());
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			GSON.toJson(root, writer);
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to save profiling data to " + file, e);
+		}
+	}
+}
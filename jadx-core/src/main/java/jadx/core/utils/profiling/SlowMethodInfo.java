@@ -0,0 +1,51 @@
+package jadx.core.utils.profiling;
+
+/**
+ * Single pass execution for method which took more than configured threshold
+ */
+public class SlowMethodInfo {
+	private final String passName;
+	private final String method;
+	private final long wallTime;
+	private final long cpuTime;
+	private final long allocatedBytes;
+
+	SlowMethodInfo(String passName, String method, long wallTime, long cpuTime, long allocatedBytes) {
+		this.passName = passName;
+		this.method = method;
+		this.wallTime = wallTime;
+		this.cpuTime = cpuTime;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	public String getPassName() {
+		return passName;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * Wall time in nanoseconds
+	 */
+	public long getWallTime() {
+		return wallTime;
+	}
+
+	/**
+	 * Thread CPU time in nanoseconds
+	 */
+	public long getCpuTime() {
+		return cpuTime;
+	}
+
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	@Override
+	public String toString() {
+		return passName + " in " + method + ": wall=" + wallTime / 1_000_000 + "ms";
+	}
+}
@@ -5,7 +5,6 @@ import java.io.InputStream;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -33,6 +32,10 @@ import jadx.core.xmlgen.entry.ValuesParser;
  * Check Element chunk size
  */
 
+/**
+ * Parser keeps state of current file, so one instance can't decode several files concurrently.
+ * Create new parser for every file, data shared between files is passed in constructor.
+ */
 public class BinaryXMLParser extends CommonBinaryParser {
 	private static final Logger LOG = LoggerFactory.getLogger(BinaryXMLParser.class);
 
@@ -41,7 +44,7 @@ public class BinaryXMLParser extends CommonBinaryParser {
 	private final Map<Integer, String> resNames;
 	private Map<String, String> nsMap;
 	private Set<String> nsMapGenerated;
-	private final Map<String, String> tagAttrDeobfNames = new HashMap<>();
+	private final TagAttrDeobfNames tagAttrDeobfNames;
 
 	private ICodeWriter writer;
 	private String[] strings;
@@ -57,7 +60,13 @@ public class BinaryXMLParser extends CommonBinaryParser {
 	private String appPackageName;
 
 	public BinaryXMLParser(RootNode rootNode) {
+		this(rootNode, new TagAttrDeobfNames());
+	}
+
+	public BinaryXMLParser(RootNode rootNode, TagAttrDeobfNames tagAttrDeobfNames) {
 		this.rootNode = rootNode;
+		this.tagAttrDeobfNames = tagAttrDeobfNames;
+		this.appPackageName = rootNode.getAppPackage();
 		try {
 			ConstStorage constStorage = rootNode.getConstValues();
 			resNames = constStorage.getResourcesNames();
@@ -66,7 +75,7 @@ public class BinaryXMLParser extends CommonBinaryParser {
 		}
 	}
 
-	public synchronized ICodeInfo parse(InputStream inputStream) throws IOException {
+	public ICodeInfo parse(InputStream inputStream) throws IOException {
 		is = new ParserStream(inputStream);
 		if (!isBinaryXml()) {
 			return ResourcesLoader.loadToCodeWriter(inputStream);
@@ -419,28 +428,7 @@ public class BinaryXMLParser extends CommonBinaryParser {
 	}
 
 	private String getValidTagAttributeName(String originalName) {
-		if (XMLChar.isValidName(originalName)) {
-			return originalName;
-		}
-		if (tagAttrDeobfNames.containsKey(originalName)) {
-			return tagAttrDeobfNames.get(originalName);
-		}
-		String generated;
-		do {
-			generated = generateTagAttrName();
-		} while (tagAttrDeobfNames.containsValue(generated));
-		tagAttrDeobfNames.put(originalName, generated);
-		return generated;
-	}
-
-	private static String generateTagAttrName() {
-		final int length = 6;
-		Random r = new Random();
-		StringBuilder sb = new StringBuilder();
-		for (int i = 1; i <= length; i++) {
-			sb.append((char) (r.nextInt(26) + 'a'));
-		}
-		return sb.toString();
+		return tagAttrDeobfNames.getValidName(originalName);
 	}
 
 	private void attachClassNode(ICodeWriter writer, String attrName, String clsName) {
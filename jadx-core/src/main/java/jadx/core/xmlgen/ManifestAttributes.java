@@ -50,17 +50,24 @@ public class ManifestAttributes {
 
 	private final Map<String, MAttr> attrMap = new HashMap<>();
 
-	private static ManifestAttributes instance;
+	private static volatile ManifestAttributes instance;
 
 	public static ManifestAttributes getInstance() {
-		if (instance == null) {
-			try {
-				instance = new ManifestAttributes();
-			} catch (Exception e) {
-				LOG.error("Failed to create ManifestAttributes", e);
+		ManifestAttributes attributes = instance;
+		if (attributes == null) {
+			synchronized (ManifestAttributes.class) {
+				attributes = instance;
+				if (attributes == null) {
+					try {
+						attributes = new ManifestAttributes();
+						instance = attributes;
+					} catch (Exception e) {
+						LOG.error("Failed to create ManifestAttributes", e);
+					}
+				}
 			}
 		}
-		return instance;
+		return attributes;
 	}
 
 	private ManifestAttributes() {
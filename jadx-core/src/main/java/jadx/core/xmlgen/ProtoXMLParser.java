@@ -4,7 +4,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
 
 import com.android.aapt.Resources.XmlAttribute;
 import com.android.aapt.Resources.XmlElement;
@@ -17,9 +16,13 @@ import jadx.api.ICodeWriter;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.utils.StringUtils;
 
+/**
+ * Parser keeps state of current file, so one instance can't decode several files concurrently.
+ * Create new parser for every file, data shared between files is passed in constructor.
+ */
 public class ProtoXMLParser {
 	private Map<String, String> nsMap;
-	private final Map<String, String> tagAttrDeobfNames = new HashMap<>();
+	private final TagAttrDeobfNames tagAttrDeobfNames;
 
 	private ICodeWriter writer;
 
@@ -28,10 +31,16 @@ public class ProtoXMLParser {
 	private String appPackageName;
 
 	public ProtoXMLParser(RootNode rootNode) {
+		this(rootNode, new TagAttrDeobfNames());
+	}
+
+	public ProtoXMLParser(RootNode rootNode, TagAttrDeobfNames tagAttrDeobfNames) {
 		this.rootNode = rootNode;
+		this.tagAttrDeobfNames = tagAttrDeobfNames;
+		this.appPackageName = rootNode.getAppPackage();
 	}
 
-	public synchronized ICodeInfo parse(InputStream inputStream) throws IOException {
+	public ICodeInfo parse(InputStream inputStream) throws IOException {
 		nsMap = new HashMap<>();
 		writer = rootNode.makeCodeWriter();
 		writer.add("<?xml version=\"1.0\" encoding=\"utf-8\"?>");
@@ -110,28 +119,7 @@ public class ProtoXMLParser {
 	}
 
 	private String getValidTagAttributeName(String originalName) {
-		if (XMLChar.isValidName(originalName)) {
-			return originalName;
-		}
-		if (tagAttrDeobfNames.containsKey(originalName)) {
-			return tagAttrDeobfNames.get(originalName);
-		}
-		String generated;
-		do {
-			generated = generateTagAttrName();
-		} while (tagAttrDeobfNames.containsValue(generated));
-		tagAttrDeobfNames.put(originalName, generated);
-		return generated;
-	}
-
-	private static String generateTagAttrName() {
-		final int length = 6;
-		Random r = new Random();
-		StringBuilder sb = new StringBuilder();
-		for (int i = 1; i <= length; i++) {
-			sb.append((char) (r.nextInt(26) + 'a'));
-		}
-		return sb.toString();
+		return tagAttrDeobfNames.getValidName(originalName);
 	}
 
 	private XmlNode decodeProto(InputStream inputStream)
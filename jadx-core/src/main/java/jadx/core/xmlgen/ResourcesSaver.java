@@ -5,6 +5,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,16 +16,34 @@ import jadx.core.dex.visitors.SaveCode;
 import jadx.core.utils.exceptions.JadxException;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.utils.files.FileUtils;
+import jadx.core.utils.files.ZipOutputSaver;
 
 public class ResourcesSaver implements Runnable {
 	private static final Logger LOG = LoggerFactory.getLogger(ResourcesSaver.class);
 
 	private final ResourceFile resourceFile;
 	private final File outDir;
+	@Nullable
+	private final ZipOutputSaver zip;
+	private final String zipDir;
 
 	public ResourcesSaver(File outDir, ResourceFile resourceFile) {
 		this.resourceFile = resourceFile;
 		this.outDir = outDir;
+		this.zip = null;
+		this.zipDir = null;
+	}
+
+	/**
+	 * Save resources into zip archive
+	 *
+	 * @param zipDir entries path prefix (without trailing slash)
+	 */
+	public ResourcesSaver(ZipOutputSaver zip, String zipDir, ResourceFile resourceFile) {
+		this.resourceFile = resourceFile;
+		this.outDir = null;
+		this.zip = zip;
+		this.zipDir = zipDir;
 	}
 
 	@Override
@@ -36,6 +55,10 @@ public class ResourcesSaver implements Runnable {
 		if (rc == null) {
 			return;
 		}
+		if (zip != null) {
+			saveToZip(rc);
+			return;
+		}
 		if (rc.getDataType() == ResContainer.DataType.RES_TABLE) {
 			saveToFile(rc, new File(outDir, "res/values/public.xml"));
 			for (ResContainer subFile : rc.getSubFiles()) {
@@ -88,6 +111,50 @@ public class ResourcesSaver implements Runnable {
 		}
 	}
 
+	private void saveToZip(ResContainer rc) {
+		if (rc.getDataType() == ResContainer.DataType.RES_TABLE) {
+			saveToZip(rc, "res/values/public.xml");
+			for (ResContainer subFile : rc.getSubFiles()) {
+				saveToZip(subFile);
+			}
+		} else {
+			saveToZip(rc, rc.getFileName());
+		}
+	}
+
+	private void saveToZip(ResContainer rc, String fileName) {
+		String entryName = zipDir + '/' + fileName;
+		if (!ZipSecurity.isValidZipEntryName(entryName)) {
+			LOG.error("Path traversal attack detected, invalid resource name: {}", fileName);
+			return;
+		}
+		try {
+			switch (rc.getDataType()) {
+				case TEXT:
+				case RES_TABLE:
+					zip.addText(entryName, rc.getText().getCodeStr());
+					return;
+
+				case DECODED_DATA:
+					zip.add(entryName, rc.getDecodedData());
+					return;
+
+				case RES_LINK:
+					byte[] data = ResourcesLoader.decodeStream(rc.getResLink(), (size, is) -> FileUtils.streamToByteArray(is));
+					if (data != null) {
+						zip.add(entryName, data);
+					}
+					return;
+
+				default:
+					LOG.warn("Resource '{}' not saved, unknown type", rc.getName());
+					break;
+			}
+		} catch (JadxException e) {
+			LOG.warn("Resource '{}' not saved, got exception", rc.getName(), e);
+		}
+	}
+
 	private void saveResourceFile(ResourceFile resFile, File outFile) throws JadxException {
 		ResourcesLoader.decodeStream(resFile, (size, is) -> {
 			Path target = outFile.toPath();
@@ -0,0 +1,45 @@
+package jadx.core.xmlgen;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generated names for invalid xml tags and attributes.
+ * Shared between xml parsers to use same name for same invalid string in all files.
+ */
+public class TagAttrDeobfNames {
+	private static final int NAME_LENGTH = 6;
+
+	private final Map<String, String> names = new HashMap<>();
+	private final Set<String> generatedNames = new HashSet<>();
+	private final Random random = new Random();
+
+	public String getValidName(String originalName) {
+		if (XMLChar.isValidName(originalName)) {
+			return originalName;
+		}
+		synchronized (this) {
+			String name = names.get(originalName);
+			if (name != null) {
+				return name;
+			}
+			String generated;
+			do {
+				generated = generateName();
+			} while (!generatedNames.add(generated));
+			names.put(originalName, generated);
+			return generated;
+		}
+	}
+
+	private String generateName() {
+		StringBuilder sb = new StringBuilder(NAME_LENGTH);
+		for (int i = 0; i < NAME_LENGTH; i++) {
+			sb.append((char) (random.nextInt(26) + 'a'));
+		}
+		return sb.toString();
+	}
+}
@@ -8,13 +8,13 @@ import org.jetbrains.annotations.Nullable;
 import jadx.core.dex.info.ClassInfo;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.CacheStorage;
 
 /*
  * modifies android:name attributes and xml tags which are old class names
  * but were changed during deobfuscation
  */
 public class XmlDeobf {
-	private static final Map<String, String> DEOBF_MAP = new HashMap<>();
 
 	private XmlDeobf() {
 	}
@@ -25,22 +25,40 @@ public class XmlDeobf {
 		if (packageName != null && potencialClassName.startsWith(".")) {
 			potencialClassName = packageName + potencialClassName;
 		}
-		return getNewClassName(rootNode, potencialClassName);
+		return getDeobfMap(rootNode).get(potencialClassName);
 	}
 
-	private static String getNewClassName(RootNode rootNode, String old) {
-		if (DEOBF_MAP.isEmpty()) {
-			for (ClassNode classNode : rootNode.getClasses(true)) {
-				ClassInfo classInfo = classNode.getClassInfo();
-				if (classInfo.hasAlias()) {
-					String oldName = classInfo.getFullName();
-					String newName = classInfo.getAliasFullName();
-					if (!oldName.equals(newName)) {
-						DEOBF_MAP.put(oldName, newName);
-					}
+	/**
+	 * Map from original to renamed class names, built once per root node
+	 */
+	private static Map<String, String> getDeobfMap(RootNode rootNode) {
+		CacheStorage cacheStorage = rootNode.getCacheStorage();
+		Map<String, String> deobfMap = cacheStorage.getXmlDeobfMap();
+		if (deobfMap != null) {
+			return deobfMap;
+		}
+		synchronized (cacheStorage) {
+			deobfMap = cacheStorage.getXmlDeobfMap();
+			if (deobfMap == null) {
+				deobfMap = buildDeobfMap(rootNode);
+				cacheStorage.setXmlDeobfMap(deobfMap);
+			}
+			return deobfMap;
+		}
+	}
+
+	private static Map<String, String> buildDeobfMap(RootNode rootNode) {
+		Map<String, String> deobfMap = new HashMap<>();
+		for (ClassNode classNode : rootNode.getClasses(true)) {
+			ClassInfo classInfo = classNode.getClassInfo();
+			if (classInfo.hasAlias()) {
+				String oldName = classInfo.getFullName();
+				String newName = classInfo.getAliasFullName();
+				if (!oldName.equals(newName)) {
+					deobfMap.put(oldName, newName);
 				}
 			}
 		}
-		return DEOBF_MAP.get(old);
+		return deobfMap;
 	}
 }
@@ -17,7 +17,7 @@ import jadx.core.xmlgen.XmlGenUtils;
 public class ValuesParser extends ParserConstants {
 	private static final Logger LOG = LoggerFactory.getLogger(ValuesParser.class);
 
-	private static Map<Integer, String> androidResMap;
+	private static volatile Map<Integer, String> androidResMap;
 
 	private final String[] strings;
 	private final Map<Integer, String> resMap;
@@ -29,10 +29,17 @@ public class ValuesParser extends ParserConstants {
 	}
 
 	public static Map<Integer, String> getAndroidResMap() {
-		if (androidResMap == null) {
-			androidResMap = loadAndroidResMap();
+		Map<Integer, String> map = androidResMap;
+		if (map == null) {
+			synchronized (ValuesParser.class) {
+				map = androidResMap;
+				if (map == null) {
+					map = loadAndroidResMap();
+					androidResMap = map;
+				}
+			}
 		}
-		return androidResMap;
+		return map;
 	}
 
 	private static Map<Integer, String> loadAndroidResMap() {
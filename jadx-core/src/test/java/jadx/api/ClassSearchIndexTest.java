@@ -0,0 +1,47 @@
+package jadx.api;
+
+import java.io.File;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.nodes.RootNode;
+
+import static jadx.api.JadxDecompilerTest.getFileFromSampleDir;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+
+public class ClassSearchIndexTest {
+
+	@Test
+	public void testClassSearchIndex() {
+		File sampleApk = getFileFromSampleDir("app-with-fake-dex.apk");
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(sampleApk);
+
+		try (JadxDecompiler jadx = new JadxDecompiler(args);
+				JadxDecompiler otherJadx = new JadxDecompiler(args)) {
+			jadx.load();
+			otherJadx.load();
+			String clsName = "com.github.skylot.simple.MainActivity";
+			JavaClass cls = jadx.searchJavaClassByOrigFullName(clsName);
+			assertThat(cls, notNullValue());
+			assertThat(jadx.searchJavaClassesByShortName("MainActivity"), Matchers.contains(cls));
+			assertThat(jadx.searchJavaClassesByPackage("com.github"), Matchers.hasItem(cls));
+			assertThat(jadx.searchJavaClassesByPackage("com.git"), Matchers.empty());
+
+			RootNode root = jadx.getRoot();
+			int namesChanges = root.getClassNamesChangesCount();
+			int otherNamesChanges = otherJadx.getRoot().getClassNamesChangesCount();
+			ClassInfo clsInfo = cls.getClassNode().getClassInfo();
+			clsInfo.changeShortName("RenamedActivity");
+			root.onClassNamesChange();
+			assertThat(root.getClassNamesChangesCount(), Matchers.is(namesChanges + 1));
+			assertThat(otherJadx.getRoot().getClassNamesChangesCount(), Matchers.is(otherNamesChanges));
+			assertThat(jadx.searchJavaClassByAliasFullName("com.github.skylot.simple.RenamedActivity"), Matchers.is(cls));
+			assertThat(jadx.searchJavaClassByAliasFullName(clsName), Matchers.nullValue());
+			assertThat(jadx.searchJavaClassByOrigFullName(clsName), Matchers.is(cls));
+		}
+	}
+}
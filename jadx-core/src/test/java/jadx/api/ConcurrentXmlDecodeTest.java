@@ -0,0 +1,36 @@
+package jadx.api;
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import static jadx.api.JadxDecompilerTest.getFileFromSampleDir;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ConcurrentXmlDecodeTest {
+
+	@Test
+	public void testConcurrentXmlDecode() {
+		File sampleApk = getFileFromSampleDir("app-with-fake-dex.apk");
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(sampleApk);
+
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			ResourceFile manifest = jadx.getResources().stream()
+					.filter(resFile -> resFile.getType() == ResourceType.MANIFEST)
+					.findFirst()
+					.orElseThrow(IllegalStateException::new);
+			String expected = manifest.loadContent().getText().getCodeStr();
+
+			List<String> results = IntStream.range(0, 32).parallel()
+					.mapToObj(i -> manifest.loadContent().getText().getCodeStr())
+					.collect(Collectors.toList());
+			assertThat(results, Matchers.everyItem(Matchers.is(expected)));
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package jadx.api;
+
+import java.io.File;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import static jadx.api.JadxDecompilerTest.getFileFromSampleDir;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Input zip files opened once and shared between resources decoding
+ */
+public class InputZipFilesPoolTest {
+
+	@Test
+	public void testInputZipOpenedOnce() {
+		File sampleApk = getFileFromSampleDir("app-with-fake-dex.apk");
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(sampleApk);
+
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			for (ResourceFile resFile : jadx.getResources()) {
+				resFile.loadContent();
+			}
+			assertThat(jadx.getZipFilesPool().getOpenCount(), Matchers.is(1));
+		}
+	}
+}
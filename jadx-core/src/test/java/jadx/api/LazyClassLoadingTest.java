@@ -0,0 +1,58 @@
+package jadx.api;
+
+import java.io.File;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.nodes.ClassNode;
+
+import static jadx.api.JadxDecompilerTest.getFileFromSampleDir;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+
+public class LazyClassLoadingTest {
+
+	@Test
+	public void testLazyClassLoading() {
+		File sampleApk = getFileFromSampleDir("app-with-fake-dex.apk");
+		Predicate<String> rClassFilter = name -> name.endsWith(".R");
+		String expectedCode = decompileSingleClass(sampleApk, rClassFilter, false);
+
+		try (JadxDecompiler jadx = new JadxDecompiler(makeArgs(sampleApk, rClassFilter, true))) {
+			jadx.load();
+			ClassNode mainActivity = JadxInternalAccess.getRoot(jadx).searchClassByFullAlias("com.github.skylot.simple.MainActivity");
+			assertThat(mainActivity, notNullValue());
+			assertThat(mainActivity.isMembersLoaded(), Matchers.is(false));
+
+			assertThat(getSingleClass(jadx, rClassFilter).getCode(), Matchers.is(expectedCode));
+			assertThat(mainActivity.isMembersLoaded(), Matchers.is(false));
+		}
+	}
+
+	private static String decompileSingleClass(File input, Predicate<String> classFilter, boolean lazy) {
+		try (JadxDecompiler jadx = new JadxDecompiler(makeArgs(input, classFilter, lazy))) {
+			jadx.load();
+			return getSingleClass(jadx, classFilter).getCode();
+		}
+	}
+
+	private static JavaClass getSingleClass(JadxDecompiler jadx, Predicate<String> classFilter) {
+		List<JavaClass> classes = jadx.getClasses().stream()
+				.filter(cls -> classFilter.test(cls.getFullName()))
+				.collect(Collectors.toList());
+		assertThat(classes, Matchers.hasSize(1));
+		return classes.get(0);
+	}
+
+	private static JadxArgs makeArgs(File input, Predicate<String> classFilter, boolean lazy) {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(input);
+		args.setClassFilter(classFilter);
+		args.setLazyClassLoading(lazy);
+		return args;
+	}
+}
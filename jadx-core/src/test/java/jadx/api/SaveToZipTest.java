@@ -0,0 +1,39 @@
+package jadx.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import jadx.core.utils.files.FileUtils;
+
+import static jadx.api.JadxDecompilerTest.getFileFromSampleDir;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class SaveToZipTest {
+
+	@Test
+	public void testSaveToZip() throws IOException {
+		File sampleApk = getFileFromSampleDir("app-with-fake-dex.apk");
+		File outZip = FileUtils.createTempDir("jadx-zip-output").resolve("out.zip").toFile();
+
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(sampleApk);
+		args.setOutputZip(outZip);
+
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			jadx.save();
+		}
+		try (ZipFile zipFile = new ZipFile(outZip)) {
+			List<String> names = zipFile.stream().map(ZipEntry::getName).collect(Collectors.toList());
+			assertThat(names, Matchers.hasItem("sources/com/github/skylot/simple/MainActivity.java"));
+			assertThat(names, Matchers.hasItem("resources/AndroidManifest.xml"));
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package jadx.api.impl;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.ICodeInfo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedCodeCacheTest {
+
+	@Test
+	public void testLeastRecentlyUsedEvicted() {
+		ICodeInfo code = new SimpleCodeInfo("class A {}");
+		long entrySize = BoundedCodeCache.estimateSize("A", code);
+		BoundedCodeCache cache = new BoundedCodeCache(entrySize * 2);
+
+		cache.add("A", code);
+		cache.add("B", code);
+		assertThat(cache.get("A")).isSameAs(code);
+
+		cache.add("C", code);
+		assertThat(cache.get("B")).isNull();
+		assertThat(cache.get("A")).isSameAs(code);
+		assertThat(cache.get("C")).isSameAs(code);
+
+		assertThat(cache.getEntriesCount()).isEqualTo(2);
+		assertThat(cache.getUsedSize()).isLessThanOrEqualTo(cache.getMaxSize());
+		assertThat(cache.getHitsCount()).isEqualTo(3);
+		assertThat(cache.getMissesCount()).isEqualTo(1);
+		assertThat(cache.getEvictionsCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testTooBigEntryNotStored() {
+		BoundedCodeCache cache = new BoundedCodeCache(100);
+		cache.add("A", new SimpleCodeInfo("class A {}"));
+		assertThat(cache.get("A")).isNull();
+		assertThat(cache.getUsedSize()).isZero();
+	}
+}
@@ -0,0 +1,57 @@
+package jadx.api.impl;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.JavaClass;
+import jadx.core.utils.files.FileUtils;
+
+import static jadx.api.JadxDecompilerTest.getFileFromSampleDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DiskCodeCacheTest {
+
+	@Test
+	public void testCodeReusedFromDisk() {
+		File sampleApk = getFileFromSampleDir("app-with-fake-dex.apk");
+		Path cacheDir = FileUtils.createTempDir("jadx-code-cache");
+
+		Map<String, String> firstRunCode = new HashMap<>();
+		Map<String, Integer> firstRunAnnotations = new HashMap<>();
+		DiskCodeCache firstCache = new DiskCodeCache(cacheDir);
+		try (JadxDecompiler jadx = new JadxDecompiler(makeArgs(sampleApk, firstCache))) {
+			jadx.load();
+			for (JavaClass cls : jadx.getClasses()) {
+				firstRunCode.put(cls.getRawName(), cls.getCode());
+				firstRunAnnotations.put(cls.getRawName(), cls.getCodeAnnotations().size());
+			}
+		}
+		assertThat(firstCache.getHitsCount()).isZero();
+		assertThat(firstRunCode).isNotEmpty();
+
+		DiskCodeCache secondCache = new DiskCodeCache(cacheDir);
+		try (JadxDecompiler jadx = new JadxDecompiler(makeArgs(sampleApk, secondCache))) {
+			jadx.load();
+			for (JavaClass cls : jadx.getClasses()) {
+				assertThat(cls.getCode()).isEqualTo(firstRunCode.get(cls.getRawName()));
+				assertThat(cls.getCodeAnnotations()).hasSize(firstRunAnnotations.get(cls.getRawName()));
+				assertThat(cls.getDecompiledLine()).isNotZero();
+			}
+		}
+		assertThat(secondCache.getHitsCount()).isEqualTo(firstRunCode.size());
+		assertThat(secondCache.getMissesCount()).isZero();
+	}
+
+	private static JadxArgs makeArgs(File input, DiskCodeCache codeCache) {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(input);
+		args.setCodeCache(codeCache);
+		return args;
+	}
+}
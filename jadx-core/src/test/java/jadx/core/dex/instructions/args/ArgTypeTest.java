@@ -4,8 +4,13 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jadx.api.JadxArgs;
+import jadx.core.dex.nodes.RootNode;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -43,4 +48,18 @@ class ArgTypeTest {
 
 		assertThat(genericInner.toString(), is("java.util.Map<K, V>$Entry<K, V>"));
 	}
+
+	@Test
+	void testSharedTypes() {
+		RootNode root = new RootNode(new JadxArgs());
+		ArgType type = ArgType.parse(root, "Ljava/util/List;");
+		assertThat(ArgType.object(root, "java.util.List"), sameInstance(type));
+		assertThat(ArgType.parse(root, "[Ljava/util/List;").getArrayElement(), sameInstance(type));
+		assertThat(ArgType.parse(root, "[[I"), sameInstance(ArgType.parse(root, "[[I")));
+		assertThat(ArgType.parse(root, "Ljava/lang/String;"), sameInstance(ArgType.STRING));
+
+		// type variables can be changed, so not shared
+		assertThat(ArgType.parse(root, "TT;"), not(sameInstance(ArgType.parse(root, "TT;"))));
+		assertThat(ArgType.parse(root, "[TT;"), not(sameInstance(ArgType.parse(root, "[TT;"))));
+	}
 }
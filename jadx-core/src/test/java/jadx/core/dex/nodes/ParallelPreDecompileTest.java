@@ -0,0 +1,51 @@
+package jadx.core.dex.nodes;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.core.dex.visitors.usage.UsageIndex;
+
+import static jadx.api.JadxDecompilerTest.getFileFromSampleDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pre-decompile stage results (usage info) should not depend on threads count
+ */
+public class ParallelPreDecompileTest {
+
+	@Test
+	public void testParallelPreDecompile() {
+		File sampleApk = getFileFromSampleDir("app-with-fake-dex.apk");
+		String expected = collectUsageInfo(sampleApk, 1);
+		assertThat(expected).contains("MainActivity");
+		assertThat(collectUsageInfo(sampleApk, 4)).isEqualTo(expected);
+	}
+
+	private static String collectUsageInfo(File input, int threadsCount) {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(input);
+		args.setThreadsCount(threadsCount);
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			RootNode root = jadx.getRoot();
+			UsageIndex usageIndex = root.getUsageIndex();
+			assertThat(usageIndex).isNotNull();
+			StringBuilder sb = new StringBuilder();
+			for (ClassNode cls : root.getClasses()) {
+				sb.append(cls).append(": ").append(cls.getSuperClass())
+						.append(", use: ").append(cls.getUseIn())
+						.append(", deps: ").append(cls.getDependencies())
+						.append(", sites: ").append(usageIndex.getUsesCount(cls)).append('\n');
+				for (MethodNode mth : cls.getMethods()) {
+					sb.append("  ").append(mth).append(", use: ").append(mth.getUseIn());
+					usageIndex.visitUseSites(mth, (useNode, offset) -> sb.append(", ").append(useNode).append(':').append(offset));
+					sb.append('\n');
+				}
+			}
+			return sb.toString();
+		}
+	}
+}
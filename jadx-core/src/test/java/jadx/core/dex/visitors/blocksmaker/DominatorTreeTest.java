@@ -0,0 +1,329 @@
+package jadx.core.dex.visitors.blocksmaker;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.nodes.BlockNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Compare dominators tree and dominance frontier with results of previous BitSet based algorithm
+ */
+public class DominatorTreeTest {
+
+	@Test
+	public void testChain() {
+		List<BlockNode> blocks = makeBlocks(4);
+		connect(blocks, 0, 1);
+		connect(blocks, 1, 2);
+		connect(blocks, 2, 3);
+		check(blocks);
+		assertThat(blocks.get(3).getIDom()).isSameAs(blocks.get(2));
+	}
+
+	@Test
+	public void testIfElse() {
+		List<BlockNode> blocks = makeBlocks(4);
+		connect(blocks, 0, 1);
+		connect(blocks, 0, 2);
+		connect(blocks, 1, 3);
+		connect(blocks, 2, 3);
+		check(blocks);
+		assertThat(blocks.get(3).getIDom()).isSameAs(blocks.get(0));
+		assertThat(blocks.get(1).getDomFrontier().get(3)).isTrue();
+	}
+
+	@Test
+	public void testLoop() {
+		// 0 -> 1 (loop start) -> 2 -> 1, 1 -> 3 (exit)
+		List<BlockNode> blocks = makeBlocks(4);
+		connect(blocks, 0, 1);
+		connect(blocks, 1, 2);
+		connect(blocks, 2, 1);
+		connect(blocks, 1, 3);
+		check(blocks);
+		assertThat(blocks.get(2).isDominator(blocks.get(1))).isTrue();
+	}
+
+	@Test
+	public void testSelfLoop() {
+		List<BlockNode> blocks = makeBlocks(3);
+		connect(blocks, 0, 1);
+		connect(blocks, 1, 1);
+		connect(blocks, 1, 2);
+		check(blocks);
+	}
+
+	@Test
+	public void testNestedLoopsWithBreak() {
+		List<BlockNode> blocks = makeBlocks(7);
+		connect(blocks, 0, 1);
+		connect(blocks, 1, 2);
+		connect(blocks, 1, 6);
+		connect(blocks, 2, 3);
+		connect(blocks, 3, 2);
+		connect(blocks, 3, 4);
+		connect(blocks, 3, 6); // break from both loops
+		connect(blocks, 4, 5);
+		connect(blocks, 4, 1);
+		connect(blocks, 5, 1);
+		check(blocks);
+	}
+
+	@Test
+	public void testIrreducible() {
+		// loop with two entries: 0 -> 1, 0 -> 2, 1 <-> 2
+		List<BlockNode> blocks = makeBlocks(4);
+		connect(blocks, 0, 1);
+		connect(blocks, 0, 2);
+		connect(blocks, 1, 2);
+		connect(blocks, 2, 1);
+		connect(blocks, 2, 3);
+		check(blocks);
+		assertThat(blocks.get(1).getIDom()).isSameAs(blocks.get(0));
+		assertThat(blocks.get(2).getIDom()).isSameAs(blocks.get(0));
+	}
+
+	@Test
+	public void testIrreducibleNested() {
+		List<BlockNode> blocks = makeBlocks(7);
+		connect(blocks, 0, 1);
+		connect(blocks, 0, 3);
+		connect(blocks, 1, 2);
+		connect(blocks, 2, 3);
+		connect(blocks, 3, 4);
+		connect(blocks, 4, 2);
+		connect(blocks, 4, 1);
+		connect(blocks, 4, 5);
+		connect(blocks, 5, 3);
+		connect(blocks, 5, 6);
+		check(blocks);
+	}
+
+	@Test
+	public void testBlocksOrderNotMatchFlow() {
+		// entry block not first in list, successors before predecessors
+		List<BlockNode> blocks = makeBlocks(5);
+		connect(blocks, 4, 2);
+		connect(blocks, 4, 3);
+		connect(blocks, 2, 0);
+		connect(blocks, 3, 0);
+		connect(blocks, 0, 1);
+		connect(blocks, 1, 0);
+		checkWithEntry(blocks, blocks.get(4));
+	}
+
+	@Test
+	public void testRandomGraphs() {
+		Random rnd = new Random(42);
+		for (int n = 0; n < 200; n++) {
+			int blocksCount = 2 + rnd.nextInt(60);
+			List<BlockNode> blocks = makeBlocks(blocksCount);
+			for (int i = 0; i < blocksCount - 1; i++) {
+				connect(blocks, i, i + 1);
+				int r = rnd.nextInt(10);
+				if (r < 3) {
+					// forward jump
+					connect(blocks, i, Math.min(blocksCount - 1, i + 2 + rnd.nextInt(10)));
+				} else if (r < 5) {
+					// backward jump to any block (not only loop start), can make graph irreducible
+					connect(blocks, i, 1 + rnd.nextInt(i + 1));
+				}
+			}
+			check(blocks);
+		}
+	}
+
+	@Test
+	public void testUnreachableBlock() {
+		List<BlockNode> blocks = makeBlocks(4);
+		connect(blocks, 0, 1);
+		connect(blocks, 2, 1); // block 2 without predecessors
+		connect(blocks, 1, 3);
+		assertThatThrownBy(() -> DominatorTree.compute(blocks, blocks.get(0)))
+				.isInstanceOf(JadxRuntimeException.class)
+				.hasMessageContaining("Unreachable block");
+	}
+
+	@Test
+	public void testUnreachableLoop() {
+		// blocks 2 and 3 have predecessors, but can't be reached from entry
+		List<BlockNode> blocks = makeBlocks(4);
+		connect(blocks, 0, 1);
+		connect(blocks, 2, 3);
+		connect(blocks, 3, 2);
+		connect(blocks, 3, 1);
+		assertThatThrownBy(() -> DominatorTree.compute(blocks, blocks.get(0)))
+				.isInstanceOf(JadxRuntimeException.class)
+				.hasMessageContaining("Unreachable block");
+	}
+
+	private static List<BlockNode> makeBlocks(int count) {
+		List<BlockNode> blocks = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			blocks.add(new BlockNode(i, i));
+		}
+		return blocks;
+	}
+
+	private static void connect(List<BlockNode> blocks, int from, int to) {
+		BlockSplitter.connect(blocks.get(from), blocks.get(to));
+	}
+
+	private static void check(List<BlockNode> blocks) {
+		checkWithEntry(blocks, blocks.get(0));
+	}
+
+	private static void checkWithEntry(List<BlockNode> blocks, BlockNode entryBlock) {
+		List<BlockNode> exitBlocks = new ArrayList<>();
+		for (BlockNode block : blocks) {
+			if (block.getSuccessors().isEmpty()) {
+				exitBlocks.add(block);
+			}
+		}
+		DominatorTree.compute(blocks, entryBlock);
+		DominatorTree.computeDominanceFrontier(blocks, exitBlocks);
+
+		BitSetDominators expected = new BitSetDominators(blocks, entryBlock, exitBlocks);
+		for (BlockNode block : blocks) {
+			int id = block.getId();
+			BlockNode expectedIDom = expected.idoms[id] == -1 ? null : blocks.get(expected.idoms[id]);
+			assertThat(block.getIDom()).as("Immediate dominator for %s", block).isSameAs(expectedIDom);
+			assertThat(block.getDoms()).as("Dominators for %s", block).isEqualTo(expected.doms[id]);
+			assertThat(block.getDomFrontier()).as("Dominance frontier for %s", block).isEqualTo(expected.frontiers[id]);
+			for (BlockNode other : blocks) {
+				assertThat(block.isDominator(other))
+						.as("%s is dominator for %s", other, block)
+						.isEqualTo(expected.doms[id].get(other.getId()));
+			}
+		}
+	}
+
+	/**
+	 * Previous implementation from BlockProcessor: iterative data flow with dominators set for every block,
+	 * immediate dominator and dominance frontier calculated from these sets.
+	 */
+	private static final class BitSetDominators {
+		private final BitSet[] doms;
+		private final int[] idoms;
+		private final BitSet[] frontiers;
+
+		BitSetDominators(List<BlockNode> blocks, BlockNode entryBlock, List<BlockNode> exitBlocks) {
+			int nBlocks = blocks.size();
+			doms = new BitSet[nBlocks];
+			for (int i = 0; i < nBlocks; i++) {
+				doms[i] = new BitSet(nBlocks);
+				doms[i].set(0, nBlocks);
+			}
+			calcDominators(blocks, entryBlock);
+			// clear self dominance
+			for (int i = 0; i < nBlocks; i++) {
+				doms[i].clear(i);
+			}
+			idoms = calcImmediateDominators(blocks, entryBlock);
+			frontiers = new BitSet[nBlocks];
+			for (BlockNode exit : exitBlocks) {
+				frontiers[exit.getId()] = new BitSet();
+			}
+			for (BlockNode block : domSortedBlocks(blocks, entryBlock)) {
+				computeBlockDF(blocks, block);
+			}
+		}
+
+		private void calcDominators(List<BlockNode> blocks, BlockNode entryBlock) {
+			int entryId = entryBlock.getId();
+			doms[entryId].clear();
+			doms[entryId].set(entryId);
+			boolean changed;
+			do {
+				changed = false;
+				for (BlockNode block : blocks) {
+					if (block == entryBlock) {
+						continue;
+					}
+					BitSet d = doms[block.getId()];
+					BitSet prev = (BitSet) d.clone();
+					for (BlockNode pred : block.getPredecessors()) {
+						d.and(doms[pred.getId()]);
+					}
+					d.set(block.getId());
+					if (!d.equals(prev)) {
+						changed = true;
+					}
+				}
+			} while (changed);
+		}
+
+		private int[] calcImmediateDominators(List<BlockNode> blocks, BlockNode entryBlock) {
+			int[] result = new int[blocks.size()];
+			for (BlockNode block : blocks) {
+				int id = block.getId();
+				if (block == entryBlock) {
+					result[id] = -1;
+					continue;
+				}
+				List<BlockNode> preds = block.getPredecessors();
+				if (preds.size() == 1) {
+					result[id] = preds.get(0).getId();
+				} else {
+					BitSet bs = (BitSet) doms[id].clone();
+					for (int i = bs.nextSetBit(0); i >= 0; i = bs.nextSetBit(i + 1)) {
+						bs.andNot(doms[i]);
+					}
+					assertThat(bs.cardinality()).as("Immediate dominators count for %s", block).isEqualTo(1);
+					result[id] = bs.nextSetBit(0);
+				}
+			}
+			return result;
+		}
+
+		private List<BlockNode> domSortedBlocks(List<BlockNode> blocks, BlockNode entryBlock) {
+			List<BlockNode> sorted = new ArrayList<>(blocks.size());
+			List<BlockNode> stack = new ArrayList<>();
+			stack.add(entryBlock);
+			while (!stack.isEmpty()) {
+				BlockNode node = stack.remove(stack.size() - 1);
+				for (BlockNode block : blocks) {
+					if (idoms[block.getId()] == node.getId()) {
+						stack.add(block);
+					}
+				}
+				sorted.add(node);
+			}
+			Collections.reverse(sorted);
+			return sorted;
+		}
+
+		private void computeBlockDF(List<BlockNode> blocks, BlockNode block) {
+			int id = block.getId();
+			if (frontiers[id] != null) {
+				return;
+			}
+			BitSet domFrontier = new BitSet();
+			for (BlockNode s : block.getSuccessors()) {
+				if (idoms[s.getId()] != id) {
+					domFrontier.set(s.getId());
+				}
+			}
+			for (BlockNode c : blocks) {
+				if (idoms[c.getId()] == id) {
+					BitSet frontier = frontiers[c.getId()];
+					for (int p = frontier.nextSetBit(0); p >= 0; p = frontier.nextSetBit(p + 1)) {
+						if (idoms[p] != id) {
+							domFrontier.set(p);
+						}
+					}
+				}
+			}
+			frontiers[id] = domFrontier;
+		}
+	}
+}
@@ -1,6 +1,8 @@
 package jadx.core.dex.visitors.typeinference;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,8 +12,10 @@ import org.slf4j.LoggerFactory;
 
 import jadx.NotYetImplementedExtension;
 import jadx.api.JadxArgs;
+import jadx.api.plugins.input.data.AccessFlags;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.ArgType.WildcardBound;
+import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.RootNode;
 
 import static jadx.core.dex.instructions.args.ArgType.BOOLEAN;
@@ -40,12 +44,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class TypeCompareTest {
 	private static final Logger LOG = LoggerFactory.getLogger(TypeCompareTest.class);
 
+	private RootNode root;
 	private TypeCompare compare;
 
 	@BeforeEach
 	public void init() {
 		JadxArgs args = new JadxArgs();
-		RootNode root = new RootNode(args);
+		root = new RootNode(args);
 		root.loadClasses(Collections.emptyList());
 		root.initClassPath();
 		compare = new TypeCompare(root);
@@ -186,6 +191,47 @@ public class TypeCompareTest {
 		check(firstInstance, secondInstance, TypeCompareEnum.NARROW);
 	}
 
+	@Test
+	public void compareClassesCached() {
+		List<ArgType> types = Arrays.asList(OBJECT, STRING, CLASS, THROWABLE, EXCEPTION,
+				object("java.lang.CharSequence"),
+				object("java.lang.Integer"),
+				object("java.lang.Number"),
+				object("java.util.List"),
+				object("java.util.ArrayList"),
+				object("java.util.Collection"),
+				object("a.b.UnknownClass"));
+		for (ArgType first : types) {
+			for (ArgType second : types) {
+				if (first.equals(second)) {
+					continue;
+				}
+				TypeCompareEnum expected = compare.compareClasses(first, second);
+				// first call store result in cache, second call should use it
+				assertThat(compare.compareTypes(first, second))
+						.as("Compare '%s' and '%s'", first, second)
+						.isEqualTo(expected);
+				assertThat(compare.compareTypes(first, second))
+						.as("Cached compare '%s' and '%s'", first, second)
+						.isEqualTo(expected);
+			}
+		}
+		assertThat(compare.getClassesCache().getHits()).isEqualTo(types.size() * (types.size() - 1));
+	}
+
+	@Test
+	public void compareClassesCacheInvalidation() {
+		ArgType appClsType = object("a.b.AppClass");
+		ArgType charSeq = object("java.lang.CharSequence");
+		check(appClsType, charSeq, TypeCompareEnum.UNKNOWN);
+
+		ClassNode appCls = ClassNode.addSyntheticClass(root, "a.b.AppClass", AccessFlags.PUBLIC);
+		appCls.updateGenericClsData(OBJECT, Collections.singletonList(charSeq), Collections.emptyList());
+		root.getClsp().addApp(Collections.singletonList(appCls));
+
+		check(appClsType, charSeq, TypeCompareEnum.NARROW);
+	}
+
 	private void firstIsNarrow(ArgType first, ArgType second) {
 		check(first, second, TypeCompareEnum.NARROW);
 	}
@@ -0,0 +1,57 @@
+package jadx.core.utils.files;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ZipOutputSaverTest {
+
+	@Test
+	public void testSave() throws IOException {
+		File zipFile = FileUtils.createTempDir("jadx-zip-saver").resolve("out.zip").toFile();
+		try (ZipOutputSaver zip = new ZipOutputSaver(zipFile, 2)) {
+			for (int i = 0; i < 10; i++) {
+				zip.addText("a/" + i + ".txt", "text " + i);
+			}
+			zip.addText("a/0.txt", "duplicate");
+			zip.close();
+			assertThat(zip.getEntriesCount()).isEqualTo(10);
+		}
+		try (ZipFile zip = new ZipFile(zipFile)) {
+			assertThat(zip.size()).isEqualTo(10);
+			assertThat(zip.getEntry("a/5.txt")).isNotNull();
+		}
+	}
+
+	@Test
+	public void testAddAfterCloseNotBlocked() throws Exception {
+		File zipFile = FileUtils.createTempDir("jadx-zip-saver").resolve("out.zip").toFile();
+		ZipOutputSaver zip = new ZipOutputSaver(zipFile, 1);
+		zip.close();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			// without check for closed saver, second add blocks forever on full queue
+			Future<?> future = executor.submit(() -> {
+				byte[] data = "data".getBytes(StandardCharsets.UTF_8);
+				zip.add("a.txt", data);
+				zip.add("b.txt", data);
+			});
+			assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+					.hasCauseInstanceOf(JadxRuntimeException.class);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
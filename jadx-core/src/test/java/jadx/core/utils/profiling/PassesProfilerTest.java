@@ -0,0 +1,42 @@
+package jadx.core.utils.profiling;
+
+import java.io.File;
+import java.util.List;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.JavaClass;
+
+import static jadx.api.JadxDecompilerTest.getFileFromSampleDir;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+
+public class PassesProfilerTest {
+
+	@Test
+	public void testPassesProfiling() {
+		File sampleApk = getFileFromSampleDir("app-with-fake-dex.apk");
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(sampleApk);
+		args.setProfilePasses(true);
+		args.setProfileSlowMethodMs(0);
+
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			jadx.getClasses().forEach(JavaClass::getCode);
+
+			PassesProfiler profiler = jadx.getPassesProfiler();
+			assertThat(profiler, notNullValue());
+			List<PassStats> passesStats = profiler.getPassesStats();
+			assertThat(passesStats, Matchers.not(Matchers.empty()));
+			assertThat(passesStats.get(0).getCalls(), Matchers.greaterThan(0L));
+			assertThat(profiler.getSlowMethods(), Matchers.not(Matchers.empty()));
+			assertThat(profiler.buildReport(), Matchers.containsString("CodeShrinkVisitor"));
+			assertThat(profiler.getCaches(), Matchers.not(Matchers.empty()));
+			assertThat(profiler.getCaches().get(0).getHits(), Matchers.greaterThan(0L));
+		}
+	}
+}
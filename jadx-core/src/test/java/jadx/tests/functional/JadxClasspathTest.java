@@ -6,12 +6,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import jadx.api.JadxArgs;
+import jadx.core.clsp.ClspClass;
 import jadx.core.clsp.ClspGraph;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.nodes.RootNode;
 
 import static jadx.core.dex.instructions.args.ArgType.STRING;
 import static jadx.core.dex.instructions.args.ArgType.object;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -44,4 +46,38 @@ public class JadxClasspathTest {
 
 		assertTrue(ArgType.isCastNeeded(root, ArgType.OBJECT, STRING));
 	}
+
+	@Test
+	public void testHierarchy() {
+		assertThat(clsp.getSuperTypes(JAVA_LANG_EXCEPTION))
+				.startsWith(JAVA_LANG_THROWABLE)
+				.contains("java.lang.Object", "java.io.Serializable")
+				.doesNotContain(JAVA_LANG_EXCEPTION);
+		assertThat(clsp.getImplementations(JAVA_LANG_THROWABLE))
+				.contains(JAVA_LANG_EXCEPTION, "java.lang.RuntimeException", "java.lang.Error")
+				.doesNotContain(JAVA_LANG_THROWABLE, "java.lang.Object");
+		assertThat(clsp.getCommonAncestor("java.lang.RuntimeException", "java.lang.Error")).isEqualTo(JAVA_LANG_THROWABLE);
+		assertThat(clsp.getCommonAncestor("java.lang.RuntimeException", JAVA_LANG_EXCEPTION)).isEqualTo(JAVA_LANG_EXCEPTION);
+
+		assertThat(clsp.getSuperTypes("unknown.Cls")).isEmpty();
+		assertThat(clsp.getImplementations("unknown.Cls")).isEmpty();
+		assertFalse(clsp.isImplements("unknown.Cls", "java.lang.Object"));
+	}
+
+	@Test
+	public void testSharedClasspathDetails() {
+		RootNode otherRoot = new RootNode(new JadxArgs());
+		otherRoot.loadClasses(Collections.emptyList());
+		otherRoot.initClassPath();
+
+		ClspClass strCls = clsp.getClsDetails(STRING);
+		ClspClass otherStrCls = otherRoot.getClsp().getClsDetails(STRING);
+		assertThat(strCls).isNotNull();
+		assertThat(otherStrCls).isNotNull().isNotSameAs(strCls);
+
+		assertThat(strCls.getMethodsMap()).containsKey("length()I");
+		assertThat(otherStrCls.getMethodsMap()).containsKey("length()I");
+		assertThat(strCls.getMethodsMap().get("length()I").getMethodInfo().getDeclClass().getType()).isEqualTo(STRING);
+		assertThat(clsp.getClsDetails(object("java.util.List")).getTypeParameters()).hasSize(1);
+	}
 }
@@ -0,0 +1,74 @@
+package jadx.tests.integration.others;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.DecompileScheduler;
+import jadx.core.DecompileScheduler.Batch;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.tests.api.SmaliTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+
+public class TestDecompileScheduler extends SmaliTest {
+	// @formatter:off
+	/*
+		-----------------------------------------------------------
+		public class A {
+			public int test() {
+				return Shared.value() + Leaf.value();
+			}
+		}
+		-----------------------------------------------------------
+		public class B {
+			public int test() {
+				return Shared.value();
+			}
+		}
+		-----------------------------------------------------------
+		public class Shared {
+			public static int value() {
+				return 1;
+			}
+		}
+		-----------------------------------------------------------
+		public class Leaf {
+			public static int value() {
+				return 2;
+			}
+		}
+		-----------------------------------------------------------
+	*/
+	// @formatter:on
+
+	@Test
+	public void test() {
+		List<ClassNode> classes = loadFromSmaliFiles();
+		ClassNode clsA = searchCls(classes, "others.A");
+		ClassNode clsB = searchCls(classes, "others.B");
+		ClassNode shared = searchCls(classes, "others.Shared");
+		ClassNode leaf = searchCls(classes, "others.Leaf");
+
+		List<ClassNode> order = DecompileScheduler.buildOrder(classes);
+		assertThat(order).containsExactlyInAnyOrderElementsOf(classes);
+		// dependent classes before dependencies
+		assertThat(order.indexOf(clsA)).isLessThan(order.indexOf(shared)).isLessThan(order.indexOf(leaf));
+		assertThat(order.indexOf(clsB)).isLessThan(order.indexOf(shared));
+
+		List<Batch> batches = DecompileScheduler.buildBatches(classes, 10);
+		assertThat(batches).hasSize(1);
+		assertThat(batches.get(0).getSharedDeps()).containsExactly(shared);
+		assertThat(batches.get(0).getClasses()).isEqualTo(order);
+
+		List<Batch> smallBatches = DecompileScheduler.buildBatches(classes, 2);
+		assertThat(smallBatches).hasSize(2);
+		assertThat(smallBatches.get(0).getClasses()).containsExactlyInAnyOrder(clsA, clsB);
+		assertThat(smallBatches.get(0).getSharedDeps()).containsExactly(shared);
+		assertThat(smallBatches.get(1).getSharedDeps()).isEmpty();
+		List<ClassNode> allClasses = new ArrayList<>();
+		smallBatches.forEach(b -> allClasses.addAll(b.getClasses()));
+		assertThat(allClasses).isEqualTo(order);
+	}
+}
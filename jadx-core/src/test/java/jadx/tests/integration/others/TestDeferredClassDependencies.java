@@ -0,0 +1,68 @@
+package jadx.tests.integration.others;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.ProcessState;
+import jadx.tests.api.SmaliTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+
+/**
+ * Class with deferred pre-decompile stage (lazy loading with class filter)
+ * should collect own dependencies when processed as dependency of other class
+ */
+public class TestDeferredClassDependencies extends SmaliTest {
+	// @formatter:off
+	/*
+		-----------------------------------------------------------
+		package others;
+
+		public class A {
+			public int run() {
+				return B.value();
+			}
+		}
+		-----------------------------------------------------------
+		package others;
+
+		public class B {
+			public static int value() {
+				return 1;
+			}
+		}
+		-----------------------------------------------------------
+		package others;
+
+		public class C {
+			public int test(A a) {
+				return a.run();
+			}
+		}
+		-----------------------------------------------------------
+	*/
+	// @formatter:on
+
+	@Test
+	public void test() {
+		disableCompilation();
+		getArgs().setLazyClassLoading(true);
+		getArgs().setClassFilter(name -> name.equals("others.C"));
+
+		ClassNode clsC = getClassNodeFromSmaliFiles("others", "TestDeferredClassDependencies", "C");
+		ClassNode clsA = clsC.root().resolveClass("others.A");
+		ClassNode clsB = clsC.root().resolveClass("others.B");
+		assertThat(clsC.getDependencies()).containsExactly(clsA);
+
+		// 'A' processed as dependency of 'C'
+		assertThat(clsA.contains(AFlag.PRE_DECOMPILE_DEFERRED)).isFalse();
+		assertThat(clsA.getDependencies()).containsExactly(clsB);
+		assertThat(clsA.getUseIn()).containsExactly(clsC);
+		assertThat(clsB.getUseIn()).containsExactly(clsA);
+		assertThat(clsB.searchMethodByShortName("value").getUseIn()).hasSize(1);
+
+		assertThat(clsA).code().containsOne("return B.value();");
+		assertThat(clsB.getState()).isEqualTo(ProcessState.PROCESS_COMPLETE);
+	}
+}
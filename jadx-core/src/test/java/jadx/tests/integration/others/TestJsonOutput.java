@@ -11,6 +11,7 @@ import jadx.tests.api.IntegrationTest;
 import static jadx.tests.api.utils.JadxMatchers.containsOne;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 
 public class TestJsonOutput extends IntegrationTest {
 
@@ -59,4 +60,17 @@ public class TestJsonOutput extends IntegrationTest {
 		assertThat(code, containsString("\"offset\": \"0x"));
 		assertThat(code, containsOne("public static class Inner implements java.lang.Runnable"));
 	}
+
+	@Test
+	public void testJsonLines() {
+		disableCompilation();
+		args.setOutputFormat(JadxArgs.OutputFormatEnum.JSON_LINES);
+
+		ClassNode cls = getClassNode(TestCls.class);
+		String code = cls.getCode().toString();
+
+		assertThat(code, not(containsString("\n")));
+		assertThat(code, containsString("\"offset\":\"0x"));
+		assertThat(code, containsOne("public static class Inner implements Runnable"));
+	}
 }
@@ -0,0 +1,47 @@
+package jadx.tests.integration.others;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.ProcessState;
+import jadx.tests.api.IntegrationTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+
+public class TestRegenerateCode extends IntegrationTest {
+
+	public static class TestCls {
+		public String test(List<String> list) {
+			StringBuilder sb = new StringBuilder();
+			list.forEach(s -> sb.append(s.trim()));
+			try {
+				return sb.toString();
+			} catch (Exception e) {
+				return e.getMessage();
+			}
+		}
+	}
+
+	@Test
+	public void test() {
+		getArgs().setProcessedClassesCacheSizeMb(10);
+		ClassNode cls = getClassNode(TestCls.class);
+		String code = cls.getCode().getCodeStr();
+		assertThat(cls.root().getProcessedClasses().contains(cls)).isTrue();
+		assertThat(cls.root().getProcessedClasses().getSize()).isPositive();
+		assertThat(cls.getState()).isEqualTo(ProcessState.PROCESS_COMPLETE);
+
+		getArgs().setUseImports(false);
+		assertThat(cls.regenerateCode())
+				.code()
+				.containsOnlyOnce("public java.lang.String test(java.util.List<java.lang.String> list) {")
+				.containsOnlyOnce("sb.append(s.trim());")
+				.doesNotContain("import java.util.List;");
+		assertThat(cls.getState()).isEqualTo(ProcessState.PROCESS_COMPLETE);
+
+		getArgs().setUseImports(true);
+		assertThat(cls.regenerateCode().getCodeStr()).isEqualTo(code);
+	}
+}
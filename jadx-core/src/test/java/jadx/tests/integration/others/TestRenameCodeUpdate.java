@@ -0,0 +1,57 @@
+package jadx.tests.integration.others;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.tests.api.IntegrationTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+
+public class TestRenameCodeUpdate extends IntegrationTest {
+
+	public static class TestCls {
+		private int field;
+
+		public int getField() {
+			return field;
+		}
+
+		public int test() {
+			return getField() + this.field;
+		}
+	}
+
+	@Test
+	public void test() {
+		ClassNode cls = getClassNode(TestCls.class);
+
+		// first rename add 'renamed from' comments, code can't be patched
+		rename(cls, "getValue", "value");
+		assertThat(cls.updateCodeAfterRename()).isFalse();
+		cls.reloadCode();
+
+		rename(cls, "getNewValue", "newValue");
+		assertThat(cls.updateCodeAfterRename()).isTrue();
+		String code = cls.getCode().getCodeStr();
+		int mthDefPos = getMethod(cls).getDefPosition();
+		assertThat(code)
+				.containsOnlyOnce("private int newValue;")
+				.containsOnlyOnce("public int getNewValue() {")
+				.containsOnlyOnce("return getNewValue() + this.newValue;")
+				.doesNotContain("getValue");
+		assertThat(code.substring(mthDefPos)).startsWith("getNewValue()");
+
+		assertThat(cls.reloadCode().getCodeStr()).isEqualTo(code);
+		assertThat(getMethod(cls).getDefPosition()).isEqualTo(mthDefPos);
+	}
+
+	private static void rename(ClassNode cls, String mthAlias, String fldAlias) {
+		getMethod(cls).getMethodInfo().setAlias(mthAlias);
+		cls.searchFieldByName("field").getFieldInfo().setAlias(fldAlias);
+	}
+
+	private static MethodNode getMethod(ClassNode cls) {
+		return cls.searchMethodByShortName("getField");
+	}
+}
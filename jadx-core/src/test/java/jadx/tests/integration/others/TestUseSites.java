@@ -0,0 +1,94 @@
+package jadx.tests.integration.others;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JavaClass;
+import jadx.api.JavaField;
+import jadx.api.JavaMethod;
+import jadx.api.JavaUseSite;
+import jadx.api.data.IJavaNodeRef;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.visitors.usage.UsageIndex;
+import jadx.tests.api.IntegrationTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class TestUseSites extends IntegrationTest {
+
+	public static class TestCls {
+		private int field;
+
+		public int getField() {
+			return field;
+		}
+
+		public void setField(int v) {
+			this.field = v;
+		}
+
+		public int test() {
+			return getField() + getField();
+		}
+	}
+
+	@Test
+	public void test() {
+		disableCompilation();
+		ClassNode cls = getClassNode(TestCls.class);
+		UsageIndex usageIndex = cls.root().getUsageIndex();
+		assertThat(usageIndex, notNullValue());
+
+		FieldNode fld = cls.searchFieldByName("field");
+		assertThat(usageIndex.getUsesCount(fld), is(2));
+		usageIndex.visitUseSites(fld, (useNode, offset) -> {
+			assertThat(useNode instanceof MethodNode, is(true));
+			assertThat(offset, greaterThanOrEqualTo(0));
+		});
+
+		JavaClass javaCls = jadxDecompiler.searchJavaClassByOrigFullName(cls.getClassInfo().getFullName());
+		assertThat(javaCls, notNullValue());
+		JavaMethod getter = javaCls.getMethods().stream()
+				.filter(m -> m.getName().equals("getField"))
+				.findFirst().orElseThrow(IllegalStateException::new);
+		List<JavaUseSite> useSites = getter.getUseSites();
+		assertThat(useSites, hasSize(2));
+		JavaUseSite first = useSites.get(0);
+		JavaUseSite second = useSites.get(1);
+		assertThat(first.getOffset(), not(second.getOffset()));
+		assertThat(first.getUseNodeRef().getType(), is(IJavaNodeRef.RefType.METHOD));
+		assertThat(first.getUseNodeRef().getShortId(), is("test()I"));
+		assertThat(first.getTopClass(), is(javaCls));
+		assertThat(first.getUseNode().getName(), is("test"));
+
+		JavaField javaFld = javaCls.getFields().get(0);
+		assertThat(javaFld.getUseSites(), hasSize(2));
+	}
+
+	@Test
+	public void testAfterReload() {
+		disableCompilation();
+		ClassNode cls = getClassNode(TestCls.class);
+		UsageIndex usageIndex = cls.root().getUsageIndex();
+		FieldNode oldFld = cls.searchFieldByName("field");
+
+		cls.deepUnload();
+
+		FieldNode fld = cls.searchFieldByName("field");
+		assertThat(fld, not(sameInstance(oldFld)));
+		assertThat(usageIndex.getUsesCount(fld), is(2));
+		MethodNode getter = cls.searchMethodByShortName("getField");
+		MethodNode testMth = cls.searchMethodByShortName("test");
+		assertThat(usageIndex.getUsesCount(getter), is(2));
+		usageIndex.visitUseSites(getter, (useNode, offset) -> assertThat(useNode, sameInstance(testMth)));
+	}
+}
@@ -18,8 +18,14 @@ import org.slf4j.LoggerFactory;
 import jadx.api.JadxArgs;
 import jadx.api.JadxDecompiler;
 import jadx.api.JavaClass;
+import jadx.api.JavaField;
+import jadx.api.JavaMethod;
+import jadx.api.JavaNode;
 import jadx.api.JavaPackage;
 import jadx.api.ResourceFile;
+import jadx.api.data.IJavaNodeRef;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.ProcessState;
 import jadx.gui.settings.JadxProject;
 import jadx.gui.settings.JadxSettings;
 
@@ -70,7 +76,7 @@ public class JadxWrapper {
 				decompiler.getArgs().setRootDir(dir);
 				ThreadPoolExecutor ex = (ThreadPoolExecutor) decompiler.getSaveExecutor();
 				ex.shutdown();
-				while (ex.isTerminating()) {
+				while (!ex.isTerminated()) {
 					long total = ex.getTaskCount();
 					long done = ex.getCompletedTaskCount();
 					progressMonitor.setProgress((int) (done * 100.0 / total));
@@ -185,4 +191,51 @@ public class JadxWrapper {
 				.findFirst()
 				.orElse(null);
 	}
+
+	/**
+	 * Resolve node by reference with original names.
+	 * Inner classes, methods and fields can be resolved only after top class decompilation,
+	 * so if {@code allowDecompile} is false and top class not yet decompiled, top class returned instead.
+	 */
+	public @Nullable JavaNode resolveNodeRef(IJavaNodeRef nodeRef, boolean allowDecompile) {
+		ClassNode cls = decompiler.getRoot().getClassSearchIndex().searchByFullName(nodeRef.getDeclaringClass());
+		if (cls == null) {
+			return null;
+		}
+		ClassNode topCls = cls.getTopParentClass();
+		boolean topClsRef = cls == topCls && nodeRef.getType() == IJavaNodeRef.RefType.CLASS;
+		if (!allowDecompile && !topClsRef && !isDecompiled(topCls)) {
+			return decompiler.searchJavaClassByOrigFullName(topCls.getClassInfo().getFullName());
+		}
+		JavaClass javaClass = decompiler.searchJavaClassByOrigFullName(nodeRef.getDeclaringClass());
+		if (javaClass == null) {
+			return null;
+		}
+		switch (nodeRef.getType()) {
+			case CLASS:
+				return javaClass;
+
+			case FIELD:
+				for (JavaField field : javaClass.getFields()) {
+					if (field.getFieldNode().getFieldInfo().getShortId().equals(nodeRef.getShortId())) {
+						return field;
+					}
+				}
+				break;
+
+			case METHOD:
+				for (JavaMethod mth : javaClass.getMethods()) {
+					if (mth.getMethodNode().getMethodInfo().getShortId().equals(nodeRef.getShortId())) {
+						return mth;
+					}
+				}
+				break;
+		}
+		return null;
+	}
+
+	private static boolean isDecompiled(ClassNode topCls) {
+		ProcessState state = topCls.getState();
+		return state == ProcessState.PROCESS_COMPLETE || state == ProcessState.GENERATED_AND_UNLOADED;
+	}
 }
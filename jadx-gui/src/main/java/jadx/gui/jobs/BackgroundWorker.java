@@ -11,6 +11,7 @@ import org.slf4j.LoggerFactory;
 
 import jadx.gui.ui.ProgressPanel;
 import jadx.gui.utils.CacheObject;
+import jadx.gui.utils.IndexCache;
 import jadx.gui.utils.NLS;
 import jadx.gui.utils.UiUtils;
 import jadx.gui.utils.search.TextSearchIndex;
@@ -50,13 +51,25 @@ public class BackgroundWorker extends SwingWorker<Void, Void> {
 	protected Void doInBackground() {
 		try {
 			System.gc();
-			LOG.debug("Memory usage: Before decompile: {}", UiUtils.memoryInfo());
-			runJob(cache.getDecompileJob());
-			LOG.debug("Memory usage: After decompile: {}", UiUtils.memoryInfo());
+			IndexCache indexCache = cache.getIndexCache();
+			if (indexCache != null && indexCache.load(cache)) {
+				// search available right after index load, classes decompiled in background
+				runJob(cache.getIndexJob());
+				LOG.debug("Memory usage: After index load: {}", UiUtils.memoryInfo());
+				runJob(cache.getDecompileJob());
+				LOG.debug("Memory usage: After decompile: {}", UiUtils.memoryInfo());
+			} else {
+				LOG.debug("Memory usage: Before decompile: {}", UiUtils.memoryInfo());
+				runJob(cache.getDecompileJob());
+				LOG.debug("Memory usage: After decompile: {}", UiUtils.memoryInfo());
 
-			LOG.debug("Memory usage: Before index: {}", UiUtils.memoryInfo());
-			runJob(cache.getIndexJob());
-			LOG.debug("Memory usage: After index: {}", UiUtils.memoryInfo());
+				LOG.debug("Memory usage: Before index: {}", UiUtils.memoryInfo());
+				runJob(cache.getIndexJob());
+				LOG.debug("Memory usage: After index: {}", UiUtils.memoryInfo());
+				if (indexCache != null && !isCancelled()) {
+					indexCache.save(cache);
+				}
+			}
 
 			System.gc();
 			LOG.debug("Memory usage: After gc: {}", UiUtils.memoryInfo());
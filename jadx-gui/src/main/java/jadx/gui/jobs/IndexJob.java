@@ -12,8 +12,8 @@ import jadx.gui.JadxWrapper;
 import jadx.gui.utils.CacheObject;
 import jadx.gui.utils.CodeLinesInfo;
 import jadx.gui.utils.CodeUsageInfo;
+import jadx.gui.utils.IndexCache;
 import jadx.gui.utils.NLS;
-import jadx.gui.utils.UiUtils;
 import jadx.gui.utils.search.StringRef;
 import jadx.gui.utils.search.TextSearchIndex;
 
@@ -32,6 +32,11 @@ public class IndexJob extends BackgroundJob {
 	protected void runJob() {
 		TextSearchIndex index = cache.getTextIndex();
 		addTask(index::indexResource);
+		IndexCache indexCache = cache.getIndexCache();
+		if (indexCache != null && indexCache.isLoaded()) {
+			// classes index loaded from file
+			return;
+		}
 		for (final JavaClass cls : wrapper.getIncludedClasses()) {
 			addTask(() -> indexCls(cache, cls));
 		}
@@ -51,11 +56,7 @@ public class IndexJob extends BackgroundJob {
 			List<StringRef> lines = splitLines(cls);
 
 			usageInfo.processClass(cls, linesInfo, lines);
-			if (UiUtils.isFreeMemoryAvailable()) {
-				index.indexCode(cls, linesInfo, lines);
-			} else {
-				index.classCodeIndexSkipped(cls);
-			}
+			index.indexCode(cls, linesInfo, lines);
 		} catch (Exception e) {
 			LOG.error("Index error in class: {}", cls.getFullName(), e);
 		}
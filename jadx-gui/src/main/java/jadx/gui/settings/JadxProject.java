@@ -8,6 +8,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.CRC32;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -125,6 +126,15 @@ public class JadxProject {
 		changed();
 	}
 
+	/**
+	 * Checksum of code data (renames and comments), used to check if saved index is still valid
+	 */
+	public String getCodeDataChecksum() {
+		CRC32 crc = new CRC32();
+		crc.update(GSON.toJson(codeData).getBytes(StandardCharsets.UTF_8));
+		return Long.toHexString(crc.getValue());
+	}
+
 	private void changed() {
 		if (settings != null && settings.isAutoSaveProject()) {
 			save();
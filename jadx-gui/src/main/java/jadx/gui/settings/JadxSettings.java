@@ -23,6 +23,7 @@ import org.slf4j.LoggerFactory;
 import com.beust.jcommander.Parameter;
 
 import jadx.api.JadxArgs;
+import jadx.api.impl.BoundedCodeCache;
 import jadx.cli.JadxCLIArgs;
 import jadx.cli.LogHelper;
 import jadx.core.utils.exceptions.JadxRuntimeException;
@@ -42,8 +43,10 @@ public class JadxSettings extends JadxCLIArgs {
 	private static final Font DEFAULT_FONT = new RSyntaxTextArea().getFont();
 
 	static final Set<String> SKIP_FIELDS = new HashSet<>(Arrays.asList(
-			"files", "input", "outDir", "outDirSrc", "outDirRes", "outputFormat",
-			"deobfuscationMapFile",
+			"files", "input", "outDir", "outDirSrc", "outDirRes", "outputFormat", "outputZip",
+			"deobfuscationMapFile", "codeCacheDir", "codeCacheSizeMb", "pluginOptions",
+			"profile", "profileJson", "profileSlowMethodMs",
+			"lazyClassLoading",
 			"verbose", "quiet", "logLevel",
 			"printVersion", "printHelp"));
 
@@ -71,6 +74,11 @@ public class JadxSettings extends JadxCLIArgs {
 	private boolean keepCommonDialogOpen = false;
 	private boolean smaliAreaShowBytecode = false;
 
+	/**
+	 * Memory limit for decompiled code cache in MB, 0 - use quarter of max heap size
+	 */
+	private int codeCacheSizeLimit = 0;
+
 	/**
 	 * UI setting: the width of the tree showing the classes, resources, ...
 	 */
@@ -108,6 +116,12 @@ public class JadxSettings extends JadxCLIArgs {
 		if (deobfuscationMaxLength < 0) {
 			deobfuscationMaxLength = 0;
 		}
+		if (codeCacheSizeLimit < 0) {
+			codeCacheSizeLimit = 0;
+		}
+		if (processedClassesCacheSizeMb < 0) {
+			processedClassesCacheSizeMb = 0;
+		}
 		if (settingsVersion != CURRENT_SETTINGS_VERSION) {
 			upgradeSettings(settingsVersion);
 		}
@@ -236,6 +250,25 @@ public class JadxSettings extends JadxCLIArgs {
 		this.excludedPackages = excludedPackages;
 	}
 
+	public int getCodeCacheSizeLimit() {
+		return codeCacheSizeLimit;
+	}
+
+	public void setCodeCacheSizeLimit(int codeCacheSizeLimit) {
+		this.codeCacheSizeLimit = codeCacheSizeLimit;
+	}
+
+	public void setProcessedClassesCacheSizeMb(int processedClassesCacheSizeMb) {
+		this.processedClassesCacheSizeMb = processedClassesCacheSizeMb;
+	}
+
+	public long getCodeCacheMaxBytes() {
+		if (codeCacheSizeLimit > 0) {
+			return codeCacheSizeLimit * 1024L * 1024L;
+		}
+		return Runtime.getRuntime().maxMemory() / 4;
+	}
+
 	public void setThreadsCount(int threadsCount) {
 		this.threadsCount = threadsCount;
 	}
@@ -531,6 +564,13 @@ public class JadxSettings extends JadxCLIArgs {
 		sync();
 	}
 
+	@Override
+	public JadxArgs toJadxArgs() {
+		JadxArgs args = super.toJadxArgs();
+		args.setCodeCache(new BoundedCodeCache(getCodeCacheMaxBytes()));
+		return args;
+	}
+
 	@Override
 	protected JadxCLIArgs newInstance() {
 		return new JadxSettings();
@@ -389,6 +389,22 @@ public class JadxSettingsWindow extends JDialog {
 			needReload();
 		});
 
+		SpinnerNumberModel codeCacheModel = new SpinnerNumberModel(
+				settings.getCodeCacheSizeLimit(), 0, Integer.MAX_VALUE, 64);
+		JSpinner codeCacheSizeLimit = new JSpinner(codeCacheModel);
+		codeCacheSizeLimit.addChangeListener(e -> {
+			settings.setCodeCacheSizeLimit((Integer) codeCacheSizeLimit.getValue());
+			needReload();
+		});
+
+		SpinnerNumberModel processedCacheModel = new SpinnerNumberModel(
+				settings.getProcessedClassesCacheSizeMb(), 0, Integer.MAX_VALUE, 64);
+		JSpinner processedClassesCacheSize = new JSpinner(processedCacheModel);
+		processedClassesCacheSize.addChangeListener(e -> {
+			settings.setProcessedClassesCacheSizeMb((Integer) processedClassesCacheSize.getValue());
+			needReload();
+		});
+
 		JButton editExcludedPackages = new JButton(NLS.str("preferences.excludedPackages.button"));
 		editExcludedPackages.addActionListener(event -> {
 
@@ -451,6 +467,10 @@ public class JadxSettingsWindow extends JDialog {
 
 		SettingsGroup other = new SettingsGroup(NLS.str("preferences.decompile"));
 		other.addRow(NLS.str("preferences.threads"), threadsCount);
+		other.addRow(NLS.str("preferences.codeCacheSizeLimit"), NLS.str("preferences.codeCacheSizeLimit.tooltip"),
+				codeCacheSizeLimit);
+		other.addRow(NLS.str("preferences.processedClassesCacheSize"), NLS.str("preferences.processedClassesCacheSize.tooltip"),
+				processedClassesCacheSize);
 		other.addRow(NLS.str("preferences.excludedPackages"), NLS.str("preferences.excludedPackages.tooltip"),
 				editExcludedPackages);
 		other.addRow(NLS.str("preferences.start_jobs"), autoStartJobs);
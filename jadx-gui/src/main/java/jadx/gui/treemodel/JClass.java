@@ -72,6 +72,13 @@ public class JClass extends JLoadableNode {
 		cls.unload();
 	}
 
+	public synchronized void reloadAfterRename() {
+		cls.reloadAfterRename();
+		loaded = true;
+		update();
+		cls.unload();
+	}
+
 	public synchronized void update() {
 		removeAllChildren();
 		if (!loaded) {
@@ -53,6 +53,7 @@ import jadx.gui.treemodel.JNode;
 import jadx.gui.treemodel.JResSearchNode;
 import jadx.gui.ui.codearea.AbstractCodeArea;
 import jadx.gui.utils.CacheObject;
+import jadx.gui.utils.IndexCache;
 import jadx.gui.utils.JumpPosition;
 import jadx.gui.utils.NLS;
 import jadx.gui.utils.UiUtils;
@@ -536,9 +537,13 @@ public abstract class CommonSearchDialog extends JDialog {
 				}
 				backgroundWorker.exec();
 
-				DecompileJob decompileJob = cache.getDecompileJob();
-				progressPane.changeLabel(this, decompileJob.getInfoString());
-				decompileJob.processAndWait();
+				// decompilation not needed if saved index loaded
+				IndexCache indexCache = cache.getIndexCache();
+				if (indexCache == null || !indexCache.isLoaded()) {
+					DecompileJob decompileJob = cache.getDecompileJob();
+					progressPane.changeLabel(this, decompileJob.getInfoString());
+					decompileJob.processAndWait();
+				}
 
 				BackgroundJob indexJob = cache.getIndexJob();
 				progressPane.changeLabel(this, indexJob.getInfoString());
@@ -241,9 +241,21 @@ public class RenameDialog extends JDialog {
 		}
 	}
 
+	/**
+	 * Methods and fields renames can be applied to already generated code,
+	 * other renames change imports or variable names and require full class reload
+	 */
+	private boolean isRenameOnly() {
+		return node instanceof JMethod || node instanceof JField;
+	}
+
 	private void refreshJClass(JClass cls) {
 		try {
-			cls.reload();
+			if (isRenameOnly()) {
+				cls.reloadAfterRename();
+			} else {
+				cls.reload();
+			}
 			IndexJob.refreshIndex(cache, cls.getCls());
 		} catch (Exception e) {
 			LOG.error("Failed to reload class: {}", cls.getFullName(), e);
@@ -256,7 +268,7 @@ public class RenameDialog extends JDialog {
 			if (updatedClasses.remove(rootClass)) {
 				ClassCodeContentPanel contentPanel = (ClassCodeContentPanel) entry.getValue();
 				CodeArea codeArea = (CodeArea) contentPanel.getJavaCodePanel().getCodeArea();
-				codeArea.refreshClass();
+				codeArea.refreshClass(isRenameOnly());
 			}
 		}
 	}
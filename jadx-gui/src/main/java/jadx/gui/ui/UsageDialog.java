@@ -1,9 +1,16 @@
 package jadx.gui.ui;
 
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 import javax.swing.*;
 
+import jadx.api.JavaNode;
+import jadx.api.JavaUseSite;
+import jadx.gui.JadxWrapper;
 import jadx.gui.treemodel.JNode;
 import jadx.gui.utils.CodeUsageInfo;
 import jadx.gui.utils.NLS;
@@ -25,9 +32,34 @@ public class UsageDialog extends CommonSearchDialog {
 
 	@Override
 	protected void openInit() {
+		if (!cache.getIndexJob().isComplete()) {
+			// show usages found before decompilation until code index is ready
+			showUseSites();
+		}
 		prepare();
 	}
 
+	private void showUseSites() {
+		JavaNode javaNode = node.getJavaNode();
+		if (javaNode == null) {
+			return;
+		}
+		JadxWrapper wrapper = mainWindow.getWrapper();
+		Set<JavaNode> useNodes = new LinkedHashSet<>();
+		for (JavaUseSite useSite : javaNode.getUseSites()) {
+			JavaNode useNode = wrapper.resolveNodeRef(useSite.getUseNodeRef(), false);
+			if (useNode != null) {
+				useNodes.add(useNode);
+			}
+		}
+		List<JNode> list = new ArrayList<>(useNodes.size());
+		for (JavaNode useNode : useNodes) {
+			list.add(cache.getNodeCache().makeFrom(useNode));
+		}
+		resultsModel.addAll(list);
+		super.performSearch();
+	}
+
 	@Override
 	protected void loadFinished() {
 		resultsTable.setEnabled(true);
@@ -36,7 +68,7 @@ public class UsageDialog extends CommonSearchDialog {
 
 	@Override
 	protected void loadStart() {
-		resultsTable.setEnabled(false);
+		resultsTable.setEnabled(resultsModel.getRowCount() != 0);
 	}
 
 	@Override
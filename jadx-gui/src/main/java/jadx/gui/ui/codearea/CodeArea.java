@@ -215,13 +215,24 @@ public final class CodeArea extends AbstractCodeArea {
 	}
 
 	public void refreshClass() {
+		refreshClass(false);
+	}
+
+	/**
+	 * @param renameOnly only methods or fields renamed, allow to update code without full class reload
+	 */
+	public void refreshClass(boolean renameOnly) {
 		if (node instanceof JClass) {
 			JClass cls = (JClass) node;
 			try {
 				CaretPositionFix caretFix = new CaretPositionFix(this);
 				caretFix.save();
 
-				cls.reload();
+				if (renameOnly) {
+					cls.reloadAfterRename();
+				} else {
+					cls.reload();
+				}
 				IndexJob.refreshIndex(getMainWindow().getCacheObject(), cls.getCls());
 
 				ClassCodeContentPanel codeContentPanel = (ClassCodeContentPanel) this.contentPanel;
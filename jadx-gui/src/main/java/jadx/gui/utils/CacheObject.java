@@ -18,6 +18,7 @@ public class CacheObject {
 
 	private DecompileJob decompileJob;
 	private IndexJob indexJob;
+	private IndexCache indexCache;
 
 	private TextSearchIndex textIndex;
 	private CodeUsageInfo usageInfo;
@@ -38,6 +39,10 @@ public class CacheObject {
 		settings = null;
 		decompileJob = null;
 		indexJob = null;
+		indexCache = null;
+		if (textIndex != null) {
+			textIndex.close();
+		}
 		textIndex = null;
 		lastSearch = null;
 		jNodeCache = new JNodeCache();
@@ -95,6 +100,15 @@ public class CacheObject {
 		this.indexJob = indexJob;
 	}
 
+	@Nullable
+	public IndexCache getIndexCache() {
+		return indexCache;
+	}
+
+	public void setIndexCache(IndexCache indexCache) {
+		this.indexCache = indexCache;
+	}
+
 	public JNodeCache getNodeCache() {
 		return jNodeCache;
 	}
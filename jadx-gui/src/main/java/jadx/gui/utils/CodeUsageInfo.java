@@ -1,9 +1,15 @@
 package jadx.gui.utils;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
@@ -11,10 +17,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jadx.api.CodePosition;
+import jadx.api.ICodeWriter;
 import jadx.api.JavaClass;
 import jadx.api.JavaNode;
+import jadx.api.JavaVariable;
+import jadx.api.data.impl.JadxNodeRef;
+import jadx.gui.JadxWrapper;
 import jadx.gui.treemodel.CodeNode;
 import jadx.gui.treemodel.JNode;
+import jadx.gui.utils.search.CachedNodeRef;
 import jadx.gui.utils.search.StringRef;
 
 public class CodeUsageInfo {
@@ -36,6 +47,25 @@ public class CodeUsageInfo {
 		}
 	}
 
+	/**
+	 * Usage from loaded index
+	 */
+	private static final class CachedUsage {
+		private final String clsName;
+		private final CachedNodeRef lineNode;
+		private final StringRef line;
+		private final int lineNum;
+		private final int pos;
+
+		private CachedUsage(String clsName, CachedNodeRef lineNode, StringRef line, int lineNum, int pos) {
+			this.clsName = clsName;
+			this.lineNode = lineNode;
+			this.line = line;
+			this.lineNum = lineNum;
+			this.pos = pos;
+		}
+	}
+
 	private final JNodeCache nodeCache;
 
 	public CodeUsageInfo(JNodeCache nodeCache) {
@@ -44,13 +74,27 @@ public class CodeUsageInfo {
 
 	private final Map<JNode, UsageInfo> usageMap = new ConcurrentHashMap<>();
 
+	/**
+	 * Usages loaded from saved index, variables usage not saved and collected on request.
+	 */
+	private final Map<JadxNodeRef, List<CachedUsage>> cachedUsageMap = new ConcurrentHashMap<>();
+	private final Set<JavaClass> varsProcessed = ConcurrentHashMap.newKeySet();
+	private JadxWrapper wrapper;
+
 	public void processClass(JavaClass javaClass, CodeLinesInfo linesInfo, List<StringRef> lines) {
+		processClass(javaClass, linesInfo, lines, node -> true);
+		varsProcessed.add(javaClass);
+	}
+
+	private void processClass(JavaClass javaClass, CodeLinesInfo linesInfo, List<StringRef> lines, Predicate<JavaNode> filter) {
 		try {
 			Map<CodePosition, JavaNode> usage = javaClass.getUsageMap();
 			for (Map.Entry<CodePosition, JavaNode> entry : usage.entrySet()) {
 				CodePosition codePosition = entry.getKey();
 				JavaNode javaNode = entry.getValue();
-				addUsage(nodeCache.makeFrom(javaNode), javaClass, linesInfo, codePosition, lines);
+				if (filter.test(javaNode)) {
+					addUsage(nodeCache.makeFrom(javaNode), javaClass, linesInfo, codePosition, lines);
+				}
 			}
 		} catch (Exception e) {
 			LOG.error("Code usage process failed for class: {}", javaClass, e);
@@ -69,6 +113,17 @@ public class CodeUsageInfo {
 	}
 
 	public List<CodeNode> getUsageList(JNode node) {
+		if (wrapper != null) {
+			JavaNode javaNode = node.getJavaNode();
+			if (javaNode instanceof JavaVariable) {
+				processVariables(javaNode.getTopParentClass());
+			} else {
+				List<CachedUsage> cachedList = cachedUsageMap.get(JadxNodeRef.forJavaNode(javaNode));
+				if (cachedList != null) {
+					return mergeCachedUsage(node, cachedList);
+				}
+			}
+		}
 		UsageInfo usageInfo = usageMap.get(node);
 		if (usageInfo == null) {
 			return Collections.emptyList();
@@ -76,6 +131,34 @@ public class CodeUsageInfo {
 		return usageInfo.getUsageList();
 	}
 
+	private List<CodeNode> mergeCachedUsage(JNode node, List<CachedUsage> cachedList) {
+		List<CodeNode> list = new ArrayList<>();
+		UsageInfo usageInfo = usageMap.get(node);
+		if (usageInfo != null) {
+			list.addAll(usageInfo.getUsageList());
+		}
+		for (CachedUsage usage : cachedList) {
+			// don't decompile all classes from usage list, top class will be shown for not yet loaded nodes
+			JavaNode lineNode = usage.lineNode.resolve(wrapper, false);
+			if (lineNode != null) {
+				list.add(new CodeNode(nodeCache.makeFrom(lineNode), usage.line, usage.lineNum, usage.pos));
+			}
+		}
+		return list;
+	}
+
+	private void processVariables(JavaClass cls) {
+		if (!varsProcessed.add(cls)) {
+			return;
+		}
+		List<StringRef> lines = StringRef.split(cls.getCode(), ICodeWriter.NL);
+		int size = lines.size();
+		for (int i = 0; i < size; i++) {
+			lines.set(i, lines.get(i).trim());
+		}
+		processClass(cls, new CodeLinesInfo(cls), lines, node -> node instanceof JavaVariable);
+	}
+
 	public void remove(JavaClass cls) {
 		usageMap.entrySet().removeIf(e -> {
 			if (e.getKey().getJavaNode().getTopParentClass().equals(cls)) {
@@ -84,5 +167,91 @@ public class CodeUsageInfo {
 			e.getValue().removeUsageIf(node -> node.getJavaNode().getTopParentClass().equals(cls));
 			return false;
 		});
+		varsProcessed.remove(cls);
+		if (!cachedUsageMap.isEmpty()) {
+			String clsName = cls.getClassNode().getClassInfo().getFullName();
+			cachedUsageMap.entrySet().removeIf(e -> {
+				if (CachedNodeRef.isInClass(e.getKey(), clsName)) {
+					return true;
+				}
+				e.getValue().removeIf(usage -> usage.clsName.equals(clsName));
+				return false;
+			});
+		}
+	}
+
+	/**
+	 * Save usage for classes, methods and fields
+	 */
+	public void save(DataOutputStream out) throws IOException {
+		List<Map.Entry<JNode, UsageInfo>> entries = new ArrayList<>();
+		for (Map.Entry<JNode, UsageInfo> entry : usageMap.entrySet()) {
+			if (JadxNodeRef.forJavaNode(entry.getKey().getJavaNode()) != null) {
+				entries.add(entry);
+			}
+		}
+		List<Map.Entry<JadxNodeRef, List<CachedUsage>>> cachedEntries = new ArrayList<>(cachedUsageMap.entrySet());
+		out.writeInt(entries.size() + cachedEntries.size());
+		for (Map.Entry<JNode, UsageInfo> entry : entries) {
+			CachedNodeRef.write(out, entry.getKey().getJavaNode());
+			List<CodeNode> usageList = new ArrayList<>(entry.getValue().getUsageList());
+			out.writeInt(usageList.size());
+			for (CodeNode codeNode : usageList) {
+				JavaNode lineNode = codeNode.getJavaNode();
+				out.writeUTF(lineNode.getTopParentClass().getClassNode().getClassInfo().getFullName());
+				CachedNodeRef.write(out, lineNode);
+				writeString(out, codeNode.getLineStr().toString());
+				out.writeInt(codeNode.getLine());
+				out.writeInt(codeNode.getPos());
+			}
+		}
+		for (Map.Entry<JadxNodeRef, List<CachedUsage>> entry : cachedEntries) {
+			CachedNodeRef.write(out, entry.getKey(), 0);
+			List<CachedUsage> usageList = entry.getValue();
+			out.writeInt(usageList.size());
+			for (CachedUsage usage : usageList) {
+				out.writeUTF(usage.clsName);
+				usage.lineNode.write(out);
+				writeString(out, usage.line.toString());
+				out.writeInt(usage.lineNum);
+				out.writeInt(usage.pos);
+			}
+		}
+	}
+
+	/**
+	 * Load usage saved by {@link #save(DataOutputStream)}, should be called before classes processing
+	 */
+	public void load(DataInputStream in, JadxWrapper wrapper) throws IOException {
+		this.wrapper = wrapper;
+		Map<String, String> clsNames = new HashMap<>();
+		Map<JadxNodeRef, CachedNodeRef> lineNodes = new HashMap<>();
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			JadxNodeRef target = CachedNodeRef.read(in).getRef();
+			int usageCount = in.readInt();
+			List<CachedUsage> list = cachedUsageMap.computeIfAbsent(target, k -> new ArrayList<>(usageCount));
+			for (int u = 0; u < usageCount; u++) {
+				String clsName = clsNames.computeIfAbsent(in.readUTF(), k -> k);
+				CachedNodeRef readNode = CachedNodeRef.read(in);
+				CachedNodeRef lineNode = lineNodes.computeIfAbsent(readNode.getRef(), k -> readNode);
+				StringRef line = StringRef.fromStr(readString(in));
+				int lineNum = in.readInt();
+				int pos = in.readInt();
+				list.add(new CachedUsage(clsName, lineNode, line, lineNum, pos));
+			}
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String str) throws IOException {
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
 	}
 }
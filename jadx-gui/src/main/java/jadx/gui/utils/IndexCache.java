@@ -0,0 +1,203 @@
+package jadx.gui.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+import jadx.gui.JadxWrapper;
+import jadx.gui.settings.JadxProject;
+import jadx.gui.ui.MainWindow;
+import jadx.gui.utils.search.IndexFileInput;
+import jadx.gui.utils.search.TextSearchIndex;
+
+/**
+ * Saved search and usage indexes, allow to skip decompilation and indexing of all classes on project reopen.
+ * <br>
+ * Index file stored next to project file and used only if jadx version, options affecting code generation,
+ * project code data (renames and comments) and input files content are the same as on save.
+ * Nodes from loaded index resolved only on request (see {@link jadx.gui.utils.search.CachedNodeRef}),
+ * code lines and trigrams data mapped from index file without copy (see {@link IndexFileInput}).
+ */
+public class IndexCache {
+	private static final Logger LOG = LoggerFactory.getLogger(IndexCache.class);
+
+	private static final String FILE_MAGIC = "JADX_INDEX";
+	private static final int FORMAT_VERSION = 1;
+	private static final String FILE_EXT = ".index";
+
+	private final MainWindow mainWindow;
+
+	private String inputsKey;
+	private boolean loaded;
+
+	public IndexCache(MainWindow mainWindow) {
+		this.mainWindow = mainWindow;
+	}
+
+	/**
+	 * Replace text index and usage info in cache object with loaded ones
+	 *
+	 * @return false if saved index not found or outdated
+	 */
+	public boolean load(CacheObject cache) {
+		Path file = getIndexFile();
+		if (file == null || !Files.isRegularFile(file)) {
+			return false;
+		}
+		long start = System.currentTimeMillis();
+		TextSearchIndex textIndex = new TextSearchIndex(mainWindow);
+		CodeUsageInfo usageInfo = new CodeUsageInfo(cache.getNodeCache());
+		try (IndexFileInput in = IndexFileInput.open(file)) {
+			if (!in.readUTF().equals(FILE_MAGIC) || in.readInt() != FORMAT_VERSION) {
+				LOG.info("Unknown index file format, will be rebuilt: {}", file);
+				textIndex.close();
+				return false;
+			}
+			String key = buildKey();
+			if (key == null || !key.equals(in.readUTF())) {
+				LOG.info("Index file outdated, will be rebuilt: {}", file);
+				textIndex.close();
+				return false;
+			}
+			textIndex.load(in);
+			usageInfo.load(in, mainWindow.getWrapper());
+		} catch (Exception e) {
+			LOG.warn("Failed to load index file: {}", file, e);
+			textIndex.close();
+			return false;
+		}
+		TextSearchIndex prevIndex = cache.getTextIndex();
+		if (prevIndex != null) {
+			prevIndex.close();
+		}
+		cache.setTextIndex(textIndex);
+		cache.setUsageInfo(usageInfo);
+		loaded = true;
+		LOG.info("Index loaded from {} in {} ms", file, System.currentTimeMillis() - start);
+		return true;
+	}
+
+	/**
+	 * Save indexes after full indexing, skipped if index was loaded or not complete
+	 */
+	public void save(CacheObject cache) {
+		Path file = getIndexFile();
+		TextSearchIndex textIndex = cache.getTextIndex();
+		CodeUsageInfo usageInfo = cache.getUsageInfo();
+		if (loaded || file == null || textIndex == null || usageInfo == null || textIndex.getSkippedCount() != 0) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+		try {
+			String key = buildKey();
+			if (key == null) {
+				return;
+			}
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+				out.writeUTF(FILE_MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(key);
+				textIndex.save(out);
+				usageInfo.save(out);
+			}
+			Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+			LOG.info("Index saved to {} in {} ms", file, System.currentTimeMillis() - start);
+		} catch (Exception e) {
+			LOG.warn("Failed to save index file: {}", file, e);
+			try {
+				Files.deleteIfExists(tmpFile);
+			} catch (IOException ex) {
+				LOG.debug("Failed to delete temp index file: {}", tmpFile, ex);
+			}
+		}
+	}
+
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	@Nullable
+	private Path getIndexFile() {
+		Path projectPath = mainWindow.getProject().getProjectPath();
+		if (projectPath == null) {
+			return null;
+		}
+		return projectPath.resolveSibling(projectPath.getFileName() + FILE_EXT);
+	}
+
+	/**
+	 * @return null if index can't be saved for current inputs
+	 */
+	@Nullable
+	private String buildKey() throws IOException {
+		JadxWrapper wrapper = mainWindow.getWrapper();
+		String inputs = getInputsKey(wrapper.getOpenPaths());
+		if (inputs == null) {
+			return null;
+		}
+		JadxProject project = mainWindow.getProject();
+		JadxArgs args = wrapper.getArgs();
+		StringBuilder sb = new StringBuilder();
+		sb.append("jadx=").append(JadxDecompiler.getVersion());
+		sb.append(", ").append(args.getCodeOptionsFingerprint());
+		sb.append(", codeData=").append(project.getCodeDataChecksum());
+		sb.append(", inputs=").append(inputs);
+		return FileUtils.bytesToHex(sha256().digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Input files checksums computed once, inputs can't be changed without reload
+	 */
+	@Nullable
+	private synchronized String getInputsKey(List<Path> inputs) throws IOException {
+		if (inputsKey != null) {
+			return inputsKey;
+		}
+		if (inputs.isEmpty()) {
+			return null;
+		}
+		StringBuilder sb = new StringBuilder();
+		byte[] buf = new byte[64 * 1024];
+		for (Path input : inputs) {
+			if (!Files.isRegularFile(input)) {
+				// directories not supported
+				return null;
+			}
+			MessageDigest md = sha256();
+			try (InputStream in = Files.newInputStream(input)) {
+				int len;
+				while ((len = in.read(buf)) != -1) {
+					md.update(buf, 0, len);
+				}
+			}
+			sb.append(input.toAbsolutePath()).append(':').append(FileUtils.bytesToHex(md.digest())).append(';');
+		}
+		inputsKey = sb.toString();
+		return inputsKey;
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new JadxRuntimeException("SHA-256 digest not available", e);
+		}
+	}
+}
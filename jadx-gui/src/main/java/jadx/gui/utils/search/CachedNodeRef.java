@@ -0,0 +1,103 @@
+package jadx.gui.utils.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.JavaNode;
+import jadx.api.data.IJavaNodeRef;
+import jadx.api.data.impl.JadxNodeRef;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.gui.JadxWrapper;
+
+/**
+ * Reference to java node loaded from saved index, resolved on first use.
+ * <br>
+ * Definition position saved together with reference, so resolving not needed to get it.
+ */
+public final class CachedNodeRef {
+	private final JadxNodeRef ref;
+	private final int defPos;
+
+	private volatile JavaNode resolved;
+
+	public CachedNodeRef(JadxNodeRef ref, int defPos) {
+		this.ref = ref;
+		this.defPos = defPos;
+	}
+
+	public static CachedNodeRef read(DataInput in) throws IOException {
+		IJavaNodeRef.RefType type = IJavaNodeRef.RefType.values()[in.readByte()];
+		String declClass = in.readUTF();
+		String shortId = in.readUTF();
+		int defPos = in.readInt();
+		return new CachedNodeRef(new JadxNodeRef(type, declClass, shortId.isEmpty() ? null : shortId), defPos);
+	}
+
+	public static void write(DataOutput out, JavaNode node) throws IOException {
+		JadxNodeRef nodeRef = JadxNodeRef.forJavaNode(node);
+		if (nodeRef == null) {
+			throw new JadxRuntimeException("Unexpected node type for save: " + node);
+		}
+		write(out, nodeRef, node.getDefPos());
+	}
+
+	public void write(DataOutput out) throws IOException {
+		JavaNode node = resolved;
+		write(out, ref, node != null ? node.getDefPos() : defPos);
+	}
+
+	public static void write(DataOutput out, JadxNodeRef nodeRef, int defPos) throws IOException {
+		String shortId = nodeRef.getShortId();
+		out.writeByte(nodeRef.getType().ordinal());
+		out.writeUTF(nodeRef.getDeclaringClass());
+		out.writeUTF(shortId == null ? "" : shortId);
+		out.writeInt(defPos);
+	}
+
+	/**
+	 * @param allowDecompile see {@link JadxWrapper#resolveNodeRef(IJavaNodeRef, boolean)}
+	 * @return resolved node, top class if decompilation not allowed or null if node not found
+	 */
+	@Nullable
+	public JavaNode resolve(JadxWrapper wrapper, boolean allowDecompile) {
+		JavaNode node = resolved;
+		if (node != null) {
+			return node;
+		}
+		node = wrapper.resolveNodeRef(ref, allowDecompile);
+		if (node != null && (allowDecompile || ref.equals(JadxNodeRef.forJavaNode(node)))) {
+			// don't save top class returned instead of not yet loaded node
+			resolved = node;
+		}
+		return node;
+	}
+
+	public JadxNodeRef getRef() {
+		return ref;
+	}
+
+	public int getDefPos() {
+		return defPos;
+	}
+
+	/**
+	 * Check if referenced node declared in top class (or its inner classes) with provided original full name
+	 */
+	public boolean isInClass(String topClsFullName) {
+		return isInClass(ref, topClsFullName);
+	}
+
+	public static boolean isInClass(IJavaNodeRef nodeRef, String topClsFullName) {
+		String declClass = nodeRef.getDeclaringClass();
+		return declClass.startsWith(topClsFullName)
+				&& (declClass.length() == topClsFullName.length() || declClass.charAt(topClsFullName.length()) == '.');
+	}
+
+	@Override
+	public String toString() {
+		return ref.toString();
+	}
+}
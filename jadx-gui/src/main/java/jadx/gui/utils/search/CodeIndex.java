@@ -1,8 +1,21 @@
 package jadx.gui.utils.search;
 
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,50 +23,333 @@ import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 
 import jadx.api.JavaClass;
+import jadx.api.JavaNode;
+import jadx.gui.JadxWrapper;
 import jadx.gui.treemodel.CodeNode;
 import jadx.gui.treemodel.JClass;
+import jadx.gui.utils.JNodeCache;
 import jadx.gui.utils.UiUtils;
 
-public class CodeIndex {
+/**
+ * Code lines index.
+ * <br>
+ * Lines text stored outside of heap in {@link MappedBytesStore},
+ * {@link TrigramIndex} used to select candidate lines for search string (or literal parts of regex),
+ * all lines checked only for short strings and complex regexps.
+ * Line record: text length + 1 (0 used as chunk end mark), class index, line number, node index, UTF-8 text.
+ * <br>
+ * Index can be saved and loaded back, nodes for loaded lines resolved only for found lines.
+ * <br>
+ * Searches read mapped stores without object lock, so {@link #close()} waits for running searches
+ * using read/write lock.
+ */
+public class CodeIndex implements Closeable {
 
 	private static final Logger LOG = LoggerFactory.getLogger(CodeIndex.class);
 
-	private final List<CodeNode> values = new ArrayList<>();
+	private static final int LINE_HEADER_SIZE = 16;
 
-	public synchronized void put(CodeNode value) {
-		values.add(value);
+	private final JNodeCache nodeCache;
+	private final MappedBytesStore linesStore;
+	private final TrigramIndex trigramIndex;
+
+	private final List<JavaClass> classes = new ArrayList<>();
+	/**
+	 * Line nodes for every class: {@link JavaNode} or {@link CachedNodeRef} for loaded index
+	 */
+	private final List<List<Object>> classNodes = new ArrayList<>();
+	private final Map<JavaClass, Integer> classIndexes = new HashMap<>();
+	private final BitSet removedClasses = new BitSet();
+	private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+	private boolean closed;
+	private int linesCount;
+	private JadxWrapper wrapper;
+
+	public CodeIndex(JNodeCache nodeCache) {
+		this.nodeCache = nodeCache;
+		this.linesStore = new MappedBytesStore("code-lines");
+		this.trigramIndex = new TrigramIndex();
 	}
 
-	public synchronized void removeForCls(JavaClass cls) {
-		values.removeIf(v -> v.getJavaNode().getTopParentClass().equals(cls));
+	/**
+	 * Add class code lines, nodes list used to resolve node index saved for every line
+	 *
+	 * @param lineNodes java node for every line (same size as lines list), null for not indexed lines
+	 */
+	public synchronized void put(JavaClass cls, List<StringRef> lines, List<JavaNode> lineNodes) {
+		if (closed) {
+			return;
+		}
+		Integer prevIdx = classIndexes.get(cls);
+		if (prevIdx != null) {
+			removedClasses.set(prevIdx);
+		}
+		int clsIdx = classNodes.size();
+		List<Object> nodes = new ArrayList<>();
+		classes.add(cls);
+		classNodes.add(nodes);
+		classIndexes.put(cls, clsIdx);
+		Map<JavaNode, Integer> nodesMap = new HashMap<>();
+		int count = lines.size();
+		for (int i = 0; i < count; i++) {
+			JavaNode node = lineNodes.get(i);
+			if (node == null) {
+				continue;
+			}
+			Integer nodeIdx = nodesMap.get(node);
+			if (nodeIdx == null) {
+				nodeIdx = nodes.size();
+				nodes.add(node);
+				nodesMap.put(node, nodeIdx);
+			}
+			StringRef line = lines.get(i);
+			byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+			if (bytes.length + LINE_HEADER_SIZE > MappedBytesStore.CHUNK_SIZE) {
+				LOG.warn("Line too long for index: {}, class: {}", i + 1, cls);
+				continue;
+			}
+			long pos = linesStore.allocate(LINE_HEADER_SIZE + bytes.length);
+			linesStore.putInt(pos, bytes.length + 1);
+			linesStore.putInt(pos + 4, clsIdx);
+			linesStore.putInt(pos + 8, i + 1);
+			linesStore.putInt(pos + 12, nodeIdx);
+			linesStore.putBytes(pos + LINE_HEADER_SIZE, bytes);
+			trigramIndex.add(pos, line);
+			linesCount++;
+		}
 	}
 
-	private boolean isMatched(StringRef key, SearchSettings searchSettings) {
-		return searchSettings.isMatch(key);
+	public synchronized void removeForCls(JavaClass cls) {
+		Integer idx = classIndexes.remove(cls);
+		if (idx != null) {
+			removedClasses.set(idx);
+		}
 	}
 
 	public Flowable<CodeNode> search(final SearchSettings searchSettings) {
 		JClass activeCls = searchSettings.getActiveCls();
 		return Flowable.create(emitter -> {
-			LOG.debug("Code search started: {} ...", searchSettings.getSearchString());
-			for (CodeNode node : values) {
-				if (activeCls == null || node.getRootClass().equals(activeCls)) {
-					int pos = searchSettings.find(node.getLineStr());
-					if (pos > -1) {
+			Lock readLock = closeLock.readLock();
+			readLock.lock();
+			try {
+				if (isClosed()) {
+					emitter.onComplete();
+					return;
+				}
+				LOG.debug("Code search started: {} ...", searchSettings.getSearchString());
+				int activeClsIdx = -1;
+				if (activeCls != null) {
+					activeClsIdx = getClassIndex(activeCls.getCls());
+					if (activeClsIdx == -1) {
+						emitter.onComplete();
+						return;
+					}
+				}
+				long[] candidates = getCandidates(searchSettings);
+				LineVisitor visitor = (pos, clsIdx) -> {
+					if (emitter.isCancelled()) {
+						return false;
+					}
+					CodeNode node = checkLine(pos, clsIdx, searchSettings);
+					if (node != null) {
 						emitter.onNext(node);
 					}
+					return true;
+				};
+				if (candidates == null) {
+					visitAllLines(visitor, activeClsIdx);
+				} else {
+					visitLines(candidates, visitor, activeClsIdx);
 				}
 				if (emitter.isCancelled()) {
 					LOG.debug("Code search canceled: {}", searchSettings.getSearchString());
 					return;
 				}
+				LOG.debug("Code search complete: {}, candidates: {}, memory usage: {}", searchSettings.getSearchString(),
+						candidates == null ? "all" : candidates.length, UiUtils.memoryInfo());
+				emitter.onComplete();
+			} finally {
+				readLock.unlock();
 			}
-			LOG.debug("Code search complete: {}, memory usage: {}", searchSettings.getSearchString(), UiUtils.memoryInfo());
-			emitter.onComplete();
 		}, BackpressureStrategy.BUFFER);
 	}
 
-	public int size() {
-		return values.size();
+	/**
+	 * @return sorted lines positions or null if all lines should be checked
+	 */
+	@Nullable
+	private long[] getCandidates(SearchSettings searchSettings) {
+		String searchString = searchSettings.getSearchString();
+		if (searchSettings.isUseRegex()) {
+			return trigramIndex.search(TrigramIndex.getRegexLiterals(searchString));
+		}
+		return trigramIndex.search(Collections.singletonList(searchString));
+	}
+
+	private synchronized boolean isClosed() {
+		return closed;
+	}
+
+	private synchronized int getClassIndex(JavaClass cls) {
+		Integer idx = classIndexes.get(cls);
+		return idx == null ? -1 : idx;
+	}
+
+	private synchronized boolean isRemoved(int clsIdx) {
+		return removedClasses.get(clsIdx);
+	}
+
+	private synchronized long getLinesEnd() {
+		return linesStore.getEnd();
+	}
+
+	private interface LineVisitor {
+		/**
+		 * @return false to stop visiting
+		 */
+		boolean visit(long pos, int clsIdx);
+	}
+
+	private void visitLines(long[] positions, LineVisitor visitor, int activeClsIdx) {
+		for (long pos : positions) {
+			int clsIdx = linesStore.getInt(pos + 4);
+			if (activeClsIdx != -1 && clsIdx != activeClsIdx) {
+				continue;
+			}
+			if (!visitor.visit(pos, clsIdx)) {
+				return;
+			}
+		}
+	}
+
+	private void visitAllLines(LineVisitor visitor, int activeClsIdx) {
+		long end = getLinesEnd();
+		long pos = 0;
+		while (pos < end) {
+			if (MappedBytesStore.spaceInChunk(pos) < LINE_HEADER_SIZE) {
+				pos = MappedBytesStore.nextChunkStart(pos);
+				continue;
+			}
+			int len = linesStore.getInt(pos) - 1;
+			if (len == -1) {
+				// unused chunk end
+				pos = MappedBytesStore.nextChunkStart(pos);
+				continue;
+			}
+			int clsIdx = linesStore.getInt(pos + 4);
+			if (activeClsIdx == -1 || clsIdx == activeClsIdx) {
+				if (!visitor.visit(pos, clsIdx)) {
+					return;
+				}
+			}
+			pos += LINE_HEADER_SIZE + len;
+		}
+	}
+
+	@Nullable
+	private CodeNode checkLine(long pos, int clsIdx, SearchSettings searchSettings) {
+		if (isRemoved(clsIdx)) {
+			return null;
+		}
+		int len = linesStore.getInt(pos) - 1;
+		String line = new String(linesStore.getBytes(pos + LINE_HEADER_SIZE, len), StandardCharsets.UTF_8);
+		if (searchSettings.find(StringRef.fromStr(line)) == -1) {
+			return null;
+		}
+		int lineNum = linesStore.getInt(pos + 8);
+		int nodeIdx = linesStore.getInt(pos + 12);
+		Object node = getNode(clsIdx, nodeIdx);
+		if (node instanceof CachedNodeRef) {
+			CachedNodeRef nodeRef = (CachedNodeRef) node;
+			JavaNode javaNode = nodeRef.resolve(wrapper, false);
+			if (javaNode == null) {
+				return null;
+			}
+			return new CodeNode(nodeCache.makeFrom(javaNode), StringRef.fromStr(line), lineNum, nodeRef.getDefPos());
+		}
+		JavaNode javaNode = (JavaNode) node;
+		return new CodeNode(nodeCache.makeFrom(javaNode), StringRef.fromStr(line), lineNum, javaNode.getDefPos());
+	}
+
+	private synchronized Object getNode(int clsIdx, int nodeIdx) {
+		return classNodes.get(clsIdx).get(nodeIdx);
+	}
+
+	public synchronized int size() {
+		return linesCount;
+	}
+
+	public synchronized void save(DataOutputStream out) throws IOException {
+		out.writeInt(linesCount);
+		int clsCount = classes.size();
+		out.writeInt(clsCount);
+		for (int i = 0; i < clsCount; i++) {
+			boolean removed = removedClasses.get(i);
+			out.writeBoolean(removed);
+			if (removed) {
+				continue;
+			}
+			out.writeUTF(classes.get(i).getClassNode().getClassInfo().getFullName());
+			List<Object> nodes = classNodes.get(i);
+			out.writeInt(nodes.size());
+			for (Object node : nodes) {
+				if (node instanceof CachedNodeRef) {
+					((CachedNodeRef) node).write(out);
+				} else {
+					CachedNodeRef.write(out, (JavaNode) node);
+				}
+			}
+		}
+		linesStore.save(out);
+		trigramIndex.save(out);
+	}
+
+	/**
+	 * Load index saved by {@link #save(DataOutputStream)}, should be called before any other changes.
+	 * Lines of classes not found by name are marked as removed.
+	 */
+	public synchronized void load(DataInputStream in, JadxWrapper wrapper) throws IOException {
+		this.wrapper = wrapper;
+		linesCount = in.readInt();
+		int clsCount = in.readInt();
+		for (int i = 0; i < clsCount; i++) {
+			JavaClass cls = null;
+			List<Object> nodes = new ArrayList<>();
+			if (!in.readBoolean()) {
+				cls = wrapper.searchJavaClassByOrigClassName(in.readUTF());
+				int nodesCount = in.readInt();
+				for (int n = 0; n < nodesCount; n++) {
+					nodes.add(CachedNodeRef.read(in));
+				}
+			}
+			classes.add(cls);
+			classNodes.add(nodes);
+			if (cls == null) {
+				removedClasses.set(i);
+			} else {
+				classIndexes.put(cls, i);
+			}
+		}
+		linesStore.load(in);
+		trigramIndex.load(in);
+	}
+
+	/**
+	 * Wait for running searches and release mapped stores
+	 */
+	@Override
+	public void close() {
+		// write lock taken before object lock: searches hold read lock while calling synchronized methods
+		Lock writeLock = closeLock.writeLock();
+		writeLock.lock();
+		try {
+			synchronized (this) {
+				closed = true;
+				linesStore.close();
+				trigramIndex.close();
+			}
+		} finally {
+			writeLock.unlock();
+		}
 	}
 }
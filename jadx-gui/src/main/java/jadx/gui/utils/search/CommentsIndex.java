@@ -16,8 +16,6 @@ import io.reactivex.Flowable;
 
 import jadx.api.CodePosition;
 import jadx.api.ICodeInfo;
-import jadx.api.JavaClass;
-import jadx.api.JavaField;
 import jadx.api.JavaMethod;
 import jadx.api.JavaNode;
 import jadx.api.data.ICodeComment;
@@ -29,7 +27,6 @@ import jadx.gui.treemodel.JClass;
 import jadx.gui.treemodel.JMethod;
 import jadx.gui.treemodel.JNode;
 import jadx.gui.utils.CacheObject;
-import jadx.gui.utils.JNodeCache;
 import jadx.gui.utils.JumpPosition;
 
 public class CommentsIndex {
@@ -92,33 +89,11 @@ public class CommentsIndex {
 
 	@Nullable
 	private JNode getRefNode(ICodeComment comment) {
-		IJavaNodeRef nodeRef = comment.getNodeRef();
-		JavaClass javaClass = wrapper.searchJavaClassByOrigClassName(nodeRef.getDeclaringClass());
-		if (javaClass == null) {
+		JavaNode javaNode = wrapper.resolveNodeRef(comment.getNodeRef(), true);
+		if (javaNode == null) {
 			return null;
 		}
-		JNodeCache nodeCache = cacheObject.getNodeCache();
-		switch (nodeRef.getType()) {
-			case CLASS:
-				return nodeCache.makeFrom(javaClass);
-
-			case FIELD:
-				for (JavaField field : javaClass.getFields()) {
-					if (field.getFieldNode().getFieldInfo().getShortId().equals(nodeRef.getShortId())) {
-						return nodeCache.makeFrom(field);
-					}
-				}
-				break;
-
-			case METHOD:
-				for (JavaMethod mth : javaClass.getMethods()) {
-					if (mth.getMethodNode().getMethodInfo().getShortId().equals(nodeRef.getShortId())) {
-						return nodeCache.makeFrom(mth);
-					}
-				}
-				break;
-		}
-		return null;
+		return cacheObject.getNodeCache().makeFrom(javaNode);
 	}
 
 	private static final class CodeCommentNode extends RefCommentNode {
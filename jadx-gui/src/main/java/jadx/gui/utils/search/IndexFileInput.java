@@ -0,0 +1,110 @@
+package jadx.gui.utils.search;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Saved index file input with access to file channel and current position,
+ * allow {@link MappedBytesStore} to map stored data directly from file instead of copy.
+ * <br>
+ * File opened for read and write because only such channel can be mapped in private (copy-on-write) mode,
+ * file content never changed.
+ */
+public final class IndexFileInput extends DataInputStream {
+	private final FileChannel channel;
+	private final PositionInputStream posInput;
+
+	public static IndexFileInput open(Path file) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		return new IndexFileInput(channel, new PositionInputStream(new BufferedInputStream(Channels.newInputStream(channel))));
+	}
+
+	private IndexFileInput(FileChannel channel, PositionInputStream posInput) {
+		super(posInput);
+		this.channel = channel;
+		this.posInput = posInput;
+	}
+
+	public FileChannel getChannel() {
+		return channel;
+	}
+
+	/**
+	 * Position in file of next byte to read
+	 */
+	public long getPosition() {
+		return posInput.pos;
+	}
+
+	public void skipFully(long count) throws IOException {
+		long remaining = count;
+		while (remaining > 0) {
+			long skipped = posInput.skip(remaining);
+			if (skipped <= 0) {
+				if (posInput.read() == -1) {
+					throw new EOFException();
+				}
+				skipped = 1;
+			}
+			remaining -= skipped;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		// mapped buffers stay valid after channel close
+		try {
+			super.close();
+		} finally {
+			channel.close();
+		}
+	}
+
+	private static final class PositionInputStream extends FilterInputStream {
+		private long pos;
+
+		PositionInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = in.read();
+			if (b != -1) {
+				pos++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int count = in.read(b, off, len);
+			if (count > 0) {
+				pos += count;
+			}
+			return count;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = in.skip(n);
+			if (skipped > 0) {
+				pos += skipped;
+			}
+			return skipped;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,230 @@
+package jadx.gui.utils.search;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Append only bytes storage in temp file mapped into memory by fixed size chunks.
+ * Data not stored in java heap and can be paged out by OS.
+ * <br>
+ * Allocated regions never cross chunk border, so max region size is {@link #CHUNK_SIZE}.
+ * Full chunks loaded from saved index file mapped directly from it in private mode (changes not written to file).
+ * Not thread safe for writes, reads of already written regions can be done concurrently.
+ */
+public class MappedBytesStore implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(MappedBytesStore.class);
+
+	public static final int CHUNK_SIZE = 16 * 1024 * 1024;
+	private static final int CHUNK_SHIFT = 24;
+	private static final int COPY_BUFFER_SIZE = 1024 * 1024;
+
+	private final Path file;
+	private final FileChannel channel;
+	private final List<MappedByteBuffer> chunks = new ArrayList<>();
+	private volatile MappedByteBuffer[] chunksArr = new MappedByteBuffer[0];
+	private long end;
+
+	public MappedBytesStore(String name) {
+		try {
+			this.file = Files.createTempFile("jadx-" + name, ".bin");
+			this.file.toFile().deleteOnExit();
+			this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to create temp file for " + name, e);
+		}
+	}
+
+	/**
+	 * Reserve region with provided size.
+	 *
+	 * @return position of region start
+	 */
+	public long allocate(int size) {
+		if (size > CHUNK_SIZE) {
+			throw new JadxRuntimeException("Region too big: " + size);
+		}
+		long pos = end;
+		int inChunk = (int) (pos & (CHUNK_SIZE - 1));
+		if (inChunk + size > CHUNK_SIZE) {
+			// move to next chunk
+			pos += CHUNK_SIZE - inChunk;
+		}
+		int chunk = (int) (pos >>> CHUNK_SHIFT);
+		while (chunks.size() <= chunk) {
+			mapChunk(chunks.size());
+		}
+		end = pos + size;
+		return pos;
+	}
+
+	private void mapChunk(int chunk) {
+		try {
+			long start = (long) chunk << CHUNK_SHIFT;
+			chunks.add(channel.map(FileChannel.MapMode.READ_WRITE, start, CHUNK_SIZE));
+			chunksArr = chunks.toArray(new MappedByteBuffer[0]);
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to map file: " + file, e);
+		}
+	}
+
+	/**
+	 * Position after last allocated region
+	 */
+	public long getEnd() {
+		return end;
+	}
+
+	public static long nextChunkStart(long pos) {
+		return ((pos >>> CHUNK_SHIFT) + 1) << CHUNK_SHIFT;
+	}
+
+	public static int spaceInChunk(long pos) {
+		return CHUNK_SIZE - (int) (pos & (CHUNK_SIZE - 1));
+	}
+
+	private MappedByteBuffer chunk(long pos) {
+		return chunksArr[(int) (pos >>> CHUNK_SHIFT)];
+	}
+
+	private static int index(long pos) {
+		return (int) (pos & (CHUNK_SIZE - 1));
+	}
+
+	public void put(long pos, byte value) {
+		chunk(pos).put(index(pos), value);
+	}
+
+	public byte get(long pos) {
+		return chunk(pos).get(index(pos));
+	}
+
+	public void putInt(long pos, int value) {
+		chunk(pos).putInt(index(pos), value);
+	}
+
+	public int getInt(long pos) {
+		return chunk(pos).getInt(index(pos));
+	}
+
+	public void putLong(long pos, long value) {
+		chunk(pos).putLong(index(pos), value);
+	}
+
+	public long getLong(long pos) {
+		return chunk(pos).getLong(index(pos));
+	}
+
+	public void putBytes(long pos, byte[] data) {
+		// duplicate to not change shared buffer position
+		ByteBuffer buf = chunk(pos).duplicate();
+		buf.position(index(pos));
+		buf.put(data);
+	}
+
+	public byte[] getBytes(long pos, int len) {
+		ByteBuffer buf = chunk(pos).duplicate();
+		buf.position(index(pos));
+		byte[] data = new byte[len];
+		buf.get(data);
+		return data;
+	}
+
+	/**
+	 * Write all allocated bytes (including unused chunks ends), positions will be the same after load
+	 */
+	public void save(DataOutputStream out) throws IOException {
+		out.writeLong(end);
+		byte[] buf = new byte[COPY_BUFFER_SIZE];
+		long pos = 0;
+		while (pos < end) {
+			// copy buffer size is a divisor of chunk size, so copied part always inside one chunk
+			int len = (int) Math.min(COPY_BUFFER_SIZE, end - pos);
+			ByteBuffer src = chunk(pos).duplicate();
+			src.position(index(pos));
+			src.get(buf, 0, len);
+			out.write(buf, 0, len);
+			pos += len;
+		}
+	}
+
+	/**
+	 * Load data written by {@link #save(DataOutputStream)}, store should be empty.
+	 * For {@link IndexFileInput} full chunks mapped from file, only last not full chunk is copied.
+	 */
+	public void load(DataInputStream in) throws IOException {
+		if (end != 0) {
+			throw new JadxRuntimeException("Load allowed only into empty store");
+		}
+		long size = in.readLong();
+		long pos = 0;
+		if (in instanceof IndexFileInput) {
+			pos = mapFullChunks((IndexFileInput) in, size);
+		}
+		byte[] buf = new byte[COPY_BUFFER_SIZE];
+		while (pos < size) {
+			int len = (int) Math.min(COPY_BUFFER_SIZE, size - pos);
+			in.readFully(buf, 0, len);
+			int chunk = (int) (pos >>> CHUNK_SHIFT);
+			while (chunks.size() <= chunk) {
+				mapChunk(chunks.size());
+			}
+			ByteBuffer dst = chunk(pos).duplicate();
+			dst.position(index(pos));
+			dst.put(buf, 0, len);
+			pos += len;
+		}
+		end = size;
+	}
+
+	/**
+	 * @return bytes count mapped from file
+	 */
+	private long mapFullChunks(IndexFileInput in, long size) throws IOException {
+		int fullChunks = (int) (size >>> CHUNK_SHIFT);
+		if (fullChunks == 0) {
+			return 0;
+		}
+		long dataStart = in.getPosition();
+		FileChannel inChannel = in.getChannel();
+		for (int i = 0; i < fullChunks; i++) {
+			long start = dataStart + ((long) i << CHUNK_SHIFT);
+			chunks.add(inChannel.map(FileChannel.MapMode.PRIVATE, start, CHUNK_SIZE));
+		}
+		chunksArr = chunks.toArray(new MappedByteBuffer[0]);
+		long mapped = (long) fullChunks << CHUNK_SHIFT;
+		in.skipFully(mapped);
+		return mapped;
+	}
+
+	@Override
+	public void close() {
+		chunks.clear();
+		chunksArr = new MappedByteBuffer[0];
+		try {
+			channel.close();
+		} catch (IOException e) {
+			LOG.warn("Failed to close file: {}", file, e);
+		}
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			// file still mapped on some systems, will be removed on exit
+			LOG.debug("Failed to delete file: {}", file, e);
+		}
+	}
+}
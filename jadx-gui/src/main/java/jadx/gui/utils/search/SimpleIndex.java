@@ -1,5 +1,10 @@
 package jadx.gui.utils.search;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -8,11 +13,21 @@ import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 
 import jadx.api.JavaClass;
+import jadx.api.JavaNode;
+import jadx.gui.JadxWrapper;
 import jadx.gui.treemodel.JClass;
 import jadx.gui.treemodel.JNode;
+import jadx.gui.utils.JNodeCache;
 
 public class SimpleIndex {
 	private final Map<JNode, String> data = new ConcurrentHashMap<>();
+	/**
+	 * Entries from loaded index, nodes resolved only for matched strings
+	 */
+	private final Map<CachedNodeRef, String> cachedData = new ConcurrentHashMap<>();
+
+	private JadxWrapper wrapper;
+	private JNodeCache nodeCache;
 
 	public void put(String str, JNode value) {
 		data.put(value, str);
@@ -20,6 +35,10 @@ public class SimpleIndex {
 
 	public void removeForCls(JavaClass cls) {
 		data.entrySet().removeIf(e -> e.getKey().getJavaNode().getTopParentClass().equals(cls));
+		if (!cachedData.isEmpty()) {
+			String clsName = cls.getClassNode().getClassInfo().getFullName();
+			cachedData.keySet().removeIf(ref -> ref.isInClass(clsName));
+		}
 	}
 
 	private boolean isMatched(String str, JNode node, SearchSettings searchSettings) {
@@ -44,11 +63,50 @@ public class SimpleIndex {
 					return;
 				}
 			}
+			for (Map.Entry<CachedNodeRef, String> entry : cachedData.entrySet()) {
+				if (searchSettings.isMatch(entry.getValue())) {
+					// don't decompile class for every match, top class used for not loaded nodes
+					JavaNode javaNode = entry.getKey().resolve(wrapper, false);
+					if (javaNode != null) {
+						JNode node = nodeCache.makeFrom(javaNode);
+						if (isMatched(entry.getValue(), node, searchSettings)) {
+							emitter.onNext(node);
+						}
+					}
+				}
+				if (emitter.isCancelled()) {
+					return;
+				}
+			}
 			emitter.onComplete();
 		}, BackpressureStrategy.BUFFER);
 	}
 
 	public int size() {
-		return data.size();
+		return data.size() + cachedData.size();
+	}
+
+	public void save(DataOutputStream out) throws IOException {
+		List<Map.Entry<JNode, String>> entries = new ArrayList<>(data.entrySet());
+		List<Map.Entry<CachedNodeRef, String>> cachedEntries = new ArrayList<>(cachedData.entrySet());
+		out.writeInt(entries.size() + cachedEntries.size());
+		for (Map.Entry<JNode, String> entry : entries) {
+			out.writeUTF(entry.getValue());
+			CachedNodeRef.write(out, entry.getKey().getJavaNode());
+		}
+		for (Map.Entry<CachedNodeRef, String> entry : cachedEntries) {
+			out.writeUTF(entry.getValue());
+			entry.getKey().write(out);
+		}
+	}
+
+	public void load(DataInputStream in, JadxWrapper wrapper, JNodeCache nodeCache) throws IOException {
+		this.wrapper = wrapper;
+		this.nodeCache = nodeCache;
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			String str = in.readUTF();
+			cachedData.put(CachedNodeRef.read(in), str);
+		}
 	}
 }
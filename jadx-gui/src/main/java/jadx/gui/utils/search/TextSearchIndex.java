@@ -1,5 +1,8 @@
 package jadx.gui.utils.search;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -16,6 +19,7 @@ import jadx.api.JavaClass;
 import jadx.api.JavaField;
 import jadx.api.JavaMethod;
 import jadx.api.JavaNode;
+import jadx.gui.JadxWrapper;
 import jadx.gui.treemodel.CodeNode;
 import jadx.gui.treemodel.JNode;
 import jadx.gui.ui.MainWindow;
@@ -60,7 +64,7 @@ public class TextSearchIndex {
 		this.clsNamesIndex = new SimpleIndex();
 		this.mthSignaturesIndex = new SimpleIndex();
 		this.fldSignaturesIndex = new SimpleIndex();
-		this.codeIndex = new CodeIndex();
+		this.codeIndex = new CodeIndex(nodeCache);
 	}
 
 	public void indexNames(JavaClass cls) {
@@ -81,20 +85,21 @@ public class TextSearchIndex {
 	public void indexCode(JavaClass cls, CodeLinesInfo linesInfo, List<StringRef> lines) {
 		try {
 			int count = lines.size();
+			List<JavaNode> lineNodes = new ArrayList<>(count);
 			for (int i = 0; i < count; i++) {
 				StringRef line = lines.get(i);
 				int lineLength = line.length();
 				if (lineLength == 0 || (lineLength == 1 && line.charAt(0) == '}')) {
+					lineNodes.add(null);
 					continue;
 				}
-				int lineNum = i + 1;
-				JavaNode node = linesInfo.getJavaNodeByLine(lineNum);
-				JavaNode javaNode = node == null ? cls : node;
-				JNode nodeAtLine = nodeCache.makeFrom(javaNode);
-				codeIndex.put(new CodeNode(nodeAtLine, line, lineNum, javaNode.getDefPos()));
+				JavaNode node = linesInfo.getJavaNodeByLine(i + 1);
+				lineNodes.add(node == null ? cls : node);
 			}
+			codeIndex.put(cls, lines, lineNodes);
 		} catch (Exception e) {
 			LOG.warn("Failed to index class: {}", cls, e);
+			classCodeIndexSkipped(cls);
 		}
 	}
 
@@ -200,11 +205,39 @@ public class TextSearchIndex {
 		return lineEnd;
 	}
 
-	public void classCodeIndexSkipped(JavaClass cls) {
+	public synchronized void classCodeIndexSkipped(JavaClass cls) {
 		this.skippedClasses.add(cls);
 	}
 
-	public int getSkippedCount() {
+	public synchronized int getSkippedCount() {
 		return skippedClasses.size();
 	}
+
+	/**
+	 * Save names and code indexes, resources index not saved
+	 */
+	public void save(DataOutputStream out) throws IOException {
+		clsNamesIndex.save(out);
+		mthSignaturesIndex.save(out);
+		fldSignaturesIndex.save(out);
+		codeIndex.save(out);
+	}
+
+	/**
+	 * Load indexes saved by {@link #save(DataOutputStream)}, should be called before indexing
+	 */
+	public void load(DataInputStream in) throws IOException {
+		JadxWrapper wrapper = mainWindow.getWrapper();
+		clsNamesIndex.load(in, wrapper, nodeCache);
+		mthSignaturesIndex.load(in, wrapper, nodeCache);
+		fldSignaturesIndex.load(in, wrapper, nodeCache);
+		codeIndex.load(in, wrapper);
+	}
+
+	/**
+	 * Release code index storage
+	 */
+	public void close() {
+		codeIndex.close();
+	}
 }
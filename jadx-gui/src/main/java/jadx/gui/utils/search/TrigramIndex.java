@@ -0,0 +1,594 @@
+package jadx.gui.utils.search;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import static jadx.gui.utils.UiUtils.caseChar;
+
+/**
+ * Inverted index from trigrams (3 lower cased chars) to sorted ids of documents (code lines) containing them.
+ * <br>
+ * Posting lists stored in {@link MappedBytesStore} as chains of fixed size blocks with delta encoded ids,
+ * only small per trigram info (last block position and last id) is kept in heap.
+ * Documents ids must be added in increasing order.
+ * <br>
+ * Search result is a superset of documents containing query (in any case),
+ * so every candidate should be checked.
+ */
+public class TrigramIndex implements Closeable {
+	private static final int BLOCK_SIZE = 64;
+	private static final int NEXT_PTR_SIZE = 8;
+	private static final long NO_VALUE = -1;
+
+	private final MappedBytesStore store;
+
+	// open addressing hash map: trigram -> slot
+	private long[] keys;
+	private int[] slots;
+	private int keysCount;
+
+	// slot data
+	private long[] headBlock;
+	private long[] tailBlock;
+	private int[] tailUsed;
+	private long[] lastId;
+	private int[] postingsCount;
+
+	private boolean closed;
+
+	public TrigramIndex() {
+		this.store = new MappedBytesStore("trigrams");
+		this.keys = new long[1024];
+		Arrays.fill(keys, NO_VALUE);
+		this.slots = new int[1024];
+		this.headBlock = new long[256];
+		this.tailBlock = new long[256];
+		this.tailUsed = new int[256];
+		this.lastId = new long[256];
+		this.postingsCount = new int[256];
+	}
+
+	/**
+	 * Add all trigrams from text for document with provided id
+	 */
+	public synchronized void add(long id, CharSequence text) {
+		int len = text.length();
+		if (len < 3) {
+			return;
+		}
+		char c1 = caseChar(text.charAt(0), true);
+		char c2 = caseChar(text.charAt(1), true);
+		for (int i = 2; i < len; i++) {
+			char c3 = caseChar(text.charAt(i), true);
+			addPosting(getOrAddSlot(trigram(c1, c2, c3)), id);
+			c1 = c2;
+			c2 = c3;
+		}
+	}
+
+	/**
+	 * Search documents which contains all trigrams from all provided strings.
+	 *
+	 * @return sorted ids of candidates or null if strings too short to use index
+	 */
+	@Nullable
+	public synchronized long[] search(List<String> strings) {
+		if (closed) {
+			return new long[0];
+		}
+		List<Integer> querySlots = new ArrayList<>();
+		for (String str : strings) {
+			int len = str.length();
+			for (int i = 2; i < len; i++) {
+				long key = trigram(caseChar(str.charAt(i - 2), true),
+						caseChar(str.charAt(i - 1), true),
+						caseChar(str.charAt(i), true));
+				int slot = getSlot(key);
+				if (slot == -1) {
+					// trigram not found in any document
+					return new long[0];
+				}
+				if (!querySlots.contains(slot)) {
+					querySlots.add(slot);
+				}
+			}
+		}
+		if (querySlots.isEmpty()) {
+			return null;
+		}
+		// start from shortest list
+		querySlots.sort((a, b) -> Integer.compare(postingsCount[a], postingsCount[b]));
+		long[] result = readPostings(querySlots.get(0));
+		int count = result.length;
+		for (int i = 1; i < querySlots.size() && count > 0; i++) {
+			count = intersect(result, count, querySlots.get(i));
+		}
+		return Arrays.copyOf(result, count);
+	}
+
+	private static long trigram(char c1, char c2, char c3) {
+		return ((long) c1 << 32) | ((long) c2 << 16) | c3;
+	}
+
+	private int getSlot(long key) {
+		int mask = keys.length - 1;
+		int idx = hash(key) & mask;
+		while (true) {
+			long k = keys[idx];
+			if (k == key) {
+				return slots[idx];
+			}
+			if (k == NO_VALUE) {
+				return -1;
+			}
+			idx = (idx + 1) & mask;
+		}
+	}
+
+	private int getOrAddSlot(long key) {
+		int mask = keys.length - 1;
+		int idx = hash(key) & mask;
+		while (true) {
+			long k = keys[idx];
+			if (k == key) {
+				return slots[idx];
+			}
+			if (k == NO_VALUE) {
+				break;
+			}
+			idx = (idx + 1) & mask;
+		}
+		int slot = keysCount++;
+		keys[idx] = key;
+		slots[idx] = slot;
+		if (slot >= headBlock.length) {
+			int newSize = headBlock.length * 2;
+			headBlock = Arrays.copyOf(headBlock, newSize);
+			tailBlock = Arrays.copyOf(tailBlock, newSize);
+			tailUsed = Arrays.copyOf(tailUsed, newSize);
+			lastId = Arrays.copyOf(lastId, newSize);
+			postingsCount = Arrays.copyOf(postingsCount, newSize);
+		}
+		long block = allocBlock();
+		headBlock[slot] = block;
+		tailBlock[slot] = block;
+		tailUsed[slot] = NEXT_PTR_SIZE;
+		lastId[slot] = 0;
+		postingsCount[slot] = 0;
+		if (keysCount * 2 > keys.length) {
+			rehash();
+		}
+		return slot;
+	}
+
+	private static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	private void rehash() {
+		long[] oldKeys = keys;
+		int[] oldSlots = slots;
+		int newSize = oldKeys.length * 2;
+		keys = new long[newSize];
+		Arrays.fill(keys, NO_VALUE);
+		slots = new int[newSize];
+		int mask = newSize - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			long key = oldKeys[i];
+			if (key != NO_VALUE) {
+				int idx = hash(key) & mask;
+				while (keys[idx] != NO_VALUE) {
+					idx = (idx + 1) & mask;
+				}
+				keys[idx] = key;
+				slots[idx] = oldSlots[i];
+			}
+		}
+	}
+
+	private long allocBlock() {
+		long block = store.allocate(BLOCK_SIZE);
+		store.putLong(block, NO_VALUE);
+		return block;
+	}
+
+	private void addPosting(int slot, long id) {
+		long last = lastId[slot];
+		if (postingsCount[slot] != 0 && last == id) {
+			// trigram already added for this document
+			return;
+		}
+		long delta = id - last;
+		lastId[slot] = id;
+		postingsCount[slot]++;
+		// variable length encoding, 7 bits per byte
+		while (true) {
+			int b = (int) (delta & 0x7F);
+			delta >>>= 7;
+			if (delta != 0) {
+				writeByte(slot, (byte) (b | 0x80));
+			} else {
+				writeByte(slot, (byte) b);
+				break;
+			}
+		}
+	}
+
+	private void writeByte(int slot, byte b) {
+		int used = tailUsed[slot];
+		long tail = tailBlock[slot];
+		if (used == BLOCK_SIZE) {
+			long block = allocBlock();
+			store.putLong(tail, block);
+			tailBlock[slot] = block;
+			tail = block;
+			used = NEXT_PTR_SIZE;
+		}
+		store.put(tail + used, b);
+		tailUsed[slot] = used + 1;
+	}
+
+	private long[] readPostings(int slot) {
+		int count = postingsCount[slot];
+		long[] ids = new long[count];
+		PostingsReader reader = new PostingsReader(slot);
+		for (int i = 0; i < count; i++) {
+			ids[i] = reader.next();
+		}
+		return ids;
+	}
+
+	/**
+	 * Keep in 'ids' array only values present in slot postings.
+	 *
+	 * @return new count of values in 'ids' array
+	 */
+	private int intersect(long[] ids, int idsCount, int slot) {
+		int count = postingsCount[slot];
+		PostingsReader reader = new PostingsReader(slot);
+		int read = 0;
+		long value = -1;
+		int resultCount = 0;
+		for (int i = 0; i < idsCount; i++) {
+			long id = ids[i];
+			while (value < id) {
+				if (read == count) {
+					return resultCount;
+				}
+				value = reader.next();
+				read++;
+			}
+			if (value == id) {
+				ids[resultCount++] = id;
+			}
+		}
+		return resultCount;
+	}
+
+	private final class PostingsReader {
+		private long block;
+		private int pos;
+		private long value;
+
+		PostingsReader(int slot) {
+			this.block = headBlock[slot];
+			this.pos = NEXT_PTR_SIZE;
+		}
+
+		long next() {
+			long delta = 0;
+			int shift = 0;
+			while (true) {
+				if (pos == BLOCK_SIZE) {
+					block = store.getLong(block);
+					pos = NEXT_PTR_SIZE;
+				}
+				int b = store.get(block + pos++);
+				delta |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					break;
+				}
+				shift += 7;
+			}
+			value += delta;
+			return value;
+		}
+	}
+
+	public synchronized int getTrigramsCount() {
+		return keysCount;
+	}
+
+	/**
+	 * Total size of posting lists in bytes (stored outside of heap)
+	 */
+	public synchronized long getStoreSize() {
+		return store.getEnd();
+	}
+
+	public synchronized void save(DataOutputStream out) throws IOException {
+		int size = keys.length;
+		out.writeInt(size);
+		for (int i = 0; i < size; i++) {
+			long key = keys[i];
+			out.writeLong(key);
+			if (key != NO_VALUE) {
+				out.writeInt(slots[i]);
+			}
+		}
+		out.writeInt(keysCount);
+		for (int slot = 0; slot < keysCount; slot++) {
+			out.writeLong(headBlock[slot]);
+			out.writeLong(tailBlock[slot]);
+			out.writeInt(tailUsed[slot]);
+			out.writeLong(lastId[slot]);
+			out.writeInt(postingsCount[slot]);
+		}
+		store.save(out);
+	}
+
+	/**
+	 * Load data written by {@link #save(DataOutputStream)}, index should be empty
+	 */
+	public synchronized void load(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		keys = new long[size];
+		slots = new int[size];
+		for (int i = 0; i < size; i++) {
+			long key = in.readLong();
+			keys[i] = key;
+			if (key != NO_VALUE) {
+				slots[i] = in.readInt();
+			}
+		}
+		keysCount = in.readInt();
+		int slotsSize = Math.max(keysCount, 256);
+		headBlock = new long[slotsSize];
+		tailBlock = new long[slotsSize];
+		tailUsed = new int[slotsSize];
+		lastId = new long[slotsSize];
+		postingsCount = new int[slotsSize];
+		for (int slot = 0; slot < keysCount; slot++) {
+			headBlock[slot] = in.readLong();
+			tailBlock[slot] = in.readLong();
+			tailUsed[slot] = in.readInt();
+			lastId[slot] = in.readLong();
+			postingsCount[slot] = in.readInt();
+		}
+		store.load(in);
+	}
+
+	@Override
+	public synchronized void close() {
+		closed = true;
+		store.close();
+	}
+
+	/**
+	 * Collect strings which must be present in any text matched by regex.
+	 * Only simple cases are supported: literal parts at top level of pattern without alternation.
+	 *
+	 * @return list of literal parts (can be empty if nothing found)
+	 */
+	public static List<String> getRegexLiterals(String regex) {
+		List<String> list = new ArrayList<>();
+		if (regex.indexOf('|') != -1 || regex.contains("(?")) {
+			// alternation or inline flags
+			return list;
+		}
+		StringBuilder sb = new StringBuilder();
+		int depth = 0;
+		int len = regex.length();
+		for (int i = 0; i < len; i++) {
+			char c = regex.charAt(i);
+			switch (c) {
+				case '\\':
+					if (i + 1 < len && regex.charAt(i + 1) == 'Q') {
+						// quoted section can contain any chars, just stop here
+						addLiteral(list, sb);
+						return list;
+					}
+					// escaped char or class: skip and break literal
+					int escEnd = skipEscape(regex, i);
+					if (escEnd == -1) {
+						// unknown or malformed escape: can't be sure about literals, check all lines
+						return new ArrayList<>();
+					}
+					addLiteral(list, sb);
+					i = escEnd;
+					break;
+
+				case '[':
+					addLiteral(list, sb);
+					int clsEnd = skipCharClass(regex, i);
+					if (clsEnd == -1) {
+						return new ArrayList<>();
+					}
+					i = clsEnd;
+					break;
+
+				case '(':
+					addLiteral(list, sb);
+					depth++;
+					break;
+
+				case ')':
+					addLiteral(list, sb);
+					depth--;
+					break;
+
+				case '?':
+				case '*':
+				case '{':
+					// previous char is optional
+					if (sb.length() > 0) {
+						sb.setLength(sb.length() - 1);
+					}
+					addLiteral(list, sb);
+					if (c == '{') {
+						while (i < len && regex.charAt(i) != '}') {
+							i++;
+						}
+					}
+					break;
+
+				case '+':
+				case '.':
+				case '^':
+				case '$':
+					addLiteral(list, sb);
+					break;
+
+				default:
+					if (depth == 0) {
+						sb.append(c);
+					}
+					break;
+			}
+		}
+		addLiteral(list, sb);
+		return list;
+	}
+
+	/**
+	 * @param start index of backslash
+	 * @return index of last char of escape sequence or -1 if it can't be parsed
+	 */
+	private static int skipEscape(String regex, int start) {
+		int len = regex.length();
+		int i = start + 1;
+		if (i >= len) {
+			return -1;
+		}
+		char c = regex.charAt(i);
+		switch (c) {
+			case 'u':
+				return skipHexDigits(regex, i, 4);
+
+			case 'x':
+				if (i + 1 < len && regex.charAt(i + 1) == '{') {
+					return regex.indexOf('}', i + 1);
+				}
+				return skipHexDigits(regex, i, 2);
+
+			case '0': {
+				// octal: 1 to 3 digits
+				int end = i;
+				while (end + 1 < len && end - i < 3 && isOctalDigit(regex.charAt(end + 1))) {
+					end++;
+				}
+				return end == i ? -1 : end;
+			}
+
+			case 'c':
+				return i + 1 < len ? i + 1 : -1;
+
+			case 'k':
+				if (i + 1 < len && regex.charAt(i + 1) == '<') {
+					return regex.indexOf('>', i + 1);
+				}
+				return -1;
+
+			case 'p':
+			case 'P':
+				if (i + 1 < len && regex.charAt(i + 1) == '{') {
+					return regex.indexOf('}', i + 1);
+				}
+				return i + 1 < len ? i + 1 : -1;
+
+			case 'N':
+				if (i + 1 < len && regex.charAt(i + 1) == '{') {
+					return regex.indexOf('}', i + 1);
+				}
+				return -1;
+
+			case 'b':
+				if (i + 1 < len && regex.charAt(i + 1) == '{') {
+					return regex.indexOf('}', i + 1);
+				}
+				return i;
+
+			default:
+				if (c >= '1' && c <= '9') {
+					// back reference: group number can have several digits
+					int end = i;
+					while (end + 1 < len && Character.isDigit(regex.charAt(end + 1))) {
+						end++;
+					}
+					return end;
+				}
+				return i;
+		}
+	}
+
+	private static int skipHexDigits(String regex, int start, int count) {
+		int end = start + count;
+		if (end >= regex.length()) {
+			return -1;
+		}
+		for (int i = start + 1; i <= end; i++) {
+			if (Character.digit(regex.charAt(i), 16) == -1) {
+				return -1;
+			}
+		}
+		return end;
+	}
+
+	private static boolean isOctalDigit(char c) {
+		return c >= '0' && c <= '7';
+	}
+
+	/**
+	 * @param start index of '['
+	 * @return index of closing ']' or -1 if class can't be parsed
+	 */
+	private static int skipCharClass(String regex, int start) {
+		int len = regex.length();
+		int i = start + 1;
+		if (i < len && regex.charAt(i) == '^') {
+			i++;
+		}
+		if (i < len && regex.charAt(i) == ']') {
+			i++;
+		}
+		int depth = 1;
+		while (i < len) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				if (i + 1 < len && regex.charAt(i + 1) == 'Q') {
+					return -1;
+				}
+				int escEnd = skipEscape(regex, i);
+				if (escEnd == -1) {
+					return -1;
+				}
+				i = escEnd;
+			} else if (c == '[') {
+				// nested class (union or intersection)
+				depth++;
+			} else if (c == ']') {
+				depth--;
+				if (depth == 0) {
+					return i;
+				}
+			}
+			i++;
+		}
+		return -1;
+	}
+
+	private static void addLiteral(List<String> list, StringBuilder sb) {
+		if (sb.length() >= 3) {
+			list.add(sb.toString());
+		}
+		sb.setLength(0);
+	}
+}
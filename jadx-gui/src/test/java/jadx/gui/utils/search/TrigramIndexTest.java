@@ -0,0 +1,132 @@
+package jadx.gui.utils.search;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import static jadx.gui.utils.search.TrigramIndex.getRegexLiterals;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class TrigramIndexTest {
+
+	@Test
+	public void testSearch() {
+		try (TrigramIndex index = new TrigramIndex()) {
+			index.add(1, "String str = null;");
+			index.add(5, "return null;");
+			index.add(7, "int a = 1;");
+			for (int i = 10; i < 1000; i++) {
+				index.add(i, "System.out.println(" + i + ");");
+			}
+
+			assertThat(search(index, "null"), is(new long[] { 1, 5 }));
+			assertThat(search(index, "NULL"), is(new long[] { 1, 5 }));
+			assertThat(search(index, "return null"), is(new long[] { 5 }));
+			assertThat(search(index, "string"), is(new long[] { 1 }));
+			assertThat(search(index, "nothing"), is(new long[0]));
+			assertThat(search(index, "a ="), is(new long[] { 7 }));
+			assertThat(search(index, "println(999"), is(new long[] { 999 }));
+			assertThat(search(index, "println").length, is(990));
+			assertThat(index.search(Arrays.asList("String", "null")), is(new long[] { 1 }));
+
+			// too short for index
+			assertThat(search(index, "nu"), nullValue());
+			assertThat(index.search(Collections.emptyList()), nullValue());
+		}
+	}
+
+	@Test
+	public void testSaveLoad() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (TrigramIndex index = new TrigramIndex()) {
+			for (int i = 0; i < 1000; i++) {
+				index.add(i, "int var" + i + " = " + i * 7 + ";");
+			}
+			try (DataOutputStream out = new DataOutputStream(bytes)) {
+				index.save(out);
+			}
+		}
+		try (TrigramIndex index = new TrigramIndex();
+				DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			index.load(in);
+			assertThat(search(index, "var999"), is(new long[] { 999 }));
+			assertThat(search(index, "int var").length, is(1000));
+			assertThat(search(index, "nothing"), is(new long[0]));
+
+			// index still can be updated after load
+			index.add(1000, "String var1000;");
+			assertThat(search(index, "var1000"), is(new long[] { 1000 }));
+			assertThat(search(index, "string"), is(new long[] { 1000 }));
+		}
+	}
+
+	private static long[] search(TrigramIndex index, String str) {
+		return index.search(Collections.singletonList(str));
+	}
+
+	@Test
+	public void testRegexLiterals() {
+		assertThat(getRegexLiterals("return null"), contains("return null"));
+		assertThat(getRegexLiterals("String\\s+str"), contains("String", "str"));
+		assertThat(getRegexLiterals("get.*Value"), contains("get", "Value"));
+		assertThat(getRegexLiterals("values?List"), contains("value", "List"));
+		assertThat(getRegexLiterals("abc[0-9]+def"), contains("abc", "def"));
+		assertThat(getRegexLiterals("new (int|long)"), empty());
+		assertThat(getRegexLiterals("(?i)string"), empty());
+		assertThat(getRegexLiterals("foo(bar)baz"), contains("foo", "baz"));
+		assertThat(getRegexLiterals("a.b"), empty());
+	}
+
+	@Test
+	public void testRegexLiteralsEscapes() {
+		assertThat(getRegexLiterals("\\u0041BC"), empty());
+		assertThat(getRegexLiterals("\\u0041BCD"), contains("BCD"));
+		assertThat(getRegexLiterals("\\x41bcd"), contains("bcd"));
+		assertThat(getRegexLiterals("\\x{41}bcd"), contains("bcd"));
+		assertThat(getRegexLiterals("\\0101abc"), contains("abc"));
+		assertThat(getRegexLiterals("(a)\\k<name>"), empty());
+		assertThat(getRegexLiterals("\\p{Lu}abc"), contains("abc"));
+		assertThat(getRegexLiterals("\\pLabc"), contains("abc"));
+		assertThat(getRegexLiterals("\\cXabc"), contains("abc"));
+		assertThat(getRegexLiterals("abc\\12def"), contains("abc", "def"));
+		assertThat(getRegexLiterals("[\\u005D]abc"), contains("abc"));
+		assertThat(getRegexLiterals("[a-z&&[^b]]abc"), contains("abc"));
+		// malformed or not supported: no literals, all lines checked
+		assertThat(getRegexLiterals("\\u00"), empty());
+		assertThat(getRegexLiterals("[\\Q]\\E]abc"), empty());
+	}
+
+	@Test
+	public void testRegexCandidates() {
+		List<String> lines = Arrays.asList("String ABC = null;", "char c = 'A';", "int abc0 = 0;", "Object o = map.get(k);");
+		List<String> regexps = Arrays.asList("\\u0041BC", "\\x41BC = null", "\\0101BC", "\\p{Lu}BC", "\\cJ", "c = \\'",
+				"abc\\d", "get\\(k\\)", "[\\x41]BC");
+		try (TrigramIndex index = new TrigramIndex()) {
+			for (int i = 0; i < lines.size(); i++) {
+				index.add(i, lines.get(i));
+			}
+			for (String regex : regexps) {
+				Pattern pattern = Pattern.compile(regex);
+				long[] candidates = index.search(getRegexLiterals(regex));
+				for (int i = 0; i < lines.size(); i++) {
+					if (pattern.matcher(lines.get(i)).find() && candidates != null) {
+						assertThat("Line " + i + " filtered out for regex: " + regex,
+								Arrays.binarySearch(candidates, i) >= 0, is(true));
+					}
+				}
+			}
+		}
+	}
+}
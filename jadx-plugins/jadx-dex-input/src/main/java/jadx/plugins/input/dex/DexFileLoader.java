@@ -5,46 +5,87 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.io.ByteStreams;
 
+import jadx.api.plugins.utils.ZipFilesPool;
 import jadx.api.plugins.utils.ZipSecurity;
 import jadx.plugins.input.dex.sections.DexConsts;
+import jadx.plugins.input.dex.utils.ZipCentralDir;
 
 public class DexFileLoader {
 	private static final Logger LOG = LoggerFactory.getLogger(DexFileLoader.class);
 
 	private static int dexUniqId = 1;
 
-	public static List<DexReader> collectDexFiles(List<Path> pathsList) {
+	/**
+	 * Memory map dex files instead of reading into heap.
+	 * Dex files inside zip mapped only if stored without compression.
+	 */
+	private final boolean useMemoryMapping;
+
+	public DexFileLoader() {
+		this(false);
+	}
+
+	public DexFileLoader(boolean useMemoryMapping) {
+		this.useMemoryMapping = useMemoryMapping;
+	}
+
+	public List<DexReader> collectDexFiles(List<Path> pathsList) {
+		return collectDexFiles(pathsList, null);
+	}
+
+	/**
+	 * @param zipPool optional pool to take opened zip files from, not closed here
+	 */
+	public List<DexReader> collectDexFiles(List<Path> pathsList, @Nullable ZipFilesPool zipPool) {
 		return pathsList.stream()
 				.map(Path::toFile)
-				.map(DexFileLoader::loadDexFromFile)
+				.map(file -> loadDexFromFile(file, zipPool))
 				.filter(list -> !list.isEmpty())
 				.flatMap(Collection::stream)
 				.peek(dr -> LOG.debug("Loading dex: {}", dr))
 				.collect(Collectors.toList());
 	}
 
-	private static List<DexReader> loadDexFromFile(File file) {
+	private List<DexReader> loadDexFromFile(File file, @Nullable ZipFilesPool zipPool) {
+		if (useMemoryMapping) {
+			try {
+				List<DexReader> mappedDexList = loadMappedDex(file, zipPool);
+				if (mappedDexList != null) {
+					return mappedDexList;
+				}
+			} catch (Exception e) {
+				LOG.warn("Failed to map file, fallback to full read: {}", file.getAbsolutePath(), e);
+			}
+		}
 		try (InputStream inputStream = new FileInputStream(file)) {
-			return checkFileMagic(file, inputStream, file.getAbsolutePath());
+			return checkFileMagic(file, zipPool, inputStream, file.getAbsolutePath());
 		} catch (Exception e) {
 			LOG.error("File open error: {}", file.getAbsolutePath(), e);
 			return Collections.emptyList();
 		}
 	}
 
-	private static List<DexReader> checkFileMagic(File file, InputStream inputStream, String inputFileName) throws IOException {
+	private static List<DexReader> checkFileMagic(@Nullable File file, @Nullable ZipFilesPool zipPool,
+			InputStream inputStream, String inputFileName) throws IOException {
 		try (InputStream in = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream)) {
 			byte[] magic = new byte[DexConsts.MAX_MAGIC_SIZE];
 			in.mark(magic.length);
@@ -57,18 +98,18 @@ public class DexFileLoader {
 				return Collections.singletonList(dexReader);
 			}
 			if (file != null && isStartWithBytes(magic, DexConsts.ZIP_FILE_MAGIC)) {
-				return collectDexFromZip(file);
+				return collectDexFromZip(file, zipPool);
 			}
 			return Collections.emptyList();
 		}
 	}
 
-	private static List<DexReader> collectDexFromZip(File file) {
+	private static List<DexReader> collectDexFromZip(File file, @Nullable ZipFilesPool zipPool) {
 		List<DexReader> result = new ArrayList<>();
 		try {
-			ZipSecurity.readZipEntries(file, (entry, in) -> {
+			ZipSecurity.readZipEntries(zipPool, file, (entry, in) -> {
 				try {
-					result.addAll(checkFileMagic(null, in, entry.getName()));
+					result.addAll(checkFileMagic(null, null, in, entry.getName()));
 				} catch (Exception e) {
 					LOG.error("Failed to read zip entry: {}", entry, e);
 				}
@@ -79,6 +120,99 @@ public class DexFileLoader {
 		return result;
 	}
 
+	@Nullable
+	private static List<DexReader> loadMappedDex(File file, @Nullable ZipFilesPool zipPool) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < DexConsts.MAX_MAGIC_SIZE || size > Integer.MAX_VALUE) {
+				return null;
+			}
+			MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			byte[] magic = readMagic(buf);
+			if (isStartWithBytes(magic, DexConsts.DEX_FILE_MAGIC)) {
+				return Collections.singletonList(new DexReader(getNextUniqId(), file.getAbsolutePath(), buf));
+			}
+			if (isStartWithBytes(magic, DexConsts.ZIP_FILE_MAGIC)) {
+				return collectDexFromMappedZip(file, zipPool, buf);
+			}
+			return Collections.emptyList();
+		}
+	}
+
+	/**
+	 * Stored zip entries used directly from mapped file, compressed entries read as usual.
+	 */
+	@Nullable
+	private static List<DexReader> collectDexFromMappedZip(File file, @Nullable ZipFilesPool zipPool,
+			ByteBuffer zipBuf) throws IOException {
+		List<ZipCentralDir.Entry> entries = ZipCentralDir.readEntries(zipBuf);
+		if (entries == null) {
+			return null;
+		}
+		List<DexReader> result = new ArrayList<>();
+		ZipFile zipFile = null;
+		int entriesProcessed = 0;
+		try {
+			for (ZipCentralDir.Entry entry : entries) {
+				if (!ZipSecurity.isValidZipEntryName(entry.getName())) {
+					continue;
+				}
+				// same limit as for zip entries read by ZipSecurity
+				entriesProcessed++;
+				ZipSecurity.checkEntriesCount(entriesProcessed, entry.getName());
+				if (entry.isDirectory()) {
+					continue;
+				}
+				ByteBuffer entryBuf = ZipCentralDir.sliceEntryData(zipBuf, entry);
+				if (entryBuf == null && zipFile == null) {
+					zipFile = zipPool != null ? zipPool.get(file) : new ZipFile(file);
+				}
+				try {
+					result.addAll(loadZipEntry(zipFile, entry, entryBuf));
+				} catch (Exception e) {
+					LOG.error("Failed to read zip entry: {}", entry, e);
+				}
+			}
+		} catch (IllegalStateException e) {
+			LOG.error("Failed to process zip file: {}", file.getAbsolutePath(), e);
+		} finally {
+			if (zipFile != null && zipPool == null) {
+				zipFile.close();
+			}
+		}
+		return result;
+	}
+
+	private static List<DexReader> loadZipEntry(ZipFile zipFile, ZipCentralDir.Entry entry,
+			@Nullable ByteBuffer entryBuf) throws IOException {
+		if (entryBuf != null) {
+			if (entryBuf.remaining() >= DexConsts.MAX_MAGIC_SIZE
+					&& isStartWithBytes(readMagic(entryBuf), DexConsts.DEX_FILE_MAGIC)) {
+				return Collections.singletonList(new DexReader(getNextUniqId(), entry.getName(), entryBuf));
+			}
+			return Collections.emptyList();
+		}
+		ZipEntry zipEntry = zipFile.getEntry(entry.getName());
+		if (zipEntry == null || !ZipSecurity.isValidZipEntry(zipEntry)) {
+			return Collections.emptyList();
+		}
+		try (InputStream in = ZipSecurity.getInputStreamForEntry(zipFile, zipEntry)) {
+			return checkFileMagic(null, null, in, entry.getName());
+		}
+	}
+
+	private static byte[] readMagic(ByteBuffer buf) {
+		byte[] magic = new byte[DexConsts.MAX_MAGIC_SIZE];
+		ByteBuffer dupBuf = buf.duplicate();
+		dupBuf.position(0);
+		dupBuf.get(magic);
+		return magic;
+	}
+
+	public boolean isUseMemoryMapping() {
+		return useMemoryMapping;
+	}
+
 	private static boolean isStartWithBytes(byte[] fileMagic, byte[] expectedBytes) {
 		int len = expectedBytes.length;
 		if (fileMagic.length < len) {
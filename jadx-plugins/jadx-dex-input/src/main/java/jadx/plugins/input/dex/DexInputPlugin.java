@@ -3,13 +3,22 @@ package jadx.plugins.input.dex;
 import java.io.Closeable;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
 import jadx.api.plugins.JadxPluginInfo;
 import jadx.api.plugins.input.JadxInputPlugin;
 import jadx.api.plugins.input.data.ILoadResult;
 import jadx.api.plugins.input.data.impl.EmptyLoadResult;
+import jadx.api.plugins.options.JadxPluginOptions;
+import jadx.api.plugins.utils.ZipFilesPool;
 
-public class DexInputPlugin implements JadxInputPlugin {
+public class DexInputPlugin implements JadxInputPlugin, JadxPluginOptions {
+	/**
+	 * Memory map dex files instead of reading into heap (see {@link DexFileLoader}), values: 'yes' or 'no' (default)
+	 */
+	public static final String MMAP_OPT = "dex-input.mmap";
+
+	private boolean useMemoryMapping = false;
 
 	public DexInputPlugin() {
 		DexFileLoader.resetDexUniqId();
@@ -20,13 +29,34 @@ public class DexInputPlugin implements JadxInputPlugin {
 		return new JadxPluginInfo("dex-input", "DexInput", "Load .dex and .apk files");
 	}
 
+	@Override
+	public void setOptions(Map<String, String> options) {
+		String mmap = options.get(MMAP_OPT);
+		if (mmap == null || mmap.equals("no")) {
+			useMemoryMapping = false;
+		} else if (mmap.equals("yes")) {
+			useMemoryMapping = true;
+		} else {
+			throw new IllegalArgumentException("Unknown value '" + mmap + "' for option '" + MMAP_OPT + "', expect: 'yes' or 'no'");
+		}
+	}
+
 	@Override
 	public ILoadResult loadFiles(List<Path> input) {
-		return loadDexFiles(input, null);
+		return loadFiles(input, null);
+	}
+
+	@Override
+	public ILoadResult loadFiles(List<Path> input, ZipFilesPool zipPool) {
+		List<DexReader> dexReaders = new DexFileLoader(useMemoryMapping).collectDexFiles(input, zipPool);
+		if (dexReaders.isEmpty()) {
+			return EmptyLoadResult.INSTANCE;
+		}
+		return new DexLoadResult(dexReaders, null);
 	}
 
 	public static ILoadResult loadDexFiles(List<Path> inputFiles, Closeable closeable) {
-		List<DexReader> dexReaders = DexFileLoader.collectDexFiles(inputFiles);
+		List<DexReader> dexReaders = new DexFileLoader().collectDexFiles(inputFiles);
 		if (dexReaders.isEmpty()) {
 			return EmptyLoadResult.INSTANCE;
 		}
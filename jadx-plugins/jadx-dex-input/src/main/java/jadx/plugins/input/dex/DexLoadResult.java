@@ -6,12 +6,16 @@ import java.util.List;
 import java.util.function.Consumer;
 
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import jadx.api.plugins.input.data.IClassData;
 import jadx.api.plugins.input.data.ILoadResult;
 import jadx.api.plugins.input.data.IResourceData;
 
 public class DexLoadResult implements ILoadResult {
+	private static final Logger LOG = LoggerFactory.getLogger(DexLoadResult.class);
+
 	private final List<DexReader> dexReaders;
 	@Nullable
 	private final Closeable closeable;
@@ -28,12 +32,22 @@ public class DexLoadResult implements ILoadResult {
 		}
 	}
 
+	@Override
+	public List<DexReader> getClassSources() {
+		return dexReaders;
+	}
+
 	@Override
 	public void visitResources(Consumer<IResourceData> consumer) {
 	}
 
 	@Override
 	public void close() throws IOException {
+		if (LOG.isDebugEnabled()) {
+			for (DexReader dexReader : dexReaders) {
+				LOG.debug("Dex {} strings cache: {}", dexReader, dexReader.getStringsCacheStats());
+			}
+		}
 		dexReaders.clear();
 		if (closeable != null) {
 			closeable.close();
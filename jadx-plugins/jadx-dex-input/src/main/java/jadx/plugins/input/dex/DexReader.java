@@ -1,27 +1,48 @@
 package jadx.plugins.input.dex;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
+import org.jetbrains.annotations.Nullable;
+
 import jadx.api.plugins.input.data.IClassData;
+import jadx.api.plugins.input.data.IClassSource;
 import jadx.plugins.input.dex.sections.DexClassData;
 import jadx.plugins.input.dex.sections.DexHeader;
 import jadx.plugins.input.dex.sections.SectionReader;
 import jadx.plugins.input.dex.sections.annotations.AnnotationsParser;
 
-public class DexReader {
+public class DexReader implements IClassSource {
 	private final int uniqId;
 	private final String inputFileName;
 	private final ByteBuffer buf;
 	private final DexHeader header;
 
+	/**
+	 * Decoded strings from string pool, filled on first access.
+	 * Strings are immutable, so concurrent fill is safe: same string can be decoded twice, but any result is correct.
+	 */
+	private final String[] stringsCache;
+	private final LongAdder stringLookups = new LongAdder();
+	private final LongAdder stringDecodes = new LongAdder();
+
 	public DexReader(int uniqId, String inputFileName, byte[] content) {
+		this(uniqId, inputFileName, ByteBuffer.wrap(content));
+	}
+
+	/**
+	 * @param buf dex content, can be direct or memory mapped buffer
+	 */
+	public DexReader(int uniqId, String inputFileName, ByteBuffer buf) {
 		this.uniqId = uniqId;
 		this.inputFileName = inputFileName;
-		this.buf = ByteBuffer.wrap(content);
+		this.buf = buf;
 		this.header = new DexHeader(new SectionReader(this, 0));
+		this.stringsCache = new String[header.getStringIdsSize()];
 	}
 
+	@Override
 	public void visitClasses(Consumer<IClassData> consumer) {
 		int count = header.getClassDefsSize();
 		if (count == 0) {
@@ -41,6 +62,42 @@ public class DexReader {
 		return buf;
 	}
 
+	/**
+	 * Dex content as byte array.
+	 * Content copied if buffer not backed by array (i.e. memory mapped).
+	 */
+	public byte[] getContent() {
+		if (buf.hasArray() && buf.arrayOffset() == 0 && buf.array().length == buf.capacity()) {
+			return buf.array();
+		}
+		byte[] content = new byte[buf.capacity()];
+		ByteBuffer dupBuf = buf.duplicate();
+		dupBuf.clear();
+		dupBuf.get(content);
+		return content;
+	}
+
+	@Nullable
+	public String getCachedString(int idx) {
+		stringLookups.increment();
+		return stringsCache[idx];
+	}
+
+	public void putCachedString(int idx, String str) {
+		stringDecodes.increment();
+		stringsCache[idx] = str;
+	}
+
+	public String getStringsCacheStats() {
+		long lookups = stringLookups.sum();
+		long decodes = stringDecodes.sum();
+		long hitRate = lookups == 0 ? 0 : (lookups - decodes) * 100 / lookups;
+		return "size: " + stringsCache.length
+				+ ", lookups: " + lookups
+				+ ", decoded: " + decodes
+				+ ", hit rate: " + hitRate + '%';
+	}
+
 	public DexHeader getHeader() {
 		return header;
 	}
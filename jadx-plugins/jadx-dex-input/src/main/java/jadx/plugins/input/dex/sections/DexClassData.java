@@ -190,7 +190,7 @@ public class DexClassData implements IClassData {
 
 	@Override
 	public String getDisassembledCode() {
-		byte[] dexBuf = in.getDexReader().getBuf().array();
+		byte[] dexBuf = in.getDexReader().getContent();
 		return SmaliUtils.getSmaliCode(dexBuf, getClassDefOffset());
 	}
 
@@ -169,12 +169,17 @@ public class SectionReader {
 		if (idx == NO_INDEX) {
 			return null;
 		}
-		// TODO: make string pool cache?
+		String str = dexReader.getCachedString(idx);
+		if (str != null) {
+			return str;
+		}
 		int stringIdsOff = dexReader.getHeader().getStringIdsOff();
 		absPos(stringIdsOff + idx * 4);
 		int strOff = readInt();
 		absPos(strOff);
-		return MUtf8.decode(this);
+		str = MUtf8.decode(this);
+		dexReader.putCachedString(idx, str);
+		return str;
 	}
 
 	public IFieldData getFieldData(int idx) {
@@ -1,5 +1,9 @@
 package jadx.plugins.input.dex.utils;
 
+import java.nio.charset.StandardCharsets;
+
+import org.jetbrains.annotations.Nullable;
+
 import jadx.plugins.input.dex.DexException;
 import jadx.plugins.input.dex.sections.SectionReader;
 
@@ -7,6 +11,12 @@ public class MUtf8 {
 
 	public static String decode(SectionReader in) {
 		int len = in.readUleb128();
+		int start = in.getAbsPos();
+		String str = decodeAscii(in, len);
+		if (str != null) {
+			return str;
+		}
+		in.absPos(start);
 		char[] out = new char[len];
 		int k = 0;
 		while (true) {
@@ -37,4 +47,23 @@ public class MUtf8 {
 			}
 		}
 	}
+
+	/**
+	 * Most strings contain only ASCII chars: encoded as one byte per char, so length in bytes equal to chars count
+	 *
+	 * @return null if string contains not ASCII chars
+	 */
+	@Nullable
+	private static String decodeAscii(SectionReader in, int len) {
+		byte[] bytes = in.readByteArray(len);
+		for (byte b : bytes) {
+			if (b <= 0) {
+				return null;
+			}
+		}
+		if (in.readByte() != 0) {
+			return null;
+		}
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
 }
@@ -0,0 +1,168 @@
+package jadx.plugins.input.dex.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Minimal zip central directory parser, used to find data offsets of stored (not compressed) entries.
+ * Zip64 archives not supported.
+ */
+public class ZipCentralDir {
+	private static final int EOCD_SIGNATURE = 0x06054b50;
+	private static final int EOCD_MIN_SIZE = 22;
+	private static final int CD_ENTRY_SIGNATURE = 0x02014b50;
+	private static final int CD_ENTRY_MIN_SIZE = 46;
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int LOCAL_HEADER_MIN_SIZE = 30;
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+	public static final int METHOD_STORED = 0;
+
+	public static final class Entry {
+		private final String name;
+		private final int method;
+		private final boolean encrypted;
+		private final long compressedSize;
+		private final long size;
+		private final long localHeaderOffset;
+
+		private Entry(String name, int method, boolean encrypted, long compressedSize, long size, long localHeaderOffset) {
+			this.name = name;
+			this.method = method;
+			this.encrypted = encrypted;
+			this.compressedSize = compressedSize;
+			this.size = size;
+			this.localHeaderOffset = localHeaderOffset;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public boolean isDirectory() {
+			return name.endsWith("/");
+		}
+
+		public boolean isStored() {
+			return method == METHOD_STORED && !encrypted && compressedSize == size;
+		}
+
+		public long getSize() {
+			return size;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	private ZipCentralDir() {
+	}
+
+	/**
+	 * Read entries from central directory.
+	 *
+	 * @return entries in central directory order or {@code null} if zip format not supported
+	 */
+	@Nullable
+	public static List<Entry> readEntries(ByteBuffer zipBuf) {
+		ByteBuffer buf = zipBuf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		int eocdOffset = findEndOfCentralDir(buf);
+		if (eocdOffset == -1) {
+			return null;
+		}
+		int entriesCount = buf.getShort(eocdOffset + 10) & 0xFFFF;
+		long cdOffset = buf.getInt(eocdOffset + 16) & 0xFFFFFFFFL;
+		if (entriesCount == 0xFFFF || cdOffset == 0xFFFFFFFFL) {
+			// zip64
+			return null;
+		}
+		if (entriesCount == 0) {
+			return Collections.emptyList();
+		}
+		List<Entry> entries = new ArrayList<>(entriesCount);
+		int limit = buf.limit();
+		long pos = cdOffset;
+		for (int i = 0; i < entriesCount; i++) {
+			if (pos + CD_ENTRY_MIN_SIZE > limit) {
+				return null;
+			}
+			int off = (int) pos;
+			if (buf.getInt(off) != CD_ENTRY_SIGNATURE) {
+				return null;
+			}
+			int flags = buf.getShort(off + 8) & 0xFFFF;
+			int method = buf.getShort(off + 10) & 0xFFFF;
+			long compressedSize = buf.getInt(off + 20) & 0xFFFFFFFFL;
+			long size = buf.getInt(off + 24) & 0xFFFFFFFFL;
+			int nameLen = buf.getShort(off + 28) & 0xFFFF;
+			int extraLen = buf.getShort(off + 30) & 0xFFFF;
+			int commentLen = buf.getShort(off + 32) & 0xFFFF;
+			long localHeaderOffset = buf.getInt(off + 42) & 0xFFFFFFFFL;
+			if (off + CD_ENTRY_MIN_SIZE + nameLen > limit) {
+				return null;
+			}
+			byte[] nameBytes = new byte[nameLen];
+			ByteBuffer nameBuf = buf.duplicate();
+			nameBuf.position(off + CD_ENTRY_MIN_SIZE);
+			nameBuf.get(nameBytes);
+			String name = new String(nameBytes, StandardCharsets.UTF_8);
+			boolean encrypted = (flags & 1) != 0;
+			entries.add(new Entry(name, method, encrypted, compressedSize, size, localHeaderOffset));
+			pos += CD_ENTRY_MIN_SIZE + nameLen + extraLen + commentLen;
+		}
+		return entries;
+	}
+
+	/**
+	 * Create buffer for stored entry data (without copy)
+	 *
+	 * @return {@code null} if entry data can't be located
+	 */
+	@Nullable
+	public static ByteBuffer sliceEntryData(ByteBuffer zipBuf, Entry entry) {
+		if (!entry.isStored()) {
+			return null;
+		}
+		ByteBuffer buf = zipBuf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		long headerOff = entry.localHeaderOffset;
+		if (headerOff + LOCAL_HEADER_MIN_SIZE > buf.limit()) {
+			return null;
+		}
+		int off = (int) headerOff;
+		if (buf.getInt(off) != LOCAL_HEADER_SIGNATURE) {
+			return null;
+		}
+		int nameLen = buf.getShort(off + 26) & 0xFFFF;
+		int extraLen = buf.getShort(off + 28) & 0xFFFF;
+		long dataOff = headerOff + LOCAL_HEADER_MIN_SIZE + nameLen + extraLen;
+		long dataEnd = dataOff + entry.size;
+		if (dataEnd > buf.limit()) {
+			return null;
+		}
+		buf.position((int) dataOff);
+		buf.limit((int) dataEnd);
+		return buf.slice();
+	}
+
+	private static int findEndOfCentralDir(ByteBuffer buf) {
+		int limit = buf.limit();
+		int minPos = Math.max(0, limit - EOCD_MIN_SIZE - MAX_COMMENT_SIZE);
+		for (int pos = limit - EOCD_MIN_SIZE; pos >= minPos; pos--) {
+			if (buf.getInt(pos) == EOCD_SIGNATURE) {
+				int commentLen = buf.getShort(pos + 20) & 0xFFFF;
+				if (pos + EOCD_MIN_SIZE + commentLen <= limit) {
+					return pos;
+				}
+			}
+		}
+		return -1;
+	}
+}
@@ -1,21 +1,31 @@
 package jadx.plugins.input.dex;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import jadx.api.plugins.input.data.AccessFlags;
 import jadx.api.plugins.input.data.AccessFlagsScope;
 import jadx.api.plugins.input.data.ICodeReader;
 import jadx.api.plugins.input.data.ILoadResult;
+import jadx.api.plugins.input.data.IMethodRef;
 import jadx.plugins.input.dex.utils.SmaliTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class DexInputPluginTest {
 
@@ -34,6 +44,81 @@ class DexInputPluginTest {
 		processFile(SmaliTestUtils.compileSmaliFromResource("samples/test.smali"));
 	}
 
+	@Test
+	public void loadMappedFiles(@TempDir Path tempDir) throws Exception {
+		Path dexFile = Paths.get(ClassLoader.getSystemResource("samples/hello.dex").toURI());
+		Path apkWithStoredDex = tempDir.resolve("stored.apk");
+		byte[] dexBytes = Files.readAllBytes(dexFile);
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(apkWithStoredDex))) {
+			ZipEntry entry = new ZipEntry("classes.dex");
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(dexBytes.length);
+			CRC32 crc = new CRC32();
+			crc.update(dexBytes);
+			entry.setCrc(crc.getValue());
+			out.putNextEntry(entry);
+			out.write(dexBytes);
+			out.closeEntry();
+		}
+		Path sampleApk = Paths.get(ClassLoader.getSystemResource("samples/app-with-fake-dex.apk").toURI());
+		for (Path file : Arrays.asList(sampleApk, dexFile, apkWithStoredDex)) {
+			List<String> classes = loadClassesInfo(file, false);
+			assertThat(classes).isNotEmpty();
+			assertThat(loadClassesInfo(file, true)).isEqualTo(classes);
+		}
+	}
+
+	@Test
+	public void invalidOption() {
+		DexInputPlugin plugin = new DexInputPlugin();
+		Map<String, String> options = Collections.singletonMap(DexInputPlugin.MMAP_OPT, "true");
+		assertThatThrownBy(() -> plugin.setOptions(options)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	/**
+	 * Collect classes with methods and decoded instructions
+	 */
+	private static List<String> loadClassesInfo(Path file, boolean mmap) throws IOException {
+		DexInputPlugin plugin = new DexInputPlugin();
+		plugin.setOptions(Collections.singletonMap(DexInputPlugin.MMAP_OPT, mmap ? "yes" : "no"));
+		List<String> classes = new ArrayList<>();
+		try (ILoadResult result = plugin.loadFiles(Collections.singletonList(file))) {
+			result.visitClasses(cls -> {
+				StringBuilder sb = new StringBuilder();
+				sb.append(cls.getType()).append(" extends ").append(cls.getSuperType());
+				cls.visitFieldsAndMethods(
+						fld -> sb.append('\n').append(fld.getType()).append(' ').append(fld.getName()),
+						mth -> {
+							IMethodRef mthRef = mth.getMethodRef();
+							mthRef.load();
+							sb.append('\n').append(mthRef.getName()).append(mthRef.getArgTypes()).append(mthRef.getReturnType());
+							ICodeReader codeReader = mth.getCodeReader();
+							if (codeReader != null) {
+								codeReader.visitInstructions(insn -> {
+									insn.decode();
+									sb.append("\n  ").append(insn);
+								});
+							}
+						});
+				classes.add(sb.toString());
+			});
+		}
+		return classes;
+	}
+
+	@Test
+	public void stringsCache() throws Exception {
+		Path dexFile = Paths.get(ClassLoader.getSystemResource("samples/hello.dex").toURI());
+		List<DexReader> dexReaders = new DexFileLoader().collectDexFiles(Collections.singletonList(dexFile));
+		assertThat(dexReaders).hasSize(1);
+		DexReader dexReader = dexReaders.get(0);
+		List<String> types = new ArrayList<>();
+		dexReader.visitClasses(cls -> types.add(cls.getType()));
+		dexReader.visitClasses(cls -> assertThat(cls.getType()).isSameAs(types.remove(0)));
+		assertThat(types).isEmpty();
+		assertThat(dexReader.getStringsCacheStats()).contains("hit rate: 50%");
+	}
+
 	private static void processFile(Path sample) throws IOException {
 		System.out.println("Input file: " + sample.toAbsolutePath());
 		long start = System.currentTimeMillis();
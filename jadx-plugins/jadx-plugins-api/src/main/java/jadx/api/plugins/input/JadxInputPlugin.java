@@ -5,7 +5,16 @@ import java.util.List;
 
 import jadx.api.plugins.JadxPlugin;
 import jadx.api.plugins.input.data.ILoadResult;
+import jadx.api.plugins.utils.ZipFilesPool;
 
 public interface JadxInputPlugin extends JadxPlugin {
 	ILoadResult loadFiles(List<Path> input);
+
+	/**
+	 * Load files and use zip files pool to access input archives.
+	 * Pool owned by caller, opened zip files must not be closed.
+	 */
+	default ILoadResult loadFiles(List<Path> input, ZipFilesPool zipPool) {
+		return loadFiles(input);
+	}
 }
@@ -0,0 +1,11 @@
+package jadx.api.plugins.input.data;
+
+import java.util.function.Consumer;
+
+/**
+ * Independent source of classes (for example, one dex file).
+ * Different sources can be visited concurrently.
+ */
+public interface IClassSource {
+	void visitClasses(Consumer<IClassData> consumer);
+}
@@ -1,10 +1,18 @@
 package jadx.api.plugins.input.data;
 
 import java.io.Closeable;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 
-public interface ILoadResult extends Closeable {
-	void visitClasses(Consumer<IClassData> consumer);
+public interface ILoadResult extends Closeable, IClassSource {
+	/**
+	 * Split classes visiting by independent sources to allow concurrent loading.
+	 * Classes order should be same as in {@link #visitClasses(Consumer)}.
+	 */
+	default List<? extends IClassSource> getClassSources() {
+		return Collections.singletonList(this);
+	}
 
 	void visitResources(Consumer<IResourceData> consumer);
 
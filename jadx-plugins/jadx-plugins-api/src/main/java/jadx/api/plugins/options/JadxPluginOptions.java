@@ -0,0 +1,16 @@
+package jadx.api.plugins.options;
+
+import java.util.Map;
+
+/**
+ * Plugin with options, all options passed before plugin usage.
+ * Options names should start with plugin id (like 'dex-input.mmap').
+ */
+public interface JadxPluginOptions {
+
+	/**
+	 * @param options all plugin options, missing option should be treated as default value
+	 * @throws IllegalArgumentException on invalid option value
+	 */
+	void setOptions(Map<String, String> options);
+}
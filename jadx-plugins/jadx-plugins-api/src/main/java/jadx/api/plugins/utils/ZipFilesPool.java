@@ -0,0 +1,63 @@
+package jadx.api.plugins.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keep zip files opened to not parse central directory on every entry access.
+ * <br>
+ * Returned {@link ZipFile} instances are shared between threads and must not be closed by callers.
+ * All files closed by {@link #close()}, after that pool can be used again.
+ */
+public class ZipFilesPool implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(ZipFilesPool.class);
+
+	private final Map<File, ZipFile> openedFiles = new ConcurrentHashMap<>();
+	private int openCount;
+
+	public ZipFile get(File file) throws IOException {
+		File key = file.getAbsoluteFile();
+		ZipFile zipFile = openedFiles.get(key);
+		if (zipFile != null) {
+			return zipFile;
+		}
+		synchronized (this) {
+			zipFile = openedFiles.get(key);
+			if (zipFile == null) {
+				zipFile = new ZipFile(key);
+				openedFiles.put(key, zipFile);
+				openCount++;
+			}
+			return zipFile;
+		}
+	}
+
+	/**
+	 * Total count of opened files (including already closed)
+	 */
+	public synchronized int getOpenCount() {
+		return openCount;
+	}
+
+	@Override
+	public synchronized void close() {
+		List<ZipFile> files = new ArrayList<>(openedFiles.values());
+		openedFiles.clear();
+		for (ZipFile zipFile : files) {
+			try {
+				zipFile.close();
+			} catch (Exception e) {
+				LOG.warn("Failed to close zip file: {}", zipFile.getName(), e);
+			}
+		}
+	}
+}
@@ -94,31 +94,67 @@ public class ZipSecurity {
 	 */
 	@Nullable
 	public static <R> R visitZipEntries(File file, BiFunction<ZipFile, ZipEntry, R> visitor) {
-		try (ZipFile zip = new ZipFile(file)) {
-			Enumeration<? extends ZipEntry> entries = zip.entries();
-			int entriesProcessed = 0;
-			while (entries.hasMoreElements()) {
-				ZipEntry entry = entries.nextElement();
-				if (isValidZipEntry(entry)) {
-					R result = visitor.apply(zip, entry);
-					if (result != null) {
-						return result;
-					}
-					entriesProcessed++;
-					if (entriesProcessed > MAX_ENTRIES_COUNT) {
-						throw new IllegalStateException("Zip entries count limit exceeded: " + MAX_ENTRIES_COUNT
-								+ ", last entry: " + entry.getName());
-					}
-				}
+		return visitZipEntries(null, file, visitor);
+	}
+
+	/**
+	 * Visit valid entries in zip file.
+	 * Return not null value from visitor to stop iteration.
+	 *
+	 * @param zipPool take opened zip file from pool instead of opening new one
+	 */
+	@Nullable
+	public static <R> R visitZipEntries(@Nullable ZipFilesPool zipPool, File file, BiFunction<ZipFile, ZipEntry, R> visitor) {
+		if (zipPool == null) {
+			try (ZipFile zip = new ZipFile(file)) {
+				return visitZipEntries(zip, visitor);
+			} catch (Exception e) {
+				throw new RuntimeException("Failed to process zip file: " + file.getAbsolutePath(), e);
 			}
+		}
+		try {
+			return visitZipEntries(zipPool.get(file), visitor);
 		} catch (Exception e) {
 			throw new RuntimeException("Failed to process zip file: " + file.getAbsolutePath(), e);
 		}
+	}
+
+	@Nullable
+	private static <R> R visitZipEntries(ZipFile zip, BiFunction<ZipFile, ZipEntry, R> visitor) {
+		Enumeration<? extends ZipEntry> entries = zip.entries();
+		int entriesProcessed = 0;
+		while (entries.hasMoreElements()) {
+			ZipEntry entry = entries.nextElement();
+			if (isValidZipEntry(entry)) {
+				R result = visitor.apply(zip, entry);
+				if (result != null) {
+					return result;
+				}
+				entriesProcessed++;
+				checkEntriesCount(entriesProcessed, entry.getName());
+			}
+		}
 		return null;
 	}
 
+	/**
+	 * Check count of processed zip entries for custom zip readers
+	 *
+	 * @throws IllegalStateException if limit exceeded
+	 */
+	public static void checkEntriesCount(int entriesProcessed, String lastEntryName) {
+		if (entriesProcessed > MAX_ENTRIES_COUNT) {
+			throw new IllegalStateException("Zip entries count limit exceeded: " + MAX_ENTRIES_COUNT
+					+ ", last entry: " + lastEntryName);
+		}
+	}
+
 	public static void readZipEntries(File file, BiConsumer<ZipEntry, InputStream> visitor) {
-		visitZipEntries(file, (zip, entry) -> {
+		readZipEntries(null, file, visitor);
+	}
+
+	public static void readZipEntries(@Nullable ZipFilesPool zipPool, File file, BiConsumer<ZipEntry, InputStream> visitor) {
+		visitZipEntries(zipPool, file, (zip, entry) -> {
 			if (!entry.isDirectory()) {
 				try (InputStream in = getInputStreamForEntry(zip, entry)) {
 					visitor.accept(entry, in);